@@ -0,0 +1,28 @@
+package com.zerobase.storereservation.domain.reservation.type;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 값으로 예약 상태 찾는 시간 (Status.of, 예약 승인/거절 요청의 json 역직렬화마다 호출)
+ * - pending : 첫번째 값
+ * - storeDeleted : 마지막 값
+ * - unknown : 없는 값 (null)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatusBenchmark {
+
+    @Param({"pending", "storeDeleted", "unknown"})
+    private String value;
+
+    @Benchmark
+    public Status of() {
+        return Status.of(value);
+    }
+}
@@ -0,0 +1,62 @@
+package com.zerobase.storereservation.domain.store.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zerobase.storereservation.domain.store.entity.Store;
+import com.zerobase.storereservation.support.BenchmarkData;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 매장 목록 한 페이지(20개)의 StoreDto 변환과 json 직렬화 시간
+ * 매장마다 예약 상세정보 infos 개, 예약 가능 날짜 dates 개 (날짜별 잔여인원 map 포함)
+ * ObjectMapper 는 spring boot 기본 설정과 같게 날짜를 문자열로 씀
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StoreDtoBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1", "4", "12"})
+    private int infos;
+
+    @Param({"30", "90", "365"})
+    private int dates;
+
+    private List<Store> stores;
+    private List<StoreDto> dtos;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        stores = new BenchmarkData().stores(PAGE_SIZE, infos, dates);
+        dtos = this.from();
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    @Benchmark
+    public List<StoreDto> from() {
+        return stores.stream().map(StoreDto::from).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] fromAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(this.from());
+    }
+}
@@ -0,0 +1,95 @@
+package com.zerobase.storereservation.repository;
+
+import com.zerobase.storereservation.domain.store.entity.Store;
+import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
+import com.zerobase.storereservation.domain.store.type.DateSet;
+import com.zerobase.storereservation.support.BenchmarkData;
+import org.openjdk.jmh.annotations.*;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 예약 상세정보(시간대) 50개 x 예약 가능 날짜 90일인 매장 저장 처리량 (내장 db, H2)
+ * 매장 1 + 예약 상세정보 50 + 예약 가능 날짜 90 + 날짜별 잔여인원 4500 행
+ * - batchSize 1 : jdbc batch 없이 한 행씩 insert
+ * - batchSize 50 : id 를 Tsid 로 미리 만들어 insert/update 를 묶어서 보냄
+ * iteration 마다 db 를 새로 만들어 행 수가 계속 늘어나지 않게 함
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlotInsertBenchmark {
+
+    private static final int SLOTS = 50;
+    private static final int DAYS = 90;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private EntityManagerFactory entityManagerFactory;
+    private List<LocalDate> dates;
+    private long sequence;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        entityManagerFactory = BenchmarkData.entityManagerFactory("slot", batchSize);
+        dates = BenchmarkData.dates(BenchmarkData.FIRST_DATE, DAYS);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public Long createSlots() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            Store store = this.store(++sequence);
+            entityManager.persist(store);
+            entityManager.getTransaction().commit();
+            return store.getId();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private Store store(long index) {
+        Store store = Store.builder()
+                .partnerId(1L)
+                .name("매장 " + index)
+                .address("서울특별시 강남구 테헤란로 " + index)
+                .openAt(LocalTime.of(0, 0))
+                .closeAt(LocalTime.of(23, 59))
+                .dates(DateSet.of(dates))
+                .storeReservationInfos(new ArrayList<>(SLOTS))
+                .build();
+
+        List<LocalTime> startAt = BenchmarkData.startTimes(SLOTS);
+        List<LocalTime> endAt = BenchmarkData.endTimes(SLOTS);
+        for (int i = 0; i < SLOTS; i++) {
+            Map<LocalDate, Integer> closed = new HashMap<>();
+            dates.forEach(date -> closed.put(date, 10));
+            store.getStoreReservationInfos().add(StoreReservationInfo.builder()
+                    .partnerId(1L)
+                    .store(store)
+                    .startAt(startAt.get(i))
+                    .endAt(endAt.get(i))
+                    .minCount(1)
+                    .maxCount(8)
+                    .count(10)
+                    .closed(closed)
+                    .build());
+        }
+        return store;
+    }
+}
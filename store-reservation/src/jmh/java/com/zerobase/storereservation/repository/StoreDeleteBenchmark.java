@@ -0,0 +1,154 @@
+package com.zerobase.storereservation.repository;
+
+import com.zerobase.storereservation.domain.reservation.entity.Reservation;
+import com.zerobase.storereservation.domain.reservation.type.Status;
+import com.zerobase.storereservation.domain.store.entity.Store;
+import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
+import com.zerobase.storereservation.support.BenchmarkData;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.repository.Query;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * 예약 100,000 건인 매장 삭제시 예약 상태 변경 시간 (내장 db, H2, jdbc batch 50)
+ * - dirtyChecking : 매장의 예약을 모두 읽어 엔티티마다 상태를 바꾸고 커밋 (예약마다 update 한번)
+ * - bulkUpdate : ReservationRepository.updateStatusByStoreId 의 update 한번
+ * 한번 실행에 수 초 걸리므로 iteration 마다 한번만 실행하고, 실행 전 예약 상태를 승인으로 되돌림
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class StoreDeleteBenchmark {
+
+    private static final int RESERVATIONS = 100_000;
+    private static final int SLOTS = 10;
+    private static final int DAYS = 90;
+    private static final int FLUSH = 1_000;
+
+    private EntityManagerFactory entityManagerFactory;
+    private String bulkUpdate;
+    private Long storeId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        entityManagerFactory = BenchmarkData.entityManagerFactory("store-delete", 50);
+        // 서비스가 사용하는 쿼리를 그대로 실행
+        bulkUpdate = ReservationRepository.class
+                .getMethod("updateStatusByStoreId", Long.class, Status.class, LocalDateTime.class)
+                .getAnnotation(Query.class)
+                .value();
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            Store store = this.store();
+            entityManager.persist(store);
+            storeId = store.getId();
+
+            List<StoreReservationInfo> infos = store.getStoreReservationInfos();
+            for (int i = 0; i < RESERVATIONS; i++) {
+                entityManager.persist(Reservation.builder()
+                        .customerId((long) i + 1)
+                        .storeId(storeId)
+                        .phone("010-0000-0000")
+                        .storeReservationInfo(infos.get(i % SLOTS))
+                        .reservationDate(BenchmarkData.FIRST_DATE.plusDays(i % DAYS))
+                        .headCount(2)
+                        .status(Status.APPROVED)
+                        .build());
+                if ((i + 1) % FLUSH == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    infos = entityManager.find(Store.class, storeId).getStoreReservationInfos();
+                }
+            }
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        this.execute(entityManager -> entityManager
+                .createNativeQuery("update reservation set status = 'APPROVED'")
+                .executeUpdate());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public int dirtyChecking() {
+        return this.execute(entityManager -> {
+            List<Reservation> reservations = entityManager
+                    .createQuery("select r from Reservation r where r.storeId = :storeId", Reservation.class)
+                    .setParameter("storeId", storeId)
+                    .getResultList();
+            reservations.forEach(reservation -> reservation.changeStatus(Status.STORE_DELETED));
+            return reservations.size();
+        });
+    }
+
+    @Benchmark
+    public int bulkUpdate() {
+        return this.execute(entityManager -> entityManager.createQuery(bulkUpdate)
+                .setParameter("storeId", storeId)
+                .setParameter("status", Status.STORE_DELETED)
+                .setParameter("now", LocalDateTime.now())
+                .executeUpdate());
+    }
+
+    private int execute(ToIntFunction<EntityManager> work) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            int count = work.applyAsInt(entityManager);
+            entityManager.getTransaction().commit();
+            return count;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private Store store() {
+        Store store = Store.builder()
+                .partnerId(1L)
+                .name("예약 많은 매장")
+                .address("서울특별시 강남구 테헤란로 1")
+                .openAt(LocalTime.of(0, 0))
+                .closeAt(LocalTime.of(23, 59))
+                .storeReservationInfos(new ArrayList<>(SLOTS))
+                .build();
+
+        List<LocalTime> startAt = BenchmarkData.startTimes(SLOTS);
+        List<LocalTime> endAt = BenchmarkData.endTimes(SLOTS);
+        for (int i = 0; i < SLOTS; i++) {
+            store.getStoreReservationInfos().add(StoreReservationInfo.builder()
+                    .partnerId(1L)
+                    .store(store)
+                    .startAt(startAt.get(i))
+                    .endAt(endAt.get(i))
+                    .minCount(1)
+                    .maxCount(8)
+                    .count(10)
+                    .closed(new HashMap<>())
+                    .build());
+        }
+        return store;
+    }
+}
@@ -0,0 +1,134 @@
+package com.zerobase.storereservation.security;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.zerobase.storereservation.cache.InProcessSharedCache;
+import com.zerobase.storereservation.domain.member.entity.Member;
+import com.zerobase.storereservation.repository.MemberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter 한번 통과하는 시간
+ * - lookup : 이전 방식, 요청마다 회원 조회 (db 왕복 시간은 빠져 있으므로 실제로는 이보다 느림)
+ * - cached : 캐시된 회원 정보로 인증 (spring.jwt.stateless=false)
+ * - stateless : 토큰 claim 만으로 인증 (spring.jwt.stateless=true, 기본)
+ * tokenCache
+ * - off : 요청마다 서명 검증
+ * - on : 검증된 토큰 캐시 사용 (같은 토큰을 반복 사용하는 경우)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"lookup", "cached", "stateless"})
+    private String mode;
+
+    @Param({"off", "on"})
+    private String tokenCache;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() throws Exception {
+        ((Logger) LoggerFactory.getLogger(JwtAuthenticationFilter.class)).setLevel(Level.WARN);
+
+        MemberRepository memberRepository = memberRepository();
+        MemberCache memberCache = "lookup".equals(mode)
+                ? new UncachedMemberCache(memberRepository)
+                : new MemberCache(memberRepository, new InProcessSharedCache());
+
+        VerifiedTokenCache verifiedTokenCache = "on".equals(tokenCache)
+                ? new VerifiedTokenCache(new SimpleMeterRegistry(), 100_000)
+                : new NoVerifiedTokenCache();
+
+        TokenProvider tokenProvider = new TokenProvider(memberCache, verifiedTokenCache);
+        set(tokenProvider, "secretKey", "YmVuY2htYXJrLXNlY3JldC1rZXktYmVuY2htYXJrLXNlY3JldC1rZXktYmVuY2htYXJr");
+        set(tokenProvider, "stateless", "stateless".equals(mode));
+
+        filter = new JwtAuthenticationFilter(tokenProvider);
+        authorization = JwtAuthenticationFilter.TOKEN_PREFIX
+                + tokenProvider.generateToken(1L, "user1@gmail.com", Collections.singletonList("ROLE_CUSTOMER"));
+    }
+
+    @Benchmark
+    public Object doFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/store/search/detail");
+        request.addHeader(JwtAuthenticationFilter.TOKEN_HEADER, authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // 이전 방식처럼 캐시 없이 매번 repository 를 조회
+    static class UncachedMemberCache extends MemberCache {
+        private final MemberRepository memberRepository;
+
+        UncachedMemberCache(MemberRepository memberRepository) {
+            super(memberRepository, new InProcessSharedCache());
+            this.memberRepository = memberRepository;
+        }
+
+        @Override
+        public Member get(String email) {
+            return memberRepository.findByEmail(email).orElseThrow(IllegalStateException::new);
+        }
+    }
+
+    // 검증 결과를 저장하지 않아 매번 서명 검증
+    static class NoVerifiedTokenCache extends VerifiedTokenCache {
+        NoVerifiedTokenCache() {
+            super(new SimpleMeterRegistry(), 1);
+        }
+
+        @Override
+        public VerifiedToken get(String token) {
+            return null;
+        }
+
+        @Override
+        public void put(String token, VerifiedToken verified) {
+        }
+    }
+
+    // findByEmail 만 응답하는 메모리 repository
+    private static MemberRepository memberRepository() {
+        return (MemberRepository) Proxy.newProxyInstance(MemberRepository.class.getClassLoader(),
+                new Class[]{MemberRepository.class},
+                (proxy, method, args) -> {
+                    if ("findByEmail".equals(method.getName())) {
+                        return Optional.of(Member.builder()
+                                .id(1L)
+                                .email((String) args[0])
+                                .roles(Collections.singletonList("ROLE_CUSTOMER"))
+                                .build());
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static void set(Object target, String name, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,98 @@
+package com.zerobase.storereservation.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.zerobase.storereservation.domain.reservation.dto.ReservationDto;
+import com.zerobase.storereservation.domain.reservation.type.Status;
+import com.zerobase.storereservation.exception.OverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 요청이 몰리는 동안 예약 조회 응답 시간 (reservation 의 p50/p99 비교)
+ * 16개 스레드가 로그인을 계속 시도하고 2개 스레드가 예약 목록을 직렬화
+ * - none : 로그인 요청 없음 (기준)
+ * - direct : 이전 방식, 요청 스레드에서 바로 BCrypt 계산
+ * - pool : PasswordHasher 사용, 대기열이 가득 차면 바로 거절
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Group)
+public class SignInFloodBenchmark {
+
+    @Param({"none", "direct", "pool"})
+    private String flood;
+
+    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+    private String encodedPassword;
+
+    private ObjectMapper objectMapper;
+    private List<ReservationDto> reservations;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder(10);
+        passwordHasher = new PasswordHasher(passwordEncoder, new SimpleMeterRegistry(), 0, 64, 3000);
+        encodedPassword = passwordEncoder.encode("qwerty");
+
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        reservations = new ArrayList<>();
+        for (long i = 0; i < 20; i++) {
+            reservations.add(ReservationDto.builder()
+                    .id(i)
+                    .memberId(1L)
+                    .storeId(1L)
+                    .storeName("매장")
+                    .reservationInfoId(i)
+                    .reservationDate(LocalDate.parse("2024-02-01"))
+                    .headCount(2)
+                    .status(Status.APPROVED)
+                    .build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Benchmark
+    @Group("signInFlood")
+    @GroupThreads(16)
+    public void signIn(Blackhole blackhole) throws InterruptedException {
+        switch (flood) {
+            case "direct":
+                blackhole.consume(passwordEncoder.matches("qwerty", encodedPassword));
+                break;
+            case "pool":
+                try {
+                    blackhole.consume(passwordHasher.matches("qwerty", encodedPassword));
+                } catch (OverloadedException e) {
+                    // 거절된 클라이언트가 다시 요청하기까지의 시간
+                    TimeUnit.MILLISECONDS.sleep(1);
+                }
+                break;
+            default:
+                TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    @Benchmark
+    @Group("signInFlood")
+    @GroupThreads(2)
+    public String reservation() throws Exception {
+        return objectMapper.writeValueAsString(reservations);
+    }
+}
@@ -0,0 +1,53 @@
+package com.zerobase.storereservation.security;
+
+import com.zerobase.storereservation.cache.InProcessSharedCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 토큰 발급(generateToken)과 검증(authenticate) 시간
+ * 검증은 검증된 토큰 캐시 없이 서명 검증과 claim 복호화를 매번 함 (처음 보는 토큰)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenProviderBenchmark {
+
+    private static final List<String> ROLES = Collections.singletonList("ROLE_CUSTOMER");
+
+    private TokenProvider tokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        tokenProvider = new TokenProvider(new MemberCache(null, new InProcessSharedCache()),
+                new JwtAuthenticationFilterBenchmark.NoVerifiedTokenCache());
+        set(tokenProvider, "secretKey", "YmVuY2htYXJrLXNlY3JldC1rZXktYmVuY2htYXJrLXNlY3JldC1rZXktYmVuY2htYXJr");
+        set(tokenProvider, "stateless", true);
+        token = tokenProvider.generateToken(1L, "user1@gmail.com", ROLES);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(1L, "user1@gmail.com", ROLES);
+    }
+
+    @Benchmark
+    public Authentication authenticate() {
+        return tokenProvider.authenticate(token);
+    }
+
+    private static void set(Object target, String name, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
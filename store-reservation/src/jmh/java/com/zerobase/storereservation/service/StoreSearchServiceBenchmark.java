@@ -0,0 +1,58 @@
+package com.zerobase.storereservation.service;
+
+import com.zerobase.storereservation.domain.store.dto.StoreDto;
+import com.zerobase.storereservation.domain.store.entity.Store;
+import com.zerobase.storereservation.repository.StoreRepository;
+import com.zerobase.storereservation.support.BenchmarkData;
+import com.zerobase.storereservation.util.KaKakoApi;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주소와 가까운 순 매장 검색 (searchStoreDistanceOrder) 의 거리 계산, 정렬, StoreDto 변환 시간
+ * 삭제되지 않은 매장 stores 개를 메모리 repository 가 바로 돌려주고 좌표 변환 api 는 고정 좌표를 돌려줌
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StoreSearchServiceBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int stores;
+
+    private StoreSearchService storeSearchService;
+    private final Pageable pageable = PageRequest.of(0, 20);
+
+    @Setup
+    public void setUp() {
+        List<Store> all = new BenchmarkData().stores(stores, 4, 30);
+        StoreRepository storeRepository = BenchmarkData.repository(StoreRepository.class,
+                Map.of("findByDeleted", args -> all));
+        storeSearchService = new StoreSearchService(storeRepository, new FixedKaKakoApi(), null, null); // 상세정보, 검색 결과 캐시는 측정하지 않음
+    }
+
+    @Benchmark
+    public Page<StoreDto> distance() throws Exception {
+        return storeSearchService.searchStoreDistanceOrder("서울특별시 중구 세종대로 110", pageable);
+    }
+
+    // 서울시청 좌표
+    static class FixedKaKakoApi extends KaKakoApi {
+        private static final List<Float> COORDINATES = Arrays.asList(126.9784f, 37.5667f);
+
+        @Override
+        public List<Float> getCoordinateFromApi(String address) {
+            return COORDINATES;
+        }
+    }
+}
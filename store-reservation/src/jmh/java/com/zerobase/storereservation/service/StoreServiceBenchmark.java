@@ -0,0 +1,90 @@
+package com.zerobase.storereservation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.storereservation.cache.InProcessSharedCache;
+import com.zerobase.storereservation.cache.StoreDetailCache;
+import com.zerobase.storereservation.cache.TwoTierCacheManager;
+import com.zerobase.storereservation.domain.store.dto.StoreDto;
+import com.zerobase.storereservation.domain.store.entity.Store;
+import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
+import com.zerobase.storereservation.domain.store.form.UpdateStoreDate;
+import com.zerobase.storereservation.domain.store.type.DateSet;
+import com.zerobase.storereservation.repository.StoreRepository;
+import com.zerobase.storereservation.repository.StoreReservationInfoRepository;
+import com.zerobase.storereservation.support.BenchmarkData;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StoreService 의 예약 정보 처리 시간
+ * - checkReservationInfoTime : 예약 상세정보 infos 개의 시간 겹침 확인
+ * - updateStoreReservationDate : 예약 가능 날짜를 일주일 미룰 때 예약 상세정보별 날짜 map 을 다시 만드는 시간
+ *   (repository 는 메모리에서 바로 응답하므로 db 시간은 빠져 있음)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StoreServiceBenchmark {
+
+    @Param({"4", "12", "48"})
+    private int infos; // 매장당 예약 상세정보 수
+
+    @Param({"30", "90", "365"})
+    private int dates; // 예약 가능 날짜 수
+
+    private StoreService storeService;
+    private List<LocalTime> startAt;
+    private List<LocalTime> endAt;
+    private UpdateStoreDate form;
+    private Long partnerId;
+
+    @Setup
+    public void setUp() {
+        Store store = new BenchmarkData().store(1L, infos, dates);
+        DateSet storeDates = store.getDates();
+        List<StoreReservationInfo> storeInfos = store.getStoreReservationInfos();
+
+        // 호출마다 기존 날짜를 가진 매장을 돌려줘 매번 일주일 미룬 날짜로 다시 만들게 함
+        StoreRepository storeRepository = BenchmarkData.repository(StoreRepository.class, Map.of(
+                "findByIdAndPartnerId", args -> Optional.of(Store.builder()
+                        .id(store.getId())
+                        .partnerId(store.getPartnerId())
+                        .dates(storeDates)
+                        .storeReservationInfos(storeInfos)
+                        .build())));
+        StoreReservationInfoRepository storeReservationInfoRepository = BenchmarkData.repository(
+                StoreReservationInfoRepository.class, Map.of("findByStoreId", args -> storeInfos));
+
+        // 트랜잭션 밖이므로 상세정보 캐시는 바로 비워짐
+        storeService = new StoreService(storeRepository, storeReservationInfoRepository,
+                null, null, null, null,
+                new StoreDetailCache(new ObjectMapper(), null, null, new TwoTierCacheManager(new InProcessSharedCache())), null, null);
+
+        startAt = BenchmarkData.startTimes(infos);
+        endAt = BenchmarkData.endTimes(infos);
+        form = UpdateStoreDate.builder()
+                .id(store.getId())
+                .dates(BenchmarkData.dates(BenchmarkData.FIRST_DATE.plusDays(7), dates))
+                .build();
+        partnerId = store.getPartnerId();
+    }
+
+    @Benchmark
+    public List<LocalTime> checkReservationInfoTime() {
+        storeService.checkReservationInfoTime(startAt, endAt);
+        return startAt;
+    }
+
+    @Benchmark
+    public StoreDto updateStoreReservationDate() {
+        return storeService.updateStoreReservationDate(partnerId, form);
+    }
+}
@@ -0,0 +1,188 @@
+package com.zerobase.storereservation.support;
+
+import com.zerobase.storereservation.domain.store.entity.Store;
+import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
+import com.zerobase.storereservation.domain.store.type.DateSet;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.boot.orm.jpa.hibernate.SpringPhysicalNamingStrategy;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.persistence.EntityManagerFactory;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * 벤치마크용 데이터 생성
+ * 같은 seed 로 항상 같은 데이터를 만들어 실행마다 결과를 비교할 수 있게 함
+ * 좌표는 서울 안, 예약 상세정보는 11시부터 2시간 단위, 날짜는 2024-02-01 부터 연속으로 만듦
+ */
+public class BenchmarkData {
+
+    public static final LocalDate FIRST_DATE = LocalDate.of(2024, 2, 1);
+
+    private static final String[] NAMES = {"식당", "카페", "주점", "베이커리", "레스토랑", "분식", "고깃집", "횟집"};
+    private static final String[] DISTRICTS = {"강남구", "서초구", "마포구", "종로구", "송파구", "용산구", "성동구", "중구"};
+
+    private final SplittableRandom random;
+
+    public BenchmarkData() {
+        this(20240201L);
+    }
+
+    public BenchmarkData(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * 예약 상세정보까지 채운 매장 목록
+     * @param count : 매장 수
+     * @param infos : 매장당 예약 상세정보 수
+     * @param dates : 예약 가능 날짜 수
+     */
+    public List<Store> stores(int count, int infos, int dates) {
+        List<Store> stores = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            stores.add(this.store(id, infos, dates));
+        }
+        return stores;
+    }
+
+    public Store store(long id, int infos, int dates) {
+        List<LocalDate> storeDates = dates(FIRST_DATE, dates);
+        List<StoreReservationInfo> storeInfos = new ArrayList<>(infos);
+        long rating1 = random.nextInt(20), rating2 = random.nextInt(20), rating3 = random.nextInt(50),
+                rating4 = random.nextInt(100), rating5 = random.nextInt(100);
+        long reviewCount = rating1 + rating2 + rating3 + rating4 + rating5;
+        float reviewSum = rating1 + 2 * rating2 + 3 * rating3 + 4 * rating4 + 5 * rating5;
+
+        Store store = Store.builder()
+                .id(id)
+                .partnerId(id % 100 + 1)
+                .name(DISTRICTS[(int) (id % DISTRICTS.length)] + " " + NAMES[random.nextInt(NAMES.length)] + " " + id + "호점")
+                .description("매장 설명 " + id)
+                .address("서울특별시 " + DISTRICTS[(int) (id % DISTRICTS.length)] + " 테헤란로 " + random.nextInt(1, 500))
+                .openAt(LocalTime.of(10, 0))
+                .closeAt(LocalTime.of(22, 0))
+                .dates(DateSet.of(storeDates))
+                .storeReservationInfos(storeInfos)
+                .lon((float) (126.8 + random.nextDouble() * 0.4))
+                .lat((float) (37.45 + random.nextDouble() * 0.25))
+                .rating(reviewCount == 0 ? 0 : reviewSum / reviewCount)
+                .reviewSum(reviewSum)
+                .reviewCount(reviewCount)
+                .rating1Count(rating1)
+                .rating2Count(rating2)
+                .rating3Count(rating3)
+                .rating4Count(rating4)
+                .rating5Count(rating5)
+                .build();
+
+        for (int i = 0; i < infos; i++) {
+            storeInfos.add(this.info(id * 100 + i, store, i, storeDates));
+        }
+        return store;
+    }
+
+    /**
+     * i 번째 예약 상세정보 (11시부터 2시간 단위)
+     * 날짜별 잔여인원은 일부 마감(-1), 나머지는 0 ~ count 사이
+     */
+    public StoreReservationInfo info(long id, Store store, int index, List<LocalDate> dates) {
+        int count = 10 + random.nextInt(30);
+        Map<LocalDate, Integer> closed = new HashMap<>();
+        for (LocalDate date : dates) {
+            closed.put(date, random.nextInt(10) == 0 ? -1 : random.nextInt(count + 1));
+        }
+        LocalTime startAt = LocalTime.of(11, 0).plusMinutes(120L * index % (11 * 60));
+        return StoreReservationInfo.builder()
+                .id(id)
+                .partnerId(store.getPartnerId())
+                .store(store)
+                .startAt(startAt)
+                .endAt(startAt.plusMinutes(90))
+                .minCount(1)
+                .maxCount(8)
+                .count(count)
+                .closed(closed)
+                .build();
+    }
+
+    // first 부터 연속된 count 일
+    public static List<LocalDate> dates(LocalDate first, int count) {
+        List<LocalDate> dates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dates.add(first.plusDays(i));
+        }
+        return dates;
+    }
+
+    // 정렬된 예약 상세정보 시간 (겹치지 않음)
+    public static List<LocalTime> startTimes(int count) {
+        List<LocalTime> times = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            times.add(LocalTime.of(0, 0).plusMinutes(1440L * i / count));
+        }
+        return times;
+    }
+
+    public static List<LocalTime> endTimes(int count) {
+        List<LocalTime> times = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            times.add(LocalTime.of(0, 0).plusMinutes(1440L * i / count + 1440L / count / 2));
+        }
+        return times;
+    }
+
+    /**
+     * 내장 db(H2, MySQL 모드)를 새로 만들어 엔티티 테이블을 생성한 EntityManagerFactory
+     * 테이블, 컬럼 이름은 스프링 부트와 같은 naming 전략을 사용
+     * @param name : db 이름 (뒤에 임의의 값을 붙여 매번 새 db 를 만듦)
+     * @param batchSize : jdbc batch 크기
+     */
+    public static EntityManagerFactory entityManagerFactory(String name, int batchSize) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(AvailableSettings.HBM2DDL_AUTO, "create-drop");
+        properties.put(AvailableSettings.PHYSICAL_NAMING_STRATEGY, SpringPhysicalNamingStrategy.class.getName());
+        properties.put(AvailableSettings.IMPLICIT_NAMING_STRATEGY, SpringImplicitNamingStrategy.class.getName());
+        properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+        properties.put(AvailableSettings.ORDER_INSERTS, true);
+        properties.put(AvailableSettings.ORDER_UPDATES, true);
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("com.zerobase.storereservation.domain");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(properties);
+        factory.afterPropertiesSet();
+        return factory.getObject();
+    }
+
+    /**
+     * 지정한 메소드만 응답하는 메모리 repository
+     * @param answers : 메소드 이름, 인자로 리턴값을 만드는 함수
+     */
+    public static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type},
+                (proxy, method, args) -> {
+                    Function<Object[], Object> answer = answers.get(method.getName());
+                    if (answer == null) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return answer.apply(args);
+                }));
+    }
+}
@@ -0,0 +1,110 @@
+package com.zerobase.storereservation.util;
+
+import org.apache.tomcat.util.codec.binary.Base64;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 토큰 claim 암호화/복호화 처리량 (스레드 1, 8, 32개)
+ * - legacy : 이전 방식, 호출마다 Cipher.getInstance 와 키 생성
+ * - engine : 현재 Aes256Util, 스레드별 Cipher 와 버퍼 재사용
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Aes256UtilBenchmark {
+
+    private static final String EMAIL = "user1@gmail.com";
+
+    @Param({"legacy", "engine"})
+    private String mode;
+
+    private String encrypted;
+
+    @Setup
+    public void setUp() {
+        encrypted = Aes256Util.encrypt(EMAIL);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String encrypt_1() {
+        return encrypt();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String encrypt_8() {
+        return encrypt();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public String encrypt_32() {
+        return encrypt();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String decrypt_1() {
+        return decrypt();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String decrypt_8() {
+        return decrypt();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public String decrypt_32() {
+        return decrypt();
+    }
+
+    private String encrypt() {
+        return "legacy".equals(mode) ? LegacyAes.encrypt(EMAIL) : Aes256Util.encrypt(EMAIL);
+    }
+
+    private String decrypt() {
+        return "legacy".equals(mode) ? LegacyAes.decrypt(encrypted) : Aes256Util.decrypt(encrypted);
+    }
+
+    // 비교를 위해 남겨둔 이전 Aes256Util
+    static class LegacyAes {
+        private static final String KEY = "ZEROBASEKEYISZEROBASEKEY";
+        private static final String IV = KEY.substring(0, 16);
+
+        static String encrypt(String text) {
+            try {
+                Cipher cipher = Cipher.getInstance(Aes256Util.alg);
+                SecretKeySpec key = new SecretKeySpec(KEY.getBytes(), "AES");
+                IvParameterSpec iv = new IvParameterSpec(IV.getBytes(StandardCharsets.UTF_8));
+                cipher.init(Cipher.ENCRYPT_MODE, key, iv);
+                return Base64.encodeBase64String(cipher.doFinal(text.getBytes(StandardCharsets.UTF_8)));
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        static String decrypt(String cipherText) {
+            try {
+                Cipher cipher = Cipher.getInstance(Aes256Util.alg);
+                SecretKeySpec key = new SecretKeySpec(KEY.getBytes(), "AES");
+                IvParameterSpec iv = new IvParameterSpec(IV.getBytes(StandardCharsets.UTF_8));
+                cipher.init(Cipher.DECRYPT_MODE, key, iv);
+                return new String(cipher.doFinal(Base64.decodeBase64(cipherText)), StandardCharsets.UTF_8);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.zerobase.storereservation.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.storereservation.security.JwtAuthenticationFilter;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+public class ApiClient {
+    // 실제 http 로 api 를 호출하고 결과와 응답 시간을 LoadStats 에 기록
+    // 업무 오류(예약 마감 등)는 200 과 ErrorResponse 로 오므로 응답의 errorCode 로 구분
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final LoadStats stats;
+
+    public ApiClient(String baseUrl, ObjectMapper objectMapper, LoadStats stats) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.stats = stats;
+    }
+
+    /**
+     * @return 정상 응답이면 응답 json, 업무 오류나 실패한 경우 null
+     */
+    public JsonNode send(Operation operation, String method, String path, String token, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT);
+        // 로그인 요청은 토큰 없이 보냄
+        if (token != null) {
+            builder.header(JwtAuthenticationFilter.TOKEN_HEADER, JwtAuthenticationFilter.TOKEN_PREFIX + token);
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (body == null) {
+                builder.method(method, HttpRequest.BodyPublishers.noBody());
+            } else {
+                builder.header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            }
+
+            HttpResponse<byte[]> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            long latency = System.nanoTime() - start;
+            if (response.statusCode() != 200) {
+                stats.failed(operation, latency, "HTTP_" + response.statusCode());
+                return null;
+            }
+
+            JsonNode node = objectMapper.readTree(response.body());
+            if (node != null && node.has("errorCode")) {
+                stats.rejected(operation, latency, node.get("errorCode").asText());
+                return null;
+            }
+            stats.ok(operation, latency);
+            return node;
+        } catch (IOException e) {
+            stats.failed(operation, System.nanoTime() - start, e.getClass().getSimpleName());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.zerobase.storereservation.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.storereservation.domain.reservation.entity.Reservation;
+import com.zerobase.storereservation.domain.reservation.form.ConfirmReservation;
+import com.zerobase.storereservation.domain.reservation.type.Status;
+import com.zerobase.storereservation.domain.review.entity.Review;
+import com.zerobase.storereservation.domain.review.form.CreateReview;
+import com.zerobase.storereservation.domain.review.form.UpdateReview;
+import com.zerobase.storereservation.domain.store.entity.Store;
+import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
+import com.zerobase.storereservation.domain.store.type.DateSet;
+import com.zerobase.storereservation.exception.ReservationException;
+import com.zerobase.storereservation.exception.ReviewException;
+import com.zerobase.storereservation.exception.StoreException;
+import com.zerobase.storereservation.repository.*;
+import com.zerobase.storereservation.service.ReservationService;
+import com.zerobase.storereservation.service.ReviewService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@Tag("stress")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.profiles.active=stress")
+@Import(StubGeocoderConfig.class)
+class ConcurrencyStressTest {
+    // 서비스 테스트는 repository 를 mock 으로 대신하므로 동시 요청 경합을 확인할 수 없음
+    // 내장 H2 에 실제로 저장하고 같은 시간대/매장에 승인, 취소, 리뷰를 동시에 보낸 뒤
+    // - 잔여인원 == 예약 가능 인원 - 승인된 인원 합 (초과 예약, 갱신 손실 없음)
+    // - 매장 별점 == 남아있는 리뷰 별점의 평균, 리뷰 수 == 남아있는 리뷰 수
+    // 결과(실패 사유별 수, 위반 수)는 build/results/stress/<테스트>.json 에 남겨 락/배치 작업의 기준으로 사용
+    // ./gradlew stressTest
+
+    private static final Long PARTNER_ID = 1L;
+    private static final int THREADS = 32;
+    private static final int CAPACITY = 40;
+    private static final double RATING_TOLERANCE = 0.01;
+    private static final LocalDate DATE = LocalDate.now().plusDays(1);
+
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private ReviewService reviewService;
+    @Autowired
+    private StoreRepository storeRepository;
+    @Autowired
+    private StoreReservationInfoRepository storeReservationInfoRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private ReservationSheetSlotRepository reservationSheetSlotRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SplittableRandom random = new SplittableRandom(20240201);
+
+    @AfterEach
+    void tearDown() {
+        reviewRepository.deleteAll();
+        reservationRepository.deleteAll();
+        reservationSheetSlotRepository.deleteAll();
+        storeRepository.deleteAll();
+    }
+
+    @Test
+    void approveConcurrently() throws Exception {
+        //given
+        // 시간대 4개에 잔여인원보다 훨씬 많은 대기 예약 2,000개
+        Store store = this.store(4);
+        List<Reservation> pending = this.reservations(store, 2000, Status.PENDING, false);
+
+        //when
+        Map<String, Long> outcomes = this.runConcurrently(pending, reservation ->
+                reservationService.changeReservationStatus(PARTNER_ID, ConfirmReservation.builder()
+                        .reservationId(reservation.getId())
+                        .status(Status.APPROVED)
+                        .build()));
+
+        //then
+        this.assertCapacity("approve", outcomes);
+    }
+
+    @Test
+    void approveAndCancelConcurrently() throws Exception {
+        //given
+        // 시간대마다 이미 승인된 예약(잔여인원 반영)과 대기 예약을 섞어 승인과 취소를 동시에
+        Store store = this.store(4);
+        List<Reservation> approved = this.reservations(store, 400, Status.APPROVED, false);
+        List<Reservation> pending = this.reservations(store, 1600, Status.PENDING, false);
+
+        List<Runnable> tasks = new ArrayList<>();
+        approved.forEach(reservation -> tasks.add(() ->
+                reservationService.cancelReservation(reservation.getCustomerId(), reservation.getId())));
+        for (Reservation reservation : pending) {
+            Status status = random.nextInt(4) == 0 ? Status.REJECTED : Status.APPROVED;
+            tasks.add(() -> reservationService.changeReservationStatus(PARTNER_ID, ConfirmReservation.builder()
+                    .reservationId(reservation.getId())
+                    .status(status)
+                    .build()));
+        }
+        Collections.shuffle(tasks, new Random(random.nextLong()));
+
+        //when
+        Map<String, Long> outcomes = this.runConcurrently(tasks, Runnable::run);
+
+        //then
+        this.assertCapacity("approve-cancel", outcomes);
+    }
+
+    @Test
+    void reviewConcurrently() throws Exception {
+        //given
+        // 매장 4곳의 방문 완료 예약 2,000개
+        List<Reservation> visited = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            visited.addAll(this.reservations(this.store(1), 500, Status.APPROVED, true));
+        }
+
+        //when
+        // 1. 같은 예약에 두번씩 리뷰 등록
+        List<Runnable> creates = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            for (Reservation reservation : visited) {
+                float rating = 1 + random.nextInt(5);
+                creates.add(() -> reviewService.createReview(reservation.getCustomerId(), CreateReview.builder()
+                        .reservationId(reservation.getId())
+                        .rating(rating)
+                        .comment("리뷰")
+                        .build()));
+            }
+        }
+        Collections.shuffle(creates, new Random(random.nextLong()));
+        Map<String, Long> created = this.runConcurrently(creates, Runnable::run);
+
+        // 2. 같은 리뷰에 수정 세번, 다섯개 중 하나는 삭제도 함께
+        List<Runnable> updates = new ArrayList<>();
+        for (Review review : reviewRepository.findAll()) {
+            for (int i = 0; i < 3; i++) {
+                float rating = 1 + random.nextInt(5);
+                updates.add(() -> reviewService.updateReview(review.getCustomerId(), UpdateReview.builder()
+                        .id(review.getId())
+                        .rating(rating)
+                        .comment("수정")
+                        .build()));
+            }
+            if (random.nextInt(5) == 0) {
+                updates.add(() -> reviewService.deleteReviewByCustomer(review.getCustomerId(), review.getId()));
+            }
+        }
+        Collections.shuffle(updates, new Random(random.nextLong()));
+        Map<String, Long> changed = this.runConcurrently(updates, Runnable::run);
+
+        //then
+        Map<Long, List<Review>> reviewsByStore = reviewRepository.findAll().stream()
+                .collect(Collectors.groupingBy(Review::getStoreId));
+        int countDrift = 0;
+        int ratingDrift = 0;
+        List<String> details = new ArrayList<>();
+        for (Store store : storeRepository.findAll()) {
+            List<Review> reviews = reviewsByStore.getOrDefault(store.getId(), List.of());
+            double mean = reviews.stream().mapToDouble(Review::getRating).average().orElse(0);
+            boolean count = store.getReviewCount() != reviews.size();
+            boolean rating = Math.abs(store.getRating() - mean) > RATING_TOLERANCE;
+            if (count) countDrift++;
+            if (rating) ratingDrift++;
+            details.add(String.format("store=%d reviews=%d reviewCount=%d mean=%.3f rating=%.3f",
+                    store.getId(), reviews.size(), store.getReviewCount(), mean, store.getRating()));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("created", created);
+        result.put("changed", changed);
+        result.put("countDrift", countDrift);
+        result.put("ratingDrift", ratingDrift);
+        result.put("details", details);
+        this.writeResult("review", result);
+
+        assertEquals(0, countDrift, "리뷰 수 불일치 : " + details);
+        assertEquals(0, ratingDrift, "별점 불일치 : " + details);
+    }
+
+    // 잔여인원 불변식 검사 결과를 남기고 위반이 없는지 확인
+    private void assertCapacity(String name, Map<String, Long> outcomes) throws Exception {
+        Map<String, Object> invariants = new InvariantChecker(
+                storeReservationInfoRepository, reservationRepository, transactionManager).check();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("outcomes", outcomes);
+        result.put("invariants", invariants);
+        this.writeResult(name, result);
+
+        assertTrue(outcomes.getOrDefault("ok", 0L) > 0, "성공한 요청이 없음 : " + outcomes);
+        assertEquals(0, InvariantChecker.violations(invariants), "잔여인원 불변식 위반 : " + invariants);
+    }
+
+    /**
+     * 모든 작업을 THREADS 개 스레드에서 동시에 시작
+     * @return 결과별 수 : ok, 업무 오류는 errorCode, 그 외는 예외 이름
+     */
+    private <T> Map<String, Long> runConcurrently(List<T> items, Consumer<T> action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Map<String, Long> outcomes = new ConcurrentHashMap<>();
+        List<Future<?>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    action.accept(item);
+                    outcomes.merge("ok", 1L, Long::sum);
+                } catch (RuntimeException e) {
+                    outcomes.merge(reason(e), 1L, Long::sum);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        return new TreeMap<>(outcomes);
+    }
+
+    private static String reason(RuntimeException e) {
+        if (e instanceof ReservationException) return ((ReservationException) e).getErrorCode().name();
+        if (e instanceof StoreException) return ((StoreException) e).getErrorCode().name();
+        if (e instanceof ReviewException) return ((ReviewException) e).getErrorCode().name();
+        return e.getClass().getSimpleName();
+    }
+
+    // 시간대 slots 개, 모든 시간대의 내일 잔여인원은 CAPACITY
+    private Store store(int slots) {
+        Store store = Store.builder()
+                .partnerId(PARTNER_ID)
+                .name("스트레스 테스트 매장")
+                .address("서울특별시 강남구 테헤란로 1")
+                .openAt(LocalTime.of(10, 0))
+                .closeAt(LocalTime.of(23, 0))
+                .dates(DateSet.of(DATE))
+                .storeReservationInfos(new ArrayList<>())
+                .build();
+        for (int slot = 0; slot < slots; slot++) {
+            Map<LocalDate, Integer> closed = new HashMap<>();
+            closed.put(DATE, CAPACITY);
+            LocalTime startAt = LocalTime.of(11, 0).plusHours(slot);
+            store.getStoreReservationInfos().add(StoreReservationInfo.builder()
+                    .partnerId(PARTNER_ID)
+                    .store(store)
+                    .startAt(startAt)
+                    .endAt(startAt.plusMinutes(50))
+                    .minCount(1)
+                    .maxCount(4)
+                    .count(CAPACITY)
+                    .closed(closed)
+                    .build());
+        }
+        return storeRepository.save(store);
+    }
+
+    /**
+     * 시간대를 돌아가며 예약 count 개 저장 (고객은 모두 다름)
+     * 승인된 예약은 시작 전 잔여인원에 반영하고, 잔여인원이 모자라면 대기 예약으로 저장
+     */
+    private List<Reservation> reservations(Store store, int count, Status status, boolean visit) {
+        List<StoreReservationInfo> infos = store.getStoreReservationInfos();
+        Map<Long, Integer> remaining = new HashMap<>();
+        List<Reservation> reservations = new ArrayList<>(count);
+        long customerBase = reservationRepository.count() + 1000;
+        for (int i = 0; i < count; i++) {
+            StoreReservationInfo info = infos.get(i % infos.size());
+            int headCount = 1 + random.nextInt(4);
+            Status actual = status;
+            if (status == Status.APPROVED && !visit) {
+                int left = remaining.getOrDefault(info.getId(), info.getClosed().get(DATE));
+                if (left < headCount) {
+                    actual = Status.PENDING;
+                } else {
+                    remaining.put(info.getId(), left - headCount);
+                }
+            }
+            reservations.add(Reservation.builder()
+                    .customerId(customerBase + i)
+                    .storeId(store.getId())
+                    .phone("010-0000-0000")
+                    .storeReservationInfo(info)
+                    .reservationDate(DATE)
+                    .headCount(headCount)
+                    .status(actual)
+                    .visit(visit)
+                    .build());
+        }
+
+        if (!remaining.isEmpty()) {
+            for (StoreReservationInfo info : infos) {
+                if (remaining.containsKey(info.getId())) {
+                    info.getClosed().put(DATE, remaining.get(info.getId()));
+                }
+            }
+            storeReservationInfoRepository.saveAll(infos);
+        }
+        return reservationRepository.saveAll(reservations);
+    }
+
+    private void writeResult(String name, Map<String, Object> result) throws Exception {
+        Path dir = Paths.get(System.getProperty("stress.results-dir", "build/results/stress"));
+        Files.createDirectories(dir);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(dir.resolve(name + ".json").toFile(), result);
+        log.info("{} : {}", name, objectMapper.writeValueAsString(result));
+    }
+}
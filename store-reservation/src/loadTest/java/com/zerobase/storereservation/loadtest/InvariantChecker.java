@@ -0,0 +1,70 @@
+package com.zerobase.storereservation.loadtest;
+
+import com.zerobase.storereservation.domain.reservation.entity.Reservation;
+import com.zerobase.storereservation.domain.reservation.type.Status;
+import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
+import com.zerobase.storereservation.repository.ReservationRepository;
+import com.zerobase.storereservation.repository.StoreReservationInfoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+
+@RequiredArgsConstructor
+public class InvariantChecker {
+    // 부하가 끝난 뒤 예약 상세정보의 잔여인원이 승인된 예약과 맞는지 확인
+    // - 초과 예약(overbooked) : 승인된 인원 합 > 시간대 예약 가능 인원(count)
+    // - 갱신 손실(lost update) : 마감(-1)이 아닌데 잔여인원 != count - 승인된 인원 합
+
+    private static final int MAX_DETAILS = 10;
+
+    private final StoreReservationInfoRepository storeReservationInfoRepository;
+    private final ReservationRepository reservationRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    public Map<String, Object> check() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            // 시간대, 날짜별 승인된 인원 합
+            Map<Long, Map<LocalDate, Integer>> approved = new HashMap<>();
+            for (Reservation reservation : reservationRepository.findAll()) {
+                if (!Status.APPROVED.equals(reservation.getStatus())) continue;
+                approved.computeIfAbsent(reservation.getStoreReservationInfo().getId(), key -> new HashMap<>())
+                        .merge(reservation.getReservationDate(), reservation.getHeadCount(), Integer::sum);
+            }
+
+            int overbooked = 0;
+            int lostUpdates = 0;
+            List<String> details = new ArrayList<>();
+            for (StoreReservationInfo info : storeReservationInfoRepository.findAll()) {
+                Map<LocalDate, Integer> approvedByDate = approved.getOrDefault(info.getId(), Map.of());
+                // 잔여인원이 저장된 날짜와 승인된 예약이 있는 날짜 (저장되지 않은 날짜의 잔여인원은 count)
+                Set<LocalDate> dates = new HashSet<>(info.getClosed().keySet());
+                dates.addAll(approvedByDate.keySet());
+                for (LocalDate date : dates) {
+                    int sum = approvedByDate.getOrDefault(date, 0);
+                    int remaining = info.remaining(date);
+                    boolean over = sum > info.getCount();
+                    boolean lost = remaining != -1 && remaining != info.getCount() - sum;
+                    if (over) overbooked++;
+                    if (lost) lostUpdates++;
+                    if ((over || lost) && details.size() < MAX_DETAILS) {
+                        details.add(String.format("info=%d date=%s count=%d approved=%d remaining=%d",
+                                info.getId(), date, info.getCount(), sum, remaining));
+                    }
+                }
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("overbooked", overbooked);
+            result.put("lostUpdates", lostUpdates);
+            result.put("details", details);
+            return result;
+        });
+    }
+
+    public static int violations(Map<String, Object> invariants) {
+        return (int) invariants.get("overbooked") + (int) invariants.get("lostUpdates");
+    }
+}
@@ -0,0 +1,75 @@
+package com.zerobase.storereservation.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@RequiredArgsConstructor
+public class LoadRunner {
+    // 가상 사용자들을 스레드마다 하나씩 돌림
+    // warm up 이 끝나면 기록 시작, duration 이 지나면 기록을 멈추고 가상 사용자 종료
+    // loadtest.sign-in-flood 만큼 로그인만 요청하는 사용자를 함께 돌림 (가상 사용자 수와 별도)
+
+    private final ApiClient client;
+    private final LoadStats stats;
+    private final LoadTestProperties properties;
+    private volatile boolean running;
+
+    public void run(SeedData data) throws InterruptedException {
+        int users = properties.getUsers();
+        int partnerUsers = Math.min(users - 1, properties.getWorkload().partnerUsers(users, data.getPartners().size()));
+        int customerUsers = users - partnerUsers;
+
+        List<VirtualUser> virtualUsers = new ArrayList<>(users);
+        for (int i = 0; i < customerUsers; i++) {
+            virtualUsers.add(new VirtualUser(client, data, properties,
+                    assigned(data.getCustomers(), i, customerUsers), false, properties.getSeed() + i, this::isRunning));
+        }
+        for (int i = 0; i < partnerUsers; i++) {
+            virtualUsers.add(new VirtualUser(client, data, properties,
+                    assigned(data.getPartners(), i, partnerUsers), true, properties.getSeed() + users + i, this::isRunning));
+        }
+
+        List<SignInUser> signInUsers = new ArrayList<>(data.getSignInEmails().size());
+        for (String email : data.getSignInEmails()) {
+            signInUsers.add(new SignInUser(client, email, this::isRunning));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(users + signInUsers.size());
+        running = true;
+        virtualUsers.forEach(executor::execute);
+        signInUsers.forEach(executor::execute);
+        log.info("가상 사용자 {}명 (고객 {}, 파트너 {}), 로그인 폭주 {}명 시작",
+                users, customerUsers, partnerUsers, signInUsers.size());
+
+        TimeUnit.MILLISECONDS.sleep(properties.getWarmUp().toMillis());
+        stats.startRecording();
+        TimeUnit.MILLISECONDS.sleep(properties.getDuration().toMillis());
+        stats.stopRecording();
+
+        running = false;
+        executor.shutdown();
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean isRunning() {
+        return running;
+    }
+
+    // index 번째 가상 사용자가 맡을 사용자 : index, index + size, index + 2 * size ...
+    private static List<SeedData.User> assigned(List<SeedData.User> all, int index, int size) {
+        List<SeedData.User> users = new ArrayList<>();
+        for (int i = index; i < all.size(); i += size) {
+            users.add(all.get(i));
+        }
+        return users.isEmpty() ? List.of(all.get(index % all.size())) : users;
+    }
+}
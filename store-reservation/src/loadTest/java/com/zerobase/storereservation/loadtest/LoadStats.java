@@ -0,0 +1,119 @@
+package com.zerobase.storereservation.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadStats {
+    // api 별 응답 시간 분포(HdrHistogram, us)와 결과 수
+    // - ok : 정상 응답
+    // - rejected : 200 이지만 ErrorResponse (예약 마감, 인원 초과 등 업무 오류) - errorCode 별로 셈
+    // - failed : 200 이 아닌 응답 또는 연결 오류
+    // warm up 동안은 기록하지 않음
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private final Map<Operation, OperationStats> operations = new EnumMap<>(Operation.class);
+    private volatile boolean recording;
+
+    public LoadStats() {
+        for (Operation operation : Operation.values()) {
+            operations.put(operation, new OperationStats());
+        }
+    }
+
+    public void startRecording() {
+        recording = true;
+    }
+
+    public void stopRecording() {
+        recording = false;
+    }
+
+    public void ok(Operation operation, long latencyNanos) {
+        if (!recording) return;
+        OperationStats stats = operations.get(operation);
+        stats.record(latencyNanos);
+        stats.ok.increment();
+    }
+
+    public void rejected(Operation operation, long latencyNanos, String errorCode) {
+        if (!recording) return;
+        OperationStats stats = operations.get(operation);
+        stats.record(latencyNanos);
+        stats.rejected.computeIfAbsent(errorCode, key -> new LongAdder()).increment();
+    }
+
+    public void failed(Operation operation, long latencyNanos, String reason) {
+        if (!recording) return;
+        OperationStats stats = operations.get(operation);
+        stats.record(latencyNanos);
+        stats.failed.computeIfAbsent(reason, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * api 별 처리량(초당 요청 수)과 응답 시간 백분위(ms)
+     * @param seconds : 기록한 시간
+     */
+    public Map<String, Object> report(double seconds) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        long total = 0;
+        for (Map.Entry<Operation, OperationStats> entry : operations.entrySet()) {
+            Histogram histogram = entry.getValue().latency;
+            if (histogram.getTotalCount() == 0) continue;
+            total += histogram.getTotalCount();
+            report.put(entry.getKey().name().toLowerCase(), entry.getValue().report(seconds));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requests", total);
+        result.put("throughput", round(total / seconds));
+        result.put("operations", report);
+        return result;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static class OperationStats {
+        private final Histogram latency = new ConcurrentHistogram(1, MAX_LATENCY_MICROS, 3);
+        private final LongAdder ok = new LongAdder();
+        private final Map<String, LongAdder> rejected = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> failed = new ConcurrentHashMap<>();
+
+        private void record(long latencyNanos) {
+            latency.recordValue(Math.min(MAX_LATENCY_MICROS, Math.max(1, latencyNanos / 1000)));
+        }
+
+        private Map<String, Object> report(double seconds) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("count", latency.getTotalCount());
+            report.put("throughput", round(latency.getTotalCount() / seconds));
+            report.put("ok", ok.sum());
+            report.put("rejected", sums(rejected));
+            report.put("failed", sums(failed));
+            report.put("p50", millis(latency.getValueAtPercentile(50)));
+            report.put("p90", millis(latency.getValueAtPercentile(90)));
+            report.put("p99", millis(latency.getValueAtPercentile(99)));
+            report.put("p999", millis(latency.getValueAtPercentile(99.9)));
+            report.put("max", millis(latency.getMaxValue()));
+            return report;
+        }
+
+        private static Map<String, Long> sums(Map<String, LongAdder> counts) {
+            Map<String, Long> sums = new LinkedHashMap<>();
+            counts.forEach((key, count) -> sums.put(key, count.sum()));
+            return sums;
+        }
+
+        private static double millis(long micros) {
+            return round(micros / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.zerobase.storereservation.loadtest;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+@Getter
+public class LoadTestProperties {
+    // 부하 테스트 설정 : -Ploadtest.xxx=값 (gradle) 또는 -Dloadtest.xxx=값
+
+    private final Workload workload = Workload.valueOf(string("loadtest.mix", "rush").toUpperCase());
+    private final int stores = integer("loadtest.stores", 50); // 매장 수
+    private final int slots = integer("loadtest.slots", 4); // 매장당 예약 상세정보(시간대) 수
+    private final int days = integer("loadtest.days", 7); // 예약 가능 날짜 수 (내일부터)
+    private final int capacity = integer("loadtest.capacity", 20); // 시간대별 예약 가능 인원
+    private final int customers = integer("loadtest.customers", 1000); // 고객 수
+    private final int partners = integer("loadtest.partners", 10); // 파트너 수 (매장을 나눠 가짐)
+    private final int pending = integer("loadtest.pending", 5); // 시작 전 시간대마다 만들어둘 대기 예약 수 (approval)
+    private final int hotStores = integer("loadtest.hot-stores", 3); // 예약이 몰리는 매장 수 (rush)
+    private final int users = integer("loadtest.users", 64); // 동시에 요청하는 가상 사용자 수
+    private final int signInFlood = integer("loadtest.sign-in-flood", 0); // 가상 사용자와 함께 로그인만 계속 요청하는 사용자 수
+    private final Duration warmUp = Duration.ofSeconds(integer("loadtest.warm-up", 5)); // 기록하지 않는 시작 시간
+    private final Duration duration = Duration.ofSeconds(integer("loadtest.duration", 30)); // 기록하는 시간
+    private final long geocoderLatencyMillis = integer("loadtest.geocoder-latency-ms", 0); // 좌표 변환 api 응답 시간 흉내
+    private final long seed = integer("loadtest.seed", 20240201);
+    private final boolean failOnViolation = Boolean.parseBoolean(string("loadtest.fail-on-violation", "false"));
+    private final Path resultsDir = Paths.get(string("loadtest.results-dir", "build/results/loadtest"));
+
+    private static String string(String name, String defaultValue) {
+        return System.getProperty(name, defaultValue);
+    }
+
+    private static int integer(String name, int defaultValue) {
+        return Integer.parseInt(string(name, String.valueOf(defaultValue)));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("mix=%s, stores=%d, slots=%d, days=%d, capacity=%d, customers=%d, partners=%d, users=%d, sign-in-flood=%d, duration=%ds",
+                workload.name().toLowerCase(), stores, slots, days, capacity, customers, partners, users, signInFlood,
+                duration.getSeconds());
+    }
+}
@@ -0,0 +1,19 @@
+package com.zerobase.storereservation.loadtest;
+
+public enum Operation {
+    // 가상 사용자가 호출하는 api
+    // 고객
+    SEARCH_NAME, // GET /api/store/search?keyword=
+    SEARCH_ALPHABET, // GET /api/store/search/alphabet
+    SEARCH_RATING, // GET /api/store/search/rating
+    SEARCH_DISTANCE, // GET /api/store/search/distance?address=
+    STORE_DETAIL, // GET /api/store/search/detail?id=
+    MY_RESERVATIONS, // GET /api/reservation/search/customer
+    RESERVE, // POST /api/reservation
+    CANCEL, // DELETE /api/reservation/{id}
+    // 파트너
+    APPROVE, // PATCH /api/reservation (승인 또는 거절)
+    PARTNER_RESERVATIONS, // GET /api/reservation/search/partner/{storeId}?date=
+    // 로그인 폭주
+    SIGN_IN // POST /api/member/signin
+}
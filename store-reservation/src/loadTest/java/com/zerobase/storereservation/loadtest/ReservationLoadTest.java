@@ -0,0 +1,91 @@
+package com.zerobase.storereservation.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zerobase.storereservation.repository.MemberRepository;
+import com.zerobase.storereservation.repository.ReservationRepository;
+import com.zerobase.storereservation.repository.StoreRepository;
+import com.zerobase.storereservation.repository.StoreReservationInfoRepository;
+import com.zerobase.storereservation.security.TokenProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.profiles.active=loadtest")
+@Import(StubGeocoderConfig.class)
+class ReservationLoadTest {
+    // 내장 H2 로 애플리케이션을 띄우고 실제 http 로 부하를 준 뒤
+    // api 별 처리량/응답 시간과 잔여인원 불변식 검사 결과를 build/results/loadtest/<mix>.json 에 저장
+    // ./gradlew loadTest -Ploadtest.mix=search|rush|approval
+    // -Ploadtest.sign-in-flood=N 이면 로그인 폭주 중 결과를 <mix>-sign-in-flood.json 에 저장 (같은 mix 의 결과와 예약 응답 시간 비교)
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private StoreRepository storeRepository;
+    @Autowired
+    private StoreReservationInfoRepository storeReservationInfoRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private TokenProvider tokenProvider;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void load() throws Exception {
+        LoadTestProperties properties = new LoadTestProperties();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        log.info("부하 테스트 : {}", properties);
+
+        SeedData data = new Seeder(memberRepository, storeRepository, reservationRepository, tokenProvider,
+                passwordEncoder)
+                .seed(properties);
+
+        LoadStats stats = new LoadStats();
+        new LoadRunner(new ApiClient("http://localhost:" + port, objectMapper, stats), stats, properties)
+                .run(data);
+
+        Map<String, Object> invariants = new InvariantChecker(
+                storeReservationInfoRepository, reservationRepository, transactionManager).check();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("properties", properties.toString());
+        report.put("stats", stats.report(properties.getDuration().toMillis() / 1000.0));
+        report.put("invariants", invariants);
+
+        Files.createDirectories(properties.getResultsDir());
+        String name = properties.getWorkload().name().toLowerCase()
+                + (properties.getSignInFlood() > 0 ? "-sign-in-flood" : "");
+        Path result = properties.getResultsDir().resolve(name + ".json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(result.toFile(), report);
+        log.info("결과 : {}\n{}", result.toAbsolutePath(), objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+
+        // 현재 승인/취소 경합으로 잔여인원이 어긋날 수 있어 요청한 경우만 실패 처리
+        if (properties.isFailOnViolation()) {
+            assertEquals(0, InvariantChecker.violations(invariants), "잔여인원 불변식 위반 : " + invariants);
+        }
+    }
+}
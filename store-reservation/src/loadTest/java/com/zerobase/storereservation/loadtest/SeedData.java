@@ -0,0 +1,86 @@
+package com.zerobase.storereservation.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+@Getter
+public class SeedData {
+    // 저장된 부하 테스트 데이터와 가상 사용자들이 함께 쓰는 상태
+    // - 고객별로 예약한 시간대 : 같은 고객이 같은 시간대에 두번 예약하지 않도록 함
+    // - 파트너별 대기 예약 : 고객이 예약하면 넣고 파트너가 꺼내서 승인/거절
+    // - 로그인 폭주용 계정 : 비밀번호가 BCrypt 로 저장된 계정의 이메일 (비밀번호는 SIGN_IN_PASSWORD)
+
+    public static final String SIGN_IN_PASSWORD = "loadtest";
+
+    private final List<LocalDate> dates;
+    private final List<User> customers;
+    private final List<User> partners;
+    private final List<SeedStore> stores;
+    private final List<String> signInEmails;
+    private final Map<Long, Long> partnerByStore;
+    private final Map<Long, List<Long>> storesByPartner;
+    private final Set<String> reserved = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Queue<Long>> pendingByPartner = new ConcurrentHashMap<>();
+
+    public SeedData(List<LocalDate> dates, List<User> customers, List<User> partners, List<SeedStore> stores,
+                    List<String> signInEmails) {
+        this.dates = dates;
+        this.customers = customers;
+        this.partners = partners;
+        this.stores = stores;
+        this.signInEmails = signInEmails;
+        this.partnerByStore = stores.stream().collect(Collectors.toMap(SeedStore::getId, SeedStore::getPartnerId));
+        this.storesByPartner = stores.stream().collect(Collectors.groupingBy(SeedStore::getPartnerId,
+                Collectors.mapping(SeedStore::getId, Collectors.toList())));
+    }
+
+    public Long partnerOf(Long storeId) {
+        return partnerByStore.get(storeId);
+    }
+
+    public List<Long> storesOf(Long partnerId) {
+        return storesByPartner.getOrDefault(partnerId, List.of());
+    }
+
+    /**
+     * 고객이 해당 시간대에 처음 예약하는 경우만 true
+     */
+    public boolean markReserved(Long customerId, Long infoId) {
+        return reserved.add(customerId + ":" + infoId);
+    }
+
+    public void addPending(Long partnerId, Long reservationId) {
+        pendingByPartner.computeIfAbsent(partnerId, key -> new ConcurrentLinkedQueue<>()).add(reservationId);
+    }
+
+    // 대기 예약이 없으면 null
+    public Long pollPending(Long partnerId) {
+        Queue<Long> queue = pendingByPartner.get(partnerId);
+        return queue == null ? null : queue.poll();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class User {
+        private final Long id;
+        private final String phone;
+        private final String token;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SeedStore {
+        private final Long id;
+        private final Long partnerId;
+        private final List<Long> infoIds;
+    }
+}
@@ -0,0 +1,180 @@
+package com.zerobase.storereservation.loadtest;
+
+import com.zerobase.storereservation.domain.member.entity.Member;
+import com.zerobase.storereservation.domain.reservation.entity.Reservation;
+import com.zerobase.storereservation.domain.reservation.type.Status;
+import com.zerobase.storereservation.domain.store.entity.Store;
+import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
+import com.zerobase.storereservation.domain.store.type.DateSet;
+import com.zerobase.storereservation.repository.MemberRepository;
+import com.zerobase.storereservation.repository.ReservationRepository;
+import com.zerobase.storereservation.repository.StoreRepository;
+import com.zerobase.storereservation.security.TokenProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+@RequiredArgsConstructor
+public class Seeder {
+    // 부하 테스트 시작 전 고객, 파트너, 매장, 예약 상세정보를 repository 로 바로 저장
+    // 로그인(BCrypt) 대신 TokenProvider 로 토큰을 바로 발급
+    // 로그인 폭주용 계정만 실제 로그인처럼 BCrypt 로 비밀번호를 저장 (해시는 한번만 계산해 같은 값을 사용)
+
+    private static final List<String> CUSTOMER = Collections.singletonList("ROLE_CUSTOMER");
+    private static final List<String> PARTNER = Collections.singletonList("ROLE_PARTNER");
+    private static final String[] DISTRICTS = {"강남구", "서초구", "마포구", "종로구", "송파구", "용산구", "성동구", "중구"};
+    private static final int BATCH = 500;
+
+    private final MemberRepository memberRepository;
+    private final StoreRepository storeRepository;
+    private final ReservationRepository reservationRepository;
+    private final TokenProvider tokenProvider;
+    private final PasswordEncoder passwordEncoder;
+
+    public SeedData seed(LoadTestProperties properties) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+        List<LocalDate> dates = new ArrayList<>();
+        for (int i = 1; i <= properties.getDays(); i++) {
+            dates.add(LocalDate.now().plusDays(i));
+        }
+
+        List<SeedData.User> customers = this.members("customer", properties.getCustomers(), CUSTOMER);
+        List<SeedData.User> partners = this.members("partner", properties.getPartners(), PARTNER);
+
+        List<SeedData.SeedStore> stores = new ArrayList<>();
+        List<Store> batch = new ArrayList<>();
+        for (int i = 0; i < properties.getStores(); i++) {
+            SeedData.User partner = partners.get(i % partners.size());
+            batch.add(this.store(i, partner.getId(), properties, dates, random));
+            if (batch.size() == BATCH || i == properties.getStores() - 1) {
+                for (Store store : storeRepository.saveAll(batch)) {
+                    List<Long> infoIds = new ArrayList<>();
+                    store.getStoreReservationInfos().forEach(info -> infoIds.add(info.getId()));
+                    stores.add(new SeedData.SeedStore(store.getId(), store.getPartnerId(), infoIds));
+                }
+                batch.clear();
+            }
+        }
+
+        List<String> signInEmails = this.signInMembers(properties.getSignInFlood());
+
+        SeedData data = new SeedData(dates, customers, partners, stores, signInEmails);
+        if (properties.getWorkload() == Workload.APPROVAL) {
+            this.pending(data, properties.getPending());
+        }
+        return data;
+    }
+
+    private List<SeedData.User> members(String prefix, int count, List<String> roles) {
+        List<SeedData.User> users = new ArrayList<>(count);
+        List<Member> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            batch.add(Member.builder()
+                    .email(prefix + i + "@loadtest.com")
+                    .password("{noop}loadtest")
+                    .name(prefix + i)
+                    .phone(String.format("010-%04d-%04d", i / 10000, i % 10000))
+                    .roles(roles)
+                    .build());
+            if (batch.size() == BATCH || i == count - 1) {
+                for (Member member : memberRepository.saveAll(batch)) {
+                    users.add(new SeedData.User(member.getId(), member.getPhone(),
+                            tokenProvider.generateToken(member.getId(), member.getEmail(), roles)));
+                }
+                batch.clear();
+            }
+        }
+        return users;
+    }
+
+    // 로그인 폭주 사용자마다 계정 하나
+    private List<String> signInMembers(int count) {
+        if (count == 0) return List.of();
+        String password = passwordEncoder.encode(SeedData.SIGN_IN_PASSWORD);
+        List<Member> members = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            members.add(Member.builder()
+                    .email("signin" + i + "@loadtest.com")
+                    .password(password)
+                    .name("signin" + i)
+                    .phone(String.format("011-%04d-%04d", i / 10000, i % 10000))
+                    .roles(CUSTOMER)
+                    .build());
+        }
+        List<String> emails = new ArrayList<>(count);
+        memberRepository.saveAll(members).forEach(member -> emails.add(member.getEmail()));
+        return emails;
+    }
+
+    // 11시부터 1시간 간격의 시간대, 모든 날짜의 잔여인원은 capacity
+    private Store store(int index, Long partnerId, LoadTestProperties properties, List<LocalDate> dates, SplittableRandom random) {
+        String district = DISTRICTS[index % DISTRICTS.length];
+        Store store = Store.builder()
+                .partnerId(partnerId)
+                .name(district + " 매장 " + index)
+                .description("부하 테스트 매장 " + index)
+                .address("서울특별시 " + district + " 테헤란로 " + (index + 1))
+                .openAt(LocalTime.of(10, 0))
+                .closeAt(LocalTime.of(23, 0))
+                .dates(DateSet.of(dates))
+                .storeReservationInfos(new ArrayList<>())
+                .lon((float) (126.8 + random.nextDouble() * 0.4))
+                .lat((float) (37.45 + random.nextDouble() * 0.25))
+                .build();
+
+        for (int slot = 0; slot < properties.getSlots(); slot++) {
+            // 날짜별 잔여인원은 처음 예약이 승인될 때 생김
+            LocalTime startAt = LocalTime.of(11, 0).plusHours(slot % 12);
+            store.getStoreReservationInfos().add(StoreReservationInfo.builder()
+                    .partnerId(partnerId)
+                    .store(store)
+                    .startAt(startAt)
+                    .endAt(startAt.plusMinutes(50))
+                    .minCount(1)
+                    .maxCount(8)
+                    .count(properties.getCapacity())
+                    .closed(new HashMap<>())
+                    .build());
+        }
+        return store;
+    }
+
+    // 시간대마다 첫날 대기 예약 count 개 (고객은 돌아가며 배정, 같은 고객이 같은 시간대에 두번 예약하지 않음)
+    private void pending(SeedData data, int count) {
+        List<Reservation> batch = new ArrayList<>();
+        int customer = 0;
+        LocalDate date = data.getDates().get(0);
+        for (SeedData.SeedStore store : data.getStores()) {
+            for (Long infoId : store.getInfoIds()) {
+                StoreReservationInfo info = StoreReservationInfo.builder().id(infoId).build();
+                for (int i = 0; i < Math.min(count, data.getCustomers().size()); i++) {
+                    SeedData.User user = data.getCustomers().get(customer++ % data.getCustomers().size());
+                    if (!data.markReserved(user.getId(), infoId)) continue;
+                    batch.add(Reservation.builder()
+                            .customerId(user.getId())
+                            .storeId(store.getId())
+                            .phone(user.getPhone())
+                            .storeReservationInfo(info)
+                            .reservationDate(date)
+                            .headCount(2)
+                            .status(Status.PENDING)
+                            .build());
+                }
+            }
+            if (batch.size() >= BATCH) {
+                this.savePending(data, batch);
+            }
+        }
+        this.savePending(data, batch);
+    }
+
+    private void savePending(SeedData data, List<Reservation> batch) {
+        for (Reservation reservation : reservationRepository.saveAll(batch)) {
+            data.addPending(data.partnerOf(reservation.getStoreId()), reservation.getId());
+        }
+        batch.clear();
+    }
+}
@@ -0,0 +1,31 @@
+package com.zerobase.storereservation.loadtest;
+
+import com.zerobase.storereservation.domain.member.form.SignIn;
+
+import java.util.function.BooleanSupplier;
+
+public class SignInUser implements Runnable {
+    // 쉬는 시간 없이 같은 계정으로 로그인을 계속 요청하는 사용자 (로그인 폭주)
+    // 비밀번호 확인(BCrypt)이 예약 등 다른 api 의 응답 시간에 주는 영향을 보기 위함
+    // 대기열이 가득 차 거절된 로그인(503)은 SIGN_IN 의 failed 에 HTTP_503 으로 기록됨
+
+    private final ApiClient client;
+    private final SignIn form;
+    private final BooleanSupplier running;
+
+    public SignInUser(ApiClient client, String email, BooleanSupplier running) {
+        this.client = client;
+        this.form = SignIn.builder()
+                .email(email)
+                .password(SeedData.SIGN_IN_PASSWORD)
+                .build();
+        this.running = running;
+    }
+
+    @Override
+    public void run() {
+        while (running.getAsBoolean() && !Thread.currentThread().isInterrupted()) {
+            client.send(Operation.SIGN_IN, "POST", "/api/member/signin", null, form);
+        }
+    }
+}
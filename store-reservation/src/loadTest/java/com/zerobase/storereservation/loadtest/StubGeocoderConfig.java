@@ -0,0 +1,34 @@
+package com.zerobase.storereservation.loadtest;
+
+import com.zerobase.storereservation.util.KaKakoApi;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.util.List;
+
+@TestConfiguration
+public class StubGeocoderConfig {
+    // 부하 테스트에서 카카오 api 를 호출하지 않도록 주소로 서울 안의 좌표를 만들어 반환
+    // loadtest.geocoder-latency-ms 로 api 응답 시간 흉내
+
+    @Bean
+    @Primary
+    public KaKakoApi stubKaKakoApi() {
+        long latency = new LoadTestProperties().getGeocoderLatencyMillis();
+        return new KaKakoApi() {
+            @Override
+            public List<Float> getCoordinateFromApi(String address) {
+                if (latency > 0) {
+                    try {
+                        Thread.sleep(latency);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                int hash = address.hashCode() & 0xffff;
+                return List.of(126.8f + (hash & 0xff) / 255f * 0.4f, 37.45f + (hash >>> 8) / 255f * 0.25f);
+            }
+        };
+    }
+}
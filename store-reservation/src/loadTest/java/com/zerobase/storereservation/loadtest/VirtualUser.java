@@ -0,0 +1,164 @@
+package com.zerobase.storereservation.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.zerobase.storereservation.domain.reservation.form.ConfirmReservation;
+import com.zerobase.storereservation.domain.reservation.form.MakeReservation;
+import com.zerobase.storereservation.domain.reservation.type.Status;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.BooleanSupplier;
+
+public class VirtualUser implements Runnable {
+    // 쉬는 시간 없이 응답을 받자마자 다음 요청을 보내는 가상 사용자 (closed loop)
+    // 고객은 워크로드 비율대로 검색/예약/취소, 파트너는 대기 예약을 승인(80%)/거절(20%)
+    // 담당한 고객/파트너 여러 명을 돌아가며 사용
+
+    private static final String[] KEYWORDS = {"강남구", "서초구", "마포구", "매장 1", "매장 2"};
+    private static final int MAX_RESERVE_TRIES = 5;
+
+    private final ApiClient client;
+    private final SeedData data;
+    private final LoadTestProperties properties;
+    private final List<SeedData.User> users;
+    private final boolean partner;
+    private final SplittableRandom random;
+    private final BooleanSupplier running;
+
+    private final Map<Long, List<Long>> reservations = new HashMap<>(); // 담당 고객별 예약 id (취소용)
+    private int next;
+
+    public VirtualUser(ApiClient client, SeedData data, LoadTestProperties properties,
+                       List<SeedData.User> users, boolean partner, long seed, BooleanSupplier running) {
+        this.client = client;
+        this.data = data;
+        this.properties = properties;
+        this.users = users;
+        this.partner = partner;
+        this.random = new SplittableRandom(seed);
+        this.running = running;
+    }
+
+    @Override
+    public void run() {
+        while (running.getAsBoolean() && !Thread.currentThread().isInterrupted()) {
+            SeedData.User user = users.get(next++ % users.size());
+            if (partner) {
+                this.partnerRequest(user);
+            } else {
+                this.customerRequest(user, properties.getWorkload().nextCustomerOperation(random));
+            }
+        }
+    }
+
+    private void customerRequest(SeedData.User user, Operation operation) {
+        switch (operation) {
+            case SEARCH_NAME:
+                client.send(operation, "GET", "/api/store/search?size=20&keyword="
+                        + encode(KEYWORDS[random.nextInt(KEYWORDS.length)]), user.getToken(), null);
+                break;
+            case SEARCH_ALPHABET:
+                client.send(operation, "GET", "/api/store/search/alphabet?size=20&page=" + random.nextInt(5),
+                        user.getToken(), null);
+                break;
+            case SEARCH_RATING:
+                client.send(operation, "GET", "/api/store/search/rating?size=20", user.getToken(), null);
+                break;
+            case SEARCH_DISTANCE:
+                client.send(operation, "GET", "/api/store/search/distance?size=20&address="
+                        + encode("서울특별시 " + KEYWORDS[random.nextInt(3)] + " 테헤란로 " + random.nextInt(1, 500)),
+                        user.getToken(), null);
+                break;
+            case MY_RESERVATIONS:
+                client.send(operation, "GET", "/api/reservation/search/customer?size=20", user.getToken(), null);
+                break;
+            case RESERVE:
+                this.reserve(user);
+                break;
+            case CANCEL:
+                this.cancel(user);
+                break;
+            default:
+                this.detail(user);
+        }
+    }
+
+    private void detail(SeedData.User user) {
+        client.send(Operation.STORE_DETAIL, "GET", "/api/store/search/detail?id=" + this.pickStore().getId(),
+                user.getToken(), null);
+    }
+
+    // rush 는 인기 매장의 첫날, 나머지는 전체 매장의 아무 날짜
+    private SeedData.SeedStore pickStore() {
+        List<SeedData.SeedStore> stores = data.getStores();
+        int bound = properties.getWorkload() == Workload.RUSH
+                ? Math.min(stores.size(), properties.getHotStores())
+                : stores.size();
+        return stores.get(random.nextInt(bound));
+    }
+
+    private LocalDate pickDate() {
+        List<LocalDate> dates = data.getDates();
+        return properties.getWorkload() == Workload.RUSH ? dates.get(0) : dates.get(random.nextInt(dates.size()));
+    }
+
+    private void reserve(SeedData.User user) {
+        for (int i = 0; i < MAX_RESERVE_TRIES; i++) {
+            SeedData.SeedStore store = this.pickStore();
+            Long infoId = store.getInfoIds().get(random.nextInt(store.getInfoIds().size()));
+            // 같은 고객이 같은 시간대에 다시 예약하지 않음
+            if (!data.markReserved(user.getId(), infoId)) continue;
+
+            JsonNode reservation = client.send(Operation.RESERVE, "POST", "/api/reservation", user.getToken(),
+                    MakeReservation.builder()
+                            .reservationInfoId(infoId)
+                            .headCount(random.nextInt(1, 5))
+                            .phone(user.getPhone())
+                            .reservationDate(this.pickDate())
+                            .build());
+            if (reservation != null) {
+                Long id = reservation.get("id").asLong();
+                reservations.computeIfAbsent(user.getId(), key -> new ArrayList<>()).add(id);
+                data.addPending(store.getPartnerId(), id);
+            }
+            return;
+        }
+        // 예약할 시간대가 남지 않은 고객
+        this.detail(user);
+    }
+
+    private void cancel(SeedData.User user) {
+        List<Long> ids = reservations.get(user.getId());
+        if (ids == null || ids.isEmpty()) {
+            client.send(Operation.MY_RESERVATIONS, "GET", "/api/reservation/search/customer?size=20", user.getToken(), null);
+            return;
+        }
+        Long id = ids.remove(random.nextInt(ids.size()));
+        client.send(Operation.CANCEL, "DELETE", "/api/reservation/" + id, user.getToken(), null);
+    }
+
+    private void partnerRequest(SeedData.User user) {
+        Long reservationId = data.pollPending(user.getId());
+        if (reservationId != null) {
+            client.send(Operation.APPROVE, "PATCH", "/api/reservation", user.getToken(),
+                    ConfirmReservation.builder()
+                            .reservationId(reservationId)
+                            .status(random.nextInt(5) == 0 ? Status.REJECTED : Status.APPROVED)
+                            .build());
+            return;
+        }
+
+        // 처리할 예약이 없으면 예약 현황 조회
+        List<Long> stores = data.storesOf(user.getId());
+        if (stores.isEmpty()) return;
+        client.send(Operation.PARTNER_RESERVATIONS, "GET", "/api/reservation/search/partner/"
+                        + stores.get(random.nextInt(stores.size())) + "?date=" + this.pickDate(),
+                user.getToken(), null);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
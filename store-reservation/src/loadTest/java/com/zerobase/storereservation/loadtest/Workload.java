@@ -0,0 +1,49 @@
+package com.zerobase.storereservation.loadtest;
+
+import java.util.SplittableRandom;
+
+import static com.zerobase.storereservation.loadtest.Operation.*;
+
+public enum Workload {
+    // 가상 사용자 중 파트너 비율과 고객 요청 비율
+    // 고객 요청 비율 순서 : SEARCH_NAME, SEARCH_ALPHABET, SEARCH_RATING, SEARCH_DISTANCE, STORE_DETAIL, MY_RESERVATIONS, RESERVE, CANCEL
+
+    // 조회 위주 : 매장 검색과 상세 조회, 가끔 예약
+    SEARCH(0.05, 25, 15, 20, 10, 20, 5, 4, 1),
+    // 예약 오픈 : 인기 매장(hot-stores)의 첫날에 예약이 몰리고 파트너가 바로 승인
+    RUSH(0.2, 0, 0, 0, 0, 15, 5, 75, 5),
+    // 파트너 승인 : 미리 쌓인 대기 예약을 파트너들이 승인/거절하는 동안 고객이 예약/취소
+    APPROVAL(0.75, 0, 0, 0, 0, 20, 10, 50, 20);
+
+    private static final Operation[] CUSTOMER_OPERATIONS = {
+            SEARCH_NAME, SEARCH_ALPHABET, SEARCH_RATING, SEARCH_DISTANCE, STORE_DETAIL, MY_RESERVATIONS, RESERVE, CANCEL};
+
+    private final double partnerShare;
+    private final int[] cumulative;
+
+    Workload(double partnerShare, int... weights) {
+        this.partnerShare = partnerShare;
+        this.cumulative = new int[weights.length];
+        int sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+    }
+
+    // 가상 사용자 users 명 중 파트너 수 (파트너가 있으면 최소 1명)
+    public int partnerUsers(int users, int partners) {
+        if (partners == 0) return 0;
+        return Math.max(1, (int) Math.round(users * partnerShare));
+    }
+
+    public Operation nextCustomerOperation(SplittableRandom random) {
+        int value = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (value < cumulative[i]) {
+                return CUSTOMER_OPERATIONS[i];
+            }
+        }
+        return CUSTOMER_OPERATIONS[CUSTOMER_OPERATIONS.length - 1];
+    }
+}
@@ -0,0 +1,32 @@
+package com.zerobase.storereservation.cache;
+
+import java.util.List;
+
+public final class CacheRegions {
+    // hibernate 2차 캐시 영역(region) 이름
+    // 엔티티/컬렉션의 @Cache, 조회 쿼리의 cacheRegion hint 에서 같은 이름을 사용
+
+    // 엔티티, 컬렉션
+    public static final String STORE = "store";
+    public static final String STORE_RESERVATION_INFOS = "store.reservation-infos";
+    public static final String RESERVATION_INFO = "reservation-info";
+    public static final String RESERVATION_INFO_CLOSED = "reservation-info.closed";
+
+    // 매장 검색 쿼리 결과 (매장 id 목록)
+    public static final String QUERY_STORE_NAME = "query.store.name";
+    public static final String QUERY_STORE_ALPHABET = "query.store.alphabet";
+    public static final String QUERY_STORE_RATING = "query.store.rating";
+    public static final String QUERY_STORE_ALL = "query.store.all";
+
+    // hibernate 기본 영역 : 영역을 지정하지 않은 쿼리 결과, 테이블별 마지막 변경 시간
+    public static final String DEFAULT_QUERY = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    public static final List<String> ENTITIES = List.of(
+            STORE, STORE_RESERVATION_INFOS, RESERVATION_INFO, RESERVATION_INFO_CLOSED);
+    public static final List<String> QUERIES = List.of(
+            QUERY_STORE_NAME, QUERY_STORE_ALPHABET, QUERY_STORE_RATING, QUERY_STORE_ALL, DEFAULT_QUERY);
+
+    private CacheRegions() {
+    }
+}
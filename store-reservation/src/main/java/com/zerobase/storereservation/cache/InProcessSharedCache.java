@@ -0,0 +1,90 @@
+package com.zerobase.storereservation.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(name = "cache.shared.mode", havingValue = "local", matchIfMissing = true)
+public class InProcessSharedCache implements SharedCache {
+    // redis 대신 서버 메모리에 저장하는 공유 캐시
+    // 서버 한 대로 실행하거나 테스트에서 사용, 여러 TwoTierCacheManager 가 같이 쓰면 여러 서버처럼 동작
+    // 메세지는 publish 한 스레드에서 바로 구독자에게 전달
+
+    private static final int MAX_KEYS = 100_000;
+    private static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    private final Cache<String, Stored> values = Caffeine.newBuilder()
+            .maximumSize(MAX_KEYS)
+            .expireAfter(new Expiry<String, Stored>() {
+                @Override
+                public long expireAfterCreate(String key, Stored stored, long currentTime) {
+                    return stored.ttlNanos;
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, Stored stored, long currentTime, long currentDuration) {
+                    return stored.ttlNanos;
+                }
+
+                @Override
+                public long expireAfterRead(String key, Stored stored, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public byte[] get(String key) {
+        Stored stored = values.getIfPresent(key);
+        return stored == null ? null : stored.value;
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        values.put(key, new Stored(value, ttl.toNanos()));
+    }
+
+    @Override
+    public void delete(String key) {
+        values.invalidate(key);
+    }
+
+    @Override
+    public long increment(String key) {
+        Stored stored = values.asMap().compute(key, (k, old) -> {
+            long next = old == null ? 1 : Long.parseLong(new String(old.value, StandardCharsets.UTF_8)) + 1;
+            return new Stored(Long.toString(next).getBytes(StandardCharsets.UTF_8), NO_EXPIRY);
+        });
+        return Long.parseLong(new String(stored.value, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        listeners.getOrDefault(channel, List.of()).forEach(listener -> listener.accept(message));
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        listeners.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @AllArgsConstructor
+    private static class Stored {
+        private final byte[] value;
+        private final long ttlNanos;
+    }
+}
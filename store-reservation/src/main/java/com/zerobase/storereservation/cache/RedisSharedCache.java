@@ -0,0 +1,149 @@
+package com.zerobase.storereservation.cache;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionException;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cache.shared.mode", havingValue = "redis")
+public class RedisSharedCache implements SharedCache, DisposableBean {
+    // 서버 여러 대가 함께 쓰는 redis 캐시 (lettuce)
+    // 명령은 연결 하나를 같이 쓰고, 구독은 구독 전용 연결로 받음
+    // redis 가 응답하지 않으면 timeout 후 예외 -> TwoTierCache 는 캐시가 없는 것으로 처리
+    // 연결은 처음 사용할 때 만들고, 실패하면 RETRY 동안 다시 연결하지 않고 바로 예외 (redis 가 없어도 서버는 시작됨)
+    // 연결된 뒤 끊어지면 lettuce 가 다시 연결하고 구독도 다시 함
+
+    private static final Duration RETRY = Duration.ofSeconds(5);
+
+    private final RedisClient client;
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+    private volatile StatefulRedisConnection<String, byte[]> connection;
+    private volatile StatefulRedisPubSubConnection<String, String> subscription;
+    private volatile long retryAt;
+
+    public RedisSharedCache(@Value("${cache.shared.redis-uri:redis://localhost:6379}") String uri,
+                            @Value("${cache.shared.timeout-millis:200}") long timeoutMillis) {
+        RedisURI redisUri = RedisURI.create(uri);
+        redisUri.setTimeout(Duration.ofMillis(timeoutMillis));
+        this.client = RedisClient.create(redisUri);
+        // 연결 시간도 명령 timeout 으로 제한 (기본 10초 동안 요청이 기다리지 않도록)
+        this.client.setOptions(ClientOptions.builder()
+                .socketOptions(SocketOptions.builder().connectTimeout(Duration.ofMillis(timeoutMillis)).build())
+                .build());
+    }
+
+    @Override
+    public byte[] get(String key) {
+        return connection().sync().get(key);
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        connection().sync().set(key, value, SetArgs.Builder.px(ttl.toMillis()));
+    }
+
+    @Override
+    public void delete(String key) {
+        connection().sync().del(key);
+    }
+
+    @Override
+    public long increment(String key) {
+        return connection().sync().incr(key);
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        connection().sync().publish(channel, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 연결되어 있지 않으면 구독할 채널만 기억해두고, 연결할 때 구독
+     */
+    @Override
+    public synchronized void subscribe(String channel, Consumer<String> listener) {
+        listeners.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(listener);
+        try {
+            if (subscription != null) {
+                subscription.sync().subscribe(channel);
+            } else {
+                this.connect();
+            }
+        } catch (RuntimeException e) {
+            log.warn("redis connect failed, retry on next use -> {}", channel, e);
+        }
+    }
+
+    private StatefulRedisConnection<String, byte[]> connection() {
+        StatefulRedisConnection<String, byte[]> current = connection;
+        return current != null ? current : this.connect();
+    }
+
+    // 구독을 먼저 연결해서, 공유 캐시를 쓰기 시작한 뒤의 삭제 알림은 놓치지 않도록 함
+    private synchronized StatefulRedisConnection<String, byte[]> connect() {
+        if (connection != null) {
+            return connection;
+        }
+        if (System.currentTimeMillis() < retryAt) {
+            throw new RedisConnectionException("redis connect failed recently, retry after " + RETRY);
+        }
+        try {
+            if (subscription == null) {
+                subscription = this.connectSubscription();
+            }
+            connection = client.connect(RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE));
+            return connection;
+        } catch (RuntimeException e) {
+            retryAt = System.currentTimeMillis() + RETRY.toMillis();
+            throw e;
+        }
+    }
+
+    private StatefulRedisPubSubConnection<String, String> connectSubscription() {
+        StatefulRedisPubSubConnection<String, String> pubSub = client.connectPubSub();
+        pubSub.addListener(new RedisPubSubAdapter<>() {
+            @Override
+            public void message(String channel, String message) {
+                listeners.getOrDefault(channel, List.of()).forEach(listener -> listener.accept(message));
+            }
+        });
+        if (!listeners.isEmpty()) {
+            pubSub.sync().subscribe(listeners.keySet().toArray(new String[0]));
+        }
+        return pubSub;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (subscription != null) {
+            subscription.close();
+        }
+        if (connection != null) {
+            connection.close();
+        }
+        client.shutdown();
+    }
+}
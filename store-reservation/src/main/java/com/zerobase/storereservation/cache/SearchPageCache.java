@@ -0,0 +1,94 @@
+package com.zerobase.storereservation.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.storereservation.datasource.PrimaryRead;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+@Component
+public class SearchPageCache {
+    // 매장 검색(매장명, 가나다순, 별점순) 결과 페이지를 json 바이트로 서버 메모리와 공유 캐시(TwoTierCache)에 캐시
+    // 매장이 등록/수정/삭제되면 모든 페이지를 버림
+    // 잔여인원, 별점 변경은 페이지를 버리지 않으므로 목록에는 TTL 만큼 늦게 반영됨 (매장 상세 조회는 바로 반영)
+
+    private static final int MAX_PAGES = 10_000; // 서버 메모리에 캐시할 최대 페이지 수
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+    private final TwoTierCache<byte[]> pages;
+
+    public SearchPageCache(ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                           EntityManager entityManager, TwoTierCacheManager cacheManager) {
+        this.objectMapper = objectMapper;
+        this.transactionManager = transactionManager;
+        this.entityManager = entityManager;
+        this.pages = cacheManager.create("store.search", MAX_PAGES, TTL,
+                new TwoTierCache.Codec<>() {
+                    @Override
+                    public byte[] encode(byte[] json) {
+                        return json;
+                    }
+
+                    @Override
+                    public byte[] decode(byte[] json) {
+                        return json;
+                    }
+                });
+    }
+
+    /**
+     * 캐시된 검색 결과 리턴, 없으면 loader 의 결과를 트랜잭션 안에서 json 으로 변환해 캐시
+     * @param query : 검색 종류와 조건 (예: name:강남)
+     * @param pageable
+     * @param loader : 검색 결과 페이지
+     * @return json
+     */
+    public byte[] get(String query, Pageable pageable, Supplier<?> loader) {
+        String key = query + ":" + pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort();
+        return pages.get(key, () -> this.load(loader));
+    }
+
+    private byte[] load(Supplier<?> loader) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        // 복제 db 의 이전 내용이 캐시되지 않도록 원본 db 에서 읽음
+        // 다른 서버가 바꾼 내용이 이 서버의 2차 캐시, 쿼리 캐시에 남아있을 수 있으므로 캐시를 거치지 않음 (지연 로딩 포함)
+        return PrimaryRead.call(() -> transaction.execute(status ->
+                SecondLevelCacheBypass.call(entityManager, () -> {
+                    try {
+                        return objectMapper.writeValueAsBytes(loader.get());
+                    } catch (JsonProcessingException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })));
+    }
+
+    /**
+     * 매장 목록이 바뀐 경우 모든 서버의 검색 결과를 버림
+     * 트랜잭션 안에서 호출되면 끝난 뒤에 버림
+     */
+    public void clear() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    pages.clear();
+                }
+            });
+        } else {
+            pages.clear();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.zerobase.storereservation.cache;
+
+import javax.persistence.CacheRetrieveMode;
+import javax.persistence.EntityManager;
+import java.util.function.Supplier;
+
+final class SecondLevelCacheBypass {
+    // 공유 캐시(TwoTierCache)에 저장할 값은 2차 캐시, 쿼리 캐시를 읽지 않고 db 에서 읽음
+    // 다른 서버가 바꾼 내용은 이 서버의 2차 캐시에 ttl 동안 반영되지 않으므로, 캐시된 값으로 만들면 새 버전으로 이전 내용이 공유됨
+    // 트랜잭션 안에서 호출, 끝나면 원래 값으로 되돌림 (open-in-view 로 같은 EntityManager 를 계속 사용하는 경우)
+
+    private static final String RETRIEVE_MODE = "javax.persistence.cache.retrieveMode";
+
+    private SecondLevelCacheBypass() {
+    }
+
+    static <T> T call(EntityManager entityManager, Supplier<T> loader) {
+        Object previousRetrieveMode = entityManager.getProperties().get(RETRIEVE_MODE);
+        entityManager.setProperty(RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+        try {
+            return loader.get();
+        } finally {
+            entityManager.setProperty(RETRIEVE_MODE,
+                    previousRetrieveMode instanceof CacheRetrieveMode ? previousRetrieveMode : CacheRetrieveMode.USE);
+        }
+    }
+}
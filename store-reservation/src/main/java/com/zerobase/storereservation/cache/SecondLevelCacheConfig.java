@@ -0,0 +1,97 @@
+package com.zerobase.storereservation.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+
+@Configuration
+public class SecondLevelCacheConfig {
+    // 거의 모든 요청에서 읽지만 잘 바뀌지 않는 Store, StoreReservationInfo 와 컬렉션을 hibernate 2차 캐시에 저장
+    // - 서버 메모리(caffeine jcache), 영역마다 최대 개수와 ttl 을 정해 메모리 사용량을 제한
+    // - read-write : 엔티티를 수정/삭제하면 커밋할 때 해당 엔티티, 컬렉션 항목만 갱신
+    // - 검색 쿼리 결과는 query 영역에 저장, store 테이블이 바뀌면 hibernate 가 테이블 단위로 무효화
+    // - 별점은 native update 로 바꾸고 해당 매장과 별점순 쿼리 영역만 지움 (StoreRatingRepositoryImpl)
+    // 서버가 여러 대인 경우 다른 서버의 변경은 ttl 이 지나야 반영됨
+
+    @Value("${cache.l2.entity-size:10000}")
+    private long entitySize; // 엔티티, 컬렉션 영역별 최대 개수
+    @Value("${cache.l2.query-size:1000}")
+    private long querySize; // 쿼리 결과 영역별 최대 개수
+    @Value("${cache.l2.ttl-seconds:600}")
+    private long ttlSeconds; // 다른 서버의 변경이 반영되는 최대 시간
+
+    /**
+     * 애플리케이션 컨텍스트마다 따로 만든 provider 에서 CacheManager 생성
+     * Caching.getCachingProvider() 는 JVM 전체에서 같은 CacheManager 를 돌려줘서
+     * 컨텍스트가 여러 개 뜨면(테스트) 같은 이름의 영역을 다시 만들다 실패함
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = new CaffeineCachingProvider()
+                .getCacheManager(URI.create("hibernate-second-level-cache"), getClass().getClassLoader());
+
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        CacheRegions.ENTITIES.forEach(region -> cacheManager.createCache(region, configuration(entitySize, ttl)));
+        CacheRegions.QUERIES.forEach(region -> cacheManager.createCache(region, configuration(querySize, ttl)));
+        // 테이블별 변경 시간이 먼저 사라지면 오래된 쿼리 결과를 그대로 쓰게 되므로 만료시키지 않음 (테이블 수만큼만 저장됨)
+        cacheManager.createCache(CacheRegions.UPDATE_TIMESTAMPS, configuration(querySize, null));
+        return cacheManager;
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuration(long maximumSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        // hibernate 가 캐시에 넣는 값은 이미 분해된 복사본이라 직렬화해서 다시 복사하지 않음
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+
+    /**
+     * hibernate 가 위에서 만든 영역만 사용하도록 등록
+     * 설정하지 않은 영역을 사용하면 크기 제한 없이 만들어지지 않고 시작할 때 실패함
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * 영역별 hit/miss/put/eviction 수를 지표로 기록
+     * cache_gets_total{cache="store", result="hit"}, cache_evictions_total{cache="query.store.name"} 등
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            List<String> regions = new ArrayList<>(CacheRegions.ENTITIES);
+            regions.addAll(CacheRegions.QUERIES);
+            regions.add(CacheRegions.UPDATE_TIMESTAMPS);
+            regions.forEach(region ->
+                    new JCacheMetrics<>(hibernateCacheManager.getCache(region), Tags.empty()).bindTo(registry));
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.zerobase.storereservation.cache;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * 서버 여러 대가 함께 쓰는 캐시 (redis 와 같은 명령)
+ * - cache.shared.mode=redis : RedisSharedCache
+ * - cache.shared.mode=local (기본) : InProcessSharedCache, 서버 한 대나 테스트용
+ */
+public interface SharedCache {
+
+    /**
+     * @return 저장된 값, 없거나 만료되었으면 null
+     */
+    byte[] get(String key);
+
+    void put(String key, byte[] value, Duration ttl);
+
+    void delete(String key);
+
+    /**
+     * 숫자 값을 1 올림, 없으면 1
+     * @return 올린 값
+     */
+    long increment(String key);
+
+    /**
+     * 구독 중인 모든 서버(자신 포함)에 메세지 전달
+     */
+    void publish(String channel, String message);
+
+    void subscribe(String channel, Consumer<String> listener);
+}
@@ -0,0 +1,18 @@
+package com.zerobase.storereservation.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.util.DigestUtils;
+
+@Getter
+@AllArgsConstructor
+public class StoreDetail {
+    // json 으로 변환해둔 매장 상세정보
+
+    private final byte[] json; // 응답 본문 (UTF-8)
+    private final String etag; // 본문의 md5
+
+    public static StoreDetail of(byte[] json) {
+        return new StoreDetail(json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+    }
+}
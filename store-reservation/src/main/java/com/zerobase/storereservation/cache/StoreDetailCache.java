@@ -0,0 +1,95 @@
+package com.zerobase.storereservation.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.storereservation.datasource.PrimaryRead;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+@Component
+public class StoreDetailCache {
+    // 매장 상세 조회 응답을 json 바이트로 변환해 매장 id 별로 캐시
+    // 인기 매장은 매장, 예약 상세정보, 날짜별 잔여인원을 읽고 변환하는 일 없이 바이트를 그대로 응답
+    // 서버 메모리와 공유 캐시(TwoTierCache)에 저장해 서버가 여러 대여도 한 서버가 변환한 내용을 같이 씀
+    // 매장, 예약 상세정보, 잔여인원, 별점이 바뀌면 evict 로 모든 서버에서 지움
+
+    private static final int MAX_STORES = 10_000; // 서버 메모리에 캐시할 최대 매장 수
+    private static final Duration TTL = Duration.ofMinutes(10); // 삭제 알림을 놓친 경우에도 반영되는 최대 시간
+
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+    private final TwoTierCache<StoreDetail> details;
+
+    public StoreDetailCache(ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                            EntityManager entityManager, TwoTierCacheManager cacheManager) {
+        this.objectMapper = objectMapper;
+        this.transactionManager = transactionManager;
+        this.entityManager = entityManager;
+        this.details = cacheManager.create("store.detail", MAX_STORES, TTL,
+                new TwoTierCache.Codec<>() {
+                    @Override
+                    public byte[] encode(StoreDetail detail) {
+                        return detail.getJson();
+                    }
+
+                    @Override
+                    public StoreDetail decode(byte[] json) {
+                        return StoreDetail.of(json);
+                    }
+                });
+    }
+
+    /**
+     * 캐시된 매장 상세정보 리턴, 없으면 loader 의 결과를 변환해 캐시
+     * 변환은 트랜잭션 안에서 해서 지연 로딩되는 예약 상세정보도 함께 변환
+     * @param storeId
+     * @param loader : 매장 상세정보 (매장이 없으면 예외)
+     * @return json, ETag
+     */
+    public StoreDetail get(Long storeId, Supplier<?> loader) {
+        return details.get(String.valueOf(storeId), () -> this.load(loader));
+    }
+
+    private StoreDetail load(Supplier<?> loader) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        // 복제 db 의 이전 내용이 캐시되지 않도록 원본 db 에서 읽음
+        // 다른 서버가 바꾼 내용이 이 서버의 2차 캐시, 쿼리 캐시에 남아있을 수 있으므로 캐시를 거치지 않음 (지연 로딩 포함)
+        byte[] json = PrimaryRead.call(() -> transaction.execute(status ->
+                SecondLevelCacheBypass.call(entityManager, () -> {
+                    try {
+                        return objectMapper.writeValueAsBytes(loader.get());
+                    } catch (JsonProcessingException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })));
+        return StoreDetail.of(json);
+    }
+
+    /**
+     * 매장 정보가 바뀐 경우 캐시된 상세정보를 버림
+     * 트랜잭션 안에서 호출되면 끝난 뒤에 버려서, 커밋 전 내용이 다시 캐시되지 않도록 함
+     * @param storeId
+     */
+    public void evict(Long storeId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    details.evict(String.valueOf(storeId));
+                }
+            });
+        } else {
+            details.evict(String.valueOf(storeId));
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.zerobase.storereservation.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Slf4j
+public class TwoTierCache<T> {
+    // 서버 메모리(local) -> 공유 캐시(shared) -> loader 순서로 찾는 캐시
+    // - single flight : 한 서버에서 같은 key 를 동시에 찾으면 한 요청만 공유 캐시/loader 를 거치고 나머지는 결과를 기다림
+    // - 확률적 조기 갱신 : 만료가 가까울수록, 다시 만드는 데 오래 걸리는 값일수록 높은 확률로 만료 전에 한 요청이 미리 갱신
+    //   (만료되는 순간 모든 서버의 요청이 한꺼번에 db 로 가지 않도록 함)
+    // - evict/clear 는 공유 캐시에서 지우고 모든 서버에 알려 각 서버 메모리에서도 지움
+    // - 공유 캐시 key 에 key 별 버전을 포함 : evict 할 때 버전을 올리므로 다른 서버가 evict 전에 읽기 시작한 값을
+    //   evict 후에 저장해도 이전 버전 key 에 저장되어 아무도 읽지 않음 (clear 의 generation 과 같은 방식)
+    // 공유 캐시에 오류가 나면 서버 메모리와 loader 만으로 동작
+
+    private static final double BETA = 1.0; // 조기 갱신 정도 (클수록 일찍 갱신)
+    private static final Duration LOCAL_TTL = Duration.ofMinutes(1); // 삭제 알림을 놓친 경우 서버 메모리에 남아있는 최대 시간
+    private static final Duration EPOCH_TTL = Duration.ofMinutes(1); // loader 가 이보다 오래 걸리면 그 사이 삭제된 것을 모를 수 있음
+    private static final int HEADER = Long.BYTES + Integer.BYTES; // 만료 시각, loader 시간
+
+    private final String name;
+    private final Duration ttl;
+    private final Codec<T> codec;
+    private final SharedCache shared;
+    private final TwoTierCacheManager manager;
+
+    private final Cache<String, Entry<T>> local;
+    // 최근에 지운 key, 지운 횟수 : 지우기 전에 시작한 loader 의 결과를 저장하지 않도록 함
+    private final Cache<String, Long> epochs = Caffeine.newBuilder()
+            .expireAfterWrite(EPOCH_TTL)
+            .build();
+    private final Map<String, CompletableFuture<Entry<T>>> loading = new ConcurrentHashMap<>();
+    // clear 할 때마다 올라가는 번호, 공유 캐시 key 에 포함해 이전 값을 한번에 버림
+    private volatile long generation;
+
+    private final LongAdder sharedHits = new LongAdder();
+    private final LongAdder sharedMisses = new LongAdder();
+    private final LongAdder earlyRefreshes = new LongAdder();
+
+    TwoTierCache(String name, int maxSize, Duration ttl, Codec<T> codec, SharedCache shared, TwoTierCacheManager manager) {
+        this.name = name;
+        this.ttl = ttl;
+        this.codec = codec;
+        this.shared = shared;
+        this.manager = manager;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry<T>>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry<T> entry, long currentTime) {
+                        long remaining = Duration.ofMillis(entry.expiresAt - System.currentTimeMillis()).toNanos();
+                        return Math.max(0, Math.min(remaining, LOCAL_TTL.toNanos()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry<T> entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry<T> entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        this.generation = this.sharedGeneration();
+    }
+
+    /**
+     * 캐시된 값 리턴, 서버 메모리와 공유 캐시에 모두 없으면 loader 의 결과를 저장하고 리턴
+     * @param key
+     * @param loader : 값을 새로 만듦 (예외는 그대로 전달되고 저장하지 않음)
+     * @return
+     */
+    public T get(String key, Supplier<T> loader) {
+        Entry<T> entry = local.getIfPresent(key);
+        if (entry == null) {
+            return this.singleFlight(key, loader, false).value;
+        }
+        if (entry.refreshEarly(System.currentTimeMillis()) && !loading.containsKey(key)) {
+            earlyRefreshes.increment();
+            return this.singleFlight(key, loader, true).value;
+        }
+        return entry.value;
+    }
+
+    /**
+     * 모든 서버에서 key 의 값을 지움
+     */
+    public void evict(String key) {
+        this.evictLocal(key);
+        try {
+            long next = shared.increment(this.versionKey(key));
+            // 이전 버전의 값은 더 이상 읽지 않으므로 ttl 을 기다리지 않고 지움
+            shared.delete(this.sharedKey(key, next - 1));
+        } catch (RuntimeException e) {
+            log.warn("shared cache delete failed -> {} {}", name, key, e);
+        }
+        manager.publishEvict(name, key);
+    }
+
+    /**
+     * 모든 서버에서 모든 값을 지움
+     */
+    public void clear() {
+        long next;
+        try {
+            next = shared.increment(this.generationKey());
+        } catch (RuntimeException e) {
+            log.warn("shared cache increment failed -> {}", name, e);
+            next = generation + 1;
+        }
+        this.clearLocal(next);
+        manager.publishClear(name, next);
+    }
+
+    void evictLocal(String key) {
+        epochs.asMap().merge(key, 1L, Long::sum);
+        local.invalidate(key);
+    }
+
+    void clearLocal(long next) {
+        synchronized (this) {
+            generation = Math.max(generation + 1, next);
+        }
+        local.invalidateAll();
+    }
+
+    // 같은 key 를 먼저 찾고 있는 요청이 있으면 그 결과를 기다림
+    private Entry<T> singleFlight(String key, Supplier<T> loader, boolean skipShared) {
+        CompletableFuture<Entry<T>> mine = new CompletableFuture<>();
+        CompletableFuture<Entry<T>> running = loading.putIfAbsent(key, mine);
+        if (running != null) {
+            return join(running);
+        }
+
+        try {
+            // loader 를 실행하기 전의 버전 : 그 사이 다른 서버에서 evict 하면 결과는 이전 버전 key 에 저장됨
+            Long version = this.sharedVersion(key);
+            Entry<T> entry = skipShared || version == null ? null : this.fromShared(key, version);
+            if (entry == null) {
+                entry = this.load(key, version, loader);
+            }
+            mine.complete(entry);
+            return entry;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, mine);
+        }
+    }
+
+    private Entry<T> fromShared(String key, long version) {
+        long epoch = this.epochOf(key);
+        long loadingGeneration = generation;
+        byte[] bytes;
+        try {
+            bytes = shared.get(this.sharedKey(key, version));
+        } catch (RuntimeException e) {
+            log.warn("shared cache get failed -> {} {}", name, key, e);
+            return null;
+        }
+        if (bytes == null) {
+            sharedMisses.increment();
+            return null;
+        }
+
+        sharedHits.increment();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long expiresAt = buffer.getLong();
+        int loadMillis = buffer.getInt();
+        byte[] payload = new byte[bytes.length - HEADER];
+        buffer.get(payload);
+        Entry<T> entry = new Entry<>(codec.decode(payload), expiresAt, loadMillis);
+        if (epoch == this.epochOf(key) && loadingGeneration == generation) {
+            local.put(key, entry);
+        }
+        return entry;
+    }
+
+    // version : 공유 캐시에 오류가 나서 모르면 null (공유 캐시에 저장하지 않음)
+    private Entry<T> load(String key, Long version, Supplier<T> loader) {
+        long epoch = this.epochOf(key);
+        long loadingGeneration = generation;
+
+        long start = System.nanoTime();
+        T value = loader.get();
+        int loadMillis = (int) Math.min(Integer.MAX_VALUE, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        Entry<T> entry = new Entry<>(value, System.currentTimeMillis() + ttl.toMillis(), loadMillis);
+
+        // 불러오는 동안 지워졌으면 이전 내용일 수 있으므로 저장하지 않고 이번 요청에만 사용
+        if (epoch != this.epochOf(key) || loadingGeneration != generation) {
+            return entry;
+        }
+        local.put(key, entry);
+        if (version == null) {
+            return entry;
+        }
+
+        byte[] payload = codec.encode(value);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER + payload.length)
+                .putLong(entry.expiresAt)
+                .putInt(loadMillis)
+                .put(payload);
+        try {
+            shared.put(this.sharedKey(key, version), buffer.array(), ttl);
+        } catch (RuntimeException e) {
+            log.warn("shared cache put failed -> {} {}", name, key, e);
+        }
+        return entry;
+    }
+
+    private long epochOf(String key) {
+        Long epoch = epochs.getIfPresent(key);
+        return epoch == null ? 0 : epoch;
+    }
+
+    private long sharedGeneration() {
+        try {
+            byte[] bytes = shared.get(this.generationKey());
+            return bytes == null ? 0 : Long.parseLong(new String(bytes, StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            log.warn("shared cache get failed -> {} generation", name, e);
+            return 0;
+        }
+    }
+
+    // key 의 현재 버전, 한번도 evict 하지 않았으면 0, 공유 캐시 오류면 null
+    private Long sharedVersion(String key) {
+        try {
+            byte[] bytes = shared.get(this.versionKey(key));
+            return bytes == null ? 0 : Long.parseLong(new String(bytes, StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            log.warn("shared cache get failed -> {} {} version", name, key, e);
+            return null;
+        }
+    }
+
+    private String sharedKey(String key, long version) {
+        return name + ":" + generation + ":" + key + ":" + version;
+    }
+
+    // 만료시키지 않음 (evict 한 적 있는 key 수만큼만 저장됨)
+    private String versionKey(String key) {
+        return name + ":ver:" + key;
+    }
+
+    private String generationKey() {
+        return name + ":generation";
+    }
+
+    private static <T> Entry<T> join(CompletableFuture<Entry<T>> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * 서버 메모리 캐시 : cache_gets_total{cache=name, result="hit" / "miss"}
+     * 공유 캐시 : cache.shared.gets{cache=name, result="hit" / "miss"}, 조기 갱신 : cache.early.refreshes{cache=name}
+     */
+    void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, local, name);
+        registry.more().counter("cache.shared.gets", Tags.of("cache", name, "result", "hit"),
+                sharedHits, LongAdder::sum);
+        registry.more().counter("cache.shared.gets", Tags.of("cache", name, "result", "miss"),
+                sharedMisses, LongAdder::sum);
+        registry.more().counter("cache.early.refreshes", Tags.of("cache", name),
+                earlyRefreshes, LongAdder::sum);
+    }
+
+    /**
+     * 공유 캐시에 저장할 바이트로 변환
+     */
+    public interface Codec<T> {
+        byte[] encode(T value);
+
+        T decode(byte[] bytes);
+    }
+
+    @AllArgsConstructor
+    private static class Entry<T> {
+        private final T value;
+        private final long expiresAt; // epoch ms, 모든 서버가 같은 값 사용
+        private final int loadMillis;
+
+        // XFetch : now - loadMillis * BETA * ln(rand) >= expiresAt 이면 갱신
+        private boolean refreshEarly(long now) {
+            double gap = -loadMillis * BETA * Math.log(ThreadLocalRandom.current().nextDouble());
+            return now + gap >= expiresAt;
+        }
+    }
+}
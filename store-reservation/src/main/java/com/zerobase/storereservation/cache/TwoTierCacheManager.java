@@ -0,0 +1,85 @@
+package com.zerobase.storereservation.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class TwoTierCacheManager implements MeterBinder {
+    // TwoTierCache 를 만들고 서버 사이의 삭제 알림을 주고받음
+    // 알림 : evict|{서버}|{캐시}|{key}, clear|{서버}|{캐시}|{번호} - 자신이 보낸 알림은 이미 처리했으므로 무시
+
+    static final String CHANNEL = "cache.invalidate";
+
+    private final SharedCache shared;
+    private final String node = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache<?>> caches = new ConcurrentHashMap<>();
+    private MeterRegistry registry; // 지표 등록 전에 만든 캐시는 등록할 때 함께 등록
+
+    public TwoTierCacheManager(SharedCache shared) {
+        this.shared = shared;
+        shared.subscribe(CHANNEL, this::onMessage);
+    }
+
+    /**
+     * @param name : 캐시 이름 (공유 캐시 key 와 지표에 사용)
+     * @param maxSize : 서버 메모리에 저장할 최대 개수
+     * @param ttl : 값이 유지되는 시간
+     * @param codec : 공유 캐시에 저장할 바이트 변환
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> TwoTierCache<T> create(String name, int maxSize, Duration ttl, TwoTierCache.Codec<T> codec) {
+        // 같은 이름은 같은 캐시 (같은 빈이 여러 개인 경우)
+        if (caches.containsKey(name)) {
+            return (TwoTierCache<T>) caches.get(name);
+        }
+        TwoTierCache<T> cache = new TwoTierCache<>(name, maxSize, ttl, codec, shared, this);
+        caches.put(name, cache);
+        if (registry != null) {
+            cache.bindTo(registry);
+        }
+        return cache;
+    }
+
+    void publishEvict(String name, String key) {
+        this.publish("evict|" + node + "|" + name + "|" + key);
+    }
+
+    void publishClear(String name, long generation) {
+        this.publish("clear|" + node + "|" + name + "|" + generation);
+    }
+
+    private void publish(String message) {
+        try {
+            shared.publish(CHANNEL, message);
+        } catch (RuntimeException e) {
+            log.warn("cache invalidation publish failed -> {}", message, e);
+        }
+    }
+
+    private void onMessage(String message) {
+        String[] parts = message.split("\\|", 4);
+        if (parts.length < 4 || node.equals(parts[1])) return;
+
+        TwoTierCache<?> cache = caches.get(parts[2]);
+        if (cache == null) return;
+        if ("evict".equals(parts[0])) {
+            cache.evictLocal(parts[3]);
+        } else if ("clear".equals(parts[0])) {
+            cache.clearLocal(Long.parseLong(parts[3]));
+        }
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        caches.values().forEach(cache -> cache.bindTo(registry));
+    }
+}
@@ -1,17 +1,29 @@
 package com.zerobase.storereservation.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Clock;
+
 @Configuration
 public class AppConfig {
     /**
      * 비밀번호 암호와 위해 Bean 등록
+     * 해시 비용(strength)을 올리면 기존 회원은 다음 로그인시 새 비용으로 다시 저장됨
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength){
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * 현재 날짜/시간 확인에 사용 (테스트에서는 고정된 시간으로 바꿔서 확인)
      */
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public Clock clock() {
+        return Clock.systemDefaultZone();
     }
 }
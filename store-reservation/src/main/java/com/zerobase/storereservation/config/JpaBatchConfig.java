@@ -0,0 +1,31 @@
+package com.zerobase.storereservation.config;
+
+import com.zerobase.storereservation.domain.TsidIdentifierGenerator;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaBatchConfig {
+    /**
+     * insert/update 를 테이블별로 모아 jdbc batch 로 보냄 (예약 상세정보, 날짜별 잔여인원 등 여러 행을 저장하는 경우)
+     * id 는 TsidIdentifierGenerator 가 만들므로 IDENTITY 와 달리 insert 도 묶을 수 있음
+     * @param batchSize : 한번에 보낼 최대 sql 수 (jpa.batch-size)
+     * @param node : id 를 만드는 서버 번호 0 ~ 1023 (id.node), 서버가 여러 대면 서로 다르게 설정
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jpaBatchCustomizer(@Value("${jpa.batch-size:50}") int batchSize,
+                                                           @Value("${id.node:#{null}}") Integer node) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.put(AvailableSettings.ORDER_INSERTS, true);
+            properties.put(AvailableSettings.ORDER_UPDATES, true);
+            properties.put(AvailableSettings.BATCH_VERSIONED_DATA, true);
+            if (node != null) {
+                properties.put(TsidIdentifierGenerator.NODE_SETTING, node);
+            }
+        };
+    }
+}
@@ -1,15 +1,31 @@
 package com.zerobase.storereservation.config;
 
+import com.zerobase.storereservation.security.JwtAuthenticationFilter;
+import com.zerobase.storereservation.security.MemberPrincipal;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
 import springfox.documentation.builders.ApiInfoBuilder;
 import springfox.documentation.builders.PathSelectors;
 import springfox.documentation.builders.RequestHandlerSelectors;
 import springfox.documentation.service.ApiInfo;
+import springfox.documentation.service.ApiKey;
+import springfox.documentation.service.AuthorizationScope;
+import springfox.documentation.service.SecurityReference;
 import springfox.documentation.spi.DocumentationType;
+import springfox.documentation.spi.service.contexts.SecurityContext;
 import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.spring.web.plugins.WebMvcRequestHandlerProvider;
 import springfox.documentation.swagger2.annotations.EnableSwagger2;
 
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Configuration
 @EnableSwagger2
 public class SwaggerConfig {
@@ -23,12 +39,28 @@ public class SwaggerConfig {
         return new Docket(DocumentationType.SWAGGER_2)
                 .useDefaultResponseMessages(false)
                 .apiInfo(apiInfo())
+                .ignoredParameterTypes(MemberPrincipal.class) // @LoginMember 는 토큰에서 만들어지므로 문서에서 제외
+                .securitySchemes(Collections.singletonList(apiKey()))
+                .securityContexts(Collections.singletonList(securityContext()))
                 .select()
                 .apis(RequestHandlerSelectors.basePackage("com.zerobase.storereservation"))
                 .paths(PathSelectors.any())
                 .build();
     }
 
+    // 문서에서 Authorization 헤더에 토큰을 넣어 요청할 수 있게 함
+    private ApiKey apiKey() {
+        return new ApiKey(JwtAuthenticationFilter.TOKEN_HEADER, JwtAuthenticationFilter.TOKEN_HEADER, "header");
+    }
+
+    private SecurityContext securityContext() {
+        AuthorizationScope[] scopes = {new AuthorizationScope("global", "access all")};
+        return SecurityContext.builder()
+                .securityReferences(Collections.singletonList(
+                        new SecurityReference(JwtAuthenticationFilter.TOKEN_HEADER, scopes)))
+                .build();
+    }
+
     private ApiInfo apiInfo() {
         return new ApiInfoBuilder()
                 .title("매장 테이블 예약 서비스 구현(스프링 부트를 활용한 서버 API 기반")
@@ -36,4 +68,34 @@ public class SwaggerConfig {
                 .description("식당이나 점포를 이용하기 전에 미리 예약하여 편하게 식당/점포를 이용할 수 있는 서비스")
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * actuator 의 handler mapping 은 PathPatternParser 를 사용해 springfox 가 시작시 실패하므로
+     * springfox 가 문서를 만들 때 해당 mapping 은 제외
+     * @return
+     */
+    @Bean
+    public static BeanPostProcessor springfoxHandlerProviderBeanPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof WebMvcRequestHandlerProvider) {
+                    List<RequestMappingInfoHandlerMapping> mappings = getHandlerMappings(bean);
+                    List<RequestMappingInfoHandlerMapping> antPathMappings = mappings.stream()
+                            .filter(mapping -> mapping.getPatternParser() == null)
+                            .collect(Collectors.toList());
+                    mappings.clear();
+                    mappings.addAll(antPathMappings);
+                }
+                return bean;
+            }
+
+            @SuppressWarnings("unchecked")
+            private List<RequestMappingInfoHandlerMapping> getHandlerMappings(Object bean) {
+                Field field = ReflectionUtils.findField(bean.getClass(), "handlerMappings");
+                ReflectionUtils.makeAccessible(field);
+                return (List<RequestMappingInfoHandlerMapping>) ReflectionUtils.getField(field, bean);
+            }
+        };
+    }
+}
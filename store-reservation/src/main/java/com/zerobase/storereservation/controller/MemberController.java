@@ -4,6 +4,8 @@ import com.zerobase.storereservation.domain.member.dto.MemberDto;
 import com.zerobase.storereservation.domain.member.form.SignIn;
 import com.zerobase.storereservation.domain.member.form.SignUp;
 import com.zerobase.storereservation.domain.member.form.TokenResponse;
+import com.zerobase.storereservation.security.LoginMember;
+import com.zerobase.storereservation.security.MemberPrincipal;
 import com.zerobase.storereservation.security.TokenProvider;
 import com.zerobase.storereservation.service.MemberService;
 import lombok.RequiredArgsConstructor;
@@ -63,15 +65,26 @@ public class MemberController {
 
     /**
      * 사용자 정보 찾기
-     * @param token
+     * @param member : 로그인 사용자 정보
      * @return 토큰으로 찾은 유저 정보
      */
     @GetMapping
-    public ResponseEntity<MemberDto> getMemberInfo(@RequestHeader(name = "Authorization") String token) {
-        Long id = tokenProvider.getUserIdFromToken(token);
+    public ResponseEntity<MemberDto> getMemberInfo(@LoginMember MemberPrincipal member) {
+        Long id = member.getId();
         MemberDto result = memberService.findMember(id);
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * 로그아웃
+     * 로그아웃 이전에 발급된 토큰은 만료시간 전이어도 사용할 수 없음
+     * @param member : 로그인 사용자 정보
+     * @return 로그아웃 결과
+     */
+    @PostMapping("/signout")
+    public ResponseEntity<?> signOutMember(@LoginMember MemberPrincipal member) {
+        tokenProvider.revoke(member);
+        return ResponseEntity.ok("로그아웃 되었습니다.");
+    }
 
 }
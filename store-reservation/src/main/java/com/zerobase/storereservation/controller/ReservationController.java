@@ -2,7 +2,8 @@ package com.zerobase.storereservation.controller;
 
 import com.zerobase.storereservation.domain.reservation.form.ConfirmReservation;
 import com.zerobase.storereservation.domain.reservation.form.MakeReservation;
-import com.zerobase.storereservation.security.TokenProvider;
+import com.zerobase.storereservation.security.LoginMember;
+import com.zerobase.storereservation.security.MemberPrincipal;
 import com.zerobase.storereservation.service.ReservationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,69 +22,68 @@ import java.util.List;
 @RequestMapping("/api/reservation")
 public class ReservationController {
     private final ReservationService reservationService;
-    private final TokenProvider tokenProvider;
     private final ValidationErrorResponse validationErrorResponse;
 
     /**
      * 매장 예약
-     * @param token
+     * @param member : 로그인 사용자 정보
      * @param form : reservationInfoId, headCount(예약 인원), phone, reservationDate
      * @param errors : form의 validation 체크후 잘못된 형식의 메세지 리턴
      * @return : 저장된 예약 정보
      */
     @PostMapping
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<?> makeReservation(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> makeReservation(@LoginMember MemberPrincipal member,
                                              @RequestBody @Valid MakeReservation form, Errors errors) {
         List<ResponseError> responseErrors = validationErrorResponse.checkValidation(errors);
         if (!responseErrors.isEmpty()) {
             return new ResponseEntity<>(responseErrors, HttpStatus.BAD_REQUEST);
         }
-        return ResponseEntity.ok(reservationService.makeReservation(tokenProvider.getUserIdFromToken(token), form));
+        return ResponseEntity.ok(reservationService.makeReservation(member.getId(), form));
     }
 
     /**
      * 신청된 예약 승인, 거절
-     * @param token
+     * @param member : 로그인 사용자 정보
      * @param form : reservationId, status(예약/승인)
      * @param errors : form의 validation 체크후 잘못된 형식의 메세지 리턴
      * @return : 수정한 예약 정보
      */
     @PatchMapping
     @PreAuthorize("hasRole('PARTNER')")
-    public ResponseEntity<?> changeReservationStatus(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> changeReservationStatus(@LoginMember MemberPrincipal member,
                                                 @RequestBody @Valid ConfirmReservation form, Errors errors) {
         List<ResponseError> responseErrors = validationErrorResponse.checkValidation(errors);
         if (!responseErrors.isEmpty()) {
             return new ResponseEntity<>(responseErrors, HttpStatus.BAD_REQUEST);
         }
-        return ResponseEntity.ok(reservationService.changeReservationStatus(tokenProvider.getUserIdFromToken(token), form));
+        return ResponseEntity.ok(reservationService.changeReservationStatus(member.getId(), form));
     }
 
     /**
      * 매장 예약 취소
-     * @param token
+     * @param member : 로그인 사용자 정보
      * @param id
      * @return : 취소한 예약 정보
      */
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<?> cancelReservation(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> cancelReservation(@LoginMember MemberPrincipal member,
                                                @PathVariable Long id) {
-        return ResponseEntity.ok(reservationService.cancelReservation(tokenProvider.getUserIdFromToken(token), id));
+        return ResponseEntity.ok(reservationService.cancelReservation(member.getId(), id));
     }
 
     /**
      * 매장 방문 확인
-     * @param token
+     * @param member : 로그인 사용자 정보
      * @param id
      * @return : 수정한 예약 정보
      */
     @PatchMapping("/visit")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<?> visitReservation(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> visitReservation(@LoginMember MemberPrincipal member,
                                                @RequestParam Long id) {
-        return ResponseEntity.ok(reservationService.visitReservation(tokenProvider.getUserIdFromToken(token), id));
+        return ResponseEntity.ok(reservationService.visitReservation(member.getId(), id));
     }
 
 
@@ -1,7 +1,10 @@
 package com.zerobase.storereservation.controller;
 
-import com.zerobase.storereservation.security.TokenProvider;
+import com.zerobase.storereservation.domain.reservation.dto.ReservationSheetDto;
+import com.zerobase.storereservation.security.LoginMember;
+import com.zerobase.storereservation.security.MemberPrincipal;
 import com.zerobase.storereservation.service.ReservationService;
+import com.zerobase.storereservation.service.ReservationSheetService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
@@ -17,41 +20,41 @@ import java.time.LocalDate;
 @RequiredArgsConstructor
 @RequestMapping("/api/reservation/search")
 public class ReservationSearchController {
-    private final TokenProvider tokenProvider;
     private final ReservationService reservationService;
+    private final ReservationSheetService reservationSheetService;
 
     /**
      * 고객이 자신이 예약한 리스트 확인
-     * @param token
+     * @param member : 로그인 사용자 정보
      * @param pageable
      * @return 예약 리스트
      */
     @GetMapping("/customer")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<?> searchReservationByCustomer(@RequestHeader(name = "Authorization") String token
+    public ResponseEntity<?> searchReservationByCustomer(@LoginMember MemberPrincipal member
             , Pageable pageable) {
 
-        return ResponseEntity.ok(reservationService.searchReservationByMember(tokenProvider.getUserIdFromToken(token),pageable));
+        return ResponseEntity.ok(reservationService.searchReservationByMember(member.getId(),pageable));
     }
 
     /**
      * 고객이 특정 매장에 예약한 리스트 확인
-     * @param token
+     * @param member : 로그인 사용자 정보
      * @param storeId
      * @param pageable
      * @return 예약 리스트
      */
     @GetMapping("/customer/{storeId}")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<?> searchReservationByCustomerWithStore(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> searchReservationByCustomerWithStore(@LoginMember MemberPrincipal member,
                                                                     @PathVariable Long storeId, Pageable pageable) {
 
-        return ResponseEntity.ok(reservationService.searchReservationByMemberWithStore(tokenProvider.getUserIdFromToken(token), storeId, pageable));
+        return ResponseEntity.ok(reservationService.searchReservationByMemberWithStore(member.getId(), storeId, pageable));
     }
 
     /**
      * 파트너가 자신의 특정 매장 예약 리스트 날짜별 확인
-     * @param token
+     * @param member : 로그인 사용자 정보
      * @param storeId
      * @param date
      * @param pageable
@@ -59,10 +62,28 @@ public class ReservationSearchController {
      */
     @GetMapping("/partner/{storeId}")
     @PreAuthorize("hasRole('PARTNER')")
-    public ResponseEntity<?> searchReservationByPartner(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> searchReservationByPartner(@LoginMember MemberPrincipal member,
                                                         @PathVariable Long storeId, @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate date,
                                                         Pageable pageable) {
 
-        return ResponseEntity.ok(reservationService.searchReservationByPartner(tokenProvider.getUserIdFromToken(token), storeId, date, pageable));
+        return ResponseEntity.ok(reservationService.searchReservationByPartner(member.getId(), storeId, date, pageable));
+    }
+
+    /**
+     * 파트너가 자신의 특정 매장 일별 예약 현황표 확인
+     * If-None-Match 가 현황표의 ETag 와 같으면 304 응답
+     * @param member : 로그인 사용자 정보
+     * @param storeId
+     * @param date
+     * @return 슬롯별 예약 수, 잔여인원
+     */
+    @GetMapping("/partner/{storeId}/sheet")
+    @PreAuthorize("hasRole('PARTNER')")
+    public ResponseEntity<?> searchReservationSheet(@LoginMember MemberPrincipal member,
+                                                    @PathVariable Long storeId, @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate date) {
+        ReservationSheetDto sheet = reservationSheetService.getSheet(member.getId(), storeId, date);
+        return ResponseEntity.ok()
+                .eTag(sheet.getEtag())
+                .body(sheet);
     }
 }
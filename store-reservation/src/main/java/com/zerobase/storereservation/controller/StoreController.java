@@ -1,7 +1,8 @@
 package com.zerobase.storereservation.controller;
 
 import com.zerobase.storereservation.domain.store.form.*;
-import com.zerobase.storereservation.security.TokenProvider;
+import com.zerobase.storereservation.security.LoginMember;
+import com.zerobase.storereservation.security.MemberPrincipal;
 import com.zerobase.storereservation.service.StoreService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,12 +24,11 @@ import java.util.List;
 public class StoreController {
 
     private final StoreService storeService;
-    private final TokenProvider tokenProvider;
     private final ValidationErrorResponse validationErrorResponse;
 
     /**
      * 매장 정보 등록
-     * @param token
+     * @param member : 로그인 사용자 정보
      * @param form : name, description, address, openAt, closedAt
      * @param errors : form의 validation 체크후 잘못된 형식의 메세지 리턴
      * @return : 저장한 매장 정보
@@ -37,37 +37,37 @@ public class StoreController {
      */
     @PostMapping
     @PreAuthorize("hasRole('PARTNER')")
-    public ResponseEntity<?> registerStore(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> registerStore(@LoginMember MemberPrincipal member,
                                            @RequestBody @Valid RegisterStore form, Errors errors) throws IOException, ParseException {
         List<ResponseError> responseErrors = validationErrorResponse.checkValidation(errors);
         if (!responseErrors.isEmpty()) {
             return new ResponseEntity<>(responseErrors, HttpStatus.BAD_REQUEST);
         }
-        return ResponseEntity.ok(storeService.registerStore(tokenProvider.getUserIdFromToken(token), form));
+        return ResponseEntity.ok(storeService.registerStore(member.getId(), form));
     }
 
     /**
      * 매장 예약 상세정보 등록
-     * @param token
+     * @param member : 로그인 사용자 정보
      * @param form : storeId, startAt(예약 가능 시작시간), endAt(예약 가능 마감시간), minCount(예약 최소인원), maxCount(예약 최대인원)
      * @param errors : form의 validation 체크후 잘못된 형식의 메세지 리턴
      * @return : 저장한 매장 예약 정보
      */
     @PostMapping("/reservation/info")
     @PreAuthorize("hasRole('PARTNER')")
-    public ResponseEntity<?> addStoreReservationInfo(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> addStoreReservationInfo(@LoginMember MemberPrincipal member,
                                                      @RequestBody @Valid List<RegisterStoreReservationInfo> form, Errors errors) {
         List<ResponseError> responseErrors = validationErrorResponse.checkValidation(errors);
         if (!responseErrors.isEmpty()) {
             return new ResponseEntity<>(responseErrors, HttpStatus.BAD_REQUEST);
         }
 
-        return ResponseEntity.ok(storeService.addStoreReservationInfo(tokenProvider.getUserIdFromToken(token), form));
+        return ResponseEntity.ok(storeService.addStoreReservationInfo(member.getId(), form));
     }
 
     /**
      * 매장 정보 수정
-     * @param token
+     * @param member : 로그인 사용자 정보
      * @param form : id, name, description, address, openAt, closedAt, infos(예약 상세 정보), 예약 가능 날짜
      * @param errors : form의 validation 체크후 잘못된 형식의 메세지 리턴
      * @return : 수정한 매장 정보
@@ -76,94 +76,122 @@ public class StoreController {
      */
     @PutMapping
     @PreAuthorize("hasRole('PARTNER')")
-    public ResponseEntity<?> updateStore(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> updateStore(@LoginMember MemberPrincipal member,
                                          @RequestBody @Valid UpdateStore form, Errors errors) throws IOException, ParseException {
         List<ResponseError> responseErrors = validationErrorResponse.checkValidation(errors);
         if (!responseErrors.isEmpty()) {
             return new ResponseEntity<>(responseErrors, HttpStatus.BAD_REQUEST);
         }
 
-        return ResponseEntity.ok(storeService.updateStore(tokenProvider.getUserIdFromToken(token), form));
+        return ResponseEntity.ok(storeService.updateStore(member.getId(), form));
     }
 
     /**
      * 매장 예약 상세정보 수정
-     * @param token
+     * @param member : 로그인 사용자 정보
      * @param form : id, storeId, startAt(매장 오픈 시간), endAt(매장 마감 시간), minCount(예약 최소인원), maxCount(예약 최대인원), exist(기존에 있던 정보인지)
      * @param errors : form의 validation 체크후 잘못된 형식의 메세지 리턴
      * @return : 수정한 매장 예약 정보
      */
     @PatchMapping("/reservation/info")
     @PreAuthorize("hasRole('PARTNER')")
-    public ResponseEntity<?> updateStoreReservationInfo(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> updateStoreReservationInfo(@LoginMember MemberPrincipal member,
                                                         @RequestBody @Valid List<UpdateReservationInfo> form, Errors errors) {
         List<ResponseError> responseErrors = validationErrorResponse.checkValidation(errors);
         if (!responseErrors.isEmpty()) {
             return new ResponseEntity<>(responseErrors, HttpStatus.BAD_REQUEST);
         }
 
-        return ResponseEntity.ok(storeService.updateStoreReservationInfo(tokenProvider.getUserIdFromToken(token), form));
+        return ResponseEntity.ok(storeService.updateStoreReservationInfo(member.getId(), form));
     }
 
     /**
      * 예약 가능 날짜 수정
-     * @param token
+     * @param member : 로그인 사용자 정보
      * @param form : id, dates(예약 가능 날짜들)
      * @param errors : form의 validation 체크후 잘못된 형식의 메세지 리턴
      * @return : 수정한 매장 정보
      */
     @PatchMapping("/reservation/date")
     @PreAuthorize("hasRole('PARTNER')")
-    public ResponseEntity<?> updateStoreReservationDate(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> updateStoreReservationDate(@LoginMember MemberPrincipal member,
                                              @RequestBody @Valid UpdateStoreDate form, Errors errors) {
         List<ResponseError> responseErrors = validationErrorResponse.checkValidation(errors);
         if (!responseErrors.isEmpty()) {
             return new ResponseEntity<>(responseErrors, HttpStatus.BAD_REQUEST);
         }
 
-        return ResponseEntity.ok(storeService.updateStoreReservationDate(tokenProvider.getUserIdFromToken(token), form));
+        return ResponseEntity.ok(storeService.updateStoreReservationDate(member.getId(), form));
+    }
+
+    /**
+     * 반복 예약 가능 규칙 수정
+     * @param member : 로그인 사용자 정보
+     * @param form : id, rules(시작일, 종료일, 요일), holidays(휴무일)
+     * @return : 수정한 매장 정보
+     */
+    @PatchMapping("/reservation/rule")
+    @PreAuthorize("hasRole('PARTNER')")
+    public ResponseEntity<?> updateStoreReservationRule(@LoginMember MemberPrincipal member,
+                                                        @RequestBody UpdateStoreRule form) {
+
+        return ResponseEntity.ok(storeService.updateStoreReservationRule(member.getId(), form));
     }
 
     /**
      * 예약 마감 정보 수정
-     * @param token
+     * @param member : 로그인 사용자 정보
      * @param form : id, date(해당 날짜), closed(-1: 예약 마감, int: 예약가능 인원)
      * @return : 수정한 매장 예약 정보
      */
     @PatchMapping("/reservation/date/closed")
     @PreAuthorize("hasRole('PARTNER')")
-    public ResponseEntity<?> updateStoreReservationClosed(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> updateStoreReservationClosed(@LoginMember MemberPrincipal member,
                                                           @RequestBody UpdateReservationClosed form) {
 
-        return ResponseEntity.ok(storeService.updateStoreReservationClosed(tokenProvider.getUserIdFromToken(token),form));
+        return ResponseEntity.ok(storeService.updateStoreReservationClosed(member.getId(),form));
     }
 
     /**
      * 매장 정보 삭제
-     * @param token
+     * @param member : 로그인 사용자 정보
      * @param id
      * @return 삭제된 매장 정보
      */
     @PatchMapping
     @PreAuthorize("hasRole('PARTNER')")
-    public ResponseEntity<?> deleteStore(@RequestHeader(name = "Authorization") String token
+    public ResponseEntity<?> deleteStore(@LoginMember MemberPrincipal member
+            , @RequestParam Long id) {
+
+        return ResponseEntity.ok(storeService.deleteStore(member.getId(), id));
+    }
+
+    /**
+     * 매장 삭제 후속 처리 진행 상황 조회
+     * @param member : 로그인 사용자 정보
+     * @param id : 삭제한 매장 id
+     * @return : 진행 상태, 처리할 예약 수, 처리한 예약 수
+     */
+    @GetMapping("/delete/progress")
+    @PreAuthorize("hasRole('PARTNER')")
+    public ResponseEntity<?> getStoreDeletion(@LoginMember MemberPrincipal member
             , @RequestParam Long id) {
 
-        return ResponseEntity.ok(storeService.deleteStore(tokenProvider.getUserIdFromToken(token), id));
+        return ResponseEntity.ok(storeService.getStoreDeletion(member.getId(), id));
     }
 
     /**
      * 매장 예약 정보 삭제
-     * @param token
+     * @param member : 로그인 사용자 정보
      * @param form : ids(삭제할 매장 예약 상세정보 id 리스트), storeId
      * @return : 수정한 매장 정보
      */
     @DeleteMapping("/reservation/info")
     @PreAuthorize("hasRole('PARTNER')")
-    public ResponseEntity<?> deleteStoreReservationInfo(@RequestHeader(name = "Authorization") String token
+    public ResponseEntity<?> deleteStoreReservationInfo(@LoginMember MemberPrincipal member
             , @RequestBody DeleteReservationInfo form) {
 
-        return ResponseEntity.ok(storeService.deleteStoreReservationInfo(tokenProvider.getUserIdFromToken(token), form));
+        return ResponseEntity.ok(storeService.deleteStoreReservationInfo(member.getId(), form));
     }
 
 
@@ -1,11 +1,15 @@
 package com.zerobase.storereservation.controller;
 
-import com.zerobase.storereservation.security.TokenProvider;
+import com.zerobase.storereservation.cache.StoreDetail;
+import com.zerobase.storereservation.domain.store.type.RatingOrder;
+import com.zerobase.storereservation.security.LoginMember;
+import com.zerobase.storereservation.security.MemberPrincipal;
 import com.zerobase.storereservation.service.StoreSearchService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.json.simple.parser.ParseException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -18,7 +22,6 @@ import java.io.IOException;
 @RequestMapping("/api/store/search")
 public class StoreSearchController {
     private final StoreSearchService storeSearchService;
-    private final TokenProvider tokenProvider;
 
     /**
      * 키워드가 포함된 매장명을 가진 매장들 리턴
@@ -29,7 +32,7 @@ public class StoreSearchController {
     @GetMapping
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('PARTNER')")
     public ResponseEntity<?> searchStoreByName(@RequestParam String keyword, final Pageable pageable) {
-        return ResponseEntity.ok(storeSearchService.searchStoreByName(keyword, pageable));
+        return json(storeSearchService.searchStoreByNameJson(keyword, pageable));
     }
 
     /**
@@ -40,18 +43,19 @@ public class StoreSearchController {
     @GetMapping("/alphabet")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('PARTNER')")
     public ResponseEntity<?> searchStoreAlphabeticalOrder(final Pageable pageable) {
-        return ResponseEntity.ok(storeSearchService.searchStoreAlphabeticalOrder(pageable));
+        return json(storeSearchService.searchStoreAlphabeticalOrderJson(pageable));
     }
 
     /**
      * 별점순 매장들 리턴
+     * @param mode : mean(별점 평균, 기본), bayesian(bayesian 평균), decayed(최근 후기 가중 bayesian 평균)
      * @param pageable
      * @return : 매장정보 리스트
      */
     @GetMapping("/rating")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('PARTNER')")
-    public ResponseEntity<?> searchStoreRatingOrder(final Pageable pageable) {
-        return ResponseEntity.ok(storeSearchService.searchStoreRatingOrder(pageable));
+    public ResponseEntity<?> searchStoreRatingOrder(@RequestParam(required = false) String mode, final Pageable pageable) {
+        return json(storeSearchService.searchStoreRatingOrderJson(RatingOrder.of(mode), pageable));
     }
 
     /**
@@ -70,25 +74,36 @@ public class StoreSearchController {
 
     /**
      * 파트너 유저가 등록한 매장들 리턴
-     * @param token
+     * @param member : 로그인 사용자 정보
      * @param pageable
      * @return : 매장정보 리스트
      */
     @GetMapping("/partner")
     @PreAuthorize("hasRole('PARTNER')")
-    public ResponseEntity<?> searchStoreByPartner(@RequestHeader(name = "Authorization") String token, final Pageable pageable) {
-        return ResponseEntity.ok(storeSearchService.searchStoreByPartner(tokenProvider.getUserIdFromToken(token), pageable));
+    public ResponseEntity<?> searchStoreByPartner(@LoginMember MemberPrincipal member, final Pageable pageable) {
+        return ResponseEntity.ok(storeSearchService.searchStoreByPartner(member.getId(), pageable));
     }
 
     /**
      * 특정 매장의 상세정보 리턴
+     * 캐시된 json 을 그대로 응답, If-None-Match 가 ETag 와 같으면 304 응답
      * @param id
      * @return : 매장 정보
      */
     @GetMapping("/detail")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('PARTNER')")
     public ResponseEntity<?> detailStore(@RequestParam Long id) {
-        return ResponseEntity.ok(storeSearchService.detailStore(id));
+        StoreDetail detail = storeSearchService.detailStoreJson(id);
+        return ResponseEntity.ok()
+                .eTag(detail.getEtag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(detail.getJson());
     }
 
+    // 캐시된 json 을 그대로 응답
+    private static ResponseEntity<byte[]> json(byte[] body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
 }
@@ -0,0 +1,109 @@
+package com.zerobase.storereservation.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.urls")
+public class DataSourceRoutingConfig {
+    // 복제 db 주소(datasource.replica.urls, 쉼표로 구분)가 있으면 읽기 전용 트랜잭션은 복제 db, 나머지는 원본 db(spring.datasource) 사용
+    // - datasource.replica.username / password : 없으면 원본 db 와 같음
+    // - datasource.replica.read-your-writes-millis : 변경한 회원의 조회를 원본 db 에서 하는 시간 (복제 지연보다 길게)
+    // 원본/복제 db 의 connection pool 은 spring.datasource.hikari 설정을 같이 사용
+    // 복제 db 에서 읽은 값은 2차 캐시에 저장하지 않음 (ReplicaCacheJpaDialect)
+
+    @Bean(destroyMethod = "close")
+    public RoutingDataSource routingDataSource(
+            DataSourceProperties properties, Environment environment,
+            @Value("${datasource.replica.urls}") List<String> urls,
+            @Value("${datasource.replica.username:#{null}}") String username,
+            @Value("${datasource.replica.password:#{null}}") String password,
+            @Value("${datasource.replica.read-your-writes-millis:2000}") long readYourWritesMillis) {
+
+        HikariDataSource primary = this.pool(environment,
+                properties.initializeDataSourceBuilder().type(HikariDataSource.class).build(), "primary");
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = this.pool(environment, properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i).trim())
+                    .username(username == null ? properties.determineUsername() : username)
+                    .password(password == null ? properties.determinePassword() : password)
+                    .build(), "replica-" + i);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+
+        return new RoutingDataSource(primary, replicas, new RecentWrites(Duration.ofMillis(readYourWritesMillis)));
+    }
+
+    /**
+     * jpa 가 사용하는 DataSource : 트랜잭션의 읽기 전용 여부가 정해진 뒤 첫 sql 에서 원본/복제 db 를 고르도록 연결을 미룸
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(RoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * 복제 db 에서 읽는 트랜잭션이 2차 캐시, 쿼리 캐시에 이전 값을 저장하지 않도록 jpa 트랜잭션 시작/종료 처리를 바꿈
+     * JpaTransactionManager 는 초기화할 때 EntityManagerFactory 의 JpaDialect 를 가져가므로 EntityManagerFactory 에 지정
+     */
+    @Bean
+    public static BeanPostProcessor replicaCacheJpaDialect(ObjectProvider<RoutingDataSource> routingDataSource) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean) {
+                    ((AbstractEntityManagerFactoryBean) bean)
+                            .setJpaDialect(new ReplicaCacheJpaDialect(routingDataSource.getObject()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * 읽기 전용 트랜잭션이 사용한 db : datasource.reads{target="primary" / "replica"}, 복제 db 연결 실패 : datasource.replica.failures
+     */
+    @Bean
+    public MeterBinder routingDataSourceMetrics(RoutingDataSource routingDataSource) {
+        return registry -> {
+            FunctionCounter.builder("datasource.reads", routingDataSource, RoutingDataSource::getPrimaryReads)
+                    .tag("target", "primary")
+                    .register(registry);
+            FunctionCounter.builder("datasource.reads", routingDataSource, RoutingDataSource::getReplicaReads)
+                    .tag("target", "replica")
+                    .register(registry);
+            FunctionCounter.builder("datasource.replica.failures", routingDataSource, RoutingDataSource::getReplicaFailures)
+                    .register(registry);
+        };
+    }
+
+    private HikariDataSource pool(Environment environment, HikariDataSource dataSource, String name) {
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,30 @@
+package com.zerobase.storereservation.datasource;
+
+import java.util.function.Supplier;
+
+public final class PrimaryRead {
+    // 읽기 전용 트랜잭션이어도 원본 db 에서 조회해야 하는 경우
+    // 캐시에 저장할 값은 복제 지연 중인 이전 내용이 캐시되어 TTL 동안 남지 않도록 원본 db 에서 읽음
+
+    private static final ThreadLocal<Boolean> FORCED = ThreadLocal.withInitial(() -> false);
+
+    private PrimaryRead() {
+    }
+
+    /**
+     * loader 안에서 시작한 트랜잭션은 원본 db 사용
+     */
+    public static <T> T call(Supplier<T> loader) {
+        boolean before = FORCED.get();
+        FORCED.set(true);
+        try {
+            return loader.get();
+        } finally {
+            FORCED.set(before);
+        }
+    }
+
+    static boolean isForced() {
+        return FORCED.get();
+    }
+}
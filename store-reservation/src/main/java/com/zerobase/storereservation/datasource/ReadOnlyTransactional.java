@@ -0,0 +1,16 @@
+package com.zerobase.storereservation.datasource;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.*;
+
+/**
+ * 읽기 전용 트랜잭션 : 복제 db 설정(datasource.replica.urls)이 있으면 복제 db 에서 조회
+ * javax.transaction.Transactional 은 readOnly 를 지정할 수 없으므로 spring 의 Transactional 사용
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true)
+public @interface ReadOnlyTransactional {
+}
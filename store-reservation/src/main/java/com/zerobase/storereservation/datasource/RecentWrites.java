@@ -0,0 +1,51 @@
+package com.zerobase.storereservation.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zerobase.storereservation.security.MemberPrincipal;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+
+public class RecentWrites {
+    // 최근에 데이터를 변경한 회원
+    // 복제 db 는 원본보다 늦게 반영되므로 변경하고 window 가 지나기 전에는 조회도 원본 db 에서 해서 자신이 변경한 내용을 바로 보게 함
+
+    private static final int MAX_MEMBERS = 100_000;
+
+    private final Cache<Long, Boolean> writers;
+
+    public RecentWrites(Duration window) {
+        this.writers = Caffeine.newBuilder()
+                .maximumSize(MAX_MEMBERS)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * 요청한 회원이 데이터를 변경함 (트랜잭션 커밋 후 호출)
+     */
+    public void written() {
+        Long memberId = currentMemberId();
+        if (memberId != null) {
+            writers.put(memberId, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * 요청한 회원이 window 안에 데이터를 변경했는지 확인
+     */
+    public boolean isRecentWriter() {
+        Long memberId = currentMemberId();
+        return memberId != null && writers.getIfPresent(memberId) != null;
+    }
+
+    private static Long currentMemberId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof MemberPrincipal) {
+            return ((MemberPrincipal) authentication.getPrincipal()).getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,64 @@
+package com.zerobase.storereservation.datasource;
+
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import javax.persistence.CacheStoreMode;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.sql.SQLException;
+
+public class ReplicaCacheJpaDialect extends HibernateJpaDialect {
+    // 복제 db 에서 읽는 트랜잭션은 2차 캐시, 쿼리 캐시를 읽기만 하고 저장하지 않음 (storeMode = BYPASS)
+    // 복제 지연 중인 이전 값이 캐시에 들어가면 ttl 동안 원본 db 의 변경/쓰기 트랜잭션이 그 값을 사용하게 됨
+    // find() 는 EntityManager 의 storeMode 속성으로 CacheMode 를 다시 정하므로 Session.setCacheMode 가 아닌 속성으로 지정
+    // 트랜잭션이 끝나면 원래 값으로 되돌림 (open-in-view 로 같은 EntityManager 를 계속 사용하는 경우)
+
+    private static final String STORE_MODE = "javax.persistence.cache.storeMode";
+
+    private final RoutingDataSource routingDataSource;
+
+    public ReplicaCacheJpaDialect(RoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!routingDataSource.routesToReplica(definition.isReadOnly())) {
+            return transactionData;
+        }
+
+        Object previous = entityManager.getProperties().get(STORE_MODE);
+        entityManager.setProperty(STORE_MODE, CacheStoreMode.BYPASS);
+        return new ReplicaTransactionData(transactionData, entityManager,
+                previous instanceof CacheStoreMode ? (CacheStoreMode) previous : CacheStoreMode.USE);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReplicaTransactionData) {
+            ReplicaTransactionData replicaData = (ReplicaTransactionData) transactionData;
+            if (replicaData.entityManager.isOpen()) {
+                replicaData.entityManager.setProperty(STORE_MODE, replicaData.previousStoreMode);
+            }
+            super.cleanupTransaction(replicaData.transactionData);
+            return;
+        }
+        super.cleanupTransaction(transactionData);
+    }
+
+    private static class ReplicaTransactionData {
+        private final Object transactionData;
+        private final EntityManager entityManager;
+        private final CacheStoreMode previousStoreMode;
+
+        private ReplicaTransactionData(Object transactionData, EntityManager entityManager,
+                                       CacheStoreMode previousStoreMode) {
+            this.transactionData = transactionData;
+            this.entityManager = entityManager;
+            this.previousStoreMode = previousStoreMode;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.zerobase.storereservation.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+public class RoutingDataSource extends AbstractDataSource implements Closeable {
+    // 트랜잭션 종류에 따라 원본/복제 db 선택
+    // - 읽기 전용 트랜잭션 : 복제 db 를 돌아가며 사용, 최근에 변경한 회원이거나 PrimaryRead 안이면 원본 db
+    // - 그 외(쓰기 트랜잭션, 트랜잭션 밖) : 원본 db, 쓰기 트랜잭션이 커밋되면 요청한 회원을 RecentWrites 에 기록
+    // 복제 db 연결에 실패하면 원본 db 사용
+    // 트랜잭션이 시작된 뒤 첫 sql 에서 연결하도록 LazyConnectionDataSourceProxy 로 감싸서 사용
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final RecentWrites recentWrites;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final LongAdder primaryReads = new LongAdder();
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder replicaFailures = new LongAdder();
+
+    public RoutingDataSource(DataSource primary, List<DataSource> replicas, RecentWrites recentWrites) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.recentWrites = recentWrites;
+    }
+
+    // 사용할 복제 db, 원본 db 를 사용하면 null
+    private DataSource replica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentWrites.written();
+                    }
+                });
+            }
+            return null;
+        }
+
+        if (!this.routesToReplica(true)) {
+            primaryReads.increment();
+            return null;
+        }
+        replicaReads.increment();
+        return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+    }
+
+    /**
+     * 트랜잭션이 복제 db 에서 읽게 되는지 확인 (트랜잭션을 시작할 때 2차 캐시 저장 여부를 정하는데 사용)
+     * 복제 db 연결에 실패해서 원본 db 를 사용하는 경우는 복제 db 로 판단
+     */
+    public boolean routesToReplica(boolean readOnly) {
+        return readOnly && !replicas.isEmpty() && !PrimaryRead.isForced() && !recentWrites.isRecentWriter();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource replica = this.replica();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            replicaFailures.increment();
+            log.warn("replica connection failed, use primary -> {}", e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return this.getConnection();
+    }
+
+    public long getPrimaryReads() {
+        return primaryReads.sum();
+    }
+
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    public long getReplicaFailures() {
+        return replicaFailures.sum();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource dataSource : replicas) {
+            if (dataSource instanceof Closeable) {
+                ((Closeable) dataSource).close();
+            }
+        }
+        if (primary instanceof Closeable) {
+            ((Closeable) primary).close();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.zerobase.storereservation.domain;
+
+import com.zerobase.storereservation.util.Tsid;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Properties;
+
+@Slf4j
+public class TsidIdentifierGenerator implements IdentifierGenerator {
+    // entity id 를 db(auto_increment) 대신 Tsid 로 만듦
+    // IDENTITY 는 insert 해야 id 를 알 수 있어 hibernate 가 insert 를 묶어 보내지 못함
+    // 서버 번호는 hibernate.id.tsid.node (id.node 설정), 없으면 호스트 이름으로 정함 -> 서버가 여러 대면 서로 다르게 설정
+
+    public static final String NAME = "tsid";
+    public static final String STRATEGY = "com.zerobase.storereservation.domain.TsidIdentifierGenerator";
+    public static final String NODE_SETTING = "hibernate.id.tsid.node";
+
+    private Tsid tsid;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) {
+        Object node = serviceRegistry.getService(ConfigurationService.class).getSettings().get(NODE_SETTING);
+        this.tsid = new Tsid(node == null ? hostNode() : Integer.parseInt(node.toString()));
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return tsid.next();
+    }
+
+    private static int hostNode() {
+        try {
+            return Math.floorMod(InetAddress.getLocalHost().getHostName().hashCode(), Tsid.MAX_NODE + 1);
+        } catch (UnknownHostException e) {
+            log.warn("unknown host name, use id node 0");
+            return 0;
+        }
+    }
+}
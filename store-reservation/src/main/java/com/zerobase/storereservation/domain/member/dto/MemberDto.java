@@ -1,4 +1,6 @@
 package com.zerobase.storereservation.domain.member.dto;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import com.zerobase.storereservation.domain.member.entity.Member;
 import lombok.*;
 
@@ -10,6 +12,7 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 public class MemberDto {
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
 
     private String email;
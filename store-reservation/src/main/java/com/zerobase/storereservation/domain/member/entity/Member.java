@@ -1,8 +1,10 @@
 package com.zerobase.storereservation.domain.member.entity;
 
 import com.zerobase.storereservation.domain.BaseEntity;
+import com.zerobase.storereservation.domain.TsidIdentifierGenerator;
 import com.zerobase.storereservation.domain.member.form.SignUp;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.envers.AuditOverride;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -25,9 +27,11 @@ public class Member extends BaseEntity implements UserDetails {
     // Spring Security 를 이용 : UserDetail 를 구현
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = TsidIdentifierGenerator.NAME)
+    @GenericGenerator(name = TsidIdentifierGenerator.NAME, strategy = TsidIdentifierGenerator.STRATEGY)
     private Long id;
 
+    @Column(unique = true) // 중복 가입 최종 확인
     private String email;
     private String password;
     private String name;
@@ -81,4 +85,9 @@ public class Member extends BaseEntity implements UserDetails {
                 .roles(form.getRoles())
                 .build();
     }
+
+    // 비밀번호 해시 비용이 바뀐 경우 로그인시 새 비용으로 다시 저장
+    public void changePassword(String password) {
+        this.password = password;
+    }
 }
@@ -1,5 +1,7 @@
 package com.zerobase.storereservation.domain.reservation.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import com.zerobase.storereservation.domain.reservation.entity.Reservation;
 import com.zerobase.storereservation.domain.reservation.type.Status;
 import lombok.*;
@@ -14,11 +16,15 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @Builder
 public class ReservationDto {
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long memberId;
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long storeId;
     private String phone;
     private String storeName;
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long reservationInfoId;
     private LocalDate reservationDate;
     private int headCount;
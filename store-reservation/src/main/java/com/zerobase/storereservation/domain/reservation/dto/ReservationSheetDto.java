@@ -0,0 +1,47 @@
+package com.zerobase.storereservation.domain.reservation.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.zerobase.storereservation.domain.reservation.entity.ReservationSheetSlot;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservationSheetDto {
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long storeId;
+    private LocalDate date;
+    private int pendingCount;
+    private int approvedCount;
+    private int rejectedCount;
+    private int visitedCount;
+    private int approvedHeadCount;
+    private List<ReservationSheetSlotDto> slots;
+    @JsonIgnore
+    private String etag;
+
+    public static ReservationSheetDto from(Long storeId, LocalDate date, List<ReservationSheetSlot> slots) {
+        // 각 줄의 version 합으로 현황표 변경 여부 판단
+        long version = slots.stream().mapToLong(ReservationSheetSlot::getVersion).sum();
+
+        return ReservationSheetDto.builder()
+                .storeId(storeId)
+                .date(date)
+                .pendingCount(slots.stream().mapToInt(ReservationSheetSlot::getPendingCount).sum())
+                .approvedCount(slots.stream().mapToInt(ReservationSheetSlot::getApprovedCount).sum())
+                .rejectedCount(slots.stream().mapToInt(ReservationSheetSlot::getRejectedCount).sum())
+                .visitedCount(slots.stream().mapToInt(ReservationSheetSlot::getVisitedCount).sum())
+                .approvedHeadCount(slots.stream().mapToInt(ReservationSheetSlot::getApprovedHeadCount).sum())
+                .slots(slots.stream().map(ReservationSheetSlotDto::from).collect(Collectors.toList()))
+                .etag(String.format("\"%d-%s-%d-%d\"", storeId, date, slots.size(), version))
+                .build();
+    }
+}
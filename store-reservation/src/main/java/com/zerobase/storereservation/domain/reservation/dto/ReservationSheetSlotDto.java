@@ -0,0 +1,46 @@
+package com.zerobase.storereservation.domain.reservation.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.zerobase.storereservation.domain.reservation.entity.ReservationSheetSlot;
+import lombok.*;
+
+import java.time.LocalTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservationSheetSlotDto {
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long reservationInfoId;
+    private LocalTime startAt;
+    private LocalTime endAt;
+    private int capacity;
+    private int remaining;
+    private int pendingCount;
+    private int approvedCount;
+    private int rejectedCount;
+    private int storeDeletedCount;
+    private int visitedCount;
+    private int pendingHeadCount;
+    private int approvedHeadCount;
+
+    public static ReservationSheetSlotDto from(ReservationSheetSlot slot) {
+        return ReservationSheetSlotDto.builder()
+                .reservationInfoId(slot.getStoreReservationInfoId())
+                .startAt(slot.getStartAt())
+                .endAt(slot.getEndAt())
+                .capacity(slot.getCapacity())
+                .remaining(slot.getRemaining())
+                .pendingCount(slot.getPendingCount())
+                .approvedCount(slot.getApprovedCount())
+                .rejectedCount(slot.getRejectedCount())
+                .storeDeletedCount(slot.getStoreDeletedCount())
+                .visitedCount(slot.getVisitedCount())
+                .pendingHeadCount(slot.getPendingHeadCount())
+                .approvedHeadCount(slot.getApprovedHeadCount())
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.zerobase.storereservation.domain.reservation.entity;
 
 import com.zerobase.storereservation.domain.BaseEntity;
+import com.zerobase.storereservation.domain.TsidIdentifierGenerator;
 import com.zerobase.storereservation.domain.reservation.form.MakeReservation;
 import com.zerobase.storereservation.domain.reservation.type.Status;
 import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
@@ -8,6 +9,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.envers.AuditOverride;
 
 import javax.persistence.*;
@@ -21,7 +23,8 @@ import java.time.LocalDate;
 @AuditOverride(forClass = BaseEntity.class)
 public class Reservation extends BaseEntity{
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = TsidIdentifierGenerator.NAME)
+    @GenericGenerator(name = TsidIdentifierGenerator.NAME, strategy = TsidIdentifierGenerator.STRATEGY)
     private Long id;
 
     private Long customerId; // 예약 신청한 고객 id
@@ -0,0 +1,135 @@
+package com.zerobase.storereservation.domain.reservation.entity;
+
+import com.zerobase.storereservation.domain.BaseEntity;
+import com.zerobase.storereservation.domain.TsidIdentifierGenerator;
+import com.zerobase.storereservation.domain.reservation.type.Status;
+import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.envers.AuditOverride;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"storeReservationInfoId", "reservationDate"}),
+        indexes = @Index(columnList = "storeId, partnerId, reservationDate"))
+@AuditOverride(forClass = BaseEntity.class)
+public class ReservationSheetSlot extends BaseEntity {
+    // 파트너 일별 예약 현황표의 한 줄 (매장 예약 상세정보 1개 x 날짜 1개)
+    // 예약 신청/승인/거절/취소/방문 시마다 증감시켜 두어서
+    // 현황표 조회 시 예약 테이블을 읽지 않고 한번의 조회로 응답
+    // 증감은 update 쿼리로 해서 같은 슬롯의 동시 예약이 version 충돌로 실패하지 않게 함 (ReservationSheetSlotRepository)
+
+    @Id
+    @GeneratedValue(generator = TsidIdentifierGenerator.NAME)
+    @GenericGenerator(name = TsidIdentifierGenerator.NAME, strategy = TsidIdentifierGenerator.STRATEGY)
+    private Long id;
+
+    private Long storeId; // 매장 id
+    private Long partnerId; // 매장 파트너 id
+    private Long storeReservationInfoId; // 매장 예약 상세정보 id
+
+    private LocalDate reservationDate; // 예약 날짜
+    private LocalTime startAt; // 예약 시작 시간
+    private LocalTime endAt; // 예약 끝 시간
+
+    private int capacity; // 매장 수용 인원
+    private int remaining; // 예약가능 잔여인원(-1 : 마감)
+
+    private int pendingCount; // 대기중인 예약 수
+    private int approvedCount; // 승인된 예약 수
+    private int rejectedCount; // 거절된 예약 수
+    private int storeDeletedCount; // 매장 삭제로 무효가 된 예약 수
+    private int visitedCount; // 방문 확인된 예약 수
+
+    private int pendingHeadCount; // 대기중인 예약 인원 합
+    private int approvedHeadCount; // 승인된 예약 인원 합
+
+    @Version
+    private long version; // 현황표 변경 여부 확인(ETag)용
+
+    public static ReservationSheetSlot of(StoreReservationInfo info, LocalDate reservationDate) {
+        return ReservationSheetSlot.builder()
+                .storeId(info.getStore().getId())
+                .partnerId(info.getPartnerId())
+                .storeReservationInfoId(info.getId())
+                .reservationDate(reservationDate)
+                .startAt(info.getStartAt())
+                .endAt(info.getEndAt())
+                .capacity(info.getCount())
+                .remaining(info.remaining(reservationDate))
+                .build();
+    }
+
+    /**
+     * 예약 상태 변경시 슬롯에 더할 상태별 예약 수, 인원 증감
+     * 여러 예약이 같은 슬롯을 동시에 바꾸므로 엔티티를 읽어서 고치지 않고 update 쿼리 한번으로 더함
+     */
+    @Getter
+    public static class Counts {
+        private int pending; // 대기중인 예약 수
+        private int approved; // 승인된 예약 수
+        private int rejected; // 거절된 예약 수
+        private int storeDeleted; // 매장 삭제로 무효가 된 예약 수
+        private int visited; // 방문 확인된 예약 수
+        private int pendingHead; // 대기중인 예약 인원 합
+        private int approvedHead; // 승인된 예약 인원 합
+
+        // 예약 신청된 경우 대기 예약 증가
+        public static Counts reserved(int headCount) {
+            Counts counts = new Counts();
+            counts.add(Status.PENDING, headCount, 1);
+            return counts;
+        }
+
+        // 예약 상태가 변경된 경우 이전 상태에서 빼고 새로운 상태에 더함
+        public static Counts statusChanged(Status before, Status after, int headCount) {
+            Counts counts = new Counts();
+            counts.add(before, headCount, -1);
+            counts.add(after, headCount, 1);
+            return counts;
+        }
+
+        // 예약 취소된 경우 해당 상태에서 뺌
+        public static Counts canceled(Status status, int headCount) {
+            Counts counts = new Counts();
+            counts.add(status, headCount, -1);
+            return counts;
+        }
+
+        // 매장 방문 확인된 경우 방문 수 증가
+        public static Counts visited() {
+            Counts counts = new Counts();
+            counts.visited = 1;
+            return counts;
+        }
+
+        private void add(Status status, int headCount, int sign) {
+            switch (status) {
+                case PENDING:
+                    this.pending += sign;
+                    this.pendingHead += sign * headCount;
+                    break;
+                case APPROVED:
+                    this.approved += sign;
+                    this.approvedHead += sign * headCount;
+                    break;
+                case REJECTED:
+                    this.rejected += sign;
+                    break;
+                case STORE_DELETED:
+                    this.storeDeleted += sign;
+                    break;
+            }
+        }
+    }
+}
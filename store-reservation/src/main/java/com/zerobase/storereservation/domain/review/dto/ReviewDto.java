@@ -1,5 +1,7 @@
 package com.zerobase.storereservation.domain.review.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import com.zerobase.storereservation.domain.review.entity.Review;
 import lombok.*;
 
@@ -9,10 +11,15 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 public class ReviewDto {
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long customerId;
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long partnerId;
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long reservationId;
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long storeId;
     private float rating;
     private String comment;
@@ -1,6 +1,7 @@
 package com.zerobase.storereservation.domain.review.entity;
 
 import com.zerobase.storereservation.domain.BaseEntity;
+import com.zerobase.storereservation.domain.TsidIdentifierGenerator;
 import com.zerobase.storereservation.domain.reservation.entity.Reservation;
 import com.zerobase.storereservation.domain.review.form.CreateReview;
 import com.zerobase.storereservation.domain.review.form.UpdateReview;
@@ -8,6 +9,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.envers.AuditOverride;
 
 import javax.persistence.*;
@@ -22,7 +24,8 @@ public class Review extends BaseEntity{
     // 리뷰 entity
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = TsidIdentifierGenerator.NAME)
+    @GenericGenerator(name = TsidIdentifierGenerator.NAME, strategy = TsidIdentifierGenerator.STRATEGY)
     private Long id;
 
     private Long customerId; // 등록하는 고객 id
@@ -39,7 +42,7 @@ public class Review extends BaseEntity{
         return Review.builder()
                 .customerId(customerId)
                 .partnerId(reservation.getStoreReservationInfo().getPartnerId())
-                .storeId(reservation.getStoreReservationInfo().getStore().getId())
+                .storeId(reservation.getStoreId())
                 .reservation(reservation)
                 .rating(form.getRating())
                 .comment(form.getComment())
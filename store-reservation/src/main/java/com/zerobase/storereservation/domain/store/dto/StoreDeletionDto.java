@@ -0,0 +1,24 @@
+package com.zerobase.storereservation.domain.store.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.zerobase.storereservation.domain.store.type.DeletionStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class StoreDeletionDto {
+    // 매장 삭제 후속 처리 진행 상황
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long storeId;
+    private DeletionStatus status;
+    private int updated; // 매장삭제됨으로 변경된 예약 수
+    private long total; // 후속 처리할 예약 수 (오늘 이후 예약)
+    private long processed; // 후속 처리 끝난 예약 수
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -1,12 +1,15 @@
 package com.zerobase.storereservation.domain.store.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import com.zerobase.storereservation.domain.store.entity.Store;
-import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
+import com.zerobase.storereservation.domain.store.type.RecurrenceRule;
 import lombok.*;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Getter
 @Setter
@@ -14,7 +17,9 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 public class StoreDto {
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long partnerId;
     private String name;
     private String description;
@@ -22,10 +27,13 @@ public class StoreDto {
     private LocalTime openAt;
     private LocalTime closeAt;
     private List<LocalDate> dates;
-    private List<StoreReservationInfo> storeReservationInfos;
+    private List<RecurrenceRule> rules;
+    private List<LocalDate> holidays;
+    private List<StoreReservationInfoDto> storeReservationInfos; // 엔티티 대신 dto 로 응답 (id 를 문자열로)
     private float lon;
     private float lat;
     private double rating;
+    private List<Long> ratingHistogram;
     private boolean deleted;
 
     public static StoreDto from(Store store) {
@@ -34,14 +42,20 @@ public class StoreDto {
                 .partnerId(store.getPartnerId())
                 .name(store.getName())
                 .description(store.getDescription())
-                .dates(store.getDates())
+                .dates(store.getDates() == null ? null : store.getDates().toList())
+                .rules(store.getRules())
+                .holidays(store.getHolidays() == null ? null : store.getHolidays().toList())
                 .address(store.getAddress())
                 .openAt(store.getOpenAt())
                 .closeAt(store.getCloseAt())
                 .lon(store.getLon())
                 .lat(store.getLat())
                 .rating(store.getRating())
-                .storeReservationInfos(store.getStoreReservationInfos())
+                .ratingHistogram(store.getRatingHistogram())
+                .storeReservationInfos(store.getStoreReservationInfos() == null ? null
+                        : store.getStoreReservationInfos().stream()
+                        .map(StoreReservationInfoDto::from)
+                        .collect(Collectors.toList()))
                 .deleted(store.isDeleted())
                 .build();
     }
@@ -1,5 +1,7 @@
 package com.zerobase.storereservation.domain.store.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
 import lombok.*;
 
@@ -13,8 +15,10 @@ import java.util.Map;
 @AllArgsConstructor
 @Builder
 public class StoreReservationInfoDto {
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
 
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long partnerId;
 
     private LocalTime startAt;
@@ -27,6 +31,7 @@ public class StoreReservationInfoDto {
     public static StoreReservationInfoDto from(StoreReservationInfo storeReservationInfo) {
         return StoreReservationInfoDto.builder()
                 .id(storeReservationInfo.getId())
+                .partnerId(storeReservationInfo.getPartnerId())
                 .startAt(storeReservationInfo.getStartAt())
                 .endAt(storeReservationInfo.getEndAt())
                 .minCount(storeReservationInfo.getMinCount())
@@ -1,19 +1,30 @@
 package com.zerobase.storereservation.domain.store.entity;
 
+import com.zerobase.storereservation.cache.CacheRegions;
 import com.zerobase.storereservation.domain.BaseEntity;
+import com.zerobase.storereservation.domain.TsidIdentifierGenerator;
 import com.zerobase.storereservation.domain.store.form.RegisterStore;
 import com.zerobase.storereservation.domain.store.form.UpdateStore;
+import com.zerobase.storereservation.domain.store.type.DateSet;
+import com.zerobase.storereservation.domain.store.type.DateSetConverter;
+import com.zerobase.storereservation.domain.store.type.RecurrenceRule;
+import com.zerobase.storereservation.domain.store.type.RecurrenceRuleConverter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.envers.AuditOverride;
 
 import javax.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 @Getter
@@ -21,15 +32,19 @@ import java.util.List;
 @NoArgsConstructor
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.STORE)
 @AuditOverride(forClass = BaseEntity.class)
 public class Store extends BaseEntity {
     // 매장 entity
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = TsidIdentifierGenerator.NAME)
+    @GenericGenerator(name = TsidIdentifierGenerator.NAME, strategy = TsidIdentifierGenerator.STRATEGY)
     private Long id;
     private Long partnerId; // 매장 소유 파트너 id
 
+    @Column(unique = true) // 매장명 중복 최종 확인
     private String name; // 매장명
     private String description; // 매장 설명
 
@@ -38,11 +53,22 @@ public class Store extends BaseEntity {
     private LocalTime openAt; // 매장 운영 시작시간
     private LocalTime closeAt; // 매장 운영 마감 시간
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    private List<LocalDate> dates; // 예약 가능 날짜 리스트
+    @Convert(converter = DateSetConverter.class)
+    @Column(length = DateSet.MAX_BYTES)
+    private DateSet dates; // 예약 가능 날짜 (첫 날짜 + 날짜별 bit), 반복 규칙과 상관없이 예약 가능
+
+    @Convert(converter = RecurrenceRuleConverter.class)
+    @Column(length = RecurrenceRule.MAX_LENGTH)
+    private List<RecurrenceRule> rules; // 반복 예약 가능 규칙 (기간, 요일)
+
+    @Convert(converter = DateSetConverter.class)
+    @Column(length = DateSet.MAX_BYTES)
+    private DateSet holidays; // 반복 규칙에서 제외할 날짜 (휴무일)
 
     @OneToMany(cascade = CascadeType.ALL)
     @JoinColumn(name = "store_id")
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.STORE_RESERVATION_INFOS)
     private List<StoreReservationInfo> storeReservationInfos; // 매장 예약 상세정보
 
     private float lon; // 주소로 얻어온 경도
@@ -58,6 +84,22 @@ public class Store extends BaseEntity {
     @ColumnDefault("0")
     private long reviewCount; // 매장에 등록된 후기들의 개수 총합
 
+    // 후기 등록/수정/삭제시 함께 증감시켜 별점 분포와 최근 후기 점수도 후기 테이블을 읽지 않고 확인
+    @ColumnDefault("0")
+    private long rating1Count; // 1점 후기 수
+    @ColumnDefault("0")
+    private long rating2Count; // 2점 후기 수
+    @ColumnDefault("0")
+    private long rating3Count; // 3점 후기 수
+    @ColumnDefault("0")
+    private long rating4Count; // 4점 후기 수
+    @ColumnDefault("0")
+    private long rating5Count; // 5점 후기 수
+    @ColumnDefault("0")
+    private double decayedSum; // 등록 시점 가중치를 곱한 별점 총합
+    @ColumnDefault("0")
+    private double decayedWeight; // 등록 시점 가중치 총합
+
     @ColumnDefault("false")
     private boolean deleted; // 매장 삭제 정보
 
@@ -72,6 +114,9 @@ public class Store extends BaseEntity {
                 .closeAt(form.getCloseAt())
                 .lon(coordinates.get(0))
                 .lat(coordinates.get(1))
+                .dates(DateSet.empty())
+                .rules(List.of())
+                .holidays(DateSet.empty())
                 .storeReservationInfos(new ArrayList<>())
                 .build();
     }
@@ -92,28 +137,40 @@ public class Store extends BaseEntity {
         this.deleted = deleted;
     }
 
-    // 후기 등록된 경우 별점 업데이트
-    public void updateRating(float newRating) {
-        this.reviewCount++; // 후기 총개수 증가
-        this.reviewSum += newRating; // 별점 총합 증가
-        this.rating = this.reviewSum / this.reviewCount;
+    // 예약 가능 날짜 : 컬럼이 null 인 매장(store_dates 에서 아직 옮기지 않은 매장)은 빈 집합
+    public DateSet getDates() {
+        return dates == null ? DateSet.empty() : dates;
     }
 
-    // 후기 삭제된 경우 별점 업데이트
-    public void cancelRating(float oldRating) {
-        this.reviewCount--; // 후기 총개수 감소
-        this.reviewSum -= oldRating; // 별점 총합 감소
-        this.rating = this.reviewSum / this.reviewCount;
+    // 휴무일 : 컬럼이 null 인 매장은 빈 집합
+    public DateSet getHolidays() {
+        return holidays == null ? DateSet.empty() : holidays;
     }
 
-    // 후기 수정한 경우 별점 업데이트
-    public void updateRating(float oldRating, float newRating) {
-        cancelRating(oldRating); // 기존의 별점 으로 별점 총합 감소, 후기 총개수 감소
-        updateRating(newRating); // 기존의 별점 으로 별점 총합 증가, 후기 총개수 증가
+    // 1~5점 별점 분포
+    public List<Long> getRatingHistogram() {
+        return Arrays.asList(rating1Count, rating2Count, rating3Count, rating4Count, rating5Count);
     }
 
     // 예역 가능 날짜 업데이트
-    public void updateDates(List<LocalDate> dates) {
+    public void updateDates(DateSet dates) {
         this.dates = dates;
     }
+
+    // 반복 규칙, 휴무일 업데이트
+    public void updateRules(List<RecurrenceRule> rules, DateSet holidays) {
+        this.rules = rules;
+        this.holidays = holidays;
+    }
+
+    // 예약 가능 날짜인지 확인 : 지정한 날짜이거나, 휴무일이 아니면서 반복 규칙 중 하나에 해당
+    public boolean isOpen(LocalDate date) {
+        if (dates != null && dates.contains(date)) {
+            return true;
+        }
+        if (rules == null || (holidays != null && holidays.contains(date))) {
+            return false;
+        }
+        return rules.stream().anyMatch(rule -> rule.matches(date));
+    }
 }
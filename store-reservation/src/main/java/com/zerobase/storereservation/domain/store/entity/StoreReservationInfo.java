@@ -1,13 +1,20 @@
 package com.zerobase.storereservation.domain.store.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.zerobase.storereservation.cache.CacheRegions;
 import com.zerobase.storereservation.domain.BaseEntity;
+import com.zerobase.storereservation.domain.TsidIdentifierGenerator;
 import com.zerobase.storereservation.domain.store.form.RegisterStoreReservationInfo;
 import com.zerobase.storereservation.domain.store.form.UpdateReservationInfo;
+import com.zerobase.storereservation.domain.store.type.DateSet;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.envers.AuditOverride;
 
 import javax.persistence.*;
@@ -21,10 +28,13 @@ import java.util.Map;
 @NoArgsConstructor
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.RESERVATION_INFO)
 @AuditOverride(forClass = BaseEntity.class)
 public class StoreReservationInfo extends BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = TsidIdentifierGenerator.NAME)
+    @GenericGenerator(name = TsidIdentifierGenerator.NAME, strategy = TsidIdentifierGenerator.STRATEGY)
     private Long id;
 
     private Long partnerId; // 매장 파트너 id
@@ -42,7 +52,9 @@ public class StoreReservationInfo extends BaseEntity {
     private int count;
 
     @ElementCollection(fetch = FetchType.EAGER)
-    private Map<LocalDate, Integer> closed; // 예약 가능 날짜, 예약가능 잔여인원(-1 : 마감)
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.RESERVATION_INFO_CLOSED)
+    private Map<LocalDate, Integer> closed; // 날짜별 예약가능 잔여인원(-1 : 마감), 처음 예약이 승인되거나 파트너가 수정한 날짜만 저장 (없으면 count)
 
     public static StoreReservationInfo of(Long partnerId, RegisterStoreReservationInfo info) {
         return StoreReservationInfo.builder()
@@ -68,15 +80,20 @@ public class StoreReservationInfo extends BaseEntity {
                 .build();
     }
 
+    // 해당 날짜의 예약가능 잔여인원 (-1 : 마감)
+    public int remaining(LocalDate date) {
+        return this.closed.getOrDefault(date, this.count);
+    }
+
     // 예약 취소한 경우 해당 날짜의 예약 가능 잔여 인원 감소
     public void decreaseCount(LocalDate reservationDate, int headCount) {
-        Integer newCount = this.closed.get(reservationDate) - headCount;
+        Integer newCount = this.remaining(reservationDate) - headCount;
         this.closed.put(reservationDate, newCount);
     }
 
     // 예약 승인된 경우 해당 날짜의 예약 가능 잔여 인원 증가
     public void increaseCount(LocalDate reservationDate, int headCount) {
-        Integer newCount = this.closed.get(reservationDate)+ headCount;
+        Integer newCount = this.remaining(reservationDate) + headCount;
         this.closed.put(reservationDate, newCount);
     }
 
@@ -89,9 +106,9 @@ public class StoreReservationInfo extends BaseEntity {
         count = form.getCount();
     }
 
-    // 예약 가능 날짜 업데이트
-    public void updateClosed(Map<LocalDate, Integer> dates) {
-        this.closed = dates;
+    // 더 이상 예약 가능하지 않은 날짜의 잔여인원 삭제 (바뀐 날짜의 행만 db 에 반영)
+    public void removeDates(DateSet removed) {
+        removed.forEach(this.closed::remove);
     }
 
     // 예약 마감 여부 업데이트
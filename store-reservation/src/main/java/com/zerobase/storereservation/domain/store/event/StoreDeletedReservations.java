@@ -0,0 +1,27 @@
+package com.zerobase.storereservation.domain.store.event;
+
+import com.zerobase.storereservation.domain.reservation.entity.Reservation;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Getter
+@AllArgsConstructor
+public class StoreDeletedReservations {
+    // 매장 삭제로 취소된 예약 chunk (예약 고객 알림 등 예약마다 필요한 처리를 위한 이벤트)
+    // 목록마다 같은 순서로 담음 (i 번째가 같은 예약)
+    private final Long storeId;
+    private final List<Long> reservationIds;
+    private final List<Long> customerIds;
+    private final List<LocalDate> reservationDates;
+
+    public static StoreDeletedReservations of(Long storeId, List<Reservation> reservations) {
+        return new StoreDeletedReservations(storeId,
+                reservations.stream().map(Reservation::getId).collect(Collectors.toList()),
+                reservations.stream().map(Reservation::getCustomerId).collect(Collectors.toList()),
+                reservations.stream().map(Reservation::getReservationDate).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,31 @@
+package com.zerobase.storereservation.domain.store.form;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UpdateStoreRule {
+        // 매장 반복 예약 가능 규칙 업데이트 위한 form
+        private Long id;
+        private List<Rule> rules; // 기간별 예약 가능 요일
+        private List<LocalDate> holidays; // 규칙에서 제외할 날짜
+
+        @Getter
+        @NoArgsConstructor
+        @AllArgsConstructor
+        @Builder
+        public static class Rule {
+                private LocalDate startDate;
+                private LocalDate endDate; // 없으면 계속 반복
+                private List<DayOfWeek> weekdays; // MONDAY ~ SUNDAY
+        }
+}
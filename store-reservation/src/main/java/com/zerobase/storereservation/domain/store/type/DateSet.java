@@ -0,0 +1,195 @@
+package com.zerobase.storereservation.domain.store.type;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
+
+public final class DateSet implements Iterable<LocalDate>, Serializable {
+    // 예약 가능 날짜 집합 : 첫 날짜(epoch day) + 첫 날짜부터 하루에 1bit
+    // - 날짜 포함 여부 O(1), 1년치(365일)가 46byte
+    // - 변경하지 않는 값 (날짜를 바꾸면 새 DateSet), 같은 날짜들이면 항상 같은 bit 표현이라 equals 로 비교 가능
+    // db 에는 DateSetConverter 로 bytes(첫 날짜 4byte + bit) 로 저장, 2차 캐시에는 그대로 저장(Serializable)
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int MAX_DAYS = 4064; // 첫 날짜부터 약 11년, db 컬럼 512byte 에 들어가는 날 수
+    public static final int MAX_BYTES = Integer.BYTES + MAX_DAYS / Byte.SIZE;
+
+    private static final DateSet EMPTY = new DateSet(0, new long[0], 0);
+
+    private final long first; // 첫 날짜 epoch day
+    private final long[] words; // bit i : first + i 일
+    private final int size;
+
+    private DateSet(long first, long[] words, int size) {
+        this.first = first;
+        this.words = words;
+        this.size = size;
+    }
+
+    public static DateSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 날짜 목록으로 생성 (중복, 순서 상관없음, null 이면 빈 집합)
+     * exception : 첫 날짜부터 마지막 날짜까지 MAX_DAYS 보다 길면 IllegalArgumentException
+     */
+    public static DateSet of(Collection<LocalDate> dates) {
+        if (dates == null || dates.isEmpty()) {
+            return EMPTY;
+        }
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (LocalDate date : dates) {
+            min = Math.min(min, date.toEpochDay());
+            max = Math.max(max, date.toEpochDay());
+        }
+        checkSpan(max - min + 1);
+
+        long[] words = new long[wordCount(max - min + 1)];
+        for (LocalDate date : dates) {
+            long offset = date.toEpochDay() - min;
+            words[(int) (offset >>> 6)] |= 1L << offset;
+        }
+        return new DateSet(min, words, cardinality(words));
+    }
+
+    public static DateSet of(LocalDate... dates) {
+        return of(Arrays.asList(dates));
+    }
+
+    public boolean contains(LocalDate date) {
+        if (date == null) {
+            return false;
+        }
+        long offset = date.toEpochDay() - first;
+        if (offset < 0 || offset >= (long) words.length * Long.SIZE) {
+            return false;
+        }
+        return (words[(int) (offset >>> 6)] & 1L << offset) != 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * other 에 없는 날짜만 남긴 집합 (추가/삭제된 날짜 비교용), O(이 집합의 날 수)
+     */
+    public DateSet minus(DateSet other) {
+        List<LocalDate> remaining = new ArrayList<>();
+        this.forEach(date -> {
+            if (!other.contains(date)) {
+                remaining.add(date);
+            }
+        });
+        return remaining.size() == size ? this : of(remaining);
+    }
+
+    /**
+     * 날짜순 목록
+     */
+    public List<LocalDate> toList() {
+        List<LocalDate> dates = new ArrayList<>(size);
+        this.forEach(dates::add);
+        return dates;
+    }
+
+    @Override
+    public void forEach(Consumer<? super LocalDate> action) {
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                action.accept(LocalDate.ofEpochDay(first + ((long) i << 6) + bit));
+                word &= word - 1;
+            }
+        }
+    }
+
+    @Override
+    public Iterator<LocalDate> iterator() {
+        return this.toList().iterator();
+    }
+
+    /**
+     * db 저장용 : 첫 날짜 epoch day(4byte) + 날짜별 bit (빈 집합이면 0byte)
+     */
+    public byte[] toBytes() {
+        if (size == 0) {
+            return new byte[0];
+        }
+        long last = lastOffset();
+        int bitBytes = (int) (last / Byte.SIZE + 1);
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + bitBytes).putInt(Math.toIntExact(first));
+        for (int i = 0; i < bitBytes; i++) {
+            buffer.put((byte) (words[i >>> 3] >>> ((i & 7) * Byte.SIZE)));
+        }
+        return buffer.array();
+    }
+
+    public static DateSet fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return EMPTY;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long first = buffer.getInt();
+        int bitBytes = bytes.length - Integer.BYTES;
+        long[] words = new long[wordCount((long) bitBytes * Byte.SIZE)];
+        for (int i = 0; i < bitBytes; i++) {
+            words[i >>> 3] |= (buffer.get() & 0xFFL) << ((i & 7) * Byte.SIZE);
+        }
+        return new DateSet(first, words, cardinality(words));
+    }
+
+    private long lastOffset() {
+        for (int i = words.length - 1; i >= 0; i--) {
+            if (words[i] != 0) {
+                return ((long) i << 6) + Long.SIZE - 1 - Long.numberOfLeadingZeros(words[i]);
+            }
+        }
+        return -1;
+    }
+
+    private static void checkSpan(long days) {
+        if (days > MAX_DAYS) {
+            throw new IllegalArgumentException("date range must be at most " + MAX_DAYS + " days -> " + days);
+        }
+    }
+
+    private static int wordCount(long bits) {
+        return (int) ((bits + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    private static int cardinality(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DateSet)) return false;
+        return Arrays.equals(this.toBytes(), ((DateSet) o).toBytes());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.toBytes());
+    }
+
+    @Override
+    public String toString() {
+        return this.toList().toString();
+    }
+}
@@ -0,0 +1,21 @@
+package com.zerobase.storereservation.domain.store.type;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+@Converter
+public class DateSetConverter implements AttributeConverter<DateSet, byte[]> {
+    // DateSet <-> varbinary 컬럼
+    // null 은 그대로 null : dates 컬럼이 생기기 전에 등록된 매장은 store_dates 에서 옮길 때까지 null 로 남아야 함
+    // (빈 집합으로 읽으면 다른 컬럼을 수정할 때 빈 값이 같이 저장되어 StoreDatesBackfill 이 옮기지 않음)
+
+    @Override
+    public byte[] convertToDatabaseColumn(DateSet dates) {
+        return dates == null ? null : dates.toBytes();
+    }
+
+    @Override
+    public DateSet convertToEntityAttribute(byte[] bytes) {
+        return bytes == null ? null : DateSet.fromBytes(bytes);
+    }
+}
@@ -0,0 +1,8 @@
+package com.zerobase.storereservation.domain.store.type;
+
+public enum DeletionStatus {
+    // 매장 삭제 후속 처리 진행 상태
+    RUNNING, // 처리중
+    DONE, // 완료
+    FAILED // 실패 (처리한 chunk 까지는 반영됨)
+}
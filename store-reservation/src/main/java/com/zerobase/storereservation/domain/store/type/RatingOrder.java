@@ -0,0 +1,28 @@
+package com.zerobase.storereservation.domain.store.type;
+
+import java.util.Arrays;
+
+public enum RatingOrder {
+    // 별점순 매장 조회 정렬 방식
+    MEAN("mean"), // 별점 평균
+    BAYESIAN("bayesian"), // 후기 수가 적은 매장은 전체 평균 쪽으로 당긴 평균
+    DECAYED("decayed"); // 최근 후기에 가중치를 더 준 bayesian 평균
+
+    private final String value;
+
+    RatingOrder(String value) {
+        this.value = value;
+    }
+
+    // 없는 정렬 방식이면 기존처럼 별점 평균순
+    public static RatingOrder of(String order) {
+        return Arrays.stream(RatingOrder.values())
+                .filter(i -> i.value.equals(order))
+                .findAny()
+                .orElse(MEAN);
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,118 @@
+package com.zerobase.storereservation.domain.store.type;
+
+import java.io.Serializable;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+public final class RecurrenceRule implements Serializable {
+    // 반복 예약 가능 규칙 : startDate ~ endDate 기간의 지정한 요일마다 예약 가능
+    // - endDate 가 없으면 끝나는 날 없이 계속 반복
+    // - 날짜를 하나씩 저장하지 않고 예약 가능 여부를 필요할 때 계산
+    // db 에는 RecurrenceRuleConverter 로 "2024-07-01~2024-12-31:1111100" (월~일) 형식 문자열로 저장
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int MAX_RULES = 30; // 매장별 최대 규칙 수
+    public static final int MAX_LENGTH = MAX_RULES * 30; // db 컬럼 길이 (규칙 하나 최대 29자 + 구분자)
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final int weekdays; // bit (요일 번호 - 1) : 월요일 1, 일요일 64
+
+    private RecurrenceRule(LocalDate startDate, LocalDate endDate, int weekdays) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.weekdays = weekdays;
+    }
+
+    /**
+     * exception : 시작일이 없거나 종료일보다 늦은 경우, 요일이 없는 경우 IllegalArgumentException
+     */
+    public static RecurrenceRule of(LocalDate startDate, LocalDate endDate, Collection<DayOfWeek> weekdays) {
+        if (startDate == null || (endDate != null && endDate.isBefore(startDate))) {
+            throw new IllegalArgumentException("check rule period -> " + startDate + "~" + endDate);
+        }
+        if (weekdays == null || weekdays.isEmpty()) {
+            throw new IllegalArgumentException("rule must have weekdays");
+        }
+        int mask = 0;
+        for (DayOfWeek weekday : weekdays) {
+            mask |= bit(weekday);
+        }
+        return new RecurrenceRule(startDate, endDate, mask);
+    }
+
+    public boolean matches(LocalDate date) {
+        return !date.isBefore(startDate)
+                && (endDate == null || !date.isAfter(endDate))
+                && (weekdays & bit(date.getDayOfWeek())) != 0;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public List<DayOfWeek> getWeekdays() {
+        return Arrays.stream(DayOfWeek.values())
+                .filter(weekday -> (weekdays & bit(weekday)) != 0)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * db 저장용 문자열 "시작일~종료일:월화수목금토일 bit"
+     */
+    public String format() {
+        StringBuilder builder = new StringBuilder()
+                .append(startDate)
+                .append('~')
+                .append(endDate == null ? "" : endDate)
+                .append(':');
+        for (DayOfWeek weekday : DayOfWeek.values()) {
+            builder.append((weekdays & bit(weekday)) != 0 ? '1' : '0');
+        }
+        return builder.toString();
+    }
+
+    public static RecurrenceRule parse(String value) {
+        int tilde = value.indexOf('~');
+        int colon = value.indexOf(':');
+        String end = value.substring(tilde + 1, colon);
+        List<DayOfWeek> weekdays = new ArrayList<>();
+        for (DayOfWeek weekday : DayOfWeek.values()) {
+            if (value.charAt(colon + weekday.getValue()) == '1') {
+                weekdays.add(weekday);
+            }
+        }
+        return of(LocalDate.parse(value.substring(0, tilde)), end.isEmpty() ? null : LocalDate.parse(end), weekdays);
+    }
+
+    private static int bit(DayOfWeek weekday) {
+        return 1 << (weekday.getValue() - 1);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RecurrenceRule)) return false;
+        RecurrenceRule other = (RecurrenceRule) o;
+        return weekdays == other.weekdays
+                && startDate.equals(other.startDate)
+                && Objects.equals(endDate, other.endDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(startDate, endDate, weekdays);
+    }
+
+    @Override
+    public String toString() {
+        return this.format();
+    }
+}
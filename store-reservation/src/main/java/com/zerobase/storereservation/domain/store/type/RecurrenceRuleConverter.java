@@ -0,0 +1,34 @@
+package com.zerobase.storereservation.domain.store.type;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Converter
+public class RecurrenceRuleConverter implements AttributeConverter<List<RecurrenceRule>, String> {
+    // 반복 규칙 목록 <-> ";" 로 구분한 문자열 (null 은 빈 목록)
+
+    private static final String DELIMITER = ";";
+
+    @Override
+    public String convertToDatabaseColumn(List<RecurrenceRule> rules) {
+        if (rules == null) {
+            return "";
+        }
+        return rules.stream()
+                .map(RecurrenceRule::format)
+                .collect(Collectors.joining(DELIMITER));
+    }
+
+    @Override
+    public List<RecurrenceRule> convertToEntityAttribute(String value) {
+        if (value == null || value.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(DELIMITER))
+                .map(RecurrenceRule::parse)
+                .collect(Collectors.toUnmodifiableList());
+    }
+}
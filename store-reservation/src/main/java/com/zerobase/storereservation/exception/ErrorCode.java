@@ -16,6 +16,13 @@ public enum ErrorCode {
     // 로그인, 유저정보 가져오기
     NOT_FOUND_USER(HttpStatus.BAD_REQUEST, "일치하는 회원이 없습니다."),
     LOGIN_CHECK_FAIL(HttpStatus.BAD_REQUEST, "이메일과 패스워드를 확인해주세요."),
+    LOGIN_REQUIRED(HttpStatus.UNAUTHORIZED, "로그인이 필요합니다."),
+
+    // 로그인, 회원가입 비밀번호 처리
+    TOO_MANY_PASSWORD_REQUESTS(HttpStatus.SERVICE_UNAVAILABLE, "요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요."),
+
+    // 요청 수 제한
+    TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "요청이 너무 많습니다. 잠시 후 다시 시도해주세요."),
 
     // 매장 등록
     DUPLICATE_STORE_NAME(HttpStatus.BAD_REQUEST, "매장명은 중복일 수 없습니다."),
@@ -26,10 +33,13 @@ public enum ErrorCode {
     NOT_FOUND_STORE(HttpStatus.BAD_REQUEST, "매장명이 존재하지 않습니다."),
     NOT_FOUND_RESERVATION_INFO(HttpStatus.BAD_REQUEST, "매장 예약 상세정보가 존재하지 않습니다."),
     CANNOT_UPDATE_INFO(HttpStatus.BAD_REQUEST, "예약이 열려있지 않은 날짜입니다."),
+    TOO_LONG_RESERVATION_DATES(HttpStatus.BAD_REQUEST, "예약 가능 날짜 범위가 너무 깁니다."),
+    CHECK_RECURRENCE_RULE(HttpStatus.BAD_REQUEST, "반복 규칙의 기간과 요일을 확인해주세요."),
 
     // 매장 삭제
     STILL_HAVE_RESERVATION(HttpStatus.BAD_REQUEST, "해당 매장에 예약이 남아 있습니다."),
     ALREADY_DELETED_STORE(HttpStatus.BAD_REQUEST, "이미 삭제된 매장입니다."),
+    NOT_FOUND_STORE_DELETION(HttpStatus.BAD_REQUEST, "매장 삭제 처리 내역이 존재하지 않습니다."),
 
     // 매장 검색
     UNMATCHED_PARTNER_STORE(HttpStatus.BAD_REQUEST, "매장 정보와 파트너 정보가 일치하지 않습니다."),
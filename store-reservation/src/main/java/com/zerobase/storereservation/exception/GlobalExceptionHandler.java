@@ -1,6 +1,8 @@
 package com.zerobase.storereservation.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -39,6 +41,16 @@ public class GlobalExceptionHandler {
         return new ErrorResponse(e.getErrorCode(), e.getErrorMessage());
     }
 
+    // 요청이 많아 거절한 경우 : 클라이언트가 재시도 시점을 알 수 있도록 status 와 Retry-After 헤더를 내려줌
+    @ExceptionHandler(OverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleOverloadedException(OverloadedException e) {
+        log.warn("{} is occurred", e.getErrorCode());
+
+        return ResponseEntity.status(e.getErrorCode().getHttpStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ErrorResponse(e.getErrorCode(), e.getErrorMessage()));
+    }
+
     // 그외 에러
     @ExceptionHandler(Exception.class)
     public ErrorResponse handleException(Exception e) {
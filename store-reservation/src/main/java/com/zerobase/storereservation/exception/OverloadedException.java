@@ -0,0 +1,19 @@
+package com.zerobase.storereservation.exception;
+
+import lombok.Getter;
+
+@Getter
+public class OverloadedException extends RuntimeException {
+    // 서버가 처리할 수 있는 양을 넘어선 요청을 바로 거절하는 경우
+    // ErrorCode 의 status 와 Retry-After 헤더로 응답
+
+    private final ErrorCode errorCode;
+    private final String errorMessage;
+    private final long retryAfterSeconds; // 다시 시도할 수 있을때까지 남은 시간(초)
+
+    public OverloadedException(ErrorCode errorCode, long retryAfterSeconds) {
+        this.errorCode = errorCode;
+        this.errorMessage = errorCode.getDescription();
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,91 @@
+package com.zerobase.storereservation.monitoring;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AccessLogBuffer {
+    // 요청 스레드(여러 개)가 쓰고 기록 스레드(1개)가 읽는 고정 크기 링 버퍼
+    // 슬롯을 미리 만들어두고 값만 바꿔 쓰므로 요청마다 객체를 만들지 않음
+    // 버퍼가 가득 차면 요청 스레드를 기다리게 하지 않고 해당 로그를 버림
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong(); // 다음에 쓸 순번
+    private final AtomicLong consumed = new AtomicLong(); // 다음에 읽을 순번
+    private final AtomicLong dropped = new AtomicLong(); // 버퍼가 가득 차 버린 수
+
+    /**
+     * @param capacity : 2의 거듭제곱으로 올림
+     */
+    public AccessLogBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * 요청 스레드에서 호출 : 문자열 조합 없이 값만 슬롯에 복사
+     * @return 버퍼가 가득 차 버린 경우 false
+     */
+    public boolean publish(long timestamp, String method, String uri, long memberId, int status, long latencyNanos) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed.get() >= slots.length) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        Slot slot = slots[(int) (sequence & mask)];
+        slot.timestamp = timestamp;
+        slot.method = method;
+        slot.uri = uri;
+        slot.memberId = memberId;
+        slot.status = status;
+        slot.latencyNanos = latencyNanos;
+        slot.published = sequence; // volatile 쓰기 : 위의 값들이 기록 스레드에 보임
+        return true;
+    }
+
+    /**
+     * 기록 스레드에서 호출 : 순서대로 쓰여진 로그를 최대 max 개 읽음
+     * @return 읽은 수
+     */
+    public int drain(Handler handler, int max) {
+        long sequence = consumed.get();
+        int count = 0;
+        while (count < max) {
+            Slot slot = slots[(int) (sequence & mask)];
+            if (slot.published != sequence) break; // 아직 쓰는 중이거나 비어있음
+
+            handler.onEvent(slot.timestamp, slot.method, slot.uri, slot.memberId, slot.status, slot.latencyNanos);
+            slot.method = null;
+            slot.uri = null;
+            sequence++;
+            count++;
+            consumed.lazySet(sequence); // 읽은 슬롯을 다시 쓸 수 있게 함
+        }
+        return count;
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public interface Handler {
+        void onEvent(long timestamp, String method, String uri, long memberId, int status, long latencyNanos);
+    }
+
+    private static final class Slot {
+        private volatile long published = -1;
+        private long timestamp;
+        private String method;
+        private String uri;
+        private long memberId;
+        private int status;
+        private long latencyNanos;
+    }
+}
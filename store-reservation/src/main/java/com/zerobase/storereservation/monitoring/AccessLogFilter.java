@@ -0,0 +1,51 @@
+package com.zerobase.storereservation.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@RequiredArgsConstructor
+public class AccessLogFilter extends OncePerRequestFilter {
+    // 요청마다 method, url 패턴, 회원 id, 응답 status, 처리 시간을 access log 로 기록
+    // 요청 스레드에서는 문자열을 만들지 않고 값만 AccessLogWriter 의 버퍼에 넘김
+    // 보안 필터에서 거절된 요청(401, 429 등)까지 기록하도록 security filter 보다 먼저 실행
+
+    // JwtAuthenticationFilter 가 인증된 회원의 id 를 남기는 request attribute
+    // SecurityContext 는 security filter chain 이 끝나면 비워지므로 request 에 따로 저장
+    public static final String MEMBER_ID_ATTRIBUTE = AccessLogFilter.class.getName() + ".memberId";
+
+    private final AccessLogWriter accessLogWriter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !accessLogWriter.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // 경로변수 값 대신 매핑된 url 패턴을 기록
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Object memberId = request.getAttribute(MEMBER_ID_ATTRIBUTE);
+            accessLogWriter.log(request.getMethod(),
+                    pattern == null ? "UNKNOWN" : pattern.toString(),
+                    memberId == null ? -1 : (Long) memberId,
+                    response.getStatus(),
+                    System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.zerobase.storereservation.monitoring;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@Slf4j
+@Component
+public class AccessLogWriter {
+    // 요청 스레드가 AccessLogBuffer 에 남긴 값을 별도 스레드에서 한 줄짜리 json 으로 만들어 파일에 기록
+    // 여러 건을 모아서 쓰고, 파일이 max-file-size 를 넘으면 access.log.1, access.log.2 ... 로 밀어내고 새 파일에 기록
+    // {"ts":"2024-02-01T10:00:00.123Z","method":"GET","uri":"/api/store/{storeId}","memberId":1,"status":200,"latencyMs":3.512}
+
+    private static final int BATCH_SIZE = 512;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final boolean enabled;
+    private final Path path;
+    private final long maxFileSize;
+    private final int maxHistory;
+    private final AccessLogBuffer buffer;
+
+    // 아래 값들은 기록 스레드에서만 사용
+    private final StringBuilder line = new StringBuilder(256);
+    private final AccessLogBuffer.Handler appender = this::append;
+    private Writer writer;
+    private long fileSize;
+    private long lastSecond = Long.MIN_VALUE;
+    private String secondPrefix; // 초 단위까지 만든 시간 문자열 (같은 초의 로그는 다시 만들지 않음)
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public AccessLogWriter(MeterRegistry meterRegistry,
+                           @Value("${access-log.enabled:true}") boolean enabled,
+                           @Value("${access-log.path:logs/access.log}") String path,
+                           @Value("${access-log.buffer-size:8192}") int bufferSize,
+                           @Value("${access-log.max-file-size:104857600}") long maxFileSize,
+                           @Value("${access-log.max-history:10}") int maxHistory) {
+        this.enabled = enabled;
+        this.path = Paths.get(path);
+        this.maxFileSize = maxFileSize;
+        this.maxHistory = maxHistory;
+        this.buffer = new AccessLogBuffer(bufferSize);
+        // 버퍼가 가득 차 버린 로그 수
+        FunctionCounter.builder("access.log.dropped", buffer, AccessLogBuffer::getDropped)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        running = true;
+        thread = new Thread(this::run, "access-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 요청 스레드에서 호출 : 값만 버퍼에 복사하고 바로 리턴
+     * @param memberId : 로그인하지 않은 요청은 -1
+     */
+    public void log(String method, String uri, long memberId, int status, long latencyNanos) {
+        buffer.publish(System.currentTimeMillis(), method, uri, memberId, status, latencyNanos);
+    }
+
+    private void run() {
+        long lastFlush = System.nanoTime();
+        boolean dirty = false;
+        while (running) {
+            try {
+                int count = this.writeBatch();
+                long now = System.nanoTime();
+                if (count > 0) dirty = true;
+                // 쌓인 로그가 없거나 일정 시간이 지났을 때만 flush
+                if (dirty && (count == 0 || now - lastFlush >= FLUSH_INTERVAL_NANOS)) {
+                    writer.flush();
+                    dirty = false;
+                    lastFlush = now;
+                }
+                if (count == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            } catch (IOException e) {
+                log.error("access log 기록 실패", e);
+                this.closeQuietly();
+                LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(1));
+            }
+        }
+    }
+
+    // 버퍼에서 최대 BATCH_SIZE 건을 꺼내 기록
+    int writeBatch() throws IOException {
+        if (writer == null) this.open();
+        int count = buffer.drain(appender, BATCH_SIZE);
+        if (line.length() > 0) {
+            writer.write(line.toString());
+            fileSize += line.length();
+            line.setLength(0);
+            if (fileSize >= maxFileSize) this.rotate();
+        }
+        return count;
+    }
+
+    private void append(long timestamp, String method, String uri, long memberId, int status, long latencyNanos) {
+        line.append("{\"ts\":\"");
+        this.appendTimestamp(timestamp);
+        line.append("\",\"method\":\"").append(method)
+                .append("\",\"uri\":\"");
+        this.appendEscaped(uri);
+        line.append("\",\"memberId\":");
+        if (memberId < 0) {
+            line.append("null");
+        } else {
+            line.append(memberId);
+        }
+        line.append(",\"status\":").append(status)
+                .append(",\"latencyMs\":").append(latencyNanos / 1_000_000).append('.');
+        long micros = latencyNanos / 1_000 % 1_000;
+        if (micros < 100) line.append('0');
+        if (micros < 10) line.append('0');
+        line.append(micros).append("}\n");
+    }
+
+    // 2024-02-01T10:00:00.123Z
+    private void appendTimestamp(long timestamp) {
+        long second = Math.floorDiv(timestamp, 1000);
+        if (second != lastSecond) {
+            String iso = Instant.ofEpochSecond(second).toString(); // 2024-02-01T10:00:00Z
+            secondPrefix = iso.substring(0, iso.length() - 1);
+            lastSecond = second;
+        }
+        long millis = Math.floorMod(timestamp, 1000);
+        line.append(secondPrefix).append('.');
+        if (millis < 100) line.append('0');
+        if (millis < 10) line.append('0');
+        line.append(millis).append('Z');
+    }
+
+    private void appendEscaped(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < 0x20) {
+                line.append(' ');
+            } else {
+                line.append(c);
+            }
+        }
+    }
+
+    private void open() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        fileSize = Files.size(path);
+    }
+
+    // access.log -> access.log.1 -> access.log.2 ... max-history 를 넘는 파일은 삭제
+    private void rotate() throws IOException {
+        writer.close();
+        writer = null;
+        Files.deleteIfExists(this.history(maxHistory));
+        for (int i = maxHistory - 1; i >= 1; i--) {
+            Path from = this.history(i);
+            if (Files.exists(from)) {
+                Files.move(from, this.history(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxHistory > 0) {
+            Files.move(path, this.history(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(path);
+        }
+        this.open();
+    }
+
+    private Path history(int index) {
+        return path.resolveSibling(path.getFileName() + "." + index);
+    }
+
+    /**
+     * 종료 시 남은 로그를 모두 기록하고 파일을 닫음
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) return;
+        running = false;
+        if (thread != null) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (thread.isAlive()) return; // 기록 스레드가 아직 쓰는 중이면 같이 쓰지 않음
+        }
+
+        try {
+            while (this.writeBatch() > 0) {
+                // 버퍼가 빌 때까지 기록
+            }
+            writer.flush();
+        } catch (IOException e) {
+            log.error("access log 기록 실패", e);
+        } finally {
+            this.closeQuietly();
+        }
+    }
+
+    private void closeQuietly() {
+        if (writer == null) return;
+        try {
+            writer.close();
+        } catch (IOException ignored) {
+        }
+        writer = null;
+    }
+}
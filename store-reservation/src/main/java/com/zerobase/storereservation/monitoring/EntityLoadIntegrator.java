@@ -0,0 +1,31 @@
+package com.zerobase.storereservation.monitoring;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+public class EntityLoadIntegrator implements Integrator {
+    // 조회로 엔티티가 만들어질 때마다 현재 요청의 QueryContext 에 기록
+
+    private static final PostLoadEventListener ENTITY_LOADED = event -> {
+        QueryContext context = QueryContext.current();
+        if (context != null) {
+            context.entityLoaded();
+        }
+    };
+
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                          SessionFactoryServiceRegistry serviceRegistry) {
+        serviceRegistry.getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, ENTITY_LOADED);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.zerobase.storereservation.monitoring;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Configuration
+public class MetricsConfig {
+
+    // 응답 시간 분포를 기록할 timer
+    private static final Set<String> LATENCY_TIMERS = Set.of(
+            "http.server.requests", // 컨트롤러 (spring boot 가 기록)
+            "service.method",
+            "sql.time",
+            "geocoder.time",
+            "request.cpu.time",
+            "password.hash");
+
+    /**
+     * 응답 시간 timer 에 p50/p95/p99 와 prometheus histogram bucket 추가
+     * 백분위는 최근 2분 동안의 값을 HdrHistogram 으로 서버에서 계산
+     * bucket 은 1ms ~ 10s 범위만 만들어 지표 수를 제한
+     */
+    @Bean
+    public MeterFilter latencyHistogramFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER || !LATENCY_TIMERS.contains(id.getName())) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentiles(0.5, 0.95, 0.99)
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(10).toNanos())
+                        .expiry(Duration.ofMinutes(2))
+                        .bufferLength(3)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.zerobase.storereservation.monitoring;
+
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.prometheus.client.exporter.common.TextFormat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.ConditionalOnEnabledMetricsExport;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import springfox.documentation.annotations.ApiIgnore;
+
+@ApiIgnore
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnEnabledMetricsExport("prometheus")
+public class MetricsController {
+    // prometheus 수집용 지표 (text format 0.0.4)
+    // 외부에서는 nginx 가 막고 prometheus 는 서버 포트로 직접 수집
+    // 서버 포트로도 metrics.token 을 가진 요청만 조회 가능 (SecurityConfiguration, MetricsTokenMatcher)
+    // 지표 내보내기가 꺼진 경우(테스트 등) PrometheusMeterRegistry 가 없으므로 등록하지 않음
+
+    private final PrometheusMeterRegistry prometheusMeterRegistry;
+
+    @GetMapping(value = "/metrics", produces = TextFormat.CONTENT_TYPE_004)
+    public String metrics() {
+        return prometheusMeterRegistry.scrape();
+    }
+}
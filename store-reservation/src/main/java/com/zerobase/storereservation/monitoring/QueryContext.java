@@ -0,0 +1,89 @@
+package com.zerobase.storereservation.monitoring;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+@Getter
+public class QueryContext {
+    // 요청 하나 동안 실행된 sql 정보와 외부 api(카카오 좌표 변환) 호출 시간을 모아둠
+    // 요청을 처리하는 스레드에 묶어두고 QueryMetricsFilter 가 시작/종료함
+
+    private static final ThreadLocal<QueryContext> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'([^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("in\\s*\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private int statements; // 실행된 sql 수
+    private long entities; // 조회로 읽어온 엔티티 수
+    private long elapsedNanos; // sql 실행에 걸린 시간 합
+    private int geocoderCalls; // 좌표 변환 api 호출 수
+    private long geocoderNanos; // 좌표 변환 api 호출에 걸린 시간 합
+    private final Map<String, Integer> shapes = new HashMap<>(); // 값만 다른 같은 모양의 sql 별 실행 수
+
+    public static QueryContext start() {
+        QueryContext context = new QueryContext();
+        CURRENT.set(context);
+        return context;
+    }
+
+    // 요청 처리중이 아닌 경우(스케줄러, 시작시 초기화 등) null
+    public static QueryContext current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public void statement(String sql) {
+        statements++;
+        shapes.merge(shape(sql), 1, Integer::sum);
+    }
+
+    public void elapsed(long nanos) {
+        elapsedNanos += nanos;
+    }
+
+    public void entityLoaded() {
+        entities++;
+    }
+
+    public void geocoder(long nanos) {
+        geocoderCalls++;
+        geocoderNanos += nanos;
+    }
+
+    /**
+     * 같은 모양의 sql 이 threshold 번 이상 실행된 경우 (N+1 의심)
+     * @param threshold
+     * @return sql 모양, 실행 수
+     */
+    public Map<String, Integer> repeated(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.forEach((shape, count) -> {
+            if (count >= threshold) {
+                repeated.put(shape, count);
+            }
+        });
+        return repeated;
+    }
+
+    public String summary(int threshold) {
+        return String.format("statements=%d; entities=%d; time=%.1fms; repeated=%d",
+                statements, entities, elapsedNanos / 1_000_000.0, repeated(threshold).size());
+    }
+
+    // 리터럴과 in 절의 파라미터 개수를 지워 값만 다른 sql 을 같은 모양으로 묶음
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,16 @@
+package com.zerobase.storereservation.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class QueryCountInspector implements StatementInspector {
+    // hibernate 가 sql 을 준비할 때마다 현재 요청의 QueryContext 에 기록
+
+    @Override
+    public String inspect(String sql) {
+        QueryContext context = QueryContext.current();
+        if (context != null) {
+            context.statement(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,80 @@
+package com.zerobase.storereservation.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class QueryMetricsFilter extends OncePerRequestFilter {
+    // 요청마다 QueryContext 를 열고 끝나면 endpoint 별 sql 지표로 기록
+    // 보안 필터의 회원 조회까지 포함하도록 security filter 보다 먼저 실행
+    // 요청 처리 시간을 db(sql.time), 좌표 변환 api(geocoder.time), cpu(request.cpu.time) 로 나눠서 기록
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${monitoring.query.repeat-threshold:3}")
+    private int repeatThreshold; // 같은 모양의 sql 이 몇 번 이상이면 N+1 로 볼지
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        QueryContext context = QueryContext.start();
+        long cpuStart = cpuTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long cpuNanos = cpuStart < 0 ? -1 : cpuTime() - cpuStart;
+            QueryContext.end();
+            record(request, context, cpuNanos);
+        }
+    }
+
+    // 요청을 처리한 스레드가 사용한 cpu 시간, 지원하지 않는 jvm 이면 -1
+    private static long cpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private void record(HttpServletRequest request, QueryContext context, long cpuNanos) {
+        // 경로변수 값마다 지표가 늘어나지 않도록 매핑된 url 패턴으로 묶음
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern == null ? "UNKNOWN" : pattern.toString());
+
+        meterRegistry.summary("sql.statements", tags).record(context.getStatements());
+        meterRegistry.summary("sql.entities.loaded", tags).record(context.getEntities());
+        meterRegistry.timer("sql.time", tags).record(context.getElapsedNanos(), TimeUnit.NANOSECONDS);
+        if (context.getGeocoderCalls() > 0) {
+            meterRegistry.timer("geocoder.time", tags).record(context.getGeocoderNanos(), TimeUnit.NANOSECONDS);
+        }
+        if (cpuNanos >= 0) {
+            meterRegistry.timer("request.cpu.time", tags).record(cpuNanos, TimeUnit.NANOSECONDS);
+        }
+
+        Map<String, Integer> repeated = context.repeated(repeatThreshold);
+        if (!repeated.isEmpty()) {
+            meterRegistry.counter("sql.repeated", tags).increment(repeated.size());
+            repeated.forEach((shape, count) ->
+                    log.warn(String.format("[N+1 의심 %s %s] %d회 실행 : %s", request.getMethod(), pattern, count, shape)));
+        }
+    }
+}
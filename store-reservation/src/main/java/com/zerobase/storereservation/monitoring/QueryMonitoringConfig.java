@@ -0,0 +1,25 @@
+package com.zerobase.storereservation.monitoring;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collections;
+
+@Configuration
+public class QueryMonitoringConfig {
+    /**
+     * 요청별 sql 수, 실행 시간, 읽어온 엔티티 수를 모으기 위해 hibernate 에 등록
+     */
+    @Bean
+    public HibernatePropertiesCustomizer queryMonitoringCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryTimeListener.class.getName());
+            properties.put("hibernate.integrator_provider",
+                    (IntegratorProvider) () -> Collections.singletonList(new EntityLoadIntegrator()));
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.zerobase.storereservation.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+@ControllerAdvice
+public class QueryStatsHeaderAdvice implements ResponseBodyAdvice<Object> {
+    // 디버그용으로 응답 헤더에 해당 요청의 sql 정보 추가
+    // 헤더는 응답 본문을 쓰기 전에만 추가할 수 있으므로 필터가 아닌 여기서 추가함
+    public static final String QUERY_STATS_HEADER = "X-Query-Stats";
+
+    @Value("${monitoring.query.debug-header:false}")
+    private boolean debugHeader; // 운영에서는 내부 정보가 노출되지 않도록 기본 사용안함
+
+    @Value("${monitoring.query.repeat-threshold:3}")
+    private int repeatThreshold;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return debugHeader;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryContext context = QueryContext.current();
+        if (context != null) {
+            response.getHeaders().set(QUERY_STATS_HEADER, context.summary(repeatThreshold));
+        }
+        return body;
+    }
+}
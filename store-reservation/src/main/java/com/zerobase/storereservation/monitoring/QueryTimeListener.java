@@ -0,0 +1,38 @@
+package com.zerobase.storereservation.monitoring;
+
+import org.hibernate.BaseSessionEventListener;
+
+public class QueryTimeListener extends BaseSessionEventListener {
+    // 세션마다 새로 만들어지는 리스너 (hibernate.session.events.auto)
+    // sql 실행 시작~끝 시간을 현재 요청의 QueryContext 에 더함
+
+    private long startedAt = -1;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        QueryContext context = QueryContext.current();
+        if (context != null && startedAt > 0) {
+            context.elapsed(System.nanoTime() - startedAt);
+        }
+        startedAt = -1;
+    }
+}
@@ -0,0 +1,85 @@
+package com.zerobase.storereservation.monitoring;
+
+import com.zerobase.storereservation.exception.ErrorCode;
+import com.zerobase.storereservation.exception.ReservationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.zerobase.storereservation.exception.ErrorCode.*;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    // service 패키지의 모든 public 메소드 처리 시간을 기록 : service.method{class, method, outcome}
+    // 트랜잭션 커밋(낙관적 락 충돌 등)까지 포함하도록 트랜잭션 처리보다 먼저 실행
+    // 예약 인원/락 충돌로 거절된 예약은 reservation.contention{reason} 으로 따로 셈
+
+    // 예약 가능 인원이 부족해 거절된 경우
+    private static final Set<ErrorCode> CAPACITY_CODES = EnumSet.of(
+            RESERVATION_CLOSED, OVER_RESERVATION_COUNT, OVER_STORE_MAX_CAPACITY);
+
+    private final MeterRegistry meterRegistry;
+
+    // 호출마다 태그를 만들지 않도록 메소드별 timer 를 저장
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.zerobase.storereservation.service..*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            successTimers.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(),
+                            method -> this.timer(method, "success"))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            this.timer(method, e.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            this.countContention(e);
+            throw e;
+        }
+    }
+
+    private Timer timer(Method method, String outcome) {
+        return Timer.builder("service.method")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private void countContention(Throwable e) {
+        String reason = null;
+        if (e instanceof ReservationException
+                && CAPACITY_CODES.contains(((ReservationException) e).getErrorCode())) {
+            reason = ((ReservationException) e).getErrorCode().name();
+        } else if (e instanceof ObjectOptimisticLockingFailureException) {
+            reason = "OPTIMISTIC_LOCK";
+        } else if (e instanceof PessimisticLockingFailureException) {
+            reason = "PESSIMISTIC_LOCK";
+        }
+        if (reason != null) {
+            meterRegistry.counter("reservation.contention", "reason", reason).increment();
+        }
+    }
+}
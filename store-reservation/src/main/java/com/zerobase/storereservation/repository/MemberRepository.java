@@ -2,13 +2,24 @@ package com.zerobase.storereservation.repository;
 
 import com.zerobase.storereservation.domain.member.entity.Member;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface MemberRepository extends JpaRepository<Member, Long> {
 
     boolean existsByEmail(String email);
     Optional<Member> findByEmail(String email);
+
+    // 중복 확인 필터를 채우기 위해 이메일만 한 행씩 읽음 (트랜잭션 안에서 사용 후 close)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select m.email from member m")
+    Stream<String> streamAllEmails();
 }
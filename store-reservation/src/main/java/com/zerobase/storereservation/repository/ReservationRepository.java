@@ -1,30 +1,62 @@
 package com.zerobase.storereservation.repository;
 
+import com.zerobase.storereservation.domain.reservation.dto.ReservationDto;
 import com.zerobase.storereservation.domain.reservation.entity.Reservation;
+import com.zerobase.storereservation.domain.reservation.type.Status;
 import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+    // 예약 조회 결과를 ReservationDto로 바로 만드는 select 절
+    // 매장명을 얻기 위해 예약상세정보, 매장을 한번에 join 하여 행마다 지연로딩이 일어나지 않도록 함
+    String SELECT_RESERVATION_DTO = "select new com.zerobase.storereservation.domain.reservation.dto.ReservationDto("
+            + "r.id, r.customerId, r.storeId, r.phone, s.name, i.id, r.reservationDate, r.headCount, r.status, r.visit) "
+            + "from Reservation r join r.storeReservationInfo i join i.store s ";
 
     Optional<Reservation> findByCustomerIdAndStoreReservationInfo(Long memberId, StoreReservationInfo storeReservationInfo);
 
+    // 취소/방문확인/리뷰등록 모두 예약상세정보를 사용하므로 함께 조회
+    @EntityGraph(attributePaths = {"storeReservationInfo"}, type = EntityGraph.EntityGraphType.LOAD)
     Optional<Reservation> findByIdAndCustomerId(Long id, Long memberId);
     boolean existsByStoreReservationInfo(StoreReservationInfo info);
 
-    Page<Reservation> findByCustomerId(Long memberId, Pageable pageable);
+    @Query(value = SELECT_RESERVATION_DTO + "where r.customerId = :customerId",
+            countQuery = "select count(r) from Reservation r where r.customerId = :customerId")
+    Page<ReservationDto> searchByCustomerId(@Param("customerId") Long memberId, Pageable pageable);
 
-    Page<Reservation> findByCustomerIdAndStoreId(Long memberId, Long storeId, Pageable pageable);
+    @Query(value = SELECT_RESERVATION_DTO + "where r.customerId = :customerId and r.storeId = :storeId",
+            countQuery = "select count(r) from Reservation r where r.customerId = :customerId and r.storeId = :storeId")
+    Page<ReservationDto> searchByCustomerIdAndStoreId(@Param("customerId") Long memberId, @Param("storeId") Long storeId, Pageable pageable);
 
-    Page<Reservation> findByStoreIdAndReservationDate(Long storeId, LocalDate date, Pageable pageable);
+    @Query(value = SELECT_RESERVATION_DTO + "where r.storeId = :storeId and r.reservationDate = :date",
+            countQuery = "select count(r) from Reservation r where r.storeId = :storeId and r.reservationDate = :date")
+    Page<ReservationDto> searchByStoreIdAndReservationDate(@Param("storeId") Long storeId, @Param("date") LocalDate date, Pageable pageable);
 
-    List<Reservation> findByStoreId(Long storeId);
+    // 매장 삭제시 남아있는 예약을 한번의 update 로 매장삭제됨으로 변경 (예약마다 엔티티를 읽어 수정하지 않음)
+    // bulk update 는 엔티티 리스너를 거치지 않으므로 수정날짜를 직접 넣음
+    @Modifying
+    @Query("update Reservation r set r.status = :status, r.modifiedAt = :now" +
+            " where r.storeId = :storeId and r.status <> :status")
+    int updateStatusByStoreId(@Param("storeId") Long storeId, @Param("status") Status status, @Param("now") LocalDateTime now);
+
+    // 매장의 from 이후 예약을 id 순서로 after 다음부터 읽음 (offset 없이 chunk 단위로 나눠 읽기 위함)
+    @Query("select r from Reservation r where r.storeId = :storeId and r.reservationDate >= :from and r.id > :after order by r.id")
+    List<Reservation> findChunkByStoreId(@Param("storeId") Long storeId, @Param("from") LocalDate from,
+                                         @Param("after") Long after, Pageable pageable);
+
+    long countByStoreIdAndReservationDateGreaterThanEqual(Long storeId, LocalDate from);
 
 }
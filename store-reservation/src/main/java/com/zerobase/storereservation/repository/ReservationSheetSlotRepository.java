@@ -0,0 +1,58 @@
+package com.zerobase.storereservation.repository;
+
+import com.zerobase.storereservation.domain.reservation.entity.ReservationSheetSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReservationSheetSlotRepository extends JpaRepository<ReservationSheetSlot, Long> {
+
+    Optional<ReservationSheetSlot> findByStoreReservationInfoIdAndReservationDate(Long storeReservationInfoId, LocalDate reservationDate);
+
+    List<ReservationSheetSlot> findByStoreIdAndPartnerIdAndReservationDateOrderByStartAt(Long storeId, Long partnerId, LocalDate reservationDate);
+
+    // 상태별 예약 수, 인원 증감 (슬롯이 없으면 0 반환)
+    @Modifying
+    @Query("update ReservationSheetSlot s set s.pendingCount = s.pendingCount + :#{#counts.pending}," +
+            " s.approvedCount = s.approvedCount + :#{#counts.approved}, s.rejectedCount = s.rejectedCount + :#{#counts.rejected}," +
+            " s.storeDeletedCount = s.storeDeletedCount + :#{#counts.storeDeleted}, s.visitedCount = s.visitedCount + :#{#counts.visited}," +
+            " s.pendingHeadCount = s.pendingHeadCount + :#{#counts.pendingHead}, s.approvedHeadCount = s.approvedHeadCount + :#{#counts.approvedHead}," +
+            " s.version = s.version + 1 where s.storeReservationInfoId = :infoId and s.reservationDate = :date")
+    int addCounts(@Param("infoId") Long storeReservationInfoId, @Param("date") LocalDate reservationDate,
+                  @Param("counts") ReservationSheetSlot.Counts counts);
+
+    // 예약가능 잔여인원 변경
+    @Modifying
+    @Query("update ReservationSheetSlot s set s.remaining = :remaining, s.version = s.version + 1" +
+            " where s.storeReservationInfoId = :infoId and s.reservationDate = :date")
+    int updateRemaining(@Param("infoId") Long storeReservationInfoId, @Param("date") LocalDate reservationDate,
+                        @Param("remaining") int remaining);
+
+    // 예약 상세정보 수정시 시간, 수용 인원 변경
+    @Modifying
+    @Query("update ReservationSheetSlot s set s.startAt = :startAt, s.endAt = :endAt, s.capacity = :capacity," +
+            " s.version = s.version + 1 where s.storeReservationInfoId = :infoId")
+    int updateInfo(@Param("infoId") Long storeReservationInfoId, @Param("startAt") LocalTime startAt,
+                   @Param("endAt") LocalTime endAt, @Param("capacity") int capacity);
+
+    // 예약 상세정보 수정시 날짜별 잔여인원이 저장되지 않은 날짜(잔여인원 = 수용 인원)의 잔여인원 변경
+    @Modifying
+    @Query("update ReservationSheetSlot s set s.remaining = s.capacity where s.storeReservationInfoId = :infoId" +
+            " and s.reservationDate not in (select key(c) from StoreReservationInfo i join i.closed c where i.id = :infoId)")
+    int updateRemainingToCapacity(@Param("infoId") Long storeReservationInfoId);
+
+    // 매장 삭제시 남아있는 예약 전부 매장삭제됨으로 옮김
+    @Modifying
+    @Query("update ReservationSheetSlot s set s.storeDeletedCount = s.storeDeletedCount + s.pendingCount + s.approvedCount + s.rejectedCount," +
+            " s.pendingCount = 0, s.approvedCount = 0, s.rejectedCount = 0, s.pendingHeadCount = 0, s.approvedHeadCount = 0," +
+            " s.version = s.version + 1 where s.storeId = :storeId")
+    int markStoreDeleted(@Param("storeId") Long storeId);
+}
@@ -1,20 +1,36 @@
 package com.zerobase.storereservation.repository;
 
+import com.zerobase.storereservation.domain.review.dto.ReviewDto;
 import com.zerobase.storereservation.domain.review.entity.Review;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
+    // 리뷰 조회 결과를 ReviewDto로 바로 만드는 select 절
+    // 예약 id는 리뷰 테이블의 외래키 컬럼을 그대로 읽으므로 예약 테이블을 조회하지 않음
+    String SELECT_REVIEW_DTO = "select new com.zerobase.storereservation.domain.review.dto.ReviewDto("
+            + "r.id, r.customerId, r.partnerId, r.reservation.id, r.storeId, r.rating, r.comment) "
+            + "from Review r ";
+
     boolean existsByCustomerIdAndReservationId(Long customerId, Long reservationId);
 
     Optional<Review> findByIdAndCustomerId(Long id, Long customerId);
     Optional<Review> findByIdAndPartnerId(Long id, Long userId);
+    List<Review> findByStoreId(Long storeId);
+
+    @Query(value = SELECT_REVIEW_DTO + "where r.customerId = :customerId",
+            countQuery = "select count(r) from Review r where r.customerId = :customerId")
+    Page<ReviewDto> searchByCustomerId(@Param("customerId") Long customerId, Pageable pageable);
 
-    Page<Review> findByCustomerId(Long customerId, Pageable pageable);
-    Page<Review> findByPartnerIdAndStoreId(Long customerId, Long storeId, Pageable pageable);
+    @Query(value = SELECT_REVIEW_DTO + "where r.partnerId = :partnerId and r.storeId = :storeId",
+            countQuery = "select count(r) from Review r where r.partnerId = :partnerId and r.storeId = :storeId")
+    Page<ReviewDto> searchByPartnerIdAndStoreId(@Param("partnerId") Long partnerId, @Param("storeId") Long storeId, Pageable pageable);
 }
@@ -0,0 +1,28 @@
+package com.zerobase.storereservation.repository;
+
+public interface StoreRatingRepository {
+    // 별점은 매장을 읽어와 수정하지 않고 update 한번으로 db 에서 바로 증감
+    // 동시에 여러 후기가 등록되어도 증감이 유실되지 않고, 매장 행 전체를 다시 쓰지 않음
+    // bucket : 별점 분포 구간(1~5), weight : 후기 등록 시점 가중치, decayedRating : 별점 x weight
+    // 2차 캐시는 바뀐 매장과 별점순 검색 결과만 지움 (StoreRatingRepositoryImpl)
+
+    /**
+     * 후기 등록된 경우 별점 업데이트
+     * @return 수정된 매장 수 (매장이 없으면 0)
+     */
+    int addRating(Long id, float rating, int bucket, double weight, double decayedRating);
+
+    /**
+     * 후기 수정한 경우 별점 업데이트
+     * 시간 감쇠 가중치는 처음 등록한 시점 그대로 사용
+     * @return 수정된 매장 수 (매장이 없으면 0)
+     */
+    int changeRating(Long id, float oldRating, float newRating, int oldBucket, int newBucket, double decayedDelta);
+
+    /**
+     * 후기 삭제된 경우 별점 업데이트
+     * 마지막 후기가 삭제되면 0으로 나누지 않고 모든 집계를 0으로 초기화
+     * @return 수정된 매장 수 (매장이 없으면 0)
+     */
+    int removeRating(Long id, float rating, int bucket, double weight, double decayedRating);
+}
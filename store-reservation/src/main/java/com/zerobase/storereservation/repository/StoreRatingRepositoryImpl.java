@@ -0,0 +1,114 @@
+package com.zerobase.storereservation.repository;
+
+import com.zerobase.storereservation.cache.CacheRegions;
+import com.zerobase.storereservation.domain.store.entity.Store;
+import org.hibernate.Cache;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Map;
+
+class StoreRatingRepositoryImpl implements StoreRatingRepository {
+    // jpql update 는 hibernate 가 store 영역 전체와 store 테이블의 모든 쿼리 캐시를 비우므로
+    // 후기가 등록될 때마다 모든 매장을 db 에서 다시 읽게 됨 -> native update 로 바꾸고 캐시는 직접 지움
+    // - 쿼리 공간을 store 테이블 대신 별점용 공간(RATING_SPACE)으로 지정해 hibernate 가 아무 영역도 비우지 않게 함
+    // - 커밋 후 바뀐 매장과 별점 순서를 쓰는 쿼리 캐시(query.store.rating)만 지움 (매장명, 가나다순 검색 결과는 id 만 저장하므로 그대로 사용)
+    // mysql 은 set 절을 왼쪽부터 적용하므로 기존 값을 사용하는 rating 을 가장 먼저 계산
+
+    private static final String RATING_SPACE = "store_rating";
+
+    private static final String ADD_RATING = "update store set "
+            + "rating = (review_sum + :rating) / (review_count + 1), "
+            + "review_sum = review_sum + :rating, "
+            + "review_count = review_count + 1, "
+            + "rating1count = rating1count + case when :bucket = 1 then 1 else 0 end, "
+            + "rating2count = rating2count + case when :bucket = 2 then 1 else 0 end, "
+            + "rating3count = rating3count + case when :bucket = 3 then 1 else 0 end, "
+            + "rating4count = rating4count + case when :bucket = 4 then 1 else 0 end, "
+            + "rating5count = rating5count + case when :bucket = 5 then 1 else 0 end, "
+            + "decayed_sum = decayed_sum + :decayedRating, "
+            + "decayed_weight = decayed_weight + :weight "
+            + "where id = :id";
+
+    private static final String CHANGE_RATING = "update store set "
+            + "rating = case when review_count > 0 "
+            + "then ((review_sum - :oldRating + :newRating) / review_count) else 0 end, "
+            + "review_sum = review_sum - :oldRating + :newRating, "
+            + "rating1count = rating1count + case when :newBucket = 1 then 1 else 0 end - case when :oldBucket = 1 then 1 else 0 end, "
+            + "rating2count = rating2count + case when :newBucket = 2 then 1 else 0 end - case when :oldBucket = 2 then 1 else 0 end, "
+            + "rating3count = rating3count + case when :newBucket = 3 then 1 else 0 end - case when :oldBucket = 3 then 1 else 0 end, "
+            + "rating4count = rating4count + case when :newBucket = 4 then 1 else 0 end - case when :oldBucket = 4 then 1 else 0 end, "
+            + "rating5count = rating5count + case when :newBucket = 5 then 1 else 0 end - case when :oldBucket = 5 then 1 else 0 end, "
+            + "decayed_sum = decayed_sum + :decayedDelta "
+            + "where id = :id";
+
+    private static final String REMOVE_RATING = "update store set "
+            + "rating = case when review_count > 1 "
+            + "then ((review_sum - :rating) / (review_count - 1)) else 0 end, "
+            + "review_sum = case when review_count > 1 then (review_sum - :rating) else 0 end, "
+            + "rating1count = case when review_count > 1 then (rating1count - case when :bucket = 1 then 1 else 0 end) else 0 end, "
+            + "rating2count = case when review_count > 1 then (rating2count - case when :bucket = 2 then 1 else 0 end) else 0 end, "
+            + "rating3count = case when review_count > 1 then (rating3count - case when :bucket = 3 then 1 else 0 end) else 0 end, "
+            + "rating4count = case when review_count > 1 then (rating4count - case when :bucket = 4 then 1 else 0 end) else 0 end, "
+            + "rating5count = case when review_count > 1 then (rating5count - case when :bucket = 5 then 1 else 0 end) else 0 end, "
+            + "decayed_sum = case when review_count > 1 then (decayed_sum - :decayedRating) else 0 end, "
+            + "decayed_weight = case when review_count > 1 then (decayed_weight - :weight) else 0 end, "
+            + "review_count = case when review_count > 1 then (review_count - 1) else 0 end "
+            + "where id = :id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int addRating(Long id, float rating, int bucket, double weight, double decayedRating) {
+        return this.update(id, ADD_RATING, Map.of("rating", rating, "bucket", bucket,
+                "weight", weight, "decayedRating", decayedRating));
+    }
+
+    @Override
+    public int changeRating(Long id, float oldRating, float newRating, int oldBucket, int newBucket, double decayedDelta) {
+        return this.update(id, CHANGE_RATING, Map.of("oldRating", oldRating, "newRating", newRating,
+                "oldBucket", oldBucket, "newBucket", newBucket, "decayedDelta", decayedDelta));
+    }
+
+    @Override
+    public int removeRating(Long id, float rating, int bucket, double weight, double decayedRating) {
+        return this.update(id, REMOVE_RATING, Map.of("rating", rating, "bucket", bucket,
+                "weight", weight, "decayedRating", decayedRating));
+    }
+
+    private int update(Long id, String sql, Map<String, Object> parameters) {
+        NativeQuery<?> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+        query.addSynchronizedQuerySpace(RATING_SPACE);
+        query.setParameter("id", id);
+        parameters.forEach(query::setParameter);
+
+        int updated = query.executeUpdate();
+        if (updated > 0) {
+            this.evictAfterCommit(id);
+        }
+        return updated;
+    }
+
+    // 커밋 전에 지우면 다른 트랜잭션이 이전 값을 다시 캐시할 수 있으므로 커밋 후에 지움
+    private void evictAfterCommit(Long id) {
+        Runnable evict = () -> {
+            Cache cache = entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class);
+            cache.evictEntityData(Store.class, id);
+            cache.evictQueryRegion(CacheRegions.QUERY_STORE_RATING);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+}
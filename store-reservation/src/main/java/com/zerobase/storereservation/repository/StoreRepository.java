@@ -1,37 +1,118 @@
 package com.zerobase.storereservation.repository;
 
+import com.zerobase.storereservation.cache.CacheRegions;
 import com.zerobase.storereservation.domain.store.entity.Store;
+import com.zerobase.storereservation.domain.store.type.DateSet;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.*;
 
 @Repository
-public interface StoreRepository extends JpaRepository<Store, Long> {
+public interface StoreRepository extends JpaRepository<Store, Long>, StoreRatingRepository {
+    // 페이지 조회에 컬렉션을 fetch join 하면 페이징이 메모리에서 일어나므로
+    // 매장 예약 상세정보, 예약 가능 날짜는 엔티티의 @BatchSize 로 한번에 모아서 읽음
+    // 검색 쿼리는 결과(매장 id 목록)를 2차 캐시의 query 영역에 저장하고 매장은 엔티티 영역에서 읽음
     boolean existsByName(String name);
 
-    @EntityGraph(attributePaths = {"storeReservationInfos"}, type = EntityGraph.EntityGraphType.LOAD)
+    // 중복 확인 필터를 채우기 위해 매장명만 한 행씩 읽음 (트랜잭션 안에서 사용 후 close)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select s.name from Store s")
+    Stream<String> streamAllNames();
+
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = CacheRegions.QUERY_STORE_NAME)})
     Page<Store> findByNameContainingIgnoreCaseAndDeleted(String name, boolean deleted, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"storeReservationInfos"}, type = EntityGraph.EntityGraphType.LOAD)
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = CacheRegions.QUERY_STORE_RATING)})
     Page<Store> findByDeletedOrderByRatingDesc(boolean deleted, Pageable pageable);
 
-
-    @EntityGraph(attributePaths = {"storeReservationInfos"}, type = EntityGraph.EntityGraphType.LOAD)
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = CacheRegions.QUERY_STORE_ALPHABET)})
     Page<Store> findByDeletedOrderByName(boolean deleted, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"storeReservationInfos"}, type = EntityGraph.EntityGraphType.LOAD)
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = CacheRegions.QUERY_STORE_ALL)})
     List<Store> findByDeleted(boolean deleted);
 
-    @EntityGraph(attributePaths = {"storeReservationInfos"}, type = EntityGraph.EntityGraphType.LOAD)
     Page<Store> findByPartnerId(Long partnerId, Pageable pageable);
 
-    Optional<Store> findByIdAndPartnerId(Long id, Long partnerId);
+    // 소유 확인도 id 로 읽어 2차 캐시를 거치도록 쿼리 대신 읽은 매장의 파트너를 비교
+    default Optional<Store> findByIdAndPartnerId(Long id, Long partnerId) {
+        return findById(id).filter(store -> Objects.equals(store.getPartnerId(), partnerId));
+    }
+
+    // 별점 분포 합이 후기 수와 다른 매장 (별점 분포, 시간 감쇠 점수 컬럼이 생기기 전에 후기가 등록된 매장)
+    @Query("select s.id from Store s where s.reviewCount > 0 and "
+            + "s.rating1Count + s.rating2Count + s.rating3Count + s.rating4Count + s.rating5Count <> s.reviewCount")
+    List<Long> findIdsWithoutRatingHistogram();
+
+    // 별점 집계를 다시 계산하는 동안 후기 등록/수정/삭제의 증감이 끼어들지 않도록 매장 행을 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Store s where s.id = :id")
+    Optional<Store> findByIdForUpdate(@Param("id") Long id);
+
+    // 후기 테이블로 다시 계산한 별점 집계 저장
+    @Modifying
+    @Query("update Store s set "
+            + "s.rating = :rating, "
+            + "s.reviewSum = :reviewSum, "
+            + "s.reviewCount = :reviewCount, "
+            + "s.rating1Count = :rating1Count, "
+            + "s.rating2Count = :rating2Count, "
+            + "s.rating3Count = :rating3Count, "
+            + "s.rating4Count = :rating4Count, "
+            + "s.rating5Count = :rating5Count, "
+            + "s.decayedSum = :decayedSum, "
+            + "s.decayedWeight = :decayedWeight "
+            + "where s.id = :id")
+    int backfillRating(@Param("id") Long id, @Param("rating") float rating, @Param("reviewSum") float reviewSum,
+                       @Param("reviewCount") long reviewCount, @Param("rating1Count") long rating1Count,
+                       @Param("rating2Count") long rating2Count, @Param("rating3Count") long rating3Count,
+                       @Param("rating4Count") long rating4Count, @Param("rating5Count") long rating5Count,
+                       @Param("decayedSum") double decayedSum, @Param("decayedWeight") double decayedWeight);
+
+    // store_dates 테이블에서 옮긴 예약 가능 날짜 저장 (그 사이 날짜를 수정한 매장은 건너뜀)
+    @Modifying
+    @Query("update Store s set s.dates = :dates where s.id = :id and s.dates is null")
+    int backfillDates(@Param("id") Long id, @Param("dates") DateSet dates);
+
+    // 삭제되지 않은 매장들의 후기 전체 평균 (후기가 없으면 null)
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = CacheRegions.QUERY_STORE_RATING)})
+    @Query("select sum(s.reviewSum) / sum(s.reviewCount) from Store s where s.deleted = false and s.reviewCount > 0")
+    Double findMeanRating();
+
+    // bayesian 평균순 : (전체 평균 x 가상 후기 수 + 별점 총합) / (가상 후기 수 + 후기 수)
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = CacheRegions.QUERY_STORE_RATING)})
+    @Query(value = "select s from Store s where s.deleted = false "
+            + "order by (:priorSum + s.reviewSum) / (:priorCount + s.reviewCount) desc, s.id",
+            countQuery = "select count(s) from Store s where s.deleted = false")
+    Page<Store> findOrderByBayesianRating(@Param("priorCount") double priorCount, @Param("priorSum") double priorSum,
+                                          Pageable pageable);
 
-    boolean existsByIdAndDatesContains(Long id, LocalDate date);
+    // 시간 감쇠 bayesian 평균순 : 가중치 합을 후기 수 대신 사용
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = CacheRegions.QUERY_STORE_RATING)})
+    @Query(value = "select s from Store s where s.deleted = false "
+            + "order by (:priorSum + s.decayedSum) / (:priorCount + s.decayedWeight) desc, s.id",
+            countQuery = "select count(s) from Store s where s.deleted = false")
+    Page<Store> findOrderByDecayedRating(@Param("priorCount") double priorCount, @Param("priorSum") double priorSum,
+                                         Pageable pageable);
 }
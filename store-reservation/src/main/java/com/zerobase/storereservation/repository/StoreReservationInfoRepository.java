@@ -2,9 +2,16 @@ package com.zerobase.storereservation.repository;
 
 import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Repository
@@ -12,5 +19,16 @@ public interface StoreReservationInfoRepository extends JpaRepository<StoreReser
     List<StoreReservationInfo> findByStoreId(Long storeId);
     void deleteAllByIdIn(List<Long> ids);
     List<StoreReservationInfo> findAllByStoreIdAndPartnerId(Long storeId, Long partnerId);
-    Optional<StoreReservationInfo> findByIdAndPartnerId(Long id, Long productId);
+
+    // id 로 읽어 2차 캐시를 거치도록 쿼리 대신 읽은 예약 상세정보의 파트너를 비교
+    default Optional<StoreReservationInfo> findByIdAndPartnerId(Long id, Long partnerId) {
+        return findById(id).filter(info -> Objects.equals(info.getPartnerId(), partnerId));
+    }
+
+    // 잔여인원 변경용 : 다른 서버가 바꾼 잔여인원이 이 서버의 2차 캐시에는 ttl 동안 반영되지 않으므로
+    // 캐시를 거치지 않고 db 에서 읽고, 커밋할 때까지 행을 잠가 동시에 바꾼 값을 덮어쓰지 않도록 함
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.cache.retrieveMode", value = "BYPASS"))
+    @Query("select i from StoreReservationInfo i where i.id = :id")
+    Optional<StoreReservationInfo> findByIdForUpdate(@Param("id") Long id);
 }
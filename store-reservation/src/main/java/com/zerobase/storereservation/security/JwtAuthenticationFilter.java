@@ -1,7 +1,7 @@
 package com.zerobase.storereservation.security;
 
+import com.zerobase.storereservation.monitoring.AccessLogFilter;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -15,7 +15,6 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
-@Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -27,13 +26,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     // JWT 토큰을 검증
     // 유효한 토큰인경우 인증 객체를 생성해 SecurityContext에 정보 저장
+    // 토큰은 여기서 한번만 파싱하고 컨트롤러는 @LoginMember 로 저장된 MemberPrincipal 을 받음
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String token = this.resolveTokenFromRequest(request);
-        if (StringUtils.hasText(token) && this.tokenProvider.validateToken(token)) {
-            Authentication auth = this.tokenProvider.getAuthentication(token);
-            SecurityContextHolder.getContext().setAuthentication(auth);
-            log.info(String.format("[%s -> %s]", this.tokenProvider.getUsernameFromToken(token), request.getRequestURI()));
+        if (StringUtils.hasText(token)) {
+            Authentication auth = this.tokenProvider.authenticate(token);
+            if (auth != null) {
+                SecurityContextHolder.getContext().setAuthentication(auth);
+                // 요청 로그는 AccessLogFilter 에서 따로 기록
+                request.setAttribute(AccessLogFilter.MEMBER_ID_ATTRIBUTE, ((MemberPrincipal) auth.getPrincipal()).getId());
+            }
         }
 
         filterChain.doFilter(request, response);
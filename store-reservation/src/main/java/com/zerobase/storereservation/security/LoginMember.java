@@ -0,0 +1,13 @@
+package com.zerobase.storereservation.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LoginMember {
+    // JwtAuthenticationFilter 에서 토큰을 파싱해 만든 로그인 사용자 정보를 컨트롤러 파라미터로 받음
+    // 사용 : @LoginMember MemberPrincipal member
+}
@@ -0,0 +1,38 @@
+package com.zerobase.storereservation.security;
+
+import com.zerobase.storereservation.exception.MemberException;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import static com.zerobase.storereservation.exception.ErrorCode.LOGIN_REQUIRED;
+
+@Component
+public class LoginMemberArgumentResolver implements HandlerMethodArgumentResolver {
+    // @LoginMember MemberPrincipal 파라미터에 SecurityContext 의 인증 사용자 정보를 넣어줌
+    // 토큰을 다시 파싱하지 않고 필터에서 만든 MemberPrincipal 을 그대로 사용
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(LoginMember.class)
+                && MemberPrincipal.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    /**
+     * 인증되지 않은 요청인 경우 예외 발생 : LOGIN_REQUIRED "로그인이 필요합니다."
+     */
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof MemberPrincipal)) {
+            throw new MemberException(LOGIN_REQUIRED);
+        }
+        return authentication.getPrincipal();
+    }
+}
@@ -0,0 +1,146 @@
+package com.zerobase.storereservation.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zerobase.storereservation.cache.SharedCache;
+import com.zerobase.storereservation.domain.member.entity.Member;
+import com.zerobase.storereservation.repository.MemberRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+
+@Slf4j
+@Component
+public class MemberCache implements MeterBinder {
+    // 토큰 claim 만으로 부족해 Member 가 필요한 경우를 위한 회원 캐시
+    // 로그아웃한 회원은 캐시에서 지우고 로그아웃 이전에 발급된 토큰을 거부함
+    // 로그아웃 시간은 공유 캐시에 저장하고 member.revoked 채널로 모든 서버에 알림
+    // 알림을 놓쳤거나 나중에 시작한 서버는 서버 메모리에 없는 회원을 공유 캐시에서 확인
+
+    private static final int MAX_MEMBERS = 10_000; // 캐시할 최대 회원 수
+    private static final Duration MEMBER_TTL = Duration.ofMinutes(10); // 회원 정보 변경이 반영되는 최대 시간
+    private static final Duration REVOKE_TTL = Duration.ofDays(1); // 토큰 만료시간, 지나면 이전 토큰은 어차피 만료됨
+    private static final Duration NOT_REVOKED_TTL = Duration.ofMinutes(1); // 공유 캐시를 다시 확인하는 시간
+    private static final String KEY_PREFIX = "member.revoked:";
+    private static final String CHANNEL = "member.revoked";
+
+    private final MemberRepository memberRepository;
+    private final SharedCache shared;
+
+    private final Cache<String, Member> members = Caffeine.newBuilder()
+            .maximumSize(MAX_MEMBERS)
+            .expireAfterWrite(MEMBER_TTL)
+            .recordStats()
+            .build();
+
+    // 이메일, 로그아웃 시간 (토큰 발급 시간과 같은 초 단위로 저장)
+    // 크기 제한으로 지우면 로그아웃한 토큰을 다시 사용할 수 있으므로 토큰 만료시간이 지날 때만 지움
+    private final Cache<String, Long> revokedAt = Caffeine.newBuilder()
+            .expireAfterWrite(REVOKE_TTL)
+            .recordStats()
+            .build();
+
+    // 공유 캐시에서 로그아웃하지 않은 것을 확인한 이메일 : 요청마다 공유 캐시를 읽지 않도록 함
+    // 로그아웃하면 알림을 받아 지우고, 알림을 놓쳐도 NOT_REVOKED_TTL 뒤에 다시 확인
+    private final Cache<String, Boolean> notRevoked = Caffeine.newBuilder()
+            .maximumSize(MAX_MEMBERS)
+            .expireAfterWrite(NOT_REVOKED_TTL)
+            .build();
+
+    public MemberCache(MemberRepository memberRepository, SharedCache shared) {
+        this.memberRepository = memberRepository;
+        this.shared = shared;
+        shared.subscribe(CHANNEL, this::onRevoked);
+    }
+
+    /**
+     * 캐시된 회원 정보 리턴, 없으면 db 에서 읽어와 캐시
+     * @param email
+     * @return 회원 정보
+     */
+    public Member get(String email) {
+        return members.get(email, key -> memberRepository.findByEmail(key)
+                .orElseThrow(() -> new UsernameNotFoundException(key)));
+    }
+
+    /**
+     * 로그아웃한 회원의 캐시를 지우고 지금까지 발급된 토큰을 사용할 수 없게 함
+     * 토큰 발급 시간(iat)은 초 단위이므로 로그아웃 시간도 초 단위로 버림
+     * @param email
+     */
+    public void revoke(String email) {
+        long revoked = System.currentTimeMillis() / 1000 * 1000;
+        this.revokeLocal(email, revoked);
+        log.info("revoke token -> {}", email);
+
+        try {
+            shared.put(KEY_PREFIX + email, String.valueOf(revoked).getBytes(StandardCharsets.UTF_8), REVOKE_TTL);
+            shared.publish(CHANNEL, revoked + "|" + email);
+        } catch (RuntimeException e) {
+            log.warn("shared revoke failed, other servers reject the token after {} -> {}", NOT_REVOKED_TTL, email, e);
+        }
+    }
+
+    /**
+     * 로그아웃 이전에 발급된 토큰인지 확인
+     * 로그아웃과 같은 초에 발급된 토큰은 사용 가능 (로그아웃 직후 다시 로그인한 토큰이 거부되지 않도록)
+     * @param email
+     * @param issuedAt : 토큰 발급 시간
+     * @return
+     */
+    public boolean isRevoked(String email, Date issuedAt) {
+        Long revoked = revokedAt.getIfPresent(email);
+        if (revoked == null && notRevoked.getIfPresent(email) == null) {
+            revoked = this.loadRevoked(email);
+        }
+        return revoked != null && (issuedAt == null || issuedAt.getTime() < revoked);
+    }
+
+    // 다른 서버에서 로그아웃한 경우 : 공유 캐시에서 읽어 서버 메모리에 저장
+    // 공유 캐시에 오류가 나면 로그아웃하지 않은 것으로 보고 NOT_REVOKED_TTL 뒤에 다시 확인
+    private Long loadRevoked(String email) {
+        byte[] stored = null;
+        try {
+            stored = shared.get(KEY_PREFIX + email);
+        } catch (RuntimeException e) {
+            log.warn("shared cache get failed -> {}", email, e);
+        }
+        if (stored == null) {
+            notRevoked.put(email, Boolean.TRUE);
+            return null;
+        }
+        long revoked = Long.parseLong(new String(stored, StandardCharsets.UTF_8));
+        this.revokeLocal(email, revoked);
+        return revoked;
+    }
+
+    // 메세지 : 로그아웃 시간|이메일
+    private void onRevoked(String message) {
+        int separator = message.indexOf('|');
+        this.revokeLocal(message.substring(separator + 1), Long.parseLong(message.substring(0, separator)));
+    }
+
+    // 로그아웃을 여러 번 한 경우 마지막 시간 사용
+    private void revokeLocal(String email, long revoked) {
+        revokedAt.asMap().merge(email, revoked, Math::max);
+        notRevoked.invalidate(email);
+        members.invalidate(email);
+    }
+
+    /**
+     * 캐시 hit/miss 수를 지표로 기록 : cache_gets_total{cache="member", result="hit"} 등
+     * MeterBinder 빈은 spring boot 가 시작할 때 등록함
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, members, "member");
+        CaffeineCacheMetrics.monitor(registry, revokedAt, "member.revoked");
+    }
+}
@@ -0,0 +1,31 @@
+package com.zerobase.storereservation.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Getter
+@AllArgsConstructor
+public class MemberPrincipal {
+    // 토큰의 claim 만으로 만든 인증 사용자 정보
+    // 요청마다 회원 테이블을 조회하지 않기 위해 사용
+
+    private final Long id;
+    private final String email;
+    private final List<String> roles;
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return roles.stream().map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
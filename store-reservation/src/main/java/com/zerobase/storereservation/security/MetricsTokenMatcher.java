@@ -0,0 +1,39 @@
+package com.zerobase.storereservation.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+@Component
+public class MetricsTokenMatcher implements RequestMatcher {
+    // /metrics 를 metrics.token 을 가진 수집기(prometheus)만 조회할 수 있도록 확인
+    // 헤더 : "Authorization: Metrics <token>" (prometheus 의 authorization.type: Metrics, credentials: <token>)
+    // Bearer 는 JwtAuthenticationFilter 가 jwt 로 검증하므로 다른 인증 타입 사용
+    // metrics.token 이 비어있으면 아무도 조회할 수 없음
+
+    public static final String TOKEN_PREFIX = "Metrics ";
+
+    private final RequestMatcher path = new AntPathRequestMatcher("/metrics");
+    private final byte[] token;
+
+    public MetricsTokenMatcher(@Value("${metrics.token:}") String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        if (token.length == 0 || !path.matches(request)) return false;
+
+        String header = request.getHeader(JwtAuthenticationFilter.TOKEN_HEADER);
+        if (header == null || !header.startsWith(TOKEN_PREFIX)) return false;
+
+        // 다른 글자가 나오는 위치에 따라 응답 시간이 달라지지 않도록 MessageDigest.isEqual 로 비교
+        return MessageDigest.isEqual(token,
+                header.substring(TOKEN_PREFIX.length()).getBytes(StandardCharsets.UTF_8));
+    }
+}
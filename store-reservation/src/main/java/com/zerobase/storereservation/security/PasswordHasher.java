@@ -0,0 +1,123 @@
+package com.zerobase.storereservation.security;
+
+import com.zerobase.storereservation.exception.OverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.zerobase.storereservation.exception.ErrorCode.TOO_MANY_PASSWORD_REQUESTS;
+
+@Component
+public class PasswordHasher {
+    // 로그인/회원가입의 BCrypt 계산을 전용 스레드에서 처리
+    // 요청 스레드가 모두 BCrypt 에 묶여 예약 요청까지 밀리지 않도록 동시에 계산하는 수와 대기 수를 제한하고
+    // 대기열이 가득 차면 기다리지 않고 바로 503 으로 거절함
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+                          @Value("${security.password.threads:0}") int threads,
+                          @Value("${security.password.queue-size:64}") int queueSize,
+                          @Value("${security.password.timeout-ms:3000}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
+        this.timeoutMillis = timeoutMillis;
+
+        // 기본 : cpu 코어의 절반만 사용해 나머지 요청 처리할 cpu 를 남겨둠
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, "password.hasher", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * 비밀번호 암호화
+     * 대기열이 가득 찼거나 시간 안에 끝나지 않은 경우 예외 발생 : TOO_MANY_PASSWORD_REQUESTS
+     * @param rawPassword
+     * @return 암호화된 비밀번호
+     */
+    public String encode(String rawPassword) {
+        return this.execute("encode", () -> passwordEncoder.encode(rawPassword), result -> "success");
+    }
+
+    /**
+     * 비밀번호 확인
+     * 대기열이 가득 찼거나 시간 안에 끝나지 않은 경우 예외 발생 : TOO_MANY_PASSWORD_REQUESTS
+     * @param rawPassword
+     * @param encodedPassword
+     * @return 일치 여부
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return this.execute("matches", () -> passwordEncoder.matches(rawPassword, encodedPassword),
+                matched -> matched ? "success" : "mismatch");
+    }
+
+    // 저장된 비밀번호의 해시 비용이 설정보다 낮은지 확인 (해시 계산 없음)
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(String operation, Callable<T> task, Function<T, String> outcome) {
+        long start = System.nanoTime();
+
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            this.record(operation, "rejected", start);
+            throw new OverloadedException(TOO_MANY_PASSWORD_REQUESTS, RETRY_AFTER_SECONDS);
+        }
+
+        try {
+            T result = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            this.record(operation, outcome.apply(result), start);
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            this.record(operation, "timeout", start);
+            throw new OverloadedException(TOO_MANY_PASSWORD_REQUESTS, RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            this.record(operation, "error", start);
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            this.record(operation, "error", start);
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // 대기 시간을 포함한 처리 시간을 결과별로 기록 : password.hash{operation, outcome}
+    private void record(String operation, String outcome, long start) {
+        meterRegistry.timer("password.hash", "operation", operation, "outcome", outcome)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
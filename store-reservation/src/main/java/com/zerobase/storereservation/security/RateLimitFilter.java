@@ -0,0 +1,137 @@
+package com.zerobase.storereservation.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.storereservation.exception.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.zerobase.storereservation.exception.ErrorCode.TOO_MANY_REQUESTS;
+
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    // 로그인 사용자별, 클라이언트 ip 별 요청 수 제한
+    // 인증 정보를 사용하므로 security filter chain 의 JwtAuthenticationFilter 다음에 실행
+    // 제한을 넘은 경우 429 와 Retry-After 헤더로 응답
+
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    private final RateLimitProperties properties;
+    private final RateLimiter userLimiter;
+    private final RateLimiter ipLimiter;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<IpAddressMatcher> trustedProxies;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.userLimiter = new RateLimiter(properties.getUser(), properties.getMaxKeys());
+        this.ipLimiter = new RateLimiter(properties.getIp(), properties.getMaxKeys());
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        this.trustedProxies = properties.getTrustedProxies().stream()
+                .map(IpAddressMatcher::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        int cost = this.cost(request.getRequestURI());
+
+        // ip 는 항상, 로그인 사용자는 사용자 id 로도 확인
+        // 사용자 제한에 걸리면 처리하지 않은 요청이므로 ip 에서 쓴 토큰은 돌려줌
+        String clientIp = this.clientIp(request);
+        long waitNanos = ipLimiter.tryAcquire(clientIp, cost);
+        String limitedBy = "ip";
+        MemberPrincipal principal = this.principal();
+        if (waitNanos == 0 && principal != null) {
+            waitNanos = userLimiter.tryAcquire(principal.getId().toString(), cost);
+            limitedBy = "user";
+            if (waitNanos > 0) {
+                ipLimiter.release(clientIp, cost);
+            }
+        }
+
+        if (waitNanos > 0) {
+            this.reject(request, response, limitedBy, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // url 패턴별로 설정된 토큰 수, 없으면 1
+    private int cost(String uri) {
+        for (Map.Entry<String, Integer> entry : properties.getCosts().entrySet()) {
+            if (pathMatcher.match(entry.getKey(), uri)) {
+                return entry.getValue();
+            }
+        }
+        return 1;
+    }
+
+    // nginx 는 받은 X-Forwarded-For 뒤에 실제 접속한 ip 를 붙이므로 마지막 값을 사용
+    // (앞쪽 값은 클라이언트가 임의로 넣을 수 있음)
+    // 8080 포트로 직접 접속한 요청의 X-Forwarded-For 는 클라이언트가 넣은 값이므로 믿을 프록시에서 온 요청만 사용
+    String clientIp(HttpServletRequest request) {
+        String forwardedFor = request.getHeader(FORWARDED_FOR);
+        if (StringUtils.hasText(forwardedFor) && this.fromTrustedProxy(request.getRemoteAddr())) {
+            String[] ips = forwardedFor.split(",");
+            for (int i = ips.length - 1; i >= 0; i--) {
+                if (StringUtils.hasText(ips[i])) {
+                    return ips[i].trim();
+                }
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private boolean fromTrustedProxy(String remoteAddr) {
+        return trustedProxies.stream().anyMatch(matcher -> matcher.matches(remoteAddr));
+    }
+
+    private MemberPrincipal principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof MemberPrincipal) {
+            return (MemberPrincipal) authentication.getPrincipal();
+        }
+        return null;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, String limitedBy, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        meterRegistry.counter("rate.limited", "by", limitedBy).increment();
+        log.warn(String.format("[rate limited by %s -> %s] retry after %ds", limitedBy, request.getRequestURI(), retryAfterSeconds));
+
+        response.setStatus(TOO_MANY_REQUESTS.getHttpStatus().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getWriter(), new ErrorResponse(TOO_MANY_REQUESTS, TOO_MANY_REQUESTS.getDescription()));
+    }
+}
@@ -0,0 +1,50 @@
+package com.zerobase.storereservation.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    // 요청 수 제한 설정
+    // 예) rate-limit.user.rate=20, rate-limit.costs[/api/store/search/distance]=5
+
+    private boolean enabled = true;
+    private Bucket user = new Bucket(20, 40); // 로그인 사용자별
+    private Bucket ip = new Bucket(50, 100); // 클라이언트 ip 별 (여러 사용자가 같은 ip 를 쓸 수 있어 더 넉넉하게)
+    private long maxKeys = 100_000; // 기억할 최대 사용자/ip 수
+    // X-Forwarded-For 를 믿을 프록시(nginx) 주소/대역, 예) 172.16.0.0/12
+    // 이 주소에서 온 요청만 X-Forwarded-For 로 클라이언트 ip 확인 (비어있으면 항상 접속 ip)
+    private List<String> trustedProxies = new ArrayList<>();
+
+    // url 패턴별 요청 1번에 쓰는 토큰 수 (기본 1)
+    // 주변 매장 검색은 매장 전체 조회와 좌표 변환을 하므로 더 많이 씀
+    private Map<String, Integer> costs = new LinkedHashMap<>(Map.of(
+            "/api/store/search/distance", 5,
+            "/api/member/signin", 5,
+            "/api/member/signup", 5));
+
+    @Getter
+    @Setter
+    public static class Bucket {
+        private double rate; // 초당 채워지는 토큰 수
+        private int burst; // 한번에 쓸 수 있는 최대 토큰 수
+
+        public Bucket() {
+        }
+
+        public Bucket(double rate, int burst) {
+            this.rate = rate;
+            this.burst = burst;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.zerobase.storereservation.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+public class RateLimiter {
+    // 키(사용자 id, ip)별 토큰 버킷
+    // GCRA 방식으로 버킷마다 "다음 토큰이 채워지는 시각" 하나만 저장하고 CAS 로 갱신해 락 없이 동작
+    // 키는 최대 maxKeys 개까지만 기억하고 버킷이 다 찰 시간 동안 요청이 없으면 지움
+
+    private final long emissionNanos; // 토큰 1개가 채워지는 시간
+    private final long burstNanos; // 버킷이 가득 차는 시간
+    private final LongSupplier clock;
+    private final Cache<String, AtomicLong> buckets;
+
+    public RateLimiter(RateLimitProperties.Bucket bucket, long maxKeys) {
+        this(bucket, maxKeys, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties.Bucket bucket, long maxKeys, LongSupplier clock) {
+        this.emissionNanos = (long) (TimeUnit.SECONDS.toNanos(1) / bucket.getRate());
+        this.burstNanos = emissionNanos * bucket.getBurst();
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .build();
+    }
+
+    /**
+     * 토큰을 cost 개 사용
+     * @param key
+     * @param cost : 요청 1번에 쓰는 토큰 수
+     * @return 허용된 경우 0, 아니면 다시 요청할 수 있을때까지 남은 시간(ns)
+     */
+    public long tryAcquire(String key, int cost) {
+        AtomicLong tat = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        // 버킷 크기보다 큰 요청은 가득 찬 버킷에서만 허용
+        long increment = Math.min(emissionNanos * cost, burstNanos);
+
+        while (true) {
+            long now = clock.getAsLong();
+            long current = tat.get();
+            long next = Math.max(current == Long.MIN_VALUE ? now : current, now) + increment;
+            long allowAt = next - burstNanos;
+            if (allowAt > now) {
+                return allowAt - now;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * tryAcquire 로 사용한 토큰을 돌려줌 (다른 제한에 걸려 요청을 처리하지 않은 경우)
+     * @param key
+     * @param cost : tryAcquire 에 사용한 토큰 수
+     */
+    public void release(String key, int cost) {
+        AtomicLong tat = buckets.getIfPresent(key);
+        if (tat == null) {
+            return;
+        }
+        long increment = Math.min(emissionNanos * cost, burstNanos);
+        tat.getAndUpdate(current -> current == Long.MIN_VALUE ? current : current - increment);
+    }
+}
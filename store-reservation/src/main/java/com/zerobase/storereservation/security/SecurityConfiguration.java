@@ -2,6 +2,7 @@ package com.zerobase.storereservation.security;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -22,6 +23,8 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
     // Spring Security 설정
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final MetricsTokenMatcher metricsTokenMatcher;
 
     @Override
     protected void configure(HttpSecurity http) throws Exception {
@@ -31,8 +34,11 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
                 .and()
                 .authorizeRequests() // 다음 리퀘스트에 대한 사용권한 체크
                 .antMatchers("/api/member/**").permitAll() // 가입 및 인증 주소는 누구나 접근가능
+                .requestMatchers(this.metricsTokenMatcher).permitAll() // 지표는 metrics.token 을 가진 수집기만 조회
+                .antMatchers("/metrics").denyAll()
                 .and()
-                .addFilterBefore(this.jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(this.jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(this.rateLimitFilter, JwtAuthenticationFilter.class); // 인증된 사용자 id 로 요청 수 제한
 
     }
 
@@ -41,6 +47,17 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
         web.ignoring().antMatchers("/h2-console/**");
     }
 
+    /**
+     * 요청 수 제한 필터는 인증 정보가 필요하므로 security filter chain 안에서만 실행
+     * 서블릿 필터로 자동 등록되어 인증 전에 한번 더 실행되지 않도록 함
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     @Override
     public AuthenticationManager authenticationManagerBean() throws Exception {
@@ -1,5 +1,6 @@
 package com.zerobase.storereservation.security;
-import com.zerobase.storereservation.service.MemberService;
+import com.zerobase.storereservation.domain.member.entity.Member;
+import com.zerobase.storereservation.security.VerifiedTokenCache.VerifiedToken;
 import com.zerobase.storereservation.util.Aes256Util;
 import io.jsonwebtoken.*;
 import lombok.RequiredArgsConstructor;
@@ -7,10 +8,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
@@ -22,12 +23,17 @@ public class TokenProvider {
 
     private static final long TOKEN_EXPIRE_TIME = 1000L * 60 * 60 * 24; // token 만료시간 : 하루
     private static final String KEY_ROLES = "roles";
-    private final MemberService memberService;
-    public static final String TOKEN_PREFIX = "Bearer ";
+    private final MemberCache memberCache;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     @Value("${spring.jwt.secret}")
     private String secretKey;
 
+    // true : 토큰의 claim 만으로 인증 정보를 만듦 (회원 조회 없음)
+    // false : 캐시된 회원 정보로 인증 정보를 만듦
+    @Value("${spring.jwt.stateless:true}")
+    private boolean stateless;
+
     // 토큰 생성
     public String generateToken(Long id, String email, List<String> roles) {
         Claims claims = Jwts.claims().setSubject(Aes256Util.encrypt(email))
@@ -45,40 +51,73 @@ public class TokenProvider {
 
     }
 
-    // 토큰 이용해 인증 정보 반환
-    public Authentication getAuthentication(String token) {
-        UserDetails userDetails = memberService.loadUserByUsername(this.getUsernameFromToken(token));
-        log.info("{} {}", userDetails.getAuthorities(), userDetails.getUsername());
-        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-    }
+    /**
+     * 토큰을 한번만 파싱해 서명, 만료, 로그아웃 여부를 확인하고 인증 정보 반환
+     * 요청당 서명 검증과 복호화는 여기서 한번만 일어나고
+     * 컨트롤러는 SecurityContext 에 저장된 MemberPrincipal 을 그대로 사용
+     * 한번 검증된 토큰은 만료시간까지 캐시해 같은 토큰의 다음 요청은 서명 검증을 생략
+     * 권한은 이미 roles claim 에 있으므로 기본적으로 회원 테이블을 조회하지 않음
+     * @param token : Bearer 를 뗀 토큰
+     * @return 인증 정보, 만료되었거나 로그아웃 이전에 발급된 토큰이면 null
+     */
+    public Authentication authenticate(String token) {
+        if (!StringUtils.hasText(token)) return null;
 
-    // 토큰이용해 유저 이메일 복호화해 리턴
-    public String getUsernameFromToken(String token) {
-        return Aes256Util.decrypt(this.parseClaims(token).getSubject());
-    }
+        VerifiedToken verified = verifiedTokenCache.get(token);
+        if (verified == null) {
+            verified = this.verify(token);
+            if (verified == null) return null;
+        }
+
+        MemberPrincipal principal = verified.getPrincipal();
+        // 로그아웃 이전에 발급된 토큰은 만료되지 않았어도 사용할 수 없음
+        if (memberCache.isRevoked(principal.getEmail(), verified.getIssuedAt())) return null;
 
-    // 토큰이용해 유저 id 복호화해 리턴
-    public Long getUserIdFromToken(String token) {
-        String bearer = token.substring(TOKEN_PREFIX.length());
-        return Long.valueOf(Objects.requireNonNull(Aes256Util.decrypt(this.parseClaims(bearer).getId())));
+        if (!stateless) {
+            Member member = memberCache.get(principal.getEmail());
+            principal = new MemberPrincipal(member.getId(), member.getEmail(), member.getRoles());
+        }
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
     }
 
-    // jwt 파싱해 claims 얻어옴
-    private Claims parseClaims(String token) {
+    // 서명 검증 후 복호화한 토큰 정보를 캐시에 저장
+    private VerifiedToken verify(String token) {
+        Claims claims;
         try {
-            return Jwts.parser().setSigningKey(this.secretKey).parseClaimsJws(token).getBody();
-
+            claims = this.parseClaims(token);
         } catch (ExpiredJwtException e) {
-            return e.getClaims();
+            return null;
+        }
+
+        MemberPrincipal principal = new MemberPrincipal(
+                Long.valueOf(Objects.requireNonNull(Aes256Util.decrypt(claims.getId()))),
+                Aes256Util.decrypt(claims.getSubject()),
+                this.getRoles(claims));
+        VerifiedToken verified = new VerifiedToken(principal, claims.getIssuedAt(),
+                claims.getExpiration() == null ? 0 : claims.getExpiration().getTime());
+
+        // 만료시간이 없는 토큰은 캐시하지 않음
+        if (claims.getExpiration() != null) {
+            verifiedTokenCache.put(token, verified);
         }
+        return verified;
     }
 
-    // 토큰 만료되었는지 확인 (1일이 지났는지)
-    public boolean validateToken(String token) {
-        if (!StringUtils.hasText(token)) return false;
+    @SuppressWarnings("unchecked")
+    private List<String> getRoles(Claims claims) {
+        List<String> roles = claims.get(KEY_ROLES, List.class);
+        return roles == null ? Collections.emptyList() : roles;
+    }
 
-        Jws<Claims> claimsJws = Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token);
+    // jwt 서명 검증 후 claims 얻어옴
+    // 요청당 한번만 호출되는지 테스트에서 확인하기 위해 package-private
+    Claims parseClaims(String token) {
+        return Jwts.parser().setSigningKey(this.secretKey).parseClaimsJws(token).getBody();
+    }
 
-        return !claimsJws.getBody().getExpiration().before(new Date());
+    // 로그아웃 : 지금까지 발급된 토큰을 사용할 수 없게 함
+    // 검증된 토큰 캐시는 그대로 두고 authenticate 에서 로그아웃 시간과 발급 시간을 비교해 거부
+    public void revoke(MemberPrincipal principal) {
+        memberCache.revoke(principal.getEmail());
     }
-}
\ No newline at end of file
+}
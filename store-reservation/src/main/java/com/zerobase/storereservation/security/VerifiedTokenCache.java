@@ -0,0 +1,102 @@
+package com.zerobase.storereservation.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class VerifiedTokenCache {
+    // 서명 검증이 끝난 토큰의 claim 을 만료시간까지 캐시
+    // 같은 토큰으로 반복되는 요청은 HS512 서명 계산과 복호화를 다시 하지 않음
+    // 토큰 원문 대신 SHA-256 digest 를 키로 사용해 메모리에 토큰을 남기지 않음
+    // Caffeine 은 W-TinyLFU 로 admission 하므로 한번씩만 쓰이는 토큰이 몰려도 자주 쓰는 토큰은 밀려나지 않음
+    // 로그아웃해도 캐시를 지우지 않음, 캐시된 토큰도 TokenProvider 에서 로그아웃 여부(MemberCache)를 확인
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final Cache<String, VerifiedToken> tokens;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+                              @Value("${spring.jwt.cache-size:100000}") long maxSize) {
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpires())
+                .recordStats()
+                .build();
+        // jwt.verified 이름으로 hit/miss/eviction 수 기록 (cache_gets_total{result="hit"} 등)
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, "jwt.verified");
+    }
+
+    /**
+     * 검증된 토큰 정보 리턴
+     * @param token : Bearer 를 뗀 토큰
+     * @return 캐시에 없거나 만료된 토큰이면 null
+     */
+    public VerifiedToken get(String token) {
+        String key = digest(token);
+        VerifiedToken verified = tokens.getIfPresent(key);
+        if (verified == null) return null;
+
+        // 캐시의 만료 처리 시점과 상관없이 만료시간이 지난 토큰은 바로 거부
+        if (verified.getExpiresAt() <= System.currentTimeMillis()) {
+            tokens.invalidate(key);
+            return null;
+        }
+        return verified;
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        tokens.put(digest(token), verified);
+    }
+
+    private static String digest(String token) {
+        MessageDigest digest = SHA_256.get();
+        return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class VerifiedToken {
+        // 서명 검증 후 복호화까지 끝난 토큰 정보
+        private final MemberPrincipal principal;
+        private final Date issuedAt; // 토큰 발급 시간 (로그아웃 여부 확인용)
+        private final long expiresAt; // 토큰 만료 시간 (ms)
+    }
+
+    // 토큰마다 남은 만료시간까지만 캐시
+    private static class UntilTokenExpires implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.getExpiresAt() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -7,12 +7,13 @@ import com.zerobase.storereservation.domain.member.form.SignUp;
 import com.zerobase.storereservation.exception.ErrorCode;
 import com.zerobase.storereservation.exception.MemberException;
 import com.zerobase.storereservation.repository.MemberRepository;
+import com.zerobase.storereservation.security.PasswordHasher;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
@@ -22,8 +23,9 @@ import javax.transaction.Transactional;
 @AllArgsConstructor
 @Transactional
 public class MemberService implements UserDetailsService {
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final MemberRepository memberRepository;
+    private final UniquenessFilter uniquenessFilter;
 
     /**
      * Spring Security를 이용
@@ -40,37 +42,52 @@ public class MemberService implements UserDetailsService {
 
     /**
      * form으로 받아온사용자 등록
+     * 비밀번호 해시를 기다리는 동안 db 커넥션을 잡고 있지 않도록 트랜잭션 없이 해시한 뒤
+     * insert 만 repository 의 트랜잭션으로 처리
      * @param form : email, name, password, phone, roles
      * @return 저장된 사용자 정보
      */
-    @Transactional
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public MemberDto registerMember(SignUp form) {
         checkAlreadyExists(form);
 
-        Member member = Member.of(form, passwordEncoder.encode(form.getPassword()));
+        Member member = Member.of(form, passwordHasher.encode(form.getPassword()));
 
-        Member save = memberRepository.save(member);
+        // id 를 직접 만들어 넣으므로 save 는 커밋할 때 insert 함 : 바로 insert 해서 중복 이메일을 여기서 확인
+        // (saveAndFlush 는 자체 트랜잭션으로 insert 후 바로 커밋)
+        Member save;
+        try {
+            save = memberRepository.saveAndFlush(member);
+        } catch (DataIntegrityViolationException e) {
+            // 필터에 없던 이메일이 다른 요청/서버에서 먼저 가입된 경우
+            throw new MemberException(ErrorCode.ALREADY_REGISTERED_USER);
+        }
+        uniquenessFilter.putEmail(save.getEmail());
         return MemberDto.from(save);
     }
 
     /**
      * 가입하려는 이메일이 이미 존재하는 이메일인지 확인
+     * 필터에 없는 이메일이면 db 를 조회하지 않음
      * excpetion : ALREADY_REGISTERED_USER "이미 가입된 이메일입니다."
      * @param form
      */
     private void checkAlreadyExists(SignUp form) {
         // 이미 등록된 이메일인 경우 예외 발생 : ALREADY_REGISTERED_USER "이미 가입된 이메일입니다."
-        if (memberRepository.existsByEmail(form.getEmail())) {
+        if (uniquenessFilter.mightContainEmail(form.getEmail())
+                && memberRepository.existsByEmail(form.getEmail())) {
             throw new MemberException(ErrorCode.ALREADY_REGISTERED_USER);
         }
     }
 
     /**
      * 이메일과 패스워드로 로그인
+     * 비밀번호 확인을 기다리는 동안 db 커넥션을 잡고 있지 않도록 트랜잭션 없이 처리
      * @param form : email, password
      * excpetion : LOGIN_CHECK_FAIL "이메일과 패스워드를 확인해주세요."
      * @return 이메일, 비밀번호 확인 통해 얻은 유저 정보
      */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public MemberDto signInMember(SignIn form) {
         // 이메일 이용해 유저정보 찾음
         // 이메일로 가입된 정보가 없는 경우 예외발생
@@ -78,9 +95,15 @@ public class MemberService implements UserDetailsService {
                 .orElseThrow(() -> new MemberException(ErrorCode.NOT_FOUND_USER));
 
         // 로그인 시도한 비밀번호와 저장된 비밀번호가 같은지 확인
-        if(!passwordEncoder.matches(form.getPassword(), member.getPassword())) {
+        if(!passwordHasher.matches(form.getPassword(), member.getPassword())) {
             throw new MemberException(ErrorCode.LOGIN_CHECK_FAIL);
         }
+
+        // 저장된 비밀번호의 해시 비용이 현재 설정보다 낮으면 새 비용으로 다시 저장
+        if (passwordHasher.upgradeEncoding(member.getPassword())) {
+            member.changePassword(passwordHasher.encode(form.getPassword()));
+            memberRepository.save(member);
+        }
         return MemberDto.from(member);
     }
 
@@ -0,0 +1,73 @@
+package com.zerobase.storereservation.service;
+
+import com.zerobase.storereservation.domain.review.entity.Review;
+import com.zerobase.storereservation.repository.ReviewRepository;
+import com.zerobase.storereservation.repository.StoreRepository;
+import com.zerobase.storereservation.util.RatingScore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Slf4j
+@Component
+public class RatingBackfill {
+    // 별점 분포, 시간 감쇠 점수 컬럼이 생기기 전에 후기가 등록된 매장의 별점 집계를 후기 테이블로 다시 계산
+    // 채우지 않으면 이전 후기를 수정/삭제할 때 0 에서 빼게 되어 분포, 가중치 합이 음수가 됨
+    // 분포 합이 후기 수와 다른 매장만 계산하므로 한번 채운 뒤에는 서버가 시작해도 조회 한번으로 끝남
+    // 매장 행을 잠그고 계산해 그 사이 등록/수정/삭제된 후기의 증감이 유실되지 않게 함
+
+    private final StoreRepository storeRepository;
+    private final ReviewRepository reviewRepository;
+    private final TransactionTemplate transaction;
+
+    public RatingBackfill(StoreRepository storeRepository, ReviewRepository reviewRepository,
+                          PlatformTransactionManager transactionManager) {
+        this.storeRepository = storeRepository;
+        this.reviewRepository = reviewRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 서버 시작시 별점 분포가 비어있는 매장의 별점 집계를 매장마다 트랜잭션 하나로 다시 계산
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<Long> storeIds = storeRepository.findIdsWithoutRatingHistogram();
+        if (storeIds.isEmpty()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        storeIds.forEach(storeId -> transaction.executeWithoutResult(status -> this.backfill(storeId)));
+        log.info("rating backfill -> {} stores, {}ms", storeIds.size(), System.currentTimeMillis() - start);
+    }
+
+    void backfill(Long storeId) {
+        if (storeRepository.findByIdForUpdate(storeId).isEmpty()) {
+            return;
+        }
+
+        long[] counts = new long[5];
+        float reviewSum = 0;
+        double decayedSum = 0;
+        double decayedWeight = 0;
+        List<Review> reviews = reviewRepository.findByStoreId(storeId);
+        for (Review review : reviews) {
+            float rating = review.getRating();
+            double weight = RatingScore.weight(review.getCreatedAt());
+            counts[RatingScore.bucket(rating) - 1]++;
+            reviewSum += rating;
+            decayedSum += rating * weight;
+            decayedWeight += weight;
+        }
+
+        float rating = reviews.isEmpty() ? 0 : reviewSum / reviews.size();
+        storeRepository.backfillRating(storeId, rating, reviewSum, reviews.size(),
+                counts[0], counts[1], counts[2], counts[3], counts[4], decayedSum, decayedWeight);
+    }
+}
@@ -1,9 +1,12 @@
 package com.zerobase.storereservation.service;
 
+import com.zerobase.storereservation.cache.StoreDetailCache;
+import com.zerobase.storereservation.datasource.ReadOnlyTransactional;
 import com.zerobase.storereservation.domain.reservation.dto.ReservationDto;
 import com.zerobase.storereservation.domain.reservation.entity.Reservation;
 import com.zerobase.storereservation.domain.reservation.form.ConfirmReservation;
 import com.zerobase.storereservation.domain.reservation.form.MakeReservation;
+import com.zerobase.storereservation.domain.reservation.type.Status;
 import com.zerobase.storereservation.domain.store.entity.Store;
 import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
 import com.zerobase.storereservation.exception.ReservationException;
@@ -18,9 +21,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.Map;
 import java.util.Optional;
 
 import static com.zerobase.storereservation.domain.reservation.type.Status.*;
@@ -33,6 +36,9 @@ public class ReservationService {
     private final ReservationRepository reservationRepository;
     private final StoreReservationInfoRepository storeReservationInfoRepository;
     private final StoreRepository storeRepository;
+    private final ReservationSheetService reservationSheetService;
+    private final StoreDetailCache storeDetailCache;
+    private final Clock clock;
 
 
     /**
@@ -41,6 +47,7 @@ public class ReservationService {
      * @param form : reservationInfoId, headCount(예약 인원), phone, reservationDate
      * @return 저장된 예약 정보
      */
+    @Transactional
     public ReservationDto makeReservation(Long id, MakeReservation form) {
 
         // 예약 상세 정보 가져옴
@@ -56,11 +63,14 @@ public class ReservationService {
         checkStoreIsDeleted(storeReservationInfo);
         checkMaked(id, storeReservationInfo, form.getReservationDate());
         checkCount(form.getHeadCount(), storeReservationInfo.getMinCount(), storeReservationInfo.getMaxCount());
-        checkReservationIsClosed(storeReservationInfo.getClosed(), form.getReservationDate());
+        checkReservationIsClosed(storeReservationInfo, form.getReservationDate());
 
         Reservation reservation = reservationRepository.save(
                 Reservation.of(id, form, storeReservationInfo));
 
+        // 파트너 예약 현황표에 대기 예약 추가
+        reservationSheetService.reserved(reservation);
+
         return ReservationDto.from(reservation);
     }
 
@@ -71,19 +81,19 @@ public class ReservationService {
      */
     private void checkReservationDate(MakeReservation form, Store store) {
         // 예약이 오픈되지 않은 날짜에 신청한 경우 예외 발생 : CANNOT_RESERVATION_DATE "예약 가능한 날짜가 아닙니다."
-        if (!storeRepository.existsByIdAndDatesContains(store.getId(), form.getReservationDate())) {
+        if (!store.isOpen(form.getReservationDate())) {
             throw new ReservationException(CANNOT_RESERVATION_DATE);
         }
     }
 
     /**
      * 예약마감되었는데 예약 신청했는지 확인
-     * @param closed
+     * @param storeReservationInfo
      * @param reservationDate
      */
-    private void checkReservationIsClosed(Map<LocalDate, Integer> closed, LocalDate reservationDate) {
-        // 마감된 정보에(closed의 value가 -1일때) 신청한 경우 예외 발생 : RESERVATION_CLOSED "예약이 마감되었습니다."
-        if (closed.get(reservationDate) == -1)
+    private void checkReservationIsClosed(StoreReservationInfo storeReservationInfo, LocalDate reservationDate) {
+        // 마감된 정보에(잔여인원이 -1일때) 신청한 경우 예외 발생 : RESERVATION_CLOSED "예약이 마감되었습니다."
+        if (storeReservationInfo.remaining(reservationDate) == -1)
             throw new ReservationException(RESERVATION_CLOSED);
     }
 
@@ -141,8 +151,8 @@ public class ReservationService {
         Reservation reservation = reservationRepository.findById(form.getReservationId())
                 .orElseThrow(() -> new ReservationException(NOT_FOUND_RESERVATION));
 
-        // 신청한 매장 예약 상세정보 가져옴
-        StoreReservationInfo storeReservationInfo = storeReservationInfoRepository.findById(reservation.getStoreReservationInfo().getId())
+        // 신청한 매장 예약 상세정보 가져옴 (잔여인원을 바꾸므로 캐시를 거치지 않고 잠금)
+        StoreReservationInfo storeReservationInfo = storeReservationInfoRepository.findByIdForUpdate(reservation.getStoreReservationInfo().getId())
                 .orElseThrow(() -> new ReservationException(NOT_FOUND_RESERVATION_INFO));
 
         // 본인의 매장에 신청한 예약정보를 수정하려고 하는 건지 확인
@@ -155,10 +165,15 @@ public class ReservationService {
             checkCanReservationCount(reservation.getHeadCount(), storeReservationInfo.getCount());
             // 해당날짜의 신청한 예약인원만큼 잔여 인원 감소
             storeReservationInfo.decreaseCount(reservation.getReservationDate(), reservation.getHeadCount());
+            storeDetailCache.evict(storeId);
         }
 
+        Status before = reservation.getStatus();
         reservation.changeStatus(form.getStatus());
 
+        // 파트너 예약 현황표에 변경된 상태와 잔여인원 반영
+        reservationSheetService.statusChanged(reservation, before, storeReservationInfo);
+
         return ReservationDto.from(reservation);
     }
 
@@ -194,10 +209,10 @@ public class ReservationService {
      * @param pageable
      * @return 예약 리스트
      */
+    @ReadOnlyTransactional
     public Page<ReservationDto> searchReservationByMember(Long memberId, Pageable pageable) {
 
-        return reservationRepository.findByCustomerId(memberId, pageable)
-                .map(ReservationDto::from);
+        return reservationRepository.searchByCustomerId(memberId, pageable);
     }
 
     /**
@@ -207,9 +222,9 @@ public class ReservationService {
      * @param pageable
      * @return 예약 리스트
      */
+    @ReadOnlyTransactional
     public Page<ReservationDto> searchReservationByMemberWithStore(Long memberId, Long storeId, Pageable pageable) {
-        return reservationRepository.findByCustomerIdAndStoreId(memberId, storeId, pageable)
-                .map(ReservationDto::from);
+        return reservationRepository.searchByCustomerIdAndStoreId(memberId, storeId, pageable);
     }
 
     /**
@@ -220,6 +235,7 @@ public class ReservationService {
      * @param pageable
      * @return 예약 리스트
      */
+    @ReadOnlyTransactional
     public Page<ReservationDto> searchReservationByPartner(Long partnerId, Long storeId, LocalDate date, Pageable pageable) {
         // 자신의 매장의 예약리스트를 보는지 확인하기위해
         // 바로 store id를 이용하지 않고
@@ -227,8 +243,7 @@ public class ReservationService {
         // 예외가 발생하면 요청한 유저의 매장이 아닌것
         Store store = storeRepository.findByIdAndPartnerId(storeId, partnerId)
                 .orElseThrow(() -> new StoreException(UNMATCHED_PARTNER_STORE));
-        return reservationRepository.findByStoreIdAndReservationDate(store.getId(), date, pageable)
-                .map(ReservationDto::from);
+        return reservationRepository.searchByStoreIdAndReservationDate(store.getId(), date, pageable);
     }
 
     /**
@@ -244,14 +259,18 @@ public class ReservationService {
                 .orElseThrow(() -> new ReservationException(UNMATCHED_MEMBER_RESERVATION));
 
         Long infoId = reservation.getStoreReservationInfo().getId();
-        StoreReservationInfo storeReservationInfo = storeReservationInfoRepository.findById(infoId)
+        StoreReservationInfo storeReservationInfo = storeReservationInfoRepository.findByIdForUpdate(infoId)
                 .orElseThrow(() -> new StoreException(NOT_FOUND_RESERVATION_INFO));
 
         // 예약가능 잔여인원을 취소한 인원만큼 증가
         if (APPROVED.equals(reservation.getStatus())) {
             storeReservationInfo.increaseCount(reservation.getReservationDate(), reservation.getHeadCount());
+            storeDetailCache.evict(reservation.getStoreId());
         }
 
+        // 파트너 예약 현황표에서 취소한 예약 제외
+        reservationSheetService.canceled(reservation, storeReservationInfo);
+
         reservationRepository.delete(reservation);
         return ReservationDto.from(reservation);
     }
@@ -280,6 +299,7 @@ public class ReservationService {
         checkCanInStore(reservation);
 
         reservation.changeVisited(true);
+        reservationSheetService.visited(reservation);
 
         return ReservationDto.from(reservation);
     }
@@ -291,16 +311,17 @@ public class ReservationService {
      */
     private void checkCanInStore(Reservation reservation) {
         LocalTime canCheckTime = reservation.getStoreReservationInfo().getStartAt();
+        LocalTime now = LocalTime.now(clock);
 
-        // 예약시간 10분전보다 일찍 방문확인 하는 경우 예외 발생 : CANNOT_CHECK_YET "[예약 시간 : %s , 현재 시간 : %s] 방문 확인은 10분전부터 가능합니다.", canCheckTime, LocalTime.now()
-        if (LocalTime.now().isBefore(canCheckTime.minusMinutes(10))) {
-            String errorDescription = String.format("[예약 시간 : %s , 현재 시간 : %s] 방문 확인은 10분전부터 가능합니다.", canCheckTime, LocalTime.now());
+        // 예약시간 10분전보다 일찍 방문확인 하는 경우 예외 발생 : CANNOT_CHECK_YET "[예약 시간 : %s , 현재 시간 : %s] 방문 확인은 10분전부터 가능합니다.", canCheckTime, now
+        if (now.isBefore(canCheckTime.minusMinutes(10))) {
+            String errorDescription = String.format("[예약 시간 : %s , 현재 시간 : %s] 방문 확인은 10분전부터 가능합니다.", canCheckTime, now);
             throw new ReservationException(CANNOT_CHECK_YET, errorDescription);
         }
 
-        // 예약 시간을 지나 방문 확인하는 경우 예외 발생 : OVER_RESERVATION_TIME "[예약 시간 : %s , 현재 시간 : %s] 예약 시간이 지났습니다.", canCheckTime, LocalTime.now()
-        if (LocalTime.now().isAfter(canCheckTime)) {
-            String errorDescription = String.format("[예약 시간 : %s , 현재 시간 : %s] 예약 시간이 지났습니다.", canCheckTime, LocalTime.now());
+        // 예약 시간을 지나 방문 확인하는 경우 예외 발생 : OVER_RESERVATION_TIME "[예약 시간 : %s , 현재 시간 : %s] 예약 시간이 지났습니다.", canCheckTime, now
+        if (now.isAfter(canCheckTime)) {
+            String errorDescription = String.format("[예약 시간 : %s , 현재 시간 : %s] 예약 시간이 지났습니다.", canCheckTime, now);
             throw new ReservationException(OVER_RESERVATION_TIME, errorDescription);
         }
     }
@@ -311,7 +332,7 @@ public class ReservationService {
      */
     private void checkReservationDate(Reservation reservation) {
         // 예약한 날이 아닌 다른날 방문 확인 하는 경우 예외 발생 "[예약 날짜 : %s] 를 확인해주세요.", reservation.getReservationDate()
-        if (!LocalDate.now().isEqual(reservation.getReservationDate())) {
+        if (!LocalDate.now(clock).isEqual(reservation.getReservationDate())) {
             String errorDescription = String.format("[예약 날짜 : %s] 를 확인해주세요.", reservation.getReservationDate());
             throw new ReservationException(NOT_TODAY_RESERVATION, errorDescription);
         }
@@ -0,0 +1,162 @@
+package com.zerobase.storereservation.service;
+
+import com.zerobase.storereservation.domain.reservation.dto.ReservationSheetDto;
+import com.zerobase.storereservation.domain.reservation.entity.Reservation;
+import com.zerobase.storereservation.domain.reservation.entity.ReservationSheetSlot;
+import com.zerobase.storereservation.domain.reservation.type.Status;
+import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
+import com.zerobase.storereservation.exception.StoreException;
+import com.zerobase.storereservation.repository.ReservationSheetSlotRepository;
+import com.zerobase.storereservation.repository.StoreRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.transaction.Transactional;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.zerobase.storereservation.exception.ErrorCode.UNMATCHED_PARTNER_STORE;
+
+@Service
+@Slf4j
+public class ReservationSheetService {
+    // 파트너 일별 예약 현황표를 예약 상태 변경시마다 갱신
+    // 예약 서비스의 트랜잭션 안에서 호출되어 예약과 함께 커밋됨
+    // 현황표 갱신 때문에 예약이 실패하지 않도록
+    // - 슬롯의 예약 수는 update 쿼리로 더함 (같은 슬롯을 동시에 바꿔도 version 충돌 없이 차례로 반영)
+    // - 슬롯이 없으면 별도 트랜잭션으로 만들고, 동시에 다른 예약이 먼저 만든 경우(unique 제약조건 위반)는 무시
+
+    private final ReservationSheetSlotRepository reservationSheetSlotRepository;
+    private final StoreRepository storeRepository;
+    private final TransactionTemplate newTransaction;
+
+    public ReservationSheetService(ReservationSheetSlotRepository reservationSheetSlotRepository,
+                                   StoreRepository storeRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.reservationSheetSlotRepository = reservationSheetSlotRepository;
+        this.storeRepository = storeRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 예약 신청된 경우 해당 슬롯의 대기 예약 증가
+     * 해당 날짜 슬롯의 현황이 없으면 새로 만든 뒤 증가
+     * @param reservation
+     */
+    @Transactional
+    public void reserved(Reservation reservation) {
+        StoreReservationInfo info = reservation.getStoreReservationInfo();
+        ReservationSheetSlot.Counts counts = ReservationSheetSlot.Counts.reserved(reservation.getHeadCount());
+
+        if (reservationSheetSlotRepository.addCounts(info.getId(), reservation.getReservationDate(), counts) == 0) {
+            this.createSlot(info, reservation.getReservationDate());
+            reservationSheetSlotRepository.addCounts(info.getId(), reservation.getReservationDate(), counts);
+        }
+    }
+
+    /**
+     * 예약 승인/거절된 경우 상태별 예약 수와 잔여인원 갱신
+     * @param reservation : 상태 변경된 예약
+     * @param before : 변경 전 예약 상태
+     * @param info : 잔여인원 반영된 매장 예약 상세정보
+     */
+    @Transactional
+    public void statusChanged(Reservation reservation, Status before, StoreReservationInfo info) {
+        LocalDate date = reservation.getReservationDate();
+        reservationSheetSlotRepository.addCounts(info.getId(), date,
+                ReservationSheetSlot.Counts.statusChanged(before, reservation.getStatus(), reservation.getHeadCount()));
+        reservationSheetSlotRepository.updateRemaining(info.getId(), date, info.remaining(date));
+    }
+
+    /**
+     * 예약 취소된 경우 해당 상태의 예약 수 감소
+     * @param reservation : 취소된 예약
+     * @param info : 잔여인원 반영된 매장 예약 상세정보
+     */
+    @Transactional
+    public void canceled(Reservation reservation, StoreReservationInfo info) {
+        LocalDate date = reservation.getReservationDate();
+        reservationSheetSlotRepository.addCounts(info.getId(), date,
+                ReservationSheetSlot.Counts.canceled(reservation.getStatus(), reservation.getHeadCount()));
+        reservationSheetSlotRepository.updateRemaining(info.getId(), date, info.remaining(date));
+    }
+
+    /**
+     * 매장 방문 확인된 경우 방문 수 증가
+     * @param reservation
+     */
+    @Transactional
+    public void visited(Reservation reservation) {
+        reservationSheetSlotRepository.addCounts(reservation.getStoreReservationInfo().getId(),
+                reservation.getReservationDate(), ReservationSheetSlot.Counts.visited());
+    }
+
+    /**
+     * 파트너가 예약 마감 정보를 수정한 경우 잔여인원 반영
+     * @param info
+     * @param date
+     */
+    @Transactional
+    public void remainingChanged(StoreReservationInfo info, LocalDate date) {
+        reservationSheetSlotRepository.updateRemaining(info.getId(), date, info.remaining(date));
+    }
+
+    /**
+     * 파트너가 예약 상세정보를 수정한 경우 이미 만들어진 슬롯의 시간, 수용 인원, 잔여인원 반영
+     * 날짜별 잔여인원이 저장된 날짜는 잔여인원이 바뀌지 않음
+     * @param info : 수정된 매장 예약 상세정보
+     */
+    @Transactional
+    public void infoUpdated(StoreReservationInfo info) {
+        if (reservationSheetSlotRepository.updateInfo(info.getId(), info.getStartAt(), info.getEndAt(), info.getCount()) > 0) {
+            reservationSheetSlotRepository.updateRemainingToCapacity(info.getId());
+        }
+    }
+
+    /**
+     * 매장 삭제된 경우 남아있는 예약을 한번에 매장삭제됨으로 옮김
+     * @param storeId
+     */
+    @Transactional
+    public void storeDeleted(Long storeId) {
+        reservationSheetSlotRepository.markStoreDeleted(storeId);
+    }
+
+    /**
+     * 파트너가 자신의 매장의 일별 예약 현황표 확인
+     * 현황이 없는 경우에만 매장 소유 여부를 따로 확인
+     * @param partnerId
+     * @param storeId
+     * @param date
+     * @return 슬롯별 예약 현황
+     */
+    public ReservationSheetDto getSheet(Long partnerId, Long storeId, LocalDate date) {
+        List<ReservationSheetSlot> slots = reservationSheetSlotRepository
+                .findByStoreIdAndPartnerIdAndReservationDateOrderByStartAt(storeId, partnerId, date);
+
+        // 현황이 없으면 예약이 없는 날짜인지 본인 매장이 아닌지 확인
+        // 본인 매장이 아닌 경우 예외 발생 : UNMATCHED_PARTNER_STORE "매장 정보와 파트너 정보가 일치하지 않습니다."
+        if (slots.isEmpty()) {
+            storeRepository.findByIdAndPartnerId(storeId, partnerId)
+                    .orElseThrow(() -> new StoreException(UNMATCHED_PARTNER_STORE));
+        }
+
+        return ReservationSheetDto.from(storeId, date, slots);
+    }
+
+    // 슬롯을 별도 트랜잭션으로 바로 저장 (예약 트랜잭션과 상관없이 커밋, 예약이 rollback 되어도 빈 슬롯만 남음)
+    // 같은 슬롯을 동시에 만든 경우 하나만 저장되고 나머지는 이미 있는 슬롯을 사용
+    private void createSlot(StoreReservationInfo info, LocalDate date) {
+        ReservationSheetSlot slot = ReservationSheetSlot.of(info, date);
+        try {
+            newTransaction.executeWithoutResult(status -> reservationSheetSlotRepository.saveAndFlush(slot));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("reservation sheet slot already created -> info : {}, date : {}", info.getId(), date);
+        }
+    }
+}
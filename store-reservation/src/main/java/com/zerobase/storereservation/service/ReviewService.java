@@ -1,17 +1,19 @@
 package com.zerobase.storereservation.service;
 
+import com.zerobase.storereservation.cache.StoreDetailCache;
+import com.zerobase.storereservation.datasource.ReadOnlyTransactional;
 import com.zerobase.storereservation.domain.reservation.entity.Reservation;
 import com.zerobase.storereservation.domain.review.dto.ReviewDto;
 import com.zerobase.storereservation.domain.review.entity.Review;
 import com.zerobase.storereservation.domain.review.form.CreateReview;
 import com.zerobase.storereservation.domain.review.form.UpdateReview;
-import com.zerobase.storereservation.domain.store.entity.Store;
 import com.zerobase.storereservation.exception.ReservationException;
 import com.zerobase.storereservation.exception.ReviewException;
 import com.zerobase.storereservation.exception.StoreException;
 import com.zerobase.storereservation.repository.ReservationRepository;
 import com.zerobase.storereservation.repository.ReviewRepository;
 import com.zerobase.storereservation.repository.StoreRepository;
+import com.zerobase.storereservation.util.RatingScore;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -19,6 +21,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
+import java.time.LocalDateTime;
 
 import static com.zerobase.storereservation.exception.ErrorCode.*;
 
@@ -29,6 +32,7 @@ public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final ReservationRepository reservationRepository;
     private final StoreRepository storeRepository;
+    private final StoreDetailCache storeDetailCache;
 
     /**
      * 리뷰 등록
@@ -46,17 +50,20 @@ public class ReviewService {
         checkRatingLimit(form.getRating());
         checkReviewAlreadyCreated(customerId, form.getReservationId());
 
-        // 리뷰 등록할 매장 찾음
-        Long storeId = reservation.getStoreReservationInfo().getStore().getId();
-        Store store = storeRepository.findById(storeId)
-                .orElseThrow(() -> new StoreException(NOT_FOUND_STORE));
+        // 등록 요청의 별점으로 매장의 별점 업데이트
+        // 별점 분포, 시간 감쇠 점수도 같은 update 로 함께 반영
+        // 예약에 저장된 매장 id를 사용해 예약상세정보, 매장을 따로 읽지 않음
+        // 수정된 매장이 없는 경우 예외 발생 : NOT_FOUND_STORE
+        float rating = form.getRating();
+        double weight = RatingScore.weight(LocalDateTime.now());
+        if (storeRepository.addRating(reservation.getStoreId(), rating, RatingScore.bucket(rating), weight, rating * weight) == 0) {
+            throw new StoreException(NOT_FOUND_STORE);
+        }
+        storeDetailCache.evict(reservation.getStoreId());
 
         Review review = Review.of(customerId, form, reservation);
         reviewRepository.save(review);
 
-        // 등록 요청의 별점으로 매장의 별점 업데이트
-        store.updateRating(form.getRating());
-
         return ReviewDto.from(review);
     }
 
@@ -107,13 +114,17 @@ public class ReviewService {
 
         checkRatingLimit(form.getRating());
 
-        // 리뷰 등록할 매장 찾음
-        Long storeId = review.getReservation().getStoreReservationInfo().getStore().getId();
-        Store store = storeRepository.findById(storeId)
-                .orElseThrow(() -> new StoreException(NOT_FOUND_STORE));
-
         // 새로 요청한 별점으로 매장의 별점 수정
-        store.updateRating(review.getRating(), form.getRating());
+        // 수정된 매장이 없는 경우 예외 발생 : NOT_FOUND_STORE
+        // 시간 감쇠 가중치는 리뷰를 처음 등록한 시점 기준
+        float oldRating = review.getRating();
+        float newRating = form.getRating();
+        double weight = RatingScore.weight(review.getCreatedAt());
+        if (storeRepository.changeRating(review.getStoreId(), oldRating, newRating,
+                RatingScore.bucket(oldRating), RatingScore.bucket(newRating), (newRating - oldRating) * weight) == 0) {
+            throw new StoreException(NOT_FOUND_STORE);
+        }
+        storeDetailCache.evict(review.getStoreId());
 
         review.update(form);
 
@@ -145,13 +156,15 @@ public class ReviewService {
      */
     @Transactional
     public void setStore(Review review) {
-        // 리뷰 등록/삭제할 매장 찾음
-        Long storeId = review.getReservation().getStoreReservationInfo().getStore().getId();
-        Store store = storeRepository.findById(storeId)
-                .orElseThrow(() -> new StoreException(NOT_FOUND_STORE));
-
         // 삭제할 리뷰의 별점으로 매장의 별점 수정
-        store.cancelRating(review.getRating());
+        // 리뷰에 저장된 매장 id를 사용해 예약, 예약상세정보, 매장을 따로 읽지 않음
+        // 수정된 매장이 없는 경우 예외 발생 : NOT_FOUND_STORE
+        float rating = review.getRating();
+        double weight = RatingScore.weight(review.getCreatedAt());
+        if (storeRepository.removeRating(review.getStoreId(), rating, RatingScore.bucket(rating), weight, rating * weight) == 0) {
+            throw new StoreException(NOT_FOUND_STORE);
+        }
+        storeDetailCache.evict(review.getStoreId());
     }
 
     /**
@@ -179,9 +192,9 @@ public class ReviewService {
      * @param pageable
      * @return : 등록한 리뷰 리스트
      */
+    @ReadOnlyTransactional
     public Page<ReviewDto> searchReview(Long userId, Pageable pageable) {
-        return reviewRepository.findByCustomerId(userId, pageable)
-                .map(ReviewDto::from);
+        return reviewRepository.searchByCustomerId(userId, pageable);
     }
 
     /**
@@ -190,9 +203,9 @@ public class ReviewService {
      * @param pageable
      * @return : 등록된 리뷰 리스트
      */
+    @ReadOnlyTransactional
     public Page<ReviewDto> searchReviewByStore(Long userId, Long storeId, Pageable pageable) {
-        return reviewRepository.findByPartnerIdAndStoreId(userId, storeId, pageable)
-                .map(ReviewDto::from);
+        return reviewRepository.searchByPartnerIdAndStoreId(userId, storeId, pageable);
     }
 
 }
@@ -0,0 +1,112 @@
+package com.zerobase.storereservation.service;
+
+import com.zerobase.storereservation.cache.StoreDetailCache;
+import com.zerobase.storereservation.domain.store.type.DateSet;
+import com.zerobase.storereservation.repository.StoreRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class StoreDatesBackfill implements SmartLifecycle {
+    // 예약 가능 날짜를 store_dates 테이블(날짜 하나에 한 줄)에서 store.dates 컬럼(DateSet)으로 옮기기 전에 등록된 매장의 날짜를 채움
+    // 채우지 않으면 이전 매장의 예약 가능 날짜가 모두 사라짐 (새 컬럼은 null -> 빈 집합)
+    // dates 컬럼이 null 인 매장만 채우므로 한번 채운 뒤에는 서버가 시작해도 조회 한번으로 끝남, store_dates 가 없는 db 는 건너뜀
+    // 웹 서버가 요청을 받기 전에 채움 : 채우기 전의 매장이 빈 날짜로 조회/캐시되지 않도록 함
+    // 모든 서버가 채운 것을 확인한 뒤 store_dates 는 직접 삭제 : drop table store_dates;
+
+    private static final String LEGACY_STORE_IDS = "select distinct d.store_id from store_dates d"
+            + " join store s on s.id = d.store_id where s.dates is null";
+    // 웹 서버를 시작하는 WebServerStartStopLifecycle(Integer.MAX_VALUE - 1)보다 먼저 실행
+    private static final int PHASE = Integer.MAX_VALUE - 2;
+    private static final String LEGACY_DATES = "select d.dates from store_dates d where d.store_id = ?";
+
+    private final StoreRepository storeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final StoreDetailCache storeDetailCache;
+    private final TransactionTemplate transaction;
+    private volatile boolean running;
+
+    public StoreDatesBackfill(StoreRepository storeRepository, JdbcTemplate jdbcTemplate,
+                              StoreDetailCache storeDetailCache, PlatformTransactionManager transactionManager) {
+        this.storeRepository = storeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.storeDetailCache = storeDetailCache;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void start() {
+        this.backfill();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * 서버 시작시 store_dates 에 날짜가 남아있고 dates 컬럼이 비어있는 매장을 매장마다 트랜잭션 하나로 채움
+     */
+    public void backfill() {
+        List<Long> storeIds = this.legacyStoreIds();
+        if (storeIds.isEmpty()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        storeIds.forEach(storeId -> transaction.executeWithoutResult(status -> this.backfill(storeId)));
+        log.info("store dates backfill -> {} stores, {}ms", storeIds.size(), System.currentTimeMillis() - start);
+    }
+
+    void backfill(Long storeId) {
+        List<LocalDate> dates = jdbcTemplate.queryForList(LEGACY_DATES, LocalDate.class, storeId);
+        if (storeRepository.backfillDates(storeId, this.toDateSet(storeId, dates)) > 0) {
+            // 커밋 후 빈 날짜로 만들어진 매장 상세 캐시를 지움
+            storeDetailCache.evict(storeId);
+        }
+    }
+
+    // DateSet 에 들어가지 않는 긴 기간이면 마지막 날짜부터 MAX_DAYS 일 안의 날짜만 남김 (지난 날짜부터 버림)
+    private DateSet toDateSet(Long storeId, List<LocalDate> dates) {
+        LocalDate last = Collections.max(dates);
+        LocalDate first = last.minusDays(DateSet.MAX_DAYS - 1);
+        List<LocalDate> kept = dates.stream()
+                .filter(date -> !date.isBefore(first))
+                .collect(Collectors.toList());
+        if (kept.size() < dates.size()) {
+            log.warn("store dates backfill -> store {} dropped {} dates before {}", storeId, dates.size() - kept.size(), first);
+        }
+        return DateSet.of(kept);
+    }
+
+    private List<Long> legacyStoreIds() {
+        try {
+            return jdbcTemplate.queryForList(LEGACY_STORE_IDS, Long.class);
+        } catch (BadSqlGrammarException e) {
+            // store_dates 테이블이 없음 (dates 컬럼으로 처음 만든 db)
+            return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.zerobase.storereservation.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zerobase.storereservation.domain.reservation.entity.Reservation;
+import com.zerobase.storereservation.domain.store.dto.StoreDeletionDto;
+import com.zerobase.storereservation.domain.store.event.StoreDeletedReservations;
+import com.zerobase.storereservation.domain.store.type.DeletionStatus;
+import com.zerobase.storereservation.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class StoreDeletionJob {
+    // 매장 삭제 후 예약마다 필요한 후속 처리(예약 고객 알림 등)를 전용 스레드에서 chunk 단위로 처리
+    // 예약 상태는 매장 삭제 트랜잭션에서 update 한번으로 바꾸고, 이 작업은 커밋 후 오늘 이후 예약을 나눠 읽어
+    // chunk 마다 StoreDeletedReservations 이벤트를 발행함 (chunk 마다 짧은 읽기 트랜잭션)
+    // 진행 상황은 서버 메모리에만 있으므로 서버가 여러 대인 경우 삭제 요청을 받은 서버에서만 조회됨
+
+    private static final int MAX_JOBS = 10_000; // 진행 상황을 보관할 최대 매장 수
+    private static final Duration PROGRESS_TTL = Duration.ofDays(1);
+    private static final int QUEUE_SIZE = 1_000;
+
+    private final ReservationRepository reservationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final ThreadPoolExecutor executor;
+    private final int chunkSize;
+
+    private final Cache<Long, StoreDeletionDto> progress = Caffeine.newBuilder()
+            .maximumSize(MAX_JOBS)
+            .expireAfterWrite(PROGRESS_TTL)
+            .build();
+
+    public StoreDeletionJob(ReservationRepository reservationRepository, ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${store.deletion.chunk-size:500}") int chunkSize) {
+        this.reservationRepository = reservationRepository;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setReadOnly(true);
+        this.chunkSize = chunkSize;
+
+        // 매장 삭제는 드물어서 스레드 하나로 순서대로 처리
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_SIZE),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "store-deletion");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 매장 삭제 후속 처리 등록
+     * 트랜잭션 안에서 호출되면 커밋된 뒤에 시작해서, 롤백된 삭제는 처리하지 않음
+     * @param storeId
+     * @param updated : 매장삭제됨으로 변경된 예약 수
+     */
+    public void submit(Long storeId, int updated) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    start(storeId, updated);
+                }
+            });
+        } else {
+            this.start(storeId, updated);
+        }
+    }
+
+    /**
+     * 매장 삭제 후속 처리 진행 상황
+     * @param storeId
+     * @return 진행 상황 (이 서버에서 처리하지 않았거나 보관 기간이 지난 경우 없음)
+     */
+    public Optional<StoreDeletionDto> getProgress(Long storeId) {
+        return Optional.ofNullable(progress.getIfPresent(storeId));
+    }
+
+    private void start(Long storeId, int updated) {
+        StoreDeletionDto started = StoreDeletionDto.builder()
+                .storeId(storeId)
+                .status(DeletionStatus.RUNNING)
+                .updated(updated)
+                .startedAt(LocalDateTime.now())
+                .build();
+        progress.put(storeId, started);
+        try {
+            executor.execute(() -> this.run(started));
+        } catch (RejectedExecutionException e) {
+            log.error("store deletion queue is full -> storeId: {}", storeId);
+            this.finish(started, DeletionStatus.FAILED);
+        }
+    }
+
+    // 오늘 이후 예약을 id 순서로 chunkSize 만큼씩 읽어 이벤트 발행
+    void run(StoreDeletionDto started) {
+        Long storeId = started.getStoreId();
+        LocalDate from = LocalDate.now();
+        StoreDeletionDto current = started;
+        try {
+            long total = transaction.execute(status ->
+                    reservationRepository.countByStoreIdAndReservationDateGreaterThanEqual(storeId, from));
+            current = current.toBuilder().total(total).build();
+            progress.put(storeId, current);
+
+            Long after = 0L;
+            while (true) {
+                Long last = after;
+                List<Reservation> chunk = transaction.execute(status ->
+                        reservationRepository.findChunkByStoreId(storeId, from, last, PageRequest.of(0, chunkSize)));
+                if (chunk == null || chunk.isEmpty()) {
+                    break;
+                }
+
+                eventPublisher.publishEvent(StoreDeletedReservations.of(storeId, chunk));
+                after = chunk.get(chunk.size() - 1).getId();
+                current = current.toBuilder().processed(current.getProcessed() + chunk.size()).build();
+                progress.put(storeId, current);
+
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+            }
+            this.finish(current, DeletionStatus.DONE);
+        } catch (RuntimeException e) {
+            log.error("store deletion failed -> storeId: {}, processed: {}", storeId, current.getProcessed(), e);
+            this.finish(current, DeletionStatus.FAILED);
+        }
+    }
+
+    private void finish(StoreDeletionDto current, DeletionStatus status) {
+        progress.put(current.getStoreId(), current.toBuilder()
+                .status(status)
+                .finishedAt(LocalDateTime.now())
+                .build());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,11 +1,17 @@
 package com.zerobase.storereservation.service;
 
+import com.zerobase.storereservation.cache.SearchPageCache;
+import com.zerobase.storereservation.cache.StoreDetail;
+import com.zerobase.storereservation.cache.StoreDetailCache;
+import com.zerobase.storereservation.datasource.ReadOnlyTransactional;
 import com.zerobase.storereservation.domain.store.dto.StoreDto;
 import com.zerobase.storereservation.domain.store.entity.Store;
+import com.zerobase.storereservation.domain.store.type.RatingOrder;
 import com.zerobase.storereservation.exception.ErrorCode;
 import com.zerobase.storereservation.exception.StoreException;
 import com.zerobase.storereservation.repository.StoreRepository;
 import com.zerobase.storereservation.util.KaKakoApi;
+import com.zerobase.storereservation.util.RatingScore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.json.simple.parser.ParseException;
@@ -15,6 +21,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -24,6 +31,8 @@ import java.util.stream.Collectors;
 public class StoreSearchService {
     private final StoreRepository storeRepository;
     private final KaKakoApi kaKakoApi;
+    private final StoreDetailCache storeDetailCache;
+    private final SearchPageCache searchPageCache;
 
     /**
      * 키워드가 포함된 매장명을 가진 매장들 리턴
@@ -31,6 +40,7 @@ public class StoreSearchService {
      * @param pageable
      * @return
      */
+    @ReadOnlyTransactional
     public Page<StoreDto> searchStoreByName(String keyword, Pageable pageable) {
         // 대문자, 소문자 상광없이 키워드를 포함하고 삭제되지 않은 매장들 가져옴
         return storeRepository.findByNameContainingIgnoreCaseAndDeleted(keyword, false, pageable)
@@ -42,6 +52,7 @@ public class StoreSearchService {
      * @param pageable
      * @return
      */
+    @ReadOnlyTransactional
     public Page<StoreDto> searchStoreAlphabeticalOrder(Pageable pageable) {
         // 삭제되지않은 매장들을 name 으로 오름차순 정렬해 가져옴
         return storeRepository.findByDeletedOrderByName(false, pageable)
@@ -54,12 +65,71 @@ public class StoreSearchService {
      * @param pageable
      * @return
      */
+    @ReadOnlyTransactional
     public Page<StoreDto> searchStoreRatingOrder(Pageable pageable) {
         // 삭제되지않은 매장들을 rating 으로 내림차순 정렬해 가져옴
         return storeRepository.findByDeletedOrderByRatingDesc(false, pageable)
                 .map(StoreDto::from);
     }
 
+    /**
+     * 정렬 방식에 따른 별점순 매장들 리턴
+     * 매장에 미리 집계해둔 별점 정보만으로 정렬하고 후기 테이블은 읽지 않음
+     * @param order : 별점 평균, bayesian 평균, 시간 감쇠 bayesian 평균
+     * @param pageable
+     * @return
+     */
+    @ReadOnlyTransactional
+    public Page<StoreDto> searchStoreRatingOrder(RatingOrder order, Pageable pageable) {
+        if (order == RatingOrder.MEAN) {
+            return searchStoreRatingOrder(pageable);
+        }
+
+        // 후기가 적은 매장이 별점 몇개로 상위에 오르지 않도록 전체 평균을 가상의 후기로 더함
+        Double mean = storeRepository.findMeanRating();
+        double priorMean = mean == null ? 0 : mean;
+
+        if (order == RatingOrder.BAYESIAN) {
+            return storeRepository.findOrderByBayesianRating(
+                            RatingScore.PRIOR_COUNT, RatingScore.PRIOR_COUNT * priorMean, pageable)
+                    .map(StoreDto::from);
+        }
+
+        // 시간 감쇠 가중치 합은 현재 시점 가중치 단위이므로 가상의 후기도 현재 시점 가중치로 더함
+        double priorWeight = RatingScore.PRIOR_COUNT * RatingScore.weight(LocalDateTime.now());
+        return storeRepository.findOrderByDecayedRating(priorWeight, priorWeight * priorMean, pageable)
+                .map(StoreDto::from);
+    }
+
+    /**
+     * 키워드가 포함된 매장명을 가진 매장들을 json 으로 리턴 (검색 결과 캐시)
+     * @param keyword
+     * @param pageable
+     * @return
+     */
+    public byte[] searchStoreByNameJson(String keyword, Pageable pageable) {
+        return searchPageCache.get("name:" + keyword, pageable, () -> searchStoreByName(keyword, pageable));
+    }
+
+    /**
+     * 가나다 순으로 매장들을 json 으로 리턴 (검색 결과 캐시)
+     * @param pageable
+     * @return
+     */
+    public byte[] searchStoreAlphabeticalOrderJson(Pageable pageable) {
+        return searchPageCache.get("alphabet", pageable, () -> searchStoreAlphabeticalOrder(pageable));
+    }
+
+    /**
+     * 정렬 방식에 따른 별점순 매장들을 json 으로 리턴 (검색 결과 캐시)
+     * @param order
+     * @param pageable
+     * @return
+     */
+    public byte[] searchStoreRatingOrderJson(RatingOrder order, Pageable pageable) {
+        return searchPageCache.get("rating:" + order, pageable, () -> searchStoreRatingOrder(order, pageable));
+    }
+
     /**
      * 요청한 주소와 가까운 순으로 매장들 리턴
      * @param address
@@ -68,6 +138,7 @@ public class StoreSearchService {
      * @throws IOException
      * @throws ParseException
      */
+    @ReadOnlyTransactional
     public Page<StoreDto> searchStoreDistanceOrder(String address, Pageable pageable) throws IOException, ParseException {
         // 삭제되지않은 매장들 가져옴
         List<Store> stores = storeRepository.findByDeleted(false);
@@ -115,6 +186,7 @@ public class StoreSearchService {
      * @param pageable
      * @return
      */
+    @ReadOnlyTransactional
     public Page<StoreDto> searchStoreByPartner(Long partnerId, Pageable pageable) {
         return storeRepository.findByPartnerId(partnerId, pageable)
                 .map(StoreDto::from);
@@ -125,10 +197,21 @@ public class StoreSearchService {
      * @param id
      * @return
      */
+    @ReadOnlyTransactional
     public StoreDto detailStore(Long id) {
         Store store = storeRepository.findById(id)
                 .orElseThrow(() -> new StoreException(ErrorCode.NOT_FOUND_STORE));
         return StoreDto.from(store);
     }
+
+    /**
+     * 특정 매장의 상세정보를 json 으로 리턴
+     * 변환한 json 을 캐시해두고 매장 정보가 바뀌기 전까지 그대로 사용
+     * @param id
+     * @return : json, ETag
+     */
+    public StoreDetail detailStoreJson(Long id) {
+        return storeDetailCache.get(id, () -> detailStore(id));
+    }
 }
 
@@ -1,11 +1,16 @@
 package com.zerobase.storereservation.service;
 
+import com.zerobase.storereservation.cache.SearchPageCache;
+import com.zerobase.storereservation.cache.StoreDetailCache;
 import com.zerobase.storereservation.domain.reservation.type.Status;
+import com.zerobase.storereservation.domain.store.dto.StoreDeletionDto;
 import com.zerobase.storereservation.domain.store.dto.StoreDto;
 import com.zerobase.storereservation.domain.store.dto.StoreReservationInfoDto;
 import com.zerobase.storereservation.domain.store.entity.Store;
 import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
 import com.zerobase.storereservation.domain.store.form.*;
+import com.zerobase.storereservation.domain.store.type.DateSet;
+import com.zerobase.storereservation.domain.store.type.RecurrenceRule;
 import com.zerobase.storereservation.exception.ErrorCode;
 import com.zerobase.storereservation.exception.StoreException;
 import com.zerobase.storereservation.repository.ReservationRepository;
@@ -15,15 +20,18 @@ import com.zerobase.storereservation.util.KaKakoApi;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.json.simple.parser.ParseException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
 import java.io.IOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import static com.zerobase.storereservation.exception.ErrorCode.*;
@@ -38,6 +46,11 @@ public class StoreService {
     private final StoreReservationInfoRepository storeReservationInfoRepository;
     private final ReservationRepository reservationRepository;
     private final KaKakoApi kaKakoApi;
+    private final ReservationSheetService reservationSheetService;
+    private final UniquenessFilter uniquenessFilter;
+    private final StoreDetailCache storeDetailCache;
+    private final SearchPageCache searchPageCache;
+    private final StoreDeletionJob storeDeletionJob;
 
     /**
      * 매장 정보 등록
@@ -56,8 +69,16 @@ public class StoreService {
         // 카카오 api 이용해 매장 위치의 위도/경도 알아옴
         List<Float> coordinates = kaKakoApi.getCoordinateFromApi(form.getAddress());
 
+        // id 를 직접 만들어 넣으므로 save 는 커밋할 때 insert 함 : 바로 insert 해서 중복 매장명을 여기서 확인
         Store store = Store.of(partnerId, coordinates, form);
-        storeRepository.save(store);
+        try {
+            storeRepository.saveAndFlush(store);
+        } catch (DataIntegrityViolationException e) {
+            // 필터에 없던 매장명이 다른 요청/서버에서 먼저 등록된 경우
+            throw new StoreException(ErrorCode.DUPLICATE_STORE_NAME);
+        }
+        uniquenessFilter.putStoreName(store.getName());
+        searchPageCache.clear();
         return StoreDto.from(store);
     }
 
@@ -77,11 +98,13 @@ public class StoreService {
 
     /**
      * 매장 이름 중복 확인
+     * 필터에 없는 매장명이면 db 를 조회하지 않음
      * exception : DUPLICATE_STORE_NAME "매장명은 중복일 수 없습니다."
      * @param name
      */
     private void checkDuplicateStoreName(String name) {
-        boolean exists = storeRepository.existsByName(name);
+        boolean exists = uniquenessFilter.mightContainStoreName(name)
+                && storeRepository.existsByName(name);
 
         if (exists) {
             throw new StoreException(ErrorCode.DUPLICATE_STORE_NAME);
@@ -109,6 +132,7 @@ public class StoreService {
             store.getStoreReservationInfos()
                     .add(StoreReservationInfo.of(partnerId, info));
         });
+        storeDetailCache.evict(store.getId());
 
         return StoreDto.from(store);
     }
@@ -120,7 +144,7 @@ public class StoreService {
      * @param startAt
      * @param endAt
      */
-    private void checkReservationInfoTime(List<LocalTime> startAt, List<LocalTime> endAt) {
+    void checkReservationInfoTime(List<LocalTime> startAt, List<LocalTime> endAt) {
 
         for (int i = 0; i < startAt.size(); i++) {
             if (startAt.get(i).isAfter(endAt.get(i))) {
@@ -163,6 +187,14 @@ public class StoreService {
         List<Float> coordinates = kaKakoApi.getCoordinateFromApi(form.getAddress());
 
         store.update(form, coordinates);
+        try {
+            storeRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new StoreException(ErrorCode.DUPLICATE_STORE_NAME);
+        }
+        uniquenessFilter.putStoreName(store.getName());
+        storeDetailCache.evict(store.getId());
+        searchPageCache.clear();
 
         return StoreDto.from(store);
     }
@@ -178,32 +210,90 @@ public class StoreService {
         // 수정할 매장 정보 가져옴
         Store store = getStore(form.getId(), partnerId);
 
-        // 매장의 예약정보 전부 가져옴
-        List<StoreReservationInfo> infos = storeReservationInfoRepository.findByStoreId(store.getId());
-
-        // 기존의 예약 가능 날짜
-        List<LocalDate> storeDates = store.getDates();
-
-        infos.forEach(info -> {
-            Map<LocalDate, Integer> dates = new HashMap<>();
-            form.getDates().forEach(date -> {
-                if (storeDates.contains(date)) {
-                    //  예약 가능하던 날짜면 기존 정보
-                    dates.put(date, info.getClosed().get(date));
-                } else {
-                    // 새로운 날짜면 정보 추가
-                    dates.put(date, info.getCount());
-                }
-            });
-            info.updateClosed(dates);
-        });
+        // 기존/새로운 예약 가능 날짜
+        DateSet storeDates = store.getDates();
+        DateSet dates = toDateSet(form.getDates());
 
         // 새로운 예약 가능 날짜 업데이트
-        store.updateDates(form.getDates());
+        store.updateDates(dates);
+
+        // 날짜별 잔여인원은 처음 예약이 승인될 때 생기므로 추가된 날짜는 저장할 것이 없음
+        // 빠진 날짜 중 반복 규칙으로도 열려있지 않은 날짜의 잔여인원만 삭제
+        DateSet removed = notOpen(store, storeDates.minus(dates));
+        if (!removed.isEmpty()) {
+            storeReservationInfoRepository.findByStoreId(store.getId())
+                    .forEach(info -> info.removeDates(removed));
+        }
+        storeDetailCache.evict(store.getId());
+
+        return StoreDto.from(store);
+    }
+
+    /**
+     * 매장 반복 예약 가능 규칙, 휴무일 수정
+     * 날짜별 정보를 만들지 않고 규칙만 저장 (예약 가능 여부는 예약할 때 계산)
+     * @param partnerId
+     * @param form : id, rules(시작일, 종료일, 요일), holidays(휴무일)
+     * @return 수정한 매장 정보
+     */
+    @Transactional
+    public StoreDto updateStoreReservationRule(Long partnerId, UpdateStoreRule form) {
+        // 수정할 매장 정보 가져옴
+        Store store = getStore(form.getId(), partnerId);
+
+        store.updateRules(toRules(form.getRules()), toDateSet(form.getHolidays()));
+        storeDetailCache.evict(store.getId());
 
         return StoreDto.from(store);
     }
 
+    /**
+     * 반복 규칙 form 을 RecurrenceRule 로 변환
+     * exception : CHECK_RECURRENCE_RULE "반복 규칙의 기간과 요일을 확인해주세요."
+     * @param rules
+     * @return
+     */
+    private List<RecurrenceRule> toRules(List<UpdateStoreRule.Rule> rules) {
+        if (rules == null) {
+            return List.of();
+        }
+        if (rules.size() > RecurrenceRule.MAX_RULES) {
+            throw new StoreException(CHECK_RECURRENCE_RULE);
+        }
+        try {
+            return rules.stream()
+                    .map(rule -> RecurrenceRule.of(rule.getStartDate(), rule.getEndDate(), rule.getWeekdays()))
+                    .collect(Collectors.toUnmodifiableList());
+        } catch (IllegalArgumentException e) {
+            throw new StoreException(CHECK_RECURRENCE_RULE);
+        }
+    }
+
+    // dates 중 매장에서 예약 가능하지 않은 날짜
+    private DateSet notOpen(Store store, DateSet dates) {
+        List<LocalDate> closed = new ArrayList<>();
+        dates.forEach(date -> {
+            if (!store.isOpen(date)) {
+                closed.add(date);
+            }
+        });
+        return closed.size() == dates.size() ? dates : DateSet.of(closed);
+    }
+
+    /**
+     * 예약 가능 날짜 목록을 DateSet 으로 변환
+     * exception : TOO_LONG_RESERVATION_DATES "예약 가능 날짜 범위가 너무 깁니다."
+     * @param dates
+     * @return
+     */
+    private DateSet toDateSet(List<LocalDate> dates) {
+        try {
+            return DateSet.of(dates);
+        } catch (IllegalArgumentException e) {
+            throw new StoreException(TOO_LONG_RESERVATION_DATES);
+        }
+    }
+
     /**
      * 매장 정보 가져옴
      * @param storeId
@@ -232,17 +322,35 @@ public class StoreService {
             throw new StoreException(ALREADY_DELETED_STORE);
         }
 
-        // 매장 예약 상세 정보에 매장이 삭제되었다고 수정
-        reservationRepository.findByStoreId(store.getId())
-                .forEach(reservation -> reservation.changeStatus(Status.STORE_DELETED));
+        // 매장의 예약을 한번의 update 로 매장삭제됨으로 수정 (예약 수와 관계없이 쿼리 하나)
+        int updated = reservationRepository.updateStatusByStoreId(store.getId(), Status.STORE_DELETED, LocalDateTime.now());
+        reservationSheetService.storeDeleted(store.getId());
 
         store.delete(true);
+        storeDetailCache.evict(store.getId());
+        searchPageCache.clear();
+
+        // 예약 고객 알림 등 예약마다 필요한 처리는 커밋 후 chunk 단위로 따로 처리
+        storeDeletionJob.submit(store.getId(), updated);
 
         return StoreDto.builder()
                 .deleted(true)
                 .build();
     }
 
+    /**
+     * 매장 삭제 후속 처리 진행 상황 조회
+     * 삭제 처리 내역이 없는 경우 예외 발생 : NOT_FOUND_STORE_DELETION
+     * @param partnerId
+     * @param id
+     * @return 진행 상태, 처리할 예약 수, 처리한 예약 수
+     */
+    public StoreDeletionDto getStoreDeletion(Long partnerId, Long id) {
+        Store store = getStore(id, partnerId);
+        return storeDeletionJob.getProgress(store.getId())
+                .orElseThrow(() -> new StoreException(NOT_FOUND_STORE_DELETION));
+    }
+
     /**
      * 매장 예약 상세정보 수정
      * @param id
@@ -261,19 +369,17 @@ public class StoreService {
         form.forEach(info -> {
             // 예약 정보가 남아있는 경우 수정 불가능
             StoreReservationInfo storeReservationInfo = checkReservation(info.getId());
-            Map<LocalDate, Integer> dates = new HashMap<>();
             if (info.isExist()) {
-                // 기존에 있던 정보면 수정
+                // 기존에 있던 정보면 수정, 이미 만들어진 현황표 슬롯에도 반영
                 storeReservationInfo.update(info);
+                reservationSheetService.infoUpdated(storeReservationInfo);
             } else {
-                // 없던 정보면 새로 추가
-                store.getDates().forEach(date -> {
-                    dates.put(date, info.getCount());
-                });
+                // 없던 정보면 새로 추가 (날짜별 잔여인원은 처음 예약이 승인될 때 생김)
                 store.getStoreReservationInfos()
-                        .add(StoreReservationInfo.of(id, info, dates));
+                        .add(StoreReservationInfo.of(id, info, new HashMap<>()));
             }
         });
+        storeDetailCache.evict(store.getId());
 
         return StoreDto.from(store);
     }
@@ -310,7 +416,10 @@ public class StoreService {
         // 예약정보 남아있는 경우 삭제 불가능
         form.getIds().forEach(this::checkReservation);
 
+        // 매장의 예약 상세정보 목록에서도 빼서 2차 캐시에 저장된 매장의 목록이 함께 갱신되도록 함
+        store.getStoreReservationInfos().removeIf(info -> form.getIds().contains(info.getId()));
         storeReservationInfoRepository.deleteAllByIdIn(form.getIds());
+        storeDetailCache.evict(store.getId());
         return StoreDto.from(store);
     }
 
@@ -322,15 +431,19 @@ public class StoreService {
      */
     @Transactional
     public StoreReservationInfoDto updateStoreReservationClosed(Long partnerId, UpdateReservationClosed form) {
-        StoreReservationInfo storeReservationInfo = storeReservationInfoRepository.findByIdAndPartnerId(form.getId(), partnerId)
+        // 잔여인원을 바꾸므로 캐시를 거치지 않고 잠금
+        StoreReservationInfo storeReservationInfo = storeReservationInfoRepository.findByIdForUpdate(form.getId())
+                .filter(info -> Objects.equals(info.getPartnerId(), partnerId))
                 .orElseThrow(() -> new StoreException(NOT_FOUND_RESERVATION_INFO));
 
         // 예약 가능한 날짜가아닌데 수정하려고 시도하는 경우 예외 발생 : CANNOT_UPDATE_INFO "예약이 열려있지 않은 날짜입니다."
-        if (!storeReservationInfo.getClosed().containsKey(form.getDate())) {
+        if (!storeReservationInfo.getStore().isOpen(form.getDate())) {
             throw new StoreException(CANNOT_UPDATE_INFO);
         }
 
         storeReservationInfo.updateDateClosed(form.getDate(), form.getClosed());
+        reservationSheetService.remainingChanged(storeReservationInfo, form.getDate());
+        storeDetailCache.evict(storeReservationInfo.getStore().getId());
         return StoreReservationInfoDto.from(storeReservationInfo);
     }
 }
@@ -0,0 +1,78 @@
+package com.zerobase.storereservation.service;
+
+import com.zerobase.storereservation.repository.MemberRepository;
+import com.zerobase.storereservation.repository.StoreRepository;
+import com.zerobase.storereservation.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.transaction.Transactional;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class UniquenessFilter {
+    // 회원 이메일, 매장명 중복 확인 전에 먼저 보는 블룸 필터
+    // 필터에 없으면 db 를 조회하지 않고 바로 중복이 아닌 것으로 처리하고, 있을 수도 있는 경우에만 db 확인
+    // 서버 시작시 db 의 값을 모두 읽어 채우고 이후 가입/매장 등록시 추가
+    // 다른 서버에서 등록된 값은 이 서버의 필터에 없으므로 최종 중복 확인은 db 의 unique 제약조건으로 함
+
+    private final MemberRepository memberRepository;
+    private final StoreRepository storeRepository;
+
+    private final BloomFilter emails;
+    private final BloomFilter storeNames;
+    private volatile boolean ready; // 필터를 다 채우기 전에는 항상 db 확인
+
+    public UniquenessFilter(MemberRepository memberRepository, StoreRepository storeRepository,
+                            @Value("${uniqueness.expected-members:1000000}") long expectedMembers,
+                            @Value("${uniqueness.expected-stores:100000}") long expectedStores,
+                            @Value("${uniqueness.fpp:0.01}") double fpp) {
+        this.memberRepository = memberRepository;
+        this.storeRepository = storeRepository;
+        this.emails = new BloomFilter(expectedMembers, fpp);
+        this.storeNames = new BloomFilter(expectedStores, fpp);
+    }
+
+    /**
+     * 서버 시작시 db 의 이메일, 매장명을 한 행씩 읽어 필터를 채움
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void warmUp() {
+        long start = System.currentTimeMillis();
+        try (Stream<String> stream = memberRepository.streamAllEmails()) {
+            stream.forEach(this::putEmail);
+        }
+        try (Stream<String> stream = storeRepository.streamAllNames()) {
+            stream.forEach(this::putStoreName);
+        }
+        ready = true;
+        log.info("uniqueness filter ready -> {}ms", System.currentTimeMillis() - start);
+    }
+
+    public boolean mightContainEmail(String email) {
+        return !ready || emails.mightContain(normalize(email));
+    }
+
+    public void putEmail(String email) {
+        if (email != null) emails.put(normalize(email));
+    }
+
+    public boolean mightContainStoreName(String name) {
+        return !ready || storeNames.mightContain(normalize(name));
+    }
+
+    public void putStoreName(String name) {
+        if (name != null) storeNames.put(normalize(name));
+    }
+
+    // mysql 의 기본 collation 은 대소문자를 구분하지 않으므로 필터도 같게 맞춤
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}
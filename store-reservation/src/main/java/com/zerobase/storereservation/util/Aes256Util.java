@@ -1,43 +1,93 @@
 package com.zerobase.storereservation.util;
 
-import org.apache.tomcat.util.codec.binary.Base64;
-
 import javax.crypto.Cipher;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
 
 public class Aes256Util {
     // Claim에 id와 이메일 암호화해 저장
+    // 토큰 발급, 인증 요청마다 호출되므로 키는 한번만 만들고
+    // Cipher 와 base64 버퍼는 스레드마다 만들어 재사용
     public static String alg = "AES/CBC/PKCS5Padding";
     private static final String KEY = "ZEROBASEKEYISZEROBASEKEY";
     private static final String IV = KEY.substring(0,16);
 
+    private static final SecretKeySpec SECRET_KEY = new SecretKeySpec(KEY.getBytes(StandardCharsets.UTF_8), "AES");
+    private static final IvParameterSpec IV_SPEC = new IvParameterSpec(IV.getBytes(StandardCharsets.UTF_8));
+    private static final Base64.Encoder ENCODER = Base64.getEncoder();
+    private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+    private static final ThreadLocal<Engine> ENGINE = new ThreadLocal<>();
+
     public static String encrypt(String text) {
         try {
-            Cipher cipher = Cipher.getInstance(alg);
-            SecretKeySpec key = new SecretKeySpec(KEY.getBytes(), "AES");
-            IvParameterSpec iv = new IvParameterSpec(IV.getBytes(StandardCharsets.UTF_8));
-            cipher.init(Cipher.ENCRYPT_MODE, key, iv);
-            byte[] encrypted = cipher.doFinal(text.getBytes(StandardCharsets.UTF_8));
-            return Base64.encodeBase64String(encrypted);
-        }catch (Exception e){
+            return engine().encrypt(text);
+        } catch (Exception e) {
+            // 실패한 Cipher 는 상태를 알 수 없으므로 버리고 다음 호출에서 새로 만듦
+            ENGINE.remove();
             return null;
         }
     }
 
     public static String decrypt(String cipherText) {
-        try{
-            Cipher cipher = Cipher.getInstance(alg);
-            SecretKeySpec key = new SecretKeySpec(KEY.getBytes(), "AES");
-            IvParameterSpec iv = new IvParameterSpec(IV.getBytes(StandardCharsets.UTF_8));
-            cipher.init(Cipher.DECRYPT_MODE, key, iv);
-
-            byte[] decodeBytes = Base64.decodeBase64(cipherText);
-            byte[] decrypted = cipher.doFinal(decodeBytes);
-            return new String(decrypted, StandardCharsets.UTF_8);
-        }catch (Exception e){
+        try {
+            return engine().decrypt(cipherText);
+        } catch (Exception e) {
+            ENGINE.remove();
             return null;
         }
     }
-}
\ No newline at end of file
+
+    private static Engine engine() throws GeneralSecurityException {
+        Engine engine = ENGINE.get();
+        if (engine == null) {
+            engine = new Engine();
+            ENGINE.set(engine);
+        }
+        return engine;
+    }
+
+    private static final class Engine {
+        // 한 스레드에서만 사용하는 암호화/복호화 Cipher 와 버퍼
+        // doFinal 후 Cipher 는 init 된 상태로 돌아가므로 다시 init 하지 않고 재사용
+
+        private final Cipher encryptor;
+        private final Cipher decryptor;
+        private byte[] encoded = new byte[64]; // base64 인코딩 결과
+        private byte[] decoded = new byte[64]; // base64 디코딩 결과
+        private byte[] plain = new byte[64]; // 복호화 결과
+
+        private Engine() throws GeneralSecurityException {
+            encryptor = Cipher.getInstance(alg);
+            encryptor.init(Cipher.ENCRYPT_MODE, SECRET_KEY, IV_SPEC);
+            decryptor = Cipher.getInstance(alg);
+            decryptor.init(Cipher.DECRYPT_MODE, SECRET_KEY, IV_SPEC);
+        }
+
+        private String encrypt(String text) throws GeneralSecurityException {
+            byte[] encrypted = encryptor.doFinal(text.getBytes(StandardCharsets.UTF_8));
+
+            encoded = ensure(encoded, (encrypted.length + 2) / 3 * 4);
+            int length = ENCODER.encode(encrypted, encoded);
+            return new String(encoded, 0, length, StandardCharsets.ISO_8859_1);
+        }
+
+        private String decrypt(String cipherText) throws GeneralSecurityException {
+            byte[] source = cipherText.getBytes(StandardCharsets.ISO_8859_1);
+
+            decoded = ensure(decoded, (source.length + 3) / 4 * 3);
+            int decodedLength = DECODER.decode(source, decoded);
+
+            plain = ensure(plain, decryptor.getOutputSize(decodedLength));
+            int length = decryptor.doFinal(decoded, 0, decodedLength, plain, 0);
+            return new String(plain, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private static byte[] ensure(byte[] buffer, int size) {
+            return buffer.length >= size ? buffer : new byte[Math.max(size, buffer.length * 2)];
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.zerobase.storereservation.util;
 
+import com.zerobase.storereservation.cache.TwoTierCache;
+import com.zerobase.storereservation.cache.TwoTierCacheManager;
+import com.zerobase.storereservation.monitoring.QueryContext;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -13,7 +17,9 @@ import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLEncoder;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,7 +29,68 @@ public class KaKakoApi {
     @Value("${kakao.api.key}")
     private String apiKey; // static 변수면 @Value로 못가져옴
 
+    private static final int MAX_ADDRESSES = 10_000; // 서버 메모리에 캐시할 최대 주소 수
+    private static final Duration COORDINATE_TTL = Duration.ofDays(1);
+
+    // 주소별 좌표 캐시 (서버 메모리, 공유 캐시), 없으면 매번 api 호출
+    private TwoTierCache<List<Float>> coordinates;
+
+    @Autowired
+    public void setCacheManager(TwoTierCacheManager cacheManager) {
+        this.coordinates = cacheManager.create("geocode", MAX_ADDRESSES, COORDINATE_TTL,
+                new TwoTierCache.Codec<>() {
+                    @Override
+                    public byte[] encode(List<Float> coordinate) {
+                        return ByteBuffer.allocate(2 * Float.BYTES)
+                                .putFloat(coordinate.get(0))
+                                .putFloat(coordinate.get(1))
+                                .array();
+                    }
+
+                    @Override
+                    public List<Float> decode(byte[] bytes) {
+                        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                        return List.of(buffer.getFloat(), buffer.getFloat());
+                    }
+                });
+    }
+
     public List<Float> getCoordinateFromApi(String address) throws IOException, ParseException {
+        if (coordinates == null) {
+            return this.timedRequest(address);
+        }
+
+        // 같은 주소를 동시에 요청하면 api 는 한번만 호출, 실패한 결과는 캐시하지 않음
+        try {
+            return coordinates.get(address, () -> {
+                try {
+                    return this.timedRequest(address);
+                } catch (IOException | ParseException e) {
+                    throw new RequestFailedException(e);
+                }
+            });
+        } catch (RequestFailedException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw (ParseException) e.getCause();
+        }
+    }
+
+    private List<Float> timedRequest(String address) throws IOException, ParseException {
+        // 요청별 지표에 api 호출 시간을 따로 기록 (geocoder.time)
+        long start = System.nanoTime();
+        try {
+            return this.requestCoordinate(address);
+        } finally {
+            QueryContext context = QueryContext.current();
+            if (context != null) {
+                context.geocoder(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private List<Float> requestCoordinate(String address) throws IOException, ParseException {
         address = URLEncoder.encode(address, StandardCharsets.UTF_8);
         String apiUrl = "https://dapi.kakao.com/v2/local/search/address.json?query=" + address;
 
@@ -77,4 +144,10 @@ public class KaKakoApi {
         return coordinate;
     }
 
+    // 캐시의 loader 밖으로 api 호출 예외를 전달
+    private static class RequestFailedException extends RuntimeException {
+        private RequestFailedException(Exception cause) {
+            super(cause);
+        }
+    }
 }
@@ -0,0 +1,29 @@
+package com.zerobase.storereservation.util;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public class RatingScore {
+    // 매장 별점 집계(분포, 시간 감쇠 점수, bayesian 평균)에 쓰는 계산
+
+    // bayesian 평균에서 전체 평균 쪽으로 당기는 가상의 후기 수
+    public static final double PRIOR_COUNT = 10;
+
+    // 시간 감쇠는 고정된 기준 시점부터 후기 등록 시점까지 가중치를 키우는 방식(forward decay)으로 계산
+    // 점수 = 가중 별점 합 / 가중치 합 이므로 조회 시점과 상관없이 저장된 값을 그대로 더하고 뺄 수 있음
+    private static final LocalDateTime LANDMARK = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final double HALF_LIFE_DAYS = 180; // 180일 지난 후기는 새 후기의 절반만 반영
+    private static final double LAMBDA = Math.log(2) / Duration.ofDays((long) HALF_LIFE_DAYS).getSeconds();
+
+    // 별점이 들어갈 분포 구간(1~5점)
+    public static int bucket(float rating) {
+        return Math.max(1, Math.min(5, Math.round(rating)));
+    }
+
+    // 해당 시점에 등록된 후기의 가중치
+    // 등록 시간이 없는 경우 현재 시간 기준
+    public static double weight(LocalDateTime at) {
+        LocalDateTime time = at == null ? LocalDateTime.now() : at;
+        return Math.exp(LAMBDA * Duration.between(LANDMARK, time).getSeconds());
+    }
+}
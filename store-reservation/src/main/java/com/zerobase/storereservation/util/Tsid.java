@@ -0,0 +1,63 @@
+package com.zerobase.storereservation.util;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+public class Tsid {
+    // 시간 순서로 증가하는 64bit id (TSID / snowflake)
+    // | 시간(ms, 2024-01-01 부터) 42bit | 서버 번호 10bit | 같은 ms 안의 순번 12bit |
+    // - 서버마다 다른 번호를 쓰면 db 에 묻지 않고 서버에서 바로 겹치지 않는 id 를 만듦 -> hibernate 가 insert 를 묶어서(batch) 보낼 수 있음
+    // - 락 없이 compareAndSet 으로 마지막 (시간, 순번)을 갱신
+    // - 1ms 에 4096개를 넘거나 시계가 뒤로 가면 다음 ms 를 미리 사용해 항상 증가함
+
+    public static final int NODE_BITS = 10;
+    public static final int COUNTER_BITS = 12;
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    private final long node;
+    private final LongSupplier clock;
+    private final AtomicLong last = new AtomicLong(); // 마지막으로 사용한 (시간 << COUNTER_BITS | 순번)
+
+    public Tsid(int node) {
+        this(node, System::currentTimeMillis);
+    }
+
+    public Tsid(int node, LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("node must be between 0 and " + MAX_NODE + " -> " + node);
+        }
+        this.node = node;
+        this.clock = clock;
+    }
+
+    public long next() {
+        while (true) {
+            long previous = last.get();
+            long now = clock.getAsLong() - EPOCH;
+            // 새로운 ms 면 순번 0, 아니면 순번 + 1 (순번이 넘치면 시간 자리로 올라감)
+            long next = now > previous >>> COUNTER_BITS ? now << COUNTER_BITS : previous + 1;
+            if (last.compareAndSet(previous, next)) {
+                return (next >>> COUNTER_BITS) << (NODE_BITS + COUNTER_BITS)
+                        | node << COUNTER_BITS
+                        | (next & COUNTER_MASK);
+            }
+        }
+    }
+
+    /**
+     * id 를 만든 시각 (epoch ms)
+     */
+    public static long millis(long id) {
+        return (id >>> (NODE_BITS + COUNTER_BITS)) + EPOCH;
+    }
+
+    /**
+     * id 를 만든 서버 번호
+     */
+    public static int node(long id) {
+        return (int) ((id >>> COUNTER_BITS) & MAX_NODE);
+    }
+}
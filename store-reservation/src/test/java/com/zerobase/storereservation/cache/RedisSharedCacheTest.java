@@ -0,0 +1,46 @@
+package com.zerobase.storereservation.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RedisSharedCacheTest {
+    // redis 가 없어도 서버가 시작되고 캐시는 서버 메모리와 loader 만으로 동작하는지 확인
+    // 아무것도 받지 않는 포트(1)로 연결
+
+    private final RedisSharedCache shared = new RedisSharedCache("redis://localhost:1", 200);
+
+    @AfterEach
+    void tearDown() {
+        shared.destroy();
+    }
+
+    @Test
+    void startWithoutRedis() {
+        //given
+        TwoTierCache<String> cache = new TwoTierCacheManager(shared).create("test", 100, Duration.ofMinutes(1),
+                new TwoTierCache.Codec<>() {
+                    @Override
+                    public byte[] encode(String value) {
+                        return value.getBytes(StandardCharsets.UTF_8);
+                    }
+
+                    @Override
+                    public String decode(byte[] bytes) {
+                        return new String(bytes, StandardCharsets.UTF_8);
+                    }
+                });
+
+        //when
+        String value = cache.get("key", () -> "value");
+
+        //then
+        assertEquals("value", value);
+        assertThrows(RuntimeException.class, () -> shared.get("key"));
+    }
+}
@@ -0,0 +1,234 @@
+package com.zerobase.storereservation.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.storereservation.domain.store.entity.Store;
+import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
+import com.zerobase.storereservation.domain.store.type.DateSet;
+import com.zerobase.storereservation.repository.StoreRepository;
+import com.zerobase.storereservation.repository.StoreReservationInfoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.zerobase.storereservation.support.SqlStatementCounter.assertSqlBudget;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector"
+        + "=com.zerobase.storereservation.support.SqlStatementCounter")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+    // 2차 캐시는 커밋된 트랜잭션의 결과만 저장하므로 테스트 트랜잭션 없이 트랜잭션마다 커밋
+    // 한번 읽은 매장은 예약 상세정보, 날짜, 잔여인원까지 sql 없이 읽고
+    // 예약 상세정보를 삭제하면 캐시된 매장의 목록에서도 빠지는지 확인
+    // 잔여인원을 바꾸는 조회(findByIdForUpdate)는 캐시 대신 db 의 값을 읽는지 확인
+    // 공유 캐시에 저장할 상세정보, 검색 결과는 다른 서버가 바꾼 db 의 값으로 만드는지 확인
+    // 별점이 바뀌면 해당 매장만 캐시에서 지우고 다른 매장은 그대로 남는지 확인
+
+    @Configuration
+    @EnableJpaAuditing
+    @EntityScan(basePackages = "com.zerobase.storereservation.domain")
+    @EnableJpaRepositories(basePackageClasses = StoreRepository.class)
+    @Import(SecondLevelCacheConfig.class)
+    static class Config {
+    }
+
+    private static final Long PARTNER_ID = 1L;
+    private static final LocalDate DATE = LocalDate.parse("2024-02-01");
+
+    @Autowired
+    private StoreRepository storeRepository;
+    @Autowired
+    private StoreReservationInfoRepository storeReservationInfoRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+
+    private TransactionTemplate transaction;
+    private Long storeId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        storeId = transaction.execute(status -> {
+            Store store = Store.builder()
+                    .partnerId(PARTNER_ID)
+                    .name("매장")
+                    .dates(DateSet.of(DATE))
+                    .storeReservationInfos(new ArrayList<>())
+                    .build();
+            for (int i = 0; i < 2; i++) {
+                Map<LocalDate, Integer> closed = new HashMap<>();
+                closed.put(DATE, 10);
+                store.getStoreReservationInfos().add(StoreReservationInfo.builder()
+                        .partnerId(PARTNER_ID)
+                        .store(store)
+                        .startAt(LocalTime.of(11 + i, 0))
+                        .endAt(LocalTime.of(11 + i, 50))
+                        .count(10)
+                        .closed(closed)
+                        .build());
+            }
+            return storeRepository.save(store).getId();
+        });
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        storeRepository.deleteAll();
+    }
+
+    // 매장과 컬렉션을 모두 읽고 예약 상세정보 수 리턴
+    private int readStore() {
+        return transaction.execute(status -> {
+            Store store = storeRepository.findByIdAndPartnerId(storeId, PARTNER_ID).orElseThrow();
+            store.getDates().size();
+            store.getStoreReservationInfos().forEach(info -> info.getClosed().size());
+            return store.getStoreReservationInfos().size();
+        });
+    }
+
+    @Test
+    void readStoreFromCache() {
+        //given
+        readStore();
+
+        //when
+        int infos = assertSqlBudget(0, () -> readStore());
+
+        //then
+        assertEquals(2, infos);
+        assertTrue(entityManagerFactory.getCache().contains(Store.class, storeId));
+    }
+
+    @Test
+    void evictDeletedReservationInfo() {
+        //given
+        readStore();
+
+        //when
+        transaction.executeWithoutResult(status -> {
+            Store store = storeRepository.findById(storeId).orElseThrow();
+            Long infoId = store.getStoreReservationInfos().get(0).getId();
+            store.getStoreReservationInfos().removeIf(info -> info.getId().equals(infoId));
+            storeReservationInfoRepository.deleteAllByIdIn(List.of(infoId));
+        });
+
+        //then
+        assertEquals(1, readStore());
+    }
+
+    @Test
+    void readRemainingForUpdateFromDb() {
+        //given
+        readStore();
+        Long infoId = transaction.execute(status ->
+                storeRepository.findById(storeId).orElseThrow().getStoreReservationInfos().get(0).getId());
+        // 다른 서버가 승인해서 잔여인원을 바꿈 (이 서버의 2차 캐시에는 이전 값이 남아있음)
+        jdbcTemplate.update("update store_reservation_info_closed set closed = 7 "
+                + "where store_reservation_info_id = ? and closed_key = ?", infoId, DATE);
+
+        //when
+        int cached = transaction.execute(status ->
+                storeReservationInfoRepository.findById(infoId).orElseThrow().remaining(DATE));
+        int forUpdate = transaction.execute(status ->
+                storeReservationInfoRepository.findByIdForUpdate(infoId).orElseThrow().remaining(DATE));
+
+        //then
+        assertEquals(10, cached);
+        assertEquals(7, forUpdate);
+    }
+
+    @Test
+    void loadStoreDetailFromDb() {
+        //given
+        readStore();
+        // 다른 서버가 매장명과 잔여인원을 바꾸고 상세정보 캐시를 지움 (이 서버의 2차 캐시에는 이전 값이 남아있음)
+        jdbcTemplate.update("update store set name = '변경' where id = ?", storeId);
+        jdbcTemplate.update("update store_reservation_info_closed set closed = 7 where closed_key = ?", DATE);
+        StoreDetailCache cache = new StoreDetailCache(new ObjectMapper(), transactionManager, entityManager,
+                new TwoTierCacheManager(new InProcessSharedCache()));
+
+        //when
+        StoreDetail detail = cache.get(storeId, () -> {
+            Store store = storeRepository.findById(storeId).orElseThrow();
+            return Map.of("name", store.getName(),
+                    "remaining", store.getStoreReservationInfos().get(0).remaining(DATE));
+        });
+
+        //then
+        String json = new String(detail.getJson(), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"name\":\"변경\""));
+        assertTrue(json.contains("\"remaining\":7"));
+    }
+
+    @Test
+    void loadSearchPageFromDb() {
+        //given
+        PageRequest pageable = PageRequest.of(0, 10);
+        transaction.execute(status -> storeRepository.findByDeletedOrderByName(false, pageable).getTotalElements());
+        // 다른 서버가 매장을 추가하고 검색 결과 캐시를 지움 (이 서버의 쿼리 캐시에는 이전 결과가 남아있음)
+        jdbcTemplate.update("insert into store (id, partner_id, name, deleted, lon, lat) "
+                + "values (?, ?, '새 매장', false, 0, 0)", storeId + 100, PARTNER_ID);
+        SearchPageCache cache = new SearchPageCache(new ObjectMapper(), transactionManager, entityManager,
+                new TwoTierCacheManager(new InProcessSharedCache()));
+
+        //when
+        byte[] json = cache.get("alphabet", pageable,
+                () -> storeRepository.findByDeletedOrderByName(false, pageable).getContent().size());
+
+        //then
+        assertEquals("2", new String(json, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void evictOnlyRatedStore() {
+        //given
+        Long otherId = transaction.execute(status -> storeRepository.save(Store.builder()
+                .partnerId(PARTNER_ID)
+                .name("다른 매장")
+                .build()).getId());
+        readStore();
+        transaction.execute(status -> storeRepository.findById(otherId).orElseThrow());
+
+        //when
+        transaction.execute(status -> storeRepository.addRating(storeId, 4f, 4, 1.0, 4.0));
+
+        //then
+        assertFalse(entityManagerFactory.getCache().contains(Store.class, storeId));
+        assertTrue(entityManagerFactory.getCache().contains(Store.class, otherId));
+        Store store = transaction.execute(status -> storeRepository.findById(storeId).orElseThrow());
+        assertEquals(4f, store.getRating());
+        assertEquals(1, store.getReviewCount());
+    }
+}
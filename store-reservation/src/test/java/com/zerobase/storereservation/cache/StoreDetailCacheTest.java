@@ -0,0 +1,89 @@
+package com.zerobase.storereservation.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class StoreDetailCacheTest {
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+    @Mock
+    EntityManager entityManager;
+
+    @Test
+    void reuseSerializedDetail() {
+        //given
+        StoreDetailCache cache = new StoreDetailCache(new ObjectMapper(), transactionManager, entityManager,
+                new TwoTierCacheManager(new InProcessSharedCache()));
+        AtomicInteger loads = new AtomicInteger();
+
+        //when
+        StoreDetail first = cache.get(1L, () -> {
+            loads.incrementAndGet();
+            return Map.of("name", "매장");
+        });
+        StoreDetail second = cache.get(1L, () -> {
+            loads.incrementAndGet();
+            return Map.of("name", "매장");
+        });
+
+        //then
+        assertEquals(1, loads.get());
+        assertSame(first.getJson(), second.getJson());
+        assertEquals("{\"name\":\"매장\"}", new String(first.getJson(), StandardCharsets.UTF_8));
+        assertTrue(first.getEtag().startsWith("\""));
+    }
+
+    @Test
+    void reloadAfterEvict() {
+        //given
+        StoreDetailCache cache = new StoreDetailCache(new ObjectMapper(), transactionManager, entityManager,
+                new TwoTierCacheManager(new InProcessSharedCache()));
+        StoreDetail before = cache.get(1L, () -> Map.of("rating", 3));
+
+        //when
+        cache.evict(1L);
+        StoreDetail after = cache.get(1L, () -> Map.of("rating", 4));
+        StoreDetail other = cache.get(2L, () -> Map.of("rating", 3));
+
+        //then
+        assertNotEquals(before.getEtag(), after.getEtag());
+        assertEquals(before.getEtag(), other.getEtag());
+    }
+
+    @Test
+    void evictAfterTransactionCompletion() {
+        //given
+        StoreDetailCache cache = new StoreDetailCache(new ObjectMapper(), transactionManager, entityManager,
+                new TwoTierCacheManager(new InProcessSharedCache()));
+        StoreDetail before = cache.get(1L, () -> Map.of("rating", 3));
+
+        //when
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evict(1L);
+            // 트랜잭션이 끝나기 전에는 캐시된 내용 그대로
+            assertSame(before, cache.get(1L, () -> Map.of("rating", 4)));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(0));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        //then
+        assertNotEquals(before.getEtag(), cache.get(1L, () -> Map.of("rating", 4)).getEtag());
+    }
+}
@@ -0,0 +1,191 @@
+package com.zerobase.storereservation.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoTierCacheTest {
+    // 같은 InProcessSharedCache 를 쓰는 TwoTierCacheManager 두 개를 서버 두 대로 사용
+
+    private static final TwoTierCache.Codec<String> CODEC = new TwoTierCache.Codec<>() {
+        @Override
+        public byte[] encode(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    private final SharedCache shared = new InProcessSharedCache();
+    private final TwoTierCache<String> first = new TwoTierCacheManager(shared).create("test", 100, Duration.ofMinutes(1), CODEC);
+    private final TwoTierCache<String> second = new TwoTierCacheManager(shared).create("test", 100, Duration.ofMinutes(1), CODEC);
+
+    @Test
+    void loadOnceForConcurrentRequests() throws Exception {
+        //given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        //when
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> first.get("store", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "value";
+        })));
+        loading.await();
+        for (int i = 0; i < 7; i++) {
+            results.add(executor.submit(() -> first.get("store", () -> {
+                loads.incrementAndGet();
+                return "other";
+            })));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        //then
+        for (Future<String> result : results) {
+            assertEquals("value", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        executor.shutdown();
+    }
+
+    @Test
+    void shareLoadedValueBetweenNodes() {
+        //given
+        first.get("store", () -> "value");
+
+        //when
+        String value = second.get("store", () -> "other");
+
+        //then
+        assertEquals("value", value);
+    }
+
+    @Test
+    void evictOnAllNodes() {
+        //given
+        first.get("store", () -> "old");
+        second.get("store", () -> "old");
+
+        //when
+        first.evict("store");
+
+        //then
+        assertEquals("new", second.get("store", () -> "new"));
+        assertEquals("new", first.get("store", () -> "other"));
+    }
+
+    @Test
+    void clearOnAllNodes() {
+        //given
+        first.get("a", () -> "old");
+        second.get("b", () -> "old");
+
+        //when
+        second.clear();
+
+        //then
+        assertEquals("new", first.get("a", () -> "new"));
+        assertEquals("new", first.get("b", () -> "new"));
+    }
+
+    @Test
+    void notCacheEvictedWhileLoading() {
+        //given
+        //when
+        String loaded = first.get("store", () -> {
+            second.evict("store");
+            return "old";
+        });
+
+        //then
+        assertEquals("old", loaded);
+        assertEquals("new", first.get("store", () -> "new"));
+    }
+
+    @Test
+    void notShareLoadedBeforeEvictOnOtherNode() {
+        //given
+        // 삭제 알림을 받지 못하는 서버 (알림이 늦게 도착하는 경우)
+        SharedCache noNotification = new SharedCache() {
+            @Override
+            public byte[] get(String key) {
+                return shared.get(key);
+            }
+
+            @Override
+            public void put(String key, byte[] value, Duration ttl) {
+                shared.put(key, value, ttl);
+            }
+
+            @Override
+            public void delete(String key) {
+                shared.delete(key);
+            }
+
+            @Override
+            public long increment(String key) {
+                return shared.increment(key);
+            }
+
+            @Override
+            public void publish(String channel, String message) {
+                shared.publish(channel, message);
+            }
+
+            @Override
+            public void subscribe(String channel, Consumer<String> listener) {
+            }
+        };
+        TwoTierCache<String> late = new TwoTierCacheManager(noNotification).create("test", 100, Duration.ofMinutes(1), CODEC);
+
+        //when
+        String loaded = late.get("store", () -> {
+            first.evict("store");
+            return "old";
+        });
+
+        //then
+        assertEquals("old", loaded);
+        assertEquals("new", first.get("store", () -> "new"));
+        assertEquals("new", second.get("store", () -> "other"));
+    }
+
+    @Test
+    void notCacheFailedLoad() {
+        //given
+        assertThrows(IllegalStateException.class, () -> first.get("store", () -> {
+            throw new IllegalStateException();
+        }));
+
+        //when
+        String value = first.get("store", () -> "value");
+
+        //then
+        assertEquals("value", value);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.zerobase.storereservation.datasource;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.zerobase.storereservation.security.MemberPrincipal;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.SharedCacheMode;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoutingDataSourceTest {
+    // 원본/복제 내장 db 두 개로 확인
+    // 복제 db 는 replicate() 를 호출해야 원본의 내용이 반영됨 (복제 지연)
+    // 2차 캐시는 store 테이블을 CachedStore 엔티티(datasource/cached-store-orm.xml)로 읽어서 확인
+
+    private static final Duration READ_YOUR_WRITES = Duration.ofMillis(200);
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = embedded("primary");
+        replica = embedded("replica");
+        for (DataSource dataSource : List.of(primary, replica)) {
+            new JdbcTemplate(dataSource).execute("create table store (id bigint primary key, name varchar(50))");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readYourWritesOnPrimary() {
+        //given
+        RoutingDataSource routing = new RoutingDataSource(primary, List.of(replica), new RecentWrites(READ_YOUR_WRITES));
+
+        //when
+        login(1L);
+        write(routing, "insert into store values (1, '매장')");
+
+        //then
+        assertEquals(1, count(routing));
+        login(2L);
+        assertEquals(0, count(routing));
+        assertEquals(1, routing.getPrimaryReads());
+        assertEquals(1, routing.getReplicaReads());
+    }
+
+    @Test
+    void readReplicaAfterWindow() throws InterruptedException {
+        //given
+        RoutingDataSource routing = new RoutingDataSource(primary, List.of(replica), new RecentWrites(READ_YOUR_WRITES));
+        login(1L);
+        write(routing, "insert into store values (1, '매장')");
+
+        //when
+        Thread.sleep(READ_YOUR_WRITES.toMillis() * 2);
+        long beforeReplication = count(routing);
+        replicate();
+        long afterReplication = count(routing);
+
+        //then
+        assertEquals(0, beforeReplication);
+        assertEquals(1, afterReplication);
+    }
+
+    @Test
+    void primaryReadForCache() {
+        //given
+        RoutingDataSource routing = new RoutingDataSource(primary, List.of(replica), new RecentWrites(READ_YOUR_WRITES));
+        write(routing, "insert into store values (1, '매장')");
+
+        //when
+        long count = PrimaryRead.call(() -> count(routing));
+
+        //then
+        assertEquals(1, count);
+    }
+
+    @Test
+    void fallbackToPrimaryWhenReplicaFails() {
+        //given
+        DataSource broken = new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                throw new SQLException("replica down");
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return getConnection();
+            }
+        };
+        RoutingDataSource routing = new RoutingDataSource(primary, List.of(broken), new RecentWrites(READ_YOUR_WRITES));
+        write(routing, "insert into store values (1, '매장')");
+
+        //when
+        long count = count(routing);
+
+        //then
+        assertEquals(1, count);
+        assertEquals(1, routing.getReplicaFailures());
+    }
+
+    @Test
+    void replicaReadNotCached() {
+        //given
+        RoutingDataSource routing = new RoutingDataSource(primary, List.of(replica), new RecentWrites(READ_YOUR_WRITES));
+        write(routing, "insert into store values (1, '매장')");
+        replicate();
+        write(routing, "update store set name = '변경' where id = 1");
+        LocalContainerEntityManagerFactoryBean factory = entityManagerFactory(routing);
+        EntityManagerFactory entityManagerFactory = factory.getObject();
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+
+        try {
+            //when
+            String replicaName = findName(transactionManager, entityManagerFactory);
+            boolean cachedAfterReplica = entityManagerFactory.getCache().contains(CachedStore.class, 1L);
+            String primaryName = PrimaryRead.call(() -> findName(transactionManager, entityManagerFactory));
+            boolean cachedAfterPrimary = entityManagerFactory.getCache().contains(CachedStore.class, 1L);
+            String cachedName = findName(transactionManager, entityManagerFactory);
+
+            //then
+            assertEquals("매장", replicaName);
+            assertFalse(cachedAfterReplica);
+            assertEquals("변경", primaryName);
+            assertTrue(cachedAfterPrimary);
+            assertEquals("변경", cachedName);
+        } finally {
+            factory.destroy();
+        }
+    }
+
+    private static DataSource embedded(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static void login(Long memberId) {
+        MemberPrincipal principal = new MemberPrincipal(memberId, "user" + memberId + "@gmail.com",
+                Collections.singletonList("ROLE_CUSTOMER"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static void write(RoutingDataSource routing, String sql) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+                .executeWithoutResult(status -> new JdbcTemplate(dataSource).update(sql));
+    }
+
+    private static long count(RoutingDataSource routing) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(true);
+        return transaction.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("select count(*) from store", Long.class));
+    }
+
+    private static String findName(JpaTransactionManager transactionManager, EntityManagerFactory entityManagerFactory) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> EntityManagerFactoryUtils
+                .getTransactionalEntityManager(entityManagerFactory).find(CachedStore.class, 1L).getName());
+    }
+
+    // 캐시 영역은 테스트마다 새로 만든 CacheManager 에 생성
+    private static LocalContainerEntityManagerFactoryBean entityManagerFactory(RoutingDataSource routing) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(AvailableSettings.DIALECT, H2Dialect.class.getName());
+        properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+        properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+        properties.put(ConfigSettings.CACHE_MANAGER, new CaffeineCachingProvider().getCacheManager());
+        properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create");
+        properties.put(AvailableSettings.DEFAULT_CACHE_CONCURRENCY_STRATEGY, "read-write");
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(new LazyConnectionDataSourceProxy(routing));
+        factory.setMappingResources("datasource/cached-store-orm.xml");
+        factory.setSharedCacheMode(SharedCacheMode.ENABLE_SELECTIVE);
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaDialect(new ReplicaCacheJpaDialect(routing));
+        factory.setJpaPropertyMap(properties);
+        factory.afterPropertiesSet();
+        return factory;
+    }
+
+    private void replicate() {
+        JdbcTemplate target = new JdbcTemplate(replica);
+        target.update("delete from store");
+        new JdbcTemplate(primary).query("select id, name from store", row -> {
+            target.update("insert into store values (?, ?)", row.getLong("id"), row.getString("name"));
+        });
+    }
+
+    // 매핑은 datasource/cached-store-orm.xml (read-write 2차 캐시)
+    @Getter
+    @NoArgsConstructor
+    static class CachedStore {
+        private Long id;
+        private String name;
+    }
+}
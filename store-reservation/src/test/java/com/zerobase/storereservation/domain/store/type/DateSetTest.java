@@ -0,0 +1,79 @@
+package com.zerobase.storereservation.domain.store.type;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateSetTest {
+
+    private static final LocalDate FIRST = LocalDate.parse("2024-07-01");
+
+    @Test
+    void successContains() {
+        //given
+        DateSet dates = DateSet.of(FIRST.plusDays(2), FIRST, FIRST.plusDays(2), FIRST.plusDays(100));
+
+        //when
+        //then
+        assertEquals(3, dates.size());
+        assertTrue(dates.contains(FIRST));
+        assertTrue(dates.contains(FIRST.plusDays(100)));
+        assertFalse(dates.contains(FIRST.plusDays(1)));
+        assertFalse(dates.contains(FIRST.minusDays(1)));
+        assertFalse(dates.contains(FIRST.plusDays(1000)));
+        assertEquals(Arrays.asList(FIRST, FIRST.plusDays(2), FIRST.plusDays(100)), dates.toList());
+    }
+
+    @Test
+    void successBytes() {
+        //given
+        // 1년치 예약 가능 날짜 (일요일 휴무)
+        List<LocalDate> year = new ArrayList<>();
+        for (int i = 0; i < 365; i++) {
+            if (FIRST.plusDays(i).getDayOfWeek().getValue() != 7) {
+                year.add(FIRST.plusDays(i));
+            }
+        }
+        DateSet dates = DateSet.of(year);
+
+        //when
+        byte[] bytes = dates.toBytes();
+        DateSet restored = DateSet.fromBytes(bytes);
+
+        //then
+        assertTrue(bytes.length <= 4 + 46);
+        assertEquals(dates, restored);
+        assertEquals(year, restored.toList());
+        assertEquals(DateSet.empty(), DateSet.fromBytes(DateSet.empty().toBytes()));
+    }
+
+    @Test
+    void successMinus() {
+        //given
+        DateSet before = DateSet.of(FIRST, FIRST.plusDays(1), FIRST.plusDays(2));
+        DateSet after = DateSet.of(FIRST.plusDays(1), FIRST.plusDays(2), FIRST.plusDays(3));
+
+        //when
+        DateSet removed = before.minus(after);
+        DateSet added = after.minus(before);
+
+        //then
+        assertEquals(DateSet.of(FIRST), removed);
+        assertEquals(DateSet.of(FIRST.plusDays(3)), added);
+        assertTrue(before.minus(before).isEmpty());
+    }
+
+    @Test
+    void failTooLongRange() {
+        //given
+        //when
+        //then
+        assertThrows(IllegalArgumentException.class,
+                () -> DateSet.of(FIRST, FIRST.plusDays(DateSet.MAX_DAYS)));
+    }
+}
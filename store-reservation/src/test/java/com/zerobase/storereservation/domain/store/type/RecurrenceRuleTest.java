@@ -0,0 +1,59 @@
+package com.zerobase.storereservation.domain.store.type;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceRuleTest {
+
+    @Test
+    void successMatches() {
+        //given
+        // 2024-07-01 월요일
+        RecurrenceRule rule = RecurrenceRule.of(LocalDate.parse("2024-07-01"), LocalDate.parse("2024-07-31"),
+                List.of(DayOfWeek.MONDAY, DayOfWeek.SUNDAY));
+
+        //when
+        //then
+        assertTrue(rule.matches(LocalDate.parse("2024-07-01")));
+        assertTrue(rule.matches(LocalDate.parse("2024-07-07")));
+        assertFalse(rule.matches(LocalDate.parse("2024-07-02")));
+        assertFalse(rule.matches(LocalDate.parse("2024-06-30")));
+        assertFalse(rule.matches(LocalDate.parse("2024-08-05")));
+        assertEquals(List.of(DayOfWeek.MONDAY, DayOfWeek.SUNDAY), rule.getWeekdays());
+    }
+
+    @Test
+    void successConvert() {
+        //given
+        RecurrenceRuleConverter converter = new RecurrenceRuleConverter();
+        List<RecurrenceRule> rules = List.of(
+                RecurrenceRule.of(LocalDate.parse("2024-07-01"), LocalDate.parse("2024-12-31"),
+                        List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY)),
+                RecurrenceRule.of(LocalDate.parse("2025-01-01"), null, List.of(DayOfWeek.SATURDAY)));
+
+        //when
+        String value = converter.convertToDatabaseColumn(rules);
+
+        //then
+        assertEquals("2024-07-01~2024-12-31:1110000;2025-01-01~:0000010", value);
+        assertEquals(rules, converter.convertToEntityAttribute(value));
+        assertTrue(value.length() <= RecurrenceRule.MAX_LENGTH);
+        assertEquals(List.of(), converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    void failInvalidRule() {
+        //given
+        //when
+        //then
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.of(LocalDate.parse("2024-07-31"),
+                LocalDate.parse("2024-07-01"), List.of(DayOfWeek.MONDAY)));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.of(LocalDate.parse("2024-07-01"),
+                null, List.of()));
+    }
+}
@@ -0,0 +1,86 @@
+package com.zerobase.storereservation.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogBufferTest {
+
+    @Test
+    void successDrain_IN_ORDER() {
+        //given
+        AccessLogBuffer buffer = new AccessLogBuffer(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.publish(i, "GET", "/api/store", i, 200, 0);
+        }
+
+        //when
+        List<Long> memberIds = new ArrayList<>();
+        int first = buffer.drain((timestamp, method, uri, memberId, status, latencyNanos) -> memberIds.add(memberId), 3);
+        int second = buffer.drain((timestamp, method, uri, memberId, status, latencyNanos) -> memberIds.add(memberId), 10);
+
+        //then
+        assertEquals(3, first);
+        assertEquals(2, second);
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), memberIds);
+    }
+
+    @Test
+    void failPublish_FULL() {
+        //given
+        AccessLogBuffer buffer = new AccessLogBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.publish(i, "GET", "/api/store", i, 200, 0));
+        }
+
+        //when
+        boolean published = buffer.publish(4, "GET", "/api/store", 4, 200, 0);
+
+        //then
+        assertFalse(published);
+        assertEquals(1, buffer.getDropped());
+        // 읽고 나면 다시 쓸 수 있음
+        buffer.drain((timestamp, method, uri, memberId, status, latencyNanos) -> { }, 1);
+        assertTrue(buffer.publish(5, "GET", "/api/store", 5, 200, 0));
+    }
+
+    @Test
+    void successPublish_CONCURRENT() throws Exception {
+        //given
+        AccessLogBuffer buffer = new AccessLogBuffer(1024);
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        //when
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    buffer.publish(i, "GET", "/api/store", i, 200, 0);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        long[] read = new long[1];
+        while (!executor.awaitTermination(1, TimeUnit.MILLISECONDS)) {
+            read[0] += buffer.drain((timestamp, method, uri, memberId, status, latencyNanos) -> assertEquals("GET", method), 512);
+        }
+        read[0] += buffer.drain((timestamp, method, uri, memberId, status, latencyNanos) -> assertEquals("GET", method), Integer.MAX_VALUE);
+
+        //then
+        // 읽은 수와 버린 수의 합은 쓴 수와 같음
+        assertEquals((long) threads * perThread, read[0] + buffer.getDropped());
+    }
+}
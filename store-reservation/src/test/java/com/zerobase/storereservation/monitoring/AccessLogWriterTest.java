@@ -0,0 +1,85 @@
+package com.zerobase.storereservation.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogWriterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void successWriteBatch() throws Exception {
+        //given
+        // 기록 스레드를 시작하지 않고 writeBatch 를 직접 호출
+        Path path = dir.resolve("access.log");
+        AccessLogWriter writer = new AccessLogWriter(new SimpleMeterRegistry(), true, path.toString(), 16, 1024 * 1024, 2);
+        writer.log("GET", "/api/store/{storeId}", 1L, 200, TimeUnit.MICROSECONDS.toNanos(3512));
+        writer.log("POST", "/api/member/signin", -1, 401, TimeUnit.MICROSECONDS.toNanos(40));
+
+        //when
+        int count = writer.writeBatch();
+        writer.shutdown();
+
+        //then
+        assertEquals(2, count);
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).matches("\\{\"ts\":\"\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}Z\",.*"));
+        assertTrue(lines.get(0).endsWith("\"method\":\"GET\",\"uri\":\"/api/store/{storeId}\",\"memberId\":1,\"status\":200,\"latencyMs\":3.512}"));
+        assertTrue(lines.get(1).endsWith("\"method\":\"POST\",\"uri\":\"/api/member/signin\",\"memberId\":null,\"status\":401,\"latencyMs\":0.040}"));
+    }
+
+    @Test
+    void successWriteBatch_DROP() throws Exception {
+        //given
+        Path path = dir.resolve("access.log");
+        AccessLogWriter writer = new AccessLogWriter(new SimpleMeterRegistry(), true, path.toString(), 4, 1024 * 1024, 2);
+
+        //when
+        // 버퍼(4개)가 가득 차면 요청 스레드를 기다리게 하지 않고 버림
+        for (int i = 0; i < 6; i++) {
+            writer.log("GET", "/api/store", i, 200, 1000);
+        }
+        writer.shutdown();
+
+        //then
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(3).contains("\"memberId\":3,"));
+    }
+
+    @Test
+    void successWriteBatch_ROTATE() throws Exception {
+        //given
+        // 파일 크기를 작게 잡아 배치마다 파일을 넘김
+        Path path = dir.resolve("access.log");
+        AccessLogWriter writer = new AccessLogWriter(new SimpleMeterRegistry(), true, path.toString(), 16, 100, 2);
+
+        //when
+        List<Integer> counts = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            writer.log("GET", "/api/store", i, 200, 1000);
+            counts.add(writer.writeBatch());
+        }
+        writer.shutdown();
+
+        //then
+        // 가장 최근 2개만 남기고 오래된 파일은 삭제
+        assertEquals(List.of(1, 1, 1, 1), counts);
+        assertEquals(0, Files.size(path));
+        assertTrue(Files.readString(dir.resolve("access.log.1")).contains("\"memberId\":3,"));
+        assertTrue(Files.readString(dir.resolve("access.log.2")).contains("\"memberId\":2,"));
+        assertFalse(Files.exists(dir.resolve("access.log.3")));
+    }
+}
@@ -0,0 +1,89 @@
+package com.zerobase.storereservation.monitoring;
+
+import com.zerobase.storereservation.domain.reservation.entity.ReservationSheetSlot;
+import com.zerobase.storereservation.domain.reservation.form.MakeReservation;
+import com.zerobase.storereservation.exception.ReservationException;
+import com.zerobase.storereservation.service.ReservationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import static com.zerobase.storereservation.exception.ErrorCode.ALREADY_MAKE_RESERVATION;
+import static com.zerobase.storereservation.exception.ErrorCode.OVER_RESERVATION_COUNT;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class ServiceMetricsAspectTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ServiceMetricsAspect aspect = new ServiceMetricsAspect(meterRegistry);
+
+    private ProceedingJoinPoint joinPoint;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MethodSignature signature = mock(MethodSignature.class);
+        given(signature.getMethod())
+                .willReturn(ReservationService.class.getMethod("makeReservation", Long.class, MakeReservation.class));
+        joinPoint = mock(ProceedingJoinPoint.class);
+        given(joinPoint.getSignature()).willReturn(signature);
+    }
+
+    @Test
+    void successRecord() throws Throwable {
+        //given
+        given(joinPoint.proceed()).willReturn("result");
+
+        //when
+        Object first = aspect.record(joinPoint);
+        Object second = aspect.record(joinPoint);
+
+        //then
+        assertEquals("result", first);
+        assertEquals("result", second);
+        assertEquals(2, meterRegistry.timer("service.method",
+                "class", "ReservationService", "method", "makeReservation", "outcome", "success").count());
+    }
+
+    @Test
+    void failRecord_CAPACITY() throws Throwable {
+        //given
+        given(joinPoint.proceed()).willThrow(new ReservationException(OVER_RESERVATION_COUNT));
+
+        //when
+        assertThrows(ReservationException.class, () -> aspect.record(joinPoint));
+
+        //then
+        assertEquals(1, meterRegistry.timer("service.method",
+                "class", "ReservationService", "method", "makeReservation", "outcome", "ReservationException").count());
+        assertEquals(1, meterRegistry.counter("reservation.contention", "reason", "OVER_RESERVATION_COUNT").count());
+    }
+
+    @Test
+    void failRecord_LOCK() throws Throwable {
+        //given
+        given(joinPoint.proceed()).willThrow(new ObjectOptimisticLockingFailureException(ReservationSheetSlot.class, 1L));
+
+        //when
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> aspect.record(joinPoint));
+
+        //then
+        assertEquals(1, meterRegistry.counter("reservation.contention", "reason", "OPTIMISTIC_LOCK").count());
+    }
+
+    @Test
+    void failRecord_NOT_CONTENTION() throws Throwable {
+        //given
+        given(joinPoint.proceed()).willThrow(new ReservationException(ALREADY_MAKE_RESERVATION));
+
+        //when
+        assertThrows(ReservationException.class, () -> aspect.record(joinPoint));
+
+        //then
+        // 인원/락과 관계없는 실패는 세지 않음
+        assertNull(meterRegistry.find("reservation.contention").counter());
+    }
+}
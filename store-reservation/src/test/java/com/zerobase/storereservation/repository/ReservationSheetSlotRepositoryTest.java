@@ -0,0 +1,163 @@
+package com.zerobase.storereservation.repository;
+
+import com.zerobase.storereservation.domain.reservation.entity.ReservationSheetSlot;
+import com.zerobase.storereservation.domain.store.entity.Store;
+import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.zerobase.storereservation.domain.reservation.type.Status.APPROVED;
+import static com.zerobase.storereservation.domain.reservation.type.Status.PENDING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+class ReservationSheetSlotRepositoryTest {
+    // 현황표 슬롯의 증감이 db 의 update 한번으로 맞게 계산되는지 확인
+
+    @Configuration
+    @EnableJpaAuditing
+    @EntityScan(basePackages = "com.zerobase.storereservation.domain")
+    @EnableJpaRepositories(basePackageClasses = ReservationSheetSlotRepository.class)
+    static class Config {
+    }
+
+    private static final LocalDate DATE = LocalDate.parse("2024-02-01");
+
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private ReservationSheetSlotRepository reservationSheetSlotRepository;
+
+    @BeforeEach
+    void setUp() {
+        em.persistAndFlush(slot());
+        em.clear();
+    }
+
+    private static ReservationSheetSlot slot() {
+        return ReservationSheetSlot.builder()
+                .storeId(1L)
+                .partnerId(1L)
+                .storeReservationInfoId(1L)
+                .reservationDate(DATE)
+                .capacity(20)
+                .remaining(20)
+                .build();
+    }
+
+    private ReservationSheetSlot reload() {
+        em.clear();
+        return reservationSheetSlotRepository.findByStoreReservationInfoIdAndReservationDate(1L, DATE).get();
+    }
+
+    @Test
+    void addCounts() {
+        //when
+        reservationSheetSlotRepository.addCounts(1L, DATE, ReservationSheetSlot.Counts.reserved(3));
+        reservationSheetSlotRepository.addCounts(1L, DATE, ReservationSheetSlot.Counts.reserved(2));
+        reservationSheetSlotRepository.addCounts(1L, DATE, ReservationSheetSlot.Counts.statusChanged(PENDING, APPROVED, 3));
+        reservationSheetSlotRepository.addCounts(1L, DATE, ReservationSheetSlot.Counts.visited());
+
+        //then
+        ReservationSheetSlot slot = reload();
+        assertEquals(1, slot.getPendingCount());
+        assertEquals(2, slot.getPendingHeadCount());
+        assertEquals(1, slot.getApprovedCount());
+        assertEquals(3, slot.getApprovedHeadCount());
+        assertEquals(1, slot.getVisitedCount());
+        assertEquals(4, slot.getVersion());
+    }
+
+    @Test
+    void addCounts_NO_SLOT() {
+        //when
+        int updated = reservationSheetSlotRepository.addCounts(2L, DATE, ReservationSheetSlot.Counts.reserved(3));
+
+        //then
+        assertEquals(0, updated);
+    }
+
+    @Test
+    void updateRemaining() {
+        //when
+        reservationSheetSlotRepository.updateRemaining(1L, DATE, 17);
+
+        //then
+        ReservationSheetSlot slot = reload();
+        assertEquals(17, slot.getRemaining());
+        assertEquals(1, slot.getVersion());
+    }
+
+    @Test
+    void updateInfo() {
+        //given
+        // 2024-02-02 는 날짜별 잔여인원(5)이 저장된 날짜
+        LocalDate closedDate = DATE.plusDays(1);
+        Map<LocalDate, Integer> closed = new HashMap<>();
+        closed.put(closedDate, 5);
+        Store store = em.persist(Store.builder().partnerId(1L).name("매장").build());
+        StoreReservationInfo info = em.persist(StoreReservationInfo.builder()
+                .partnerId(1L)
+                .store(store)
+                .startAt(LocalTime.parse("12:00"))
+                .endAt(LocalTime.parse("13:00"))
+                .count(20)
+                .closed(closed)
+                .build());
+        for (LocalDate date : List.of(DATE, closedDate)) {
+            em.persist(ReservationSheetSlot.builder()
+                    .storeId(store.getId())
+                    .partnerId(1L)
+                    .storeReservationInfoId(info.getId())
+                    .reservationDate(date)
+                    .startAt(LocalTime.parse("12:00"))
+                    .endAt(LocalTime.parse("13:00"))
+                    .capacity(20)
+                    .remaining(date.equals(DATE) ? 20 : 5)
+                    .build());
+        }
+        em.flush();
+        em.clear();
+
+        //when
+        reservationSheetSlotRepository.updateInfo(info.getId(), LocalTime.parse("14:00"), LocalTime.parse("15:00"), 30);
+        reservationSheetSlotRepository.updateRemainingToCapacity(info.getId());
+
+        //then
+        em.clear();
+        ReservationSheetSlot open = reservationSheetSlotRepository
+                .findByStoreReservationInfoIdAndReservationDate(info.getId(), DATE).get();
+        ReservationSheetSlot saved = reservationSheetSlotRepository
+                .findByStoreReservationInfoIdAndReservationDate(info.getId(), closedDate).get();
+        assertEquals(LocalTime.parse("14:00"), open.getStartAt());
+        assertEquals(LocalTime.parse("15:00"), open.getEndAt());
+        assertEquals(30, open.getCapacity());
+        assertEquals(30, open.getRemaining());
+        assertEquals(1, open.getVersion());
+        assertEquals(30, saved.getCapacity());
+        assertEquals(5, saved.getRemaining());
+    }
+
+    @Test
+    void failSave_DUPLICATE_SLOT() {
+        //when
+        //then
+        assertThrows(DataIntegrityViolationException.class,
+                () -> reservationSheetSlotRepository.saveAndFlush(slot()));
+    }
+}
@@ -0,0 +1,150 @@
+package com.zerobase.storereservation.repository;
+
+import com.zerobase.storereservation.domain.store.entity.Store;
+import com.zerobase.storereservation.domain.store.type.DateSet;
+import com.zerobase.storereservation.util.RatingScore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class StoreRepositoryTest {
+    // 별점 증감이 db 의 update 한번으로 맞게 계산되는지 확인
+
+    @Configuration
+    @EnableJpaAuditing
+    @EntityScan(basePackages = "com.zerobase.storereservation.domain")
+    @EnableJpaRepositories(basePackageClasses = StoreRepository.class)
+    static class Config {
+    }
+
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private StoreRepository storeRepository;
+
+    private Long storeId;
+
+    @BeforeEach
+    void setUp() {
+        storeId = em.persistAndFlush(Store.builder()
+                .partnerId(1L)
+                .name("매장")
+                .dates(DateSet.empty())
+                .storeReservationInfos(new ArrayList<>())
+                .build()).getId();
+        em.clear();
+    }
+
+    private int add(float rating) {
+        return storeRepository.addRating(storeId, rating, RatingScore.bucket(rating), 1.0, rating);
+    }
+
+    private Store reload() {
+        em.clear();
+        return em.find(Store.class, storeId);
+    }
+
+    @Test
+    void addRating() {
+        //when
+        add(4f);
+        add(3f);
+
+        //then
+        Store store = reload();
+        assertEquals(2, store.getReviewCount());
+        assertEquals(7f, store.getReviewSum());
+        assertEquals(3.5f, store.getRating());
+        assertEquals(Arrays.asList(0L, 0L, 1L, 1L, 0L), store.getRatingHistogram());
+        assertEquals(7.0, store.getDecayedSum());
+        assertEquals(2.0, store.getDecayedWeight());
+    }
+
+    @Test
+    void changeRating() {
+        //given
+        add(4f);
+        add(3f);
+
+        //when
+        storeRepository.changeRating(storeId, 3f, 5f, 3, 5, 2.0);
+
+        //then
+        Store store = reload();
+        assertEquals(2, store.getReviewCount());
+        assertEquals(9f, store.getReviewSum());
+        assertEquals(4.5f, store.getRating());
+        assertEquals(Arrays.asList(0L, 0L, 0L, 1L, 1L), store.getRatingHistogram());
+        assertEquals(9.0, store.getDecayedSum());
+    }
+
+    @Test
+    void removeRating_LAST_REVIEW() {
+        //given
+        add(4f);
+
+        //when
+        int updated = storeRepository.removeRating(storeId, 4f, 4, 1.0, 4.0);
+
+        //then
+        Store store = reload();
+        assertEquals(1, updated);
+        assertEquals(0, store.getReviewCount());
+        assertEquals(0f, store.getReviewSum());
+        assertEquals(0f, store.getRating());
+        assertEquals(Arrays.asList(0L, 0L, 0L, 0L, 0L), store.getRatingHistogram());
+        assertEquals(0.0, store.getDecayedWeight());
+    }
+
+    @Test
+    void addRating_NOT_FOUND_STORE() {
+        //when
+        int updated = storeRepository.addRating(storeId + 1, 4f, 4, 1.0, 4.0);
+
+        //then
+        assertEquals(0, updated);
+    }
+
+    @Test
+    void backfillRating() {
+        //given
+        Long oldStoreId = em.persistAndFlush(Store.builder()
+                .partnerId(1L)
+                .name("이전 매장")
+                .dates(DateSet.empty())
+                .storeReservationInfos(new ArrayList<>())
+                .reviewCount(2)
+                .reviewSum(9f)
+                .rating(4.5f)
+                .build()).getId();
+        add(4f);
+        em.clear();
+
+        //when
+        List<Long> before = storeRepository.findIdsWithoutRatingHistogram();
+        storeRepository.backfillRating(oldStoreId, 4.5f, 9f, 2, 0, 0, 0, 1, 1, 9.0, 2.0);
+
+        //then
+        assertEquals(Collections.singletonList(oldStoreId), before);
+        assertTrue(storeRepository.findIdsWithoutRatingHistogram().isEmpty());
+        em.clear();
+        Store store = em.find(Store.class, oldStoreId);
+        assertEquals(Arrays.asList(0L, 0L, 0L, 1L, 1L), store.getRatingHistogram());
+        assertEquals(2.0, store.getDecayedWeight());
+    }
+}
@@ -0,0 +1,123 @@
+package com.zerobase.storereservation.security;
+
+import com.zerobase.storereservation.controller.MemberController;
+import com.zerobase.storereservation.controller.ValidationErrorResponse;
+import com.zerobase.storereservation.domain.member.dto.MemberDto;
+import com.zerobase.storereservation.exception.GlobalExceptionHandler;
+import com.zerobase.storereservation.service.MemberService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+    // 필터에서 토큰을 한번만 파싱하고 컨트롤러는 @LoginMember 로 같은 인증 정보를 받는지 확인
+    @Mock
+    private MemberService memberService;
+    @Mock
+    private MemberCache memberCache;
+    @Mock
+    private ValidationErrorResponse validationErrorResponse;
+
+    private TokenProvider tokenProvider;
+    private MockMvc mockMvc;
+    private String authorization;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = spy(new TokenProvider(memberCache, new VerifiedTokenCache(new SimpleMeterRegistry(), 100)));
+        ReflectionTestUtils.setField(tokenProvider, "secretKey", "dGVzdC1zZWNyZXQta2V5LXRlc3Qtc2VjcmV0LWtleS10ZXN0LXNlY3JldC1rZXk=");
+        ReflectionTestUtils.setField(tokenProvider, "stateless", true);
+        authorization = JwtAuthenticationFilter.TOKEN_PREFIX
+                + tokenProvider.generateToken(1L, "user1@gmail.com", Collections.singletonList("ROLE_CUSTOMER"));
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new MemberController(memberService, tokenProvider, validationErrorResponse))
+                .setCustomArgumentResolvers(new LoginMemberArgumentResolver())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addFilters(new JwtAuthenticationFilter(tokenProvider))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void successGetMemberInfo_PARSE_ONCE() throws Exception {
+        //given
+        given(memberService.findMember(1L))
+                .willReturn(MemberDto.builder().id(1L).email("user1@gmail.com").build());
+
+        //when
+        mockMvc.perform(get("/api/member")
+                        .header(JwtAuthenticationFilter.TOKEN_HEADER, authorization))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("user1@gmail.com"));
+
+        //then
+        verify(tokenProvider, times(1)).parseClaims(anyString());
+        verify(memberService).findMember(1L);
+    }
+
+    @Test
+    void successSignOut_PARSE_ONCE() throws Exception {
+        //when
+        mockMvc.perform(post("/api/member/signout")
+                        .header(JwtAuthenticationFilter.TOKEN_HEADER, authorization))
+                .andExpect(status().isOk());
+
+        //then
+        verify(tokenProvider, times(1)).parseClaims(anyString());
+        verify(memberCache).revoke("user1@gmail.com");
+    }
+
+    @Test
+    void successGetMemberInfo_VERIFIED_TOKEN_CACHED() throws Exception {
+        //given
+        given(memberService.findMember(1L))
+                .willReturn(MemberDto.builder().id(1L).email("user1@gmail.com").build());
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/member")
+                            .header(JwtAuthenticationFilter.TOKEN_HEADER, authorization))
+                    .andExpect(status().isOk());
+        }
+
+        //then
+        // 같은 토큰은 첫 요청에서만 서명 검증
+        verify(tokenProvider, times(1)).parseClaims(anyString());
+        verify(memberService, times(3)).findMember(1L);
+    }
+
+    @Test
+    void failGetMemberInfo_LOGIN_REQUIRED() throws Exception {
+        //when
+        mockMvc.perform(get("/api/member"))
+                .andExpect(jsonPath("$.errorCode").value("LOGIN_REQUIRED"));
+
+        //then
+        verify(tokenProvider, never()).parseClaims(anyString());
+        verify(memberService, never()).findMember(anyLong());
+    }
+}
@@ -0,0 +1,96 @@
+package com.zerobase.storereservation.security;
+
+import com.zerobase.storereservation.cache.InProcessSharedCache;
+import com.zerobase.storereservation.cache.SharedCache;
+import com.zerobase.storereservation.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class MemberCacheTest {
+    @Mock
+    private MemberRepository memberRepository;
+
+    // 서버 여러 대가 같이 쓰는 공유 캐시
+    private final SharedCache shared = new InProcessSharedCache();
+    private MemberCache memberCache;
+
+    @BeforeEach
+    void setUp() {
+        memberCache = new MemberCache(memberRepository, shared);
+    }
+
+    // jwt 의 발급 시간(iat)은 초 단위
+    private static Date issuedAt(long millis) {
+        return new Date(millis / 1000 * 1000);
+    }
+
+    @Test
+    void successIsRevoked_ISSUED_BEFORE_SIGN_OUT() {
+        //given
+        Date issuedAt = issuedAt(System.currentTimeMillis() - 1000);
+
+        //when
+        memberCache.revoke("user1@gmail.com");
+
+        //then
+        assertTrue(memberCache.isRevoked("user1@gmail.com", issuedAt));
+    }
+
+    @Test
+    void successIsRevoked_ISSUED_SAME_SECOND_AFTER_SIGN_OUT() {
+        //given
+        memberCache.revoke("user1@gmail.com");
+
+        //when
+        // 로그아웃 직후 다시 로그인해 같은 초에 발급된 토큰
+        Date issuedAt = issuedAt(System.currentTimeMillis());
+
+        //then
+        assertFalse(memberCache.isRevoked("user1@gmail.com", issuedAt));
+    }
+
+    @Test
+    void successIsRevoked_NOT_SIGNED_OUT() {
+        //when
+        //then
+        assertFalse(memberCache.isRevoked("user1@gmail.com", issuedAt(System.currentTimeMillis())));
+    }
+
+    @Test
+    void successIsRevoked_SIGNED_OUT_ON_OTHER_SERVER() {
+        //given
+        MemberCache otherServer = new MemberCache(memberRepository, shared);
+        Date issuedAt = issuedAt(System.currentTimeMillis() - 1000);
+        // 로그아웃 전에 이 서버에서 사용한 토큰
+        assertFalse(memberCache.isRevoked("user1@gmail.com", issuedAt));
+
+        //when
+        otherServer.revoke("user1@gmail.com");
+
+        //then
+        assertTrue(memberCache.isRevoked("user1@gmail.com", issuedAt));
+    }
+
+    @Test
+    void successIsRevoked_SERVER_STARTED_AFTER_SIGN_OUT() {
+        //given
+        Date issuedAt = issuedAt(System.currentTimeMillis() - 1000);
+        memberCache.revoke("user1@gmail.com");
+
+        //when
+        // 로그아웃 알림을 받지 못한 서버
+        MemberCache startedLater = new MemberCache(memberRepository, shared);
+
+        //then
+        assertTrue(startedLater.isRevoked("user1@gmail.com", issuedAt));
+    }
+}
@@ -0,0 +1,88 @@
+package com.zerobase.storereservation.security;
+
+import com.zerobase.storereservation.monitoring.MetricsController;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(properties = {
+        "metrics.token=metrics-secret",
+        "management.metrics.export.prometheus.enabled=true",
+        "rate-limit.enabled=false"})
+class MetricsTokenMatcherTest {
+    // 서버 포트(8080)로 직접 /metrics 를 요청해도 metrics.token 이 없으면 조회할 수 없는지 확인
+
+    @Configuration
+    @EnableConfigurationProperties
+    @Import({SecurityConfiguration.class, MetricsTokenMatcher.class, JwtAuthenticationFilter.class,
+            RateLimitFilter.class, RateLimitProperties.class, MetricsController.class})
+    static class Config {
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PrometheusMeterRegistry prometheusMeterRegistry;
+    @MockBean
+    private TokenProvider tokenProvider;
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @Test
+    void successMetrics() throws Exception {
+        //given
+        given(prometheusMeterRegistry.scrape()).willReturn("jvm_threads_live_threads 10.0\n");
+
+        //when
+        //then
+        mockMvc.perform(get("/metrics")
+                        .header("Authorization", "Metrics metrics-secret"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("jvm_threads_live_threads 10.0\n"));
+    }
+
+    @Test
+    void failMetrics_NO_TOKEN() throws Exception {
+        //when
+        //then
+        mockMvc.perform(get("/metrics"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void failMetrics_WRONG_TOKEN() throws Exception {
+        //when
+        //then
+        mockMvc.perform(get("/metrics")
+                        .header("Authorization", "Metrics metrics-secreT"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void failMetrics_NO_TOKEN_CONFIGURED() {
+        //given
+        MetricsTokenMatcher matcher = new MetricsTokenMatcher("");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/metrics");
+        request.addHeader("Authorization", "Metrics ");
+
+        //when
+        //then
+        // 토큰을 설정하지 않은 서버는 빈 토큰으로도 조회할 수 없음
+        assertFalse(matcher.matches(request));
+    }
+}
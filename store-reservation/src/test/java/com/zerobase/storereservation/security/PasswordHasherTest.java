@@ -0,0 +1,82 @@
+package com.zerobase.storereservation.security;
+
+import com.zerobase.storereservation.exception.ErrorCode;
+import com.zerobase.storereservation.exception.OverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void successMatches() {
+        //given
+        PasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        passwordHasher = new PasswordHasher(encoder, meterRegistry, 1, 1, 3000);
+        String encoded = encoder.encode("qwerty");
+
+        //when
+        //then
+        assertTrue(passwordHasher.matches("qwerty", encoded));
+        assertFalse(passwordHasher.matches("wrong", encoded));
+        assertEquals(1, meterRegistry.timer("password.hash", "operation", "matches", "outcome", "success").count());
+        assertEquals(1, meterRegistry.timer("password.hash", "operation", "matches", "outcome", "mismatch").count());
+    }
+
+    @Test
+    void failMatches_TOO_MANY_PASSWORD_REQUESTS() throws Exception {
+        //given
+        // 계산 스레드 1개, 대기열 1개를 채워둠
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        passwordHasher = new PasswordHasher(blocking, meterRegistry, 1, 1, 3000);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> passwordHasher.matches("a", "b"));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> passwordHasher.matches("a", "b"));
+        while (meterRegistry.get("executor.queued").gauge().value() < 1) {
+            Thread.sleep(1);
+        }
+
+        //when
+        OverloadedException exception = assertThrows(OverloadedException.class,
+                () -> passwordHasher.matches("a", "b"));
+        release.countDown();
+
+        //then
+        assertEquals(ErrorCode.TOO_MANY_PASSWORD_REQUESTS, exception.getErrorCode());
+        // 회원가입에서도 쓰는 에러이므로 로그인을 가리키지 않는 메세지
+        assertEquals("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.",
+                exception.getErrorCode().getDescription());
+        assertEquals(1, exception.getRetryAfterSeconds());
+        assertTrue(running.get(1, TimeUnit.SECONDS));
+        assertTrue(queued.get(1, TimeUnit.SECONDS));
+        assertEquals(1, meterRegistry.timer("password.hash", "operation", "matches", "outcome", "rejected").count());
+    }
+}
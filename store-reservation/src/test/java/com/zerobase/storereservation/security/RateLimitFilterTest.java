@@ -0,0 +1,118 @@
+package com.zerobase.storereservation.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RateLimitFilter filter(RateLimitProperties properties) {
+        return new RateLimitFilter(properties, meterRegistry, new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void successClientIp_X_FORWARDED_FOR() {
+        //given
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setTrustedProxies(List.of("172.16.0.0/12"));
+        RateLimitFilter filter = filter(properties);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/store/search/name");
+        request.setRemoteAddr("172.18.0.2");
+        request.addHeader("X-Forwarded-For", "1.1.1.1, 203.0.113.7");
+
+        //when
+        //then
+        // 클라이언트가 넣은 앞쪽 값이 아니라 nginx 가 붙인 마지막 값을 사용
+        assertEquals("203.0.113.7", filter.clientIp(request));
+    }
+
+    @Test
+    void successClientIp_UNTRUSTED_PROXY() {
+        //given
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setTrustedProxies(List.of("172.16.0.0/12"));
+        RateLimitFilter filter = filter(properties);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/store/search/name");
+        request.setRemoteAddr("198.51.100.20");
+        request.addHeader("X-Forwarded-For", "203.0.113.7");
+
+        //when
+        //then
+        // 8080 포트로 직접 접속해서 넣은 X-Forwarded-For 는 무시하고 접속 ip 사용
+        assertEquals("198.51.100.20", filter.clientIp(request));
+    }
+
+    @Test
+    void successDoFilter_USER_LIMITED_KEEPS_IP_TOKENS() throws Exception {
+        //given
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setUser(new RateLimitProperties.Bucket(1, 5));
+        properties.setIp(new RateLimitProperties.Bucket(1, 10));
+        RateLimitFilter filter = filter(properties);
+        MemberPrincipal principal = new MemberPrincipal(1L, "user1@gmail.com", Collections.singletonList("ROLE_CUSTOMER"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        doFilter(filter, "/api/store/search/distance");
+
+        //when
+        // 사용자 제한에 걸린 요청
+        MockHttpServletResponse limited = doFilter(filter, "/api/store/search/distance");
+        SecurityContextHolder.clearContext();
+        // 같은 ip 의 다른(비로그인) 요청
+        MockHttpServletResponse sameIp = doFilter(filter, "/api/store/search/distance");
+
+        //then
+        assertEquals(429, limited.getStatus());
+        assertEquals(200, sameIp.getStatus());
+        assertEquals(1, meterRegistry.counter("rate.limited", "by", "user").count());
+    }
+
+    @Test
+    void failDoFilter_TOO_MANY_REQUESTS() throws Exception {
+        //given
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setUser(new RateLimitProperties.Bucket(1, 10));
+        RateLimitFilter filter = filter(properties);
+        MemberPrincipal principal = new MemberPrincipal(1L, "user1@gmail.com", Collections.singletonList("ROLE_CUSTOMER"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        //when
+        // 주변 매장 검색은 요청 1번에 토큰 5개 사용
+        MockHttpServletResponse first = doFilter(filter, "/api/store/search/distance");
+        MockHttpServletResponse second = doFilter(filter, "/api/store/search/distance");
+        MockHttpServletResponse third = doFilter(filter, "/api/store/search/distance");
+
+        //then
+        assertEquals(200, first.getStatus());
+        assertEquals(200, second.getStatus());
+        assertEquals(429, third.getStatus());
+        assertEquals("5", third.getHeader("Retry-After"));
+        assertTrue(third.getContentAsString().contains("TOO_MANY_REQUESTS"));
+        assertEquals(1, meterRegistry.counter("rate.limited", "by", "user").count());
+    }
+
+    private MockHttpServletResponse doFilter(RateLimitFilter filter, String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,74 @@
+package com.zerobase.storereservation.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+    // 초당 10개, 최대 5개 (토큰 1개 = 100ms)
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final RateLimiter rateLimiter = new RateLimiter(
+            new RateLimitProperties.Bucket(10, 5), 100, now::get);
+
+    @Test
+    void successTryAcquire_BURST() {
+        //when
+        //then
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("1", 1));
+        }
+        // 버킷을 다 쓰면 다음 토큰이 채워질 때까지 거절
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), rateLimiter.tryAcquire("1", 1));
+        // 다른 키는 따로 계산
+        assertEquals(0, rateLimiter.tryAcquire("2", 1));
+    }
+
+    @Test
+    void successTryAcquire_REFILL() {
+        //given
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("1", 1);
+        }
+
+        //when
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+
+        //then
+        assertEquals(0, rateLimiter.tryAcquire("1", 1));
+        assertEquals(0, rateLimiter.tryAcquire("1", 1));
+        assertTrue(rateLimiter.tryAcquire("1", 1) > 0);
+    }
+
+    @Test
+    void failTryAcquire_COST() {
+        //given
+        assertEquals(0, rateLimiter.tryAcquire("1", 3));
+
+        //when
+        long wait = rateLimiter.tryAcquire("1", 3);
+
+        //then
+        // 남은 토큰 2개로는 부족하므로 1개가 더 채워질 때까지 기다림
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+    }
+
+    @Test
+    void successRelease() {
+        //given
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("1", 1);
+        }
+
+        //when
+        rateLimiter.release("1", 2);
+
+        //then
+        // 돌려받은 토큰만큼 다시 허용
+        assertEquals(0, rateLimiter.tryAcquire("1", 1));
+        assertEquals(0, rateLimiter.tryAcquire("1", 1));
+        assertTrue(rateLimiter.tryAcquire("1", 1) > 0);
+    }
+}
@@ -0,0 +1,141 @@
+package com.zerobase.storereservation.security;
+
+import com.zerobase.storereservation.domain.member.entity.Member;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenProviderTest {
+    @Mock
+    private MemberCache memberCache;
+    @Spy
+    private VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(new SimpleMeterRegistry(), 100);
+    @InjectMocks
+    private TokenProvider tokenProvider;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenProvider, "secretKey", "dGVzdC1zZWNyZXQta2V5LXRlc3Qtc2VjcmV0LWtleS10ZXN0LXNlY3JldC1rZXk=");
+        ReflectionTestUtils.setField(tokenProvider, "stateless", true);
+        token = tokenProvider.generateToken(1L, "user1@gmail.com", Collections.singletonList("ROLE_CUSTOMER"));
+    }
+
+    @Test
+    void successAuthenticate_STATELESS() {
+        //given
+        given(memberCache.isRevoked(anyString(), any()))
+                .willReturn(false);
+
+        //when
+        Authentication authentication = tokenProvider.authenticate(token);
+
+        //then
+        MemberPrincipal principal = (MemberPrincipal) authentication.getPrincipal();
+        assertEquals(1L, principal.getId());
+        assertEquals("user1@gmail.com", principal.getEmail());
+        assertEquals("user1@gmail.com", authentication.getName());
+        assertEquals("ROLE_CUSTOMER", authentication.getAuthorities().iterator().next().getAuthority());
+        verify(memberCache, never()).get(anyString());
+    }
+
+    @Test
+    void successAuthenticate_CACHED() {
+        //given
+        ReflectionTestUtils.setField(tokenProvider, "stateless", false);
+        Member member = Member.builder()
+                .id(1L)
+                .email("user1@gmail.com")
+                .roles(Collections.singletonList("ROLE_PARTNER"))
+                .build();
+        given(memberCache.isRevoked(anyString(), any()))
+                .willReturn(false);
+        given(memberCache.get("user1@gmail.com"))
+                .willReturn(member);
+
+        //when
+        Authentication authentication = tokenProvider.authenticate(token);
+
+        //then
+        MemberPrincipal principal = (MemberPrincipal) authentication.getPrincipal();
+        assertEquals(1L, principal.getId());
+        assertEquals("ROLE_PARTNER", authentication.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void failAuthenticate_REVOKED() {
+        //given
+        given(memberCache.isRevoked(anyString(), any()))
+                .willReturn(true);
+
+        //when
+        //then
+        assertNull(tokenProvider.authenticate(token));
+    }
+
+    @Test
+    void successAuthenticate_VERIFIED_TOKEN_CACHED() {
+        //given
+        given(memberCache.isRevoked(anyString(), any()))
+                .willReturn(false);
+
+        //when
+        Authentication first = tokenProvider.authenticate(token);
+        Authentication second = tokenProvider.authenticate(token);
+
+        //then
+        // 두번째 요청은 캐시된 검증 결과를 사용
+        verify(verifiedTokenCache, times(1)).put(eq(token), any());
+        assertSame(first.getPrincipal(), second.getPrincipal());
+    }
+
+    @Test
+    void failAuthenticate_EXPIRED_IN_CACHE() {
+        //given
+        verifiedTokenCache.put(token, new VerifiedTokenCache.VerifiedToken(
+                new MemberPrincipal(1L, "user1@gmail.com", Collections.emptyList()),
+                new Date(), System.currentTimeMillis() - 1));
+
+        //when
+        //then
+        // 캐시에 남아있어도 만료시간이 지난 토큰은 다시 검증
+        assertNull(verifiedTokenCache.get(token));
+    }
+
+    @Test
+    void successRevoke() {
+        //given
+        given(memberCache.isRevoked(anyString(), any()))
+                .willReturn(false);
+        tokenProvider.authenticate(token);
+
+        //when
+        tokenProvider.revoke(new MemberPrincipal(1L, "user1@gmail.com", Collections.emptyList()));
+
+        //then
+        verify(memberCache).revoke("user1@gmail.com");
+        // 캐시된 토큰이어도 로그아웃 이전에 발급되었으면 거부
+        given(memberCache.isRevoked(anyString(), any()))
+                .willReturn(true);
+        assertNotNull(verifiedTokenCache.get(token));
+        assertNull(tokenProvider.authenticate(token));
+    }
+}
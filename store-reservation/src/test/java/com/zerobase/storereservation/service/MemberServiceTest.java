@@ -7,30 +7,35 @@ import com.zerobase.storereservation.domain.member.form.SignUp;
 import com.zerobase.storereservation.exception.ErrorCode;
 import com.zerobase.storereservation.exception.MemberException;
 import com.zerobase.storereservation.repository.MemberRepository;
+import com.zerobase.storereservation.security.PasswordHasher;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Arrays;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class MemberServiceTest {
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
     @Mock
     private MemberRepository memberRepository;
+    @Mock
+    private UniquenessFilter uniquenessFilter;
     @InjectMocks
     private MemberService memberService;
 
@@ -44,10 +49,12 @@ class MemberServiceTest {
                 .phone("0100000000")
                 .build();
 
+        given(uniquenessFilter.mightContainEmail(anyString()))
+                .willReturn(true);
         given(memberRepository.existsByEmail(anyString()))
                 .willReturn(false);
 
-        given(passwordEncoder.encode(anyString()))
+        given(passwordHasher.encode(anyString()))
                 .willReturn("password");
 
         Member member = Member.builder()
@@ -57,7 +64,7 @@ class MemberServiceTest {
                 .phone("0100000000")
                 .roles(Arrays.asList("ROLE_CUSTOMER", "ROLE_PARTNER"))
                 .build();
-        given(memberRepository.save(any()))
+        given(memberRepository.saveAndFlush(any()))
                 .willReturn(member);
 
         ArgumentCaptor<Member> captor = ArgumentCaptor.forClass(Member.class);
@@ -66,7 +73,7 @@ class MemberServiceTest {
         MemberDto result = memberService.registerMember(form);
 
         //then
-        verify(memberRepository, times(1)).save(captor.capture());
+        verify(memberRepository, times(1)).saveAndFlush(captor.capture());
         assertEquals("user@gmail.com", captor.getValue().getEmail());
         assertEquals("user1", captor.getValue().getName());
         assertEquals("0100000000", captor.getValue().getPhone());
@@ -82,6 +89,8 @@ class MemberServiceTest {
                 .phone("0100000000")
                 .build();
 
+        given(uniquenessFilter.mightContainEmail(anyString()))
+                .willReturn(true);
         given(memberRepository.existsByEmail(anyString()))
                 .willReturn(true);
 
@@ -93,6 +102,53 @@ class MemberServiceTest {
         assertEquals("이미 가입된 이메일입니다.", exception.getErrorMessage());
     }
 
+    @Test
+    void successRegisterMember_FILTER_NEGATIVE() {
+        //given
+        SignUp form = SignUp.builder()
+                .email("user@gmail.com")
+                .password("qwerty")
+                .name("user1")
+                .build();
+
+        given(uniquenessFilter.mightContainEmail(anyString()))
+                .willReturn(false);
+        given(passwordHasher.encode(anyString()))
+                .willReturn("password");
+        given(memberRepository.saveAndFlush(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        memberService.registerMember(form);
+
+        //then
+        // 필터에 없는 이메일은 db 중복 확인을 하지 않고 필터에 추가
+        verify(memberRepository, never()).existsByEmail(anyString());
+        verify(uniquenessFilter).putEmail("user@gmail.com");
+    }
+
+    @Test
+    void failRegisterMember_ALREADY_REGISTERED_USER_UNIQUE_CONSTRAINT() {
+        //given
+        SignUp form = SignUp.builder()
+                .email("user@gmail.com")
+                .password("qwerty")
+                .name("user1")
+                .build();
+
+        given(uniquenessFilter.mightContainEmail(anyString()))
+                .willReturn(false);
+        given(passwordHasher.encode(anyString()))
+                .willReturn("password");
+        given(memberRepository.saveAndFlush(any()))
+                .willThrow(new DataIntegrityViolationException("duplicate email"));
+
+        //when
+        MemberException exception = assertThrows(MemberException.class, () -> memberService.registerMember(form));
+
+        //then
+        assertEquals(ErrorCode.ALREADY_REGISTERED_USER, exception.getErrorCode());
+    }
 
     @Test
     void successSignInMember() {
@@ -111,7 +167,7 @@ class MemberServiceTest {
 
         given(memberRepository.findByEmail(anyString()))
                 .willReturn(Optional.ofNullable(member));
-        given(passwordEncoder.matches(anyString(), anyString()))
+        given(passwordHasher.matches(anyString(), anyString()))
                 .willReturn(true);
 
         //when
@@ -123,6 +179,40 @@ class MemberServiceTest {
         assertEquals("0100000000", memberDto.getPhone());
     }
 
+    @Test
+    void successSignInMember_REHASH() {
+        //given
+        SignIn form = SignIn.builder()
+                .email("user@gmail.com")
+                .password("qwerty")
+                .build();
+        Member member = Member.builder()
+                .email("user@gmail.com")
+                .password("password")
+                .name("user1")
+                .roles(Arrays.asList("ROLE_CUSTOMER"))
+                .build();
+
+        given(memberRepository.findByEmail(anyString()))
+                .willReturn(Optional.ofNullable(member));
+        given(passwordHasher.matches(anyString(), anyString()))
+                .willReturn(true);
+        given(passwordHasher.upgradeEncoding(anyString()))
+                .willReturn(true);
+        given(passwordHasher.encode(anyString()))
+                .willReturn("rehashed");
+
+        ArgumentCaptor<Member> captor = ArgumentCaptor.forClass(Member.class);
+
+        //when
+        memberService.signInMember(form);
+
+        //then
+        // 해시 비용이 바뀐 경우 새 비용으로 다시 저장
+        verify(memberRepository, times(1)).save(captor.capture());
+        assertEquals("rehashed", captor.getValue().getPassword());
+    }
+
     @Test
     void failSignInMember_NOT_FOUND_USER() {
         //given
@@ -158,7 +248,7 @@ class MemberServiceTest {
 
         given(memberRepository.findByEmail(anyString()))
                 .willReturn(Optional.ofNullable(member));
-        given(passwordEncoder.matches(anyString(), anyString()))
+        given(passwordHasher.matches(anyString(), anyString()))
                 .willReturn(false);
 
         //when
@@ -0,0 +1,81 @@
+package com.zerobase.storereservation.service;
+
+import com.zerobase.storereservation.domain.review.entity.Review;
+import com.zerobase.storereservation.domain.store.entity.Store;
+import com.zerobase.storereservation.repository.ReviewRepository;
+import com.zerobase.storereservation.repository.StoreRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RatingBackfillTest {
+    @Mock
+    private StoreRepository storeRepository;
+    @Mock
+    private ReviewRepository reviewRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RatingBackfill ratingBackfill;
+
+    @BeforeEach
+    void setUp() {
+        ratingBackfill = new RatingBackfill(storeRepository, reviewRepository, transactionManager);
+    }
+
+    @Test
+    void successBackfill() {
+        //given
+        given(storeRepository.findIdsWithoutRatingHistogram())
+                .willReturn(Collections.singletonList(1L));
+        given(storeRepository.findByIdForUpdate(1L))
+                .willReturn(Optional.of(Store.builder().id(1L).build()));
+        given(reviewRepository.findByStoreId(1L))
+                .willReturn(Arrays.asList(
+                        Review.builder().storeId(1L).rating(4f).build(),
+                        Review.builder().storeId(1L).rating(5f).build(),
+                        Review.builder().storeId(1L).rating(4.2f).build()));
+
+        //when
+        ratingBackfill.backfill();
+
+        //then
+        ArgumentCaptor<Double> decayedSum = ArgumentCaptor.forClass(Double.class);
+        ArgumentCaptor<Double> decayedWeight = ArgumentCaptor.forClass(Double.class);
+        verify(storeRepository, times(1)).backfillRating(eq(1L), eq(13.2f / 3), eq(13.2f), eq(3L),
+                eq(0L), eq(0L), eq(0L), eq(2L), eq(1L), decayedSum.capture(), decayedWeight.capture());
+        // 등록 시간이 없는 후기는 모두 같은 가중치
+        assertEquals(13.2 / 3, decayedSum.getValue() / decayedWeight.getValue(), 1e-6);
+    }
+
+    @Test
+    void successBackfill_NOTHING_TO_FILL() {
+        //given
+        given(storeRepository.findIdsWithoutRatingHistogram())
+                .willReturn(Collections.emptyList());
+
+        //when
+        ratingBackfill.backfill();
+
+        //then
+        verify(reviewRepository, never()).findByStoreId(anyLong());
+        verify(storeRepository, never()).backfillRating(anyLong(), anyFloat(), anyFloat(), anyLong(),
+                anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyDouble(), anyDouble());
+    }
+}
@@ -0,0 +1,187 @@
+package com.zerobase.storereservation.service;
+
+import com.zerobase.storereservation.cache.SearchPageCache;
+import com.zerobase.storereservation.cache.StoreDetailCache;
+import com.zerobase.storereservation.domain.reservation.dto.ReservationDto;
+import com.zerobase.storereservation.domain.reservation.entity.Reservation;
+import com.zerobase.storereservation.domain.review.dto.ReviewDto;
+import com.zerobase.storereservation.domain.review.entity.Review;
+import com.zerobase.storereservation.domain.store.dto.StoreDto;
+import com.zerobase.storereservation.domain.store.entity.Store;
+import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
+import com.zerobase.storereservation.domain.store.type.DateSet;
+import com.zerobase.storereservation.repository.ReservationRepository;
+import com.zerobase.storereservation.util.KaKakoApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static com.zerobase.storereservation.domain.reservation.type.Status.PENDING;
+import static com.zerobase.storereservation.support.SqlStatementCounter.assertSqlBudget;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector"
+        + "=com.zerobase.storereservation.support.SqlStatementCounter")
+class ReadQueryBudgetTest {
+    // 조회 서비스 메소드가 결과 행 수와 상관없이 정해진 sql 수 안에서 끝나는지 확인
+
+    @Configuration
+    @EnableJpaAuditing
+    @EntityScan(basePackages = "com.zerobase.storereservation.domain")
+    @EnableJpaRepositories(basePackageClasses = ReservationRepository.class)
+    @Import({ReservationService.class, ReservationSheetService.class, ReviewService.class, StoreSearchService.class})
+    static class Config {
+        @Bean
+        Clock clock() {
+            return Clock.systemDefaultZone();
+        }
+    }
+
+    private static final LocalDate DATE = LocalDate.parse("2024-02-01");
+    private static final int STORE_COUNT = 3;
+
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private ReviewService reviewService;
+    @Autowired
+    private StoreSearchService storeSearchService;
+    @MockBean
+    private KaKakoApi kaKakoApi;
+    @MockBean
+    private StoreDetailCache storeDetailCache;
+    @MockBean
+    private SearchPageCache searchPageCache;
+
+    private Long firstStoreId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < STORE_COUNT; i++) {
+            List<LocalDate> dates = new ArrayList<>();
+            dates.add(DATE);
+            Store store = em.persist(Store.builder()
+                    .partnerId(1L)
+                    .name("매장" + i)
+                    .dates(DateSet.of(dates))
+                    .storeReservationInfos(new ArrayList<>())
+                    .build());
+
+            HashMap<LocalDate, Integer> closed = new HashMap<>();
+            closed.put(DATE, 18);
+            StoreReservationInfo info = em.persist(StoreReservationInfo.builder()
+                    .partnerId(1L)
+                    .store(store)
+                    .startAt(LocalTime.parse("12:00"))
+                    .endAt(LocalTime.parse("13:00"))
+                    .minCount(1)
+                    .maxCount(4)
+                    .count(20)
+                    .closed(closed)
+                    .build());
+            store.getStoreReservationInfos().add(info);
+
+            Reservation reservation = em.persist(Reservation.builder()
+                    .customerId(1L)
+                    .storeId(store.getId())
+                    .phone("010-0000-0000")
+                    .storeReservationInfo(info)
+                    .reservationDate(DATE)
+                    .headCount(2)
+                    .status(PENDING)
+                    .build());
+
+            em.persist(Review.builder()
+                    .customerId(1L)
+                    .partnerId(1L)
+                    .storeId(store.getId())
+                    .reservation(reservation)
+                    .rating(4f)
+                    .comment("후기")
+                    .build());
+
+            if (firstStoreId == null) {
+                firstStoreId = store.getId();
+            }
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void searchReservationByMember() {
+        //when
+        Page<ReservationDto> result = assertSqlBudget(2,
+                () -> reservationService.searchReservationByMember(1L, PageRequest.of(0, 10)));
+
+        //then
+        assertEquals(STORE_COUNT, result.getContent().size());
+        assertEquals("매장0", result.getContent().get(0).getStoreName());
+    }
+
+    @Test
+    void searchReservationByPartner() {
+        //when
+        Page<ReservationDto> result = assertSqlBudget(3,
+                () -> reservationService.searchReservationByPartner(1L, firstStoreId, DATE, PageRequest.of(0, 10)));
+
+        //then
+        assertEquals(1, result.getContent().size());
+        assertEquals(firstStoreId, result.getContent().get(0).getStoreId());
+    }
+
+    @Test
+    void searchReview() {
+        //when
+        Page<ReviewDto> result = assertSqlBudget(2,
+                () -> reviewService.searchReview(1L, PageRequest.of(0, 10)));
+
+        //then
+        assertEquals(STORE_COUNT, result.getContent().size());
+    }
+
+    @Test
+    void searchReviewByStore() {
+        //when
+        Page<ReviewDto> result = assertSqlBudget(2,
+                () -> reviewService.searchReviewByStore(1L, firstStoreId, PageRequest.of(0, 10)));
+
+        //then
+        assertEquals(1, result.getContent().size());
+    }
+
+    @Test
+    void searchStoreByName() {
+        //when
+        // 응답 직렬화처럼 예약 상세정보와 마감 정보까지 읽음
+        Page<StoreDto> result = assertSqlBudget(4, () -> {
+            Page<StoreDto> stores = storeSearchService.searchStoreByName("매장", PageRequest.of(0, 10));
+            stores.forEach(store -> store.getStoreReservationInfos()
+                    .forEach(info -> info.getClosed().size()));
+            return stores;
+        });
+
+        //then
+        assertEquals(STORE_COUNT, result.getContent().size());
+    }
+}
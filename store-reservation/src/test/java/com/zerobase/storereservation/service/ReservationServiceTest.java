@@ -1,5 +1,6 @@
 package com.zerobase.storereservation.service;
 
+import com.zerobase.storereservation.cache.StoreDetailCache;
 import com.zerobase.storereservation.domain.reservation.dto.ReservationDto;
 import com.zerobase.storereservation.domain.reservation.entity.Reservation;
 import com.zerobase.storereservation.domain.reservation.form.ConfirmReservation;
@@ -7,12 +8,15 @@ import com.zerobase.storereservation.domain.reservation.form.MakeReservation;
 import com.zerobase.storereservation.domain.reservation.type.Status;
 import com.zerobase.storereservation.domain.store.entity.Store;
 import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
+import com.zerobase.storereservation.domain.store.type.DateSet;
+import com.zerobase.storereservation.domain.store.type.RecurrenceRule;
 import com.zerobase.storereservation.exception.ErrorCode;
 import com.zerobase.storereservation.exception.ReservationException;
 import com.zerobase.storereservation.exception.StoreException;
 import com.zerobase.storereservation.repository.ReservationRepository;
 import com.zerobase.storereservation.repository.StoreRepository;
 import com.zerobase.storereservation.repository.StoreReservationInfoRepository;
+import com.zerobase.storereservation.support.QueryBudget;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -20,15 +24,19 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.Arrays;
+import java.time.ZoneId;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import static com.zerobase.storereservation.domain.reservation.type.Status.*;
-import static org.junit.Assert.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -46,11 +54,18 @@ class ReservationServiceTest {
     StoreReservationInfoRepository storeReservationInfoRepository;
     @Mock
     StoreRepository storeRepository;
+    @Mock
+    ReservationSheetService reservationSheetService;
+    @Mock
+    StoreDetailCache storeDetailCache;
+    @Mock
+    Clock clock;
     @InjectMocks
     ReservationService reservationService;
 
 
     @Test
+    @QueryBudget(5)
     void successMakeReservation() {
         //given
         MakeReservation form = MakeReservation.builder()
@@ -62,7 +77,7 @@ class ReservationServiceTest {
         Store store = Store.builder()
                 .id(1L)
                 .name("매장")
-                .dates(Arrays.asList(LocalDate.parse("2024-02-01")
+                .dates(DateSet.of(LocalDate.parse("2024-02-01")
                         ,LocalDate.parse("2024-02-02")
                         , LocalDate.parse("2024-02-03")))
                 .build();
@@ -88,8 +103,6 @@ class ReservationServiceTest {
         given(storeRepository.findById(anyLong()))
                 .willReturn(Optional.ofNullable(store));
 
-        given(storeRepository.existsByIdAndDatesContains(anyLong(),any()))
-                .willReturn(true);
 
         Reservation reservation = Reservation.builder()
                 .customerId(1L)
@@ -114,6 +127,54 @@ class ReservationServiceTest {
         assertEquals(Status.PENDING, captor.getValue().getStatus());
     }
 
+    @Test
+    void successMakeReservation_RECURRENCE_RULE() {
+        //given
+        // 2024-02-02 금요일 : 날짜를 따로 지정하지 않고 반복 규칙으로 예약 가능, 잔여인원은 아직 저장되지 않음
+        MakeReservation form = MakeReservation.builder()
+                .reservationInfoId(1L)
+                .headCount(3)
+                .reservationDate(LocalDate.parse("2024-02-02"))
+                .build();
+
+        Store store = Store.builder()
+                .id(1L)
+                .name("매장")
+                .dates(DateSet.empty())
+                .rules(List.of(RecurrenceRule.of(LocalDate.parse("2024-01-01"), null,
+                        List.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY))))
+                .holidays(DateSet.empty())
+                .build();
+
+        StoreReservationInfo info = StoreReservationInfo.builder()
+                .id(1L)
+                .startAt(LocalTime.parse("12:00"))
+                .endAt(LocalTime.parse("13:00"))
+                .store(store)
+                .closed(new HashMap<>())
+                .minCount(1)
+                .maxCount(4)
+                .count(20)
+                .build();
+
+        given(storeReservationInfoRepository.findById(anyLong()))
+                .willReturn(Optional.ofNullable(info));
+
+        given(storeRepository.findById(anyLong()))
+                .willReturn(Optional.ofNullable(store));
+
+        given(reservationRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        ReservationDto reservationDto = reservationService.makeReservation(1L, form);
+
+        //then
+        verify(reservationRepository).save(any());
+        assertEquals(LocalDate.parse("2024-02-02"), reservationDto.getReservationDate());
+        assertEquals(20, info.remaining(LocalDate.parse("2024-02-02")));
+    }
+
     @Test
     void failMakeReservation_ALREADY_DELETED_STORE() {
         //given
@@ -126,7 +187,7 @@ class ReservationServiceTest {
         Store store = Store.builder()
                 .id(1L)
                 .name("매장")
-                .dates(Arrays.asList(LocalDate.parse("2024-02-21")
+                .dates(DateSet.of(LocalDate.parse("2024-02-21")
                         , LocalDate.parse("2024-03-21")))
                 .deleted(true)
                 .build();
@@ -148,8 +209,6 @@ class ReservationServiceTest {
         given(storeRepository.findById(anyLong()))
                 .willReturn(Optional.ofNullable(store));
 
-        given(storeRepository.existsByIdAndDatesContains(anyLong(),any()))
-                .willReturn(true);
 
         //when
         ReservationException exception = assertThrows(ReservationException.class,
@@ -192,7 +251,7 @@ class ReservationServiceTest {
         Store store = Store.builder()
                 .id(1L)
                 .name("매장")
-                .dates(Arrays.asList(LocalDate.parse("2024-07-26")
+                .dates(DateSet.of(LocalDate.parse("2024-07-26")
                         , LocalDate.parse("2024-03-21")))
                 .build();
 
@@ -213,8 +272,6 @@ class ReservationServiceTest {
         given(storeRepository.findById(anyLong()))
                 .willReturn(Optional.ofNullable(store));
 
-        given(storeRepository.existsByIdAndDatesContains(anyLong(),any()))
-                .willReturn(true);
 
         Reservation reservation = Reservation.builder()
                 .id(1L)
@@ -253,7 +310,7 @@ class ReservationServiceTest {
         Store store = Store.builder()
                 .id(1L)
                 .name("매장")
-                .dates(Arrays.asList(LocalDate.parse("2024-07-26")
+                .dates(DateSet.of(LocalDate.parse("2024-07-26")
                         , LocalDate.parse("2024-03-21")))
                 .build();
 
@@ -274,8 +331,6 @@ class ReservationServiceTest {
         given(storeRepository.findById(anyLong()))
                 .willReturn(Optional.ofNullable(store));
 
-        given(storeRepository.existsByIdAndDatesContains(anyLong(),any()))
-                .willReturn(true);
 
         //when
         ReservationException exception = assertThrows(ReservationException.class,
@@ -298,7 +353,7 @@ class ReservationServiceTest {
         Store store = Store.builder()
                 .id(1L)
                 .name("매장")
-                .dates(Arrays.asList(LocalDate.parse("2024-07-26")
+                .dates(DateSet.of(LocalDate.parse("2024-07-26")
                         , LocalDate.parse("2024-03-21")))
                 .build();
 
@@ -319,8 +374,6 @@ class ReservationServiceTest {
         given(storeRepository.findById(anyLong()))
                 .willReturn(Optional.ofNullable(store));
 
-        given(storeRepository.existsByIdAndDatesContains(anyLong(),any()))
-                .willReturn(true);
         //when
         ReservationException exception = assertThrows(ReservationException.class,
                 () -> reservationService.makeReservation(1L, form));
@@ -342,7 +395,7 @@ class ReservationServiceTest {
         Store store = Store.builder()
                 .id(1L)
                 .name("매장")
-                .dates(Arrays.asList(LocalDate.parse("2024-02-01")
+                .dates(DateSet.of(LocalDate.parse("2024-02-01")
                         ,LocalDate.parse("2024-02-02")
                         , LocalDate.parse("2024-02-03")))
                 .build();
@@ -368,8 +421,6 @@ class ReservationServiceTest {
         given(storeRepository.findById(anyLong()))
                 .willReturn(Optional.ofNullable(store));
 
-        given(storeRepository.existsByIdAndDatesContains(anyLong(),any()))
-                .willReturn(true);
 
         //when
         ReservationException exception = assertThrows(ReservationException.class,
@@ -391,7 +442,7 @@ class ReservationServiceTest {
         Store store = Store.builder()
                 .id(1L)
                 .name("매장")
-                .dates(Arrays.asList(LocalDate.parse("2024-02-21")
+                .dates(DateSet.of(LocalDate.parse("2024-02-21")
                         , LocalDate.parse("2024-03-21")))
                 .build();
 
@@ -412,8 +463,6 @@ class ReservationServiceTest {
         given(storeRepository.findById(anyLong()))
                 .willReturn(Optional.ofNullable(store));
 
-        given(storeRepository.existsByIdAndDatesContains(anyLong(),any()))
-                .willReturn(false);
 
         //when
         ReservationException exception = assertThrows(ReservationException.class,
@@ -424,6 +473,7 @@ class ReservationServiceTest {
         assertEquals("예약 가능한 날짜가 아닙니다.", exception.getErrorMessage());
     }
     @Test
+    @QueryBudget(3)
     void successChangeReservationStatus_APPROVED() {
         //given
         Map<LocalDate, Integer> closed = new HashMap<>();
@@ -460,7 +510,7 @@ class ReservationServiceTest {
         given(reservationRepository.findById(anyLong()))
                 .willReturn(Optional.ofNullable(reservation));
 
-        given(storeReservationInfoRepository.findById(anyLong()))
+        given(storeReservationInfoRepository.findByIdForUpdate(anyLong()))
                 .willReturn(Optional.ofNullable(info));
 
         given(storeRepository.findByIdAndPartnerId(anyLong(), anyLong()))
@@ -476,10 +526,11 @@ class ReservationServiceTest {
         ReservationDto reservationDto = reservationService.changeReservationStatus(1L, form);
         //then
         assertEquals(APPROVED, reservationDto.getStatus());
-        assertEquals(Optional.of(17), info.getClosed().get(LocalDate.parse("2024-02-01")));
+        assertEquals(17, info.getClosed().get(LocalDate.parse("2024-02-01")));
     }
 
     @Test
+    @QueryBudget(3)
     void successChangeReservationStatus_REJECTED() {
         //given
         Map<LocalDate, Integer> closed = new HashMap<>();
@@ -516,7 +567,7 @@ class ReservationServiceTest {
         given(reservationRepository.findById(anyLong()))
                 .willReturn(Optional.ofNullable(reservation));
 
-        given(storeReservationInfoRepository.findById(anyLong()))
+        given(storeReservationInfoRepository.findByIdForUpdate(anyLong()))
                 .willReturn(Optional.ofNullable(info));
 
         given(storeRepository.findByIdAndPartnerId(anyLong(), anyLong()))
@@ -579,7 +630,7 @@ class ReservationServiceTest {
         given(reservationRepository.findById(anyLong()))
                 .willReturn(Optional.ofNullable(reservation));
 
-        given(storeReservationInfoRepository.findById(anyLong()))
+        given(storeReservationInfoRepository.findByIdForUpdate(anyLong()))
                 .willReturn(Optional.ofNullable(info));
 
         given(storeRepository.findByIdAndPartnerId(anyLong(), anyLong()))
@@ -624,7 +675,7 @@ class ReservationServiceTest {
         given(reservationRepository.findById(anyLong()))
                 .willReturn(Optional.ofNullable(reservation));
 
-        given(storeReservationInfoRepository.findById(anyLong()))
+        given(storeReservationInfoRepository.findByIdForUpdate(anyLong()))
                 .willReturn(Optional.ofNullable(info));
 
         given(storeRepository.findByIdAndPartnerId(anyLong(), anyLong()))
@@ -673,7 +724,7 @@ class ReservationServiceTest {
         given(reservationRepository.findById(anyLong()))
                 .willReturn(Optional.ofNullable(reservation));
 
-        given(storeReservationInfoRepository.findById(anyLong()))
+        given(storeReservationInfoRepository.findByIdForUpdate(anyLong()))
                 .willReturn(Optional.ofNullable(info));
         given(storeRepository.findByIdAndPartnerId(anyLong(), anyLong()))
                 .willReturn(Optional.ofNullable(store));
@@ -722,7 +773,7 @@ class ReservationServiceTest {
         given(reservationRepository.findById(anyLong()))
                 .willReturn(Optional.ofNullable(reservation));
 
-        given(storeReservationInfoRepository.findById(anyLong()))
+        given(storeReservationInfoRepository.findByIdForUpdate(anyLong()))
                 .willReturn(Optional.ofNullable(info));
         given(storeRepository.findByIdAndPartnerId(anyLong(), anyLong()))
                 .willReturn(Optional.ofNullable(store));
@@ -737,6 +788,7 @@ class ReservationServiceTest {
     }
 
     @Test
+    @QueryBudget(3)
     void successCancelReservation_APPROVED() {
         //given
         Map<LocalDate, Integer> closed = new HashMap<>();
@@ -767,7 +819,7 @@ class ReservationServiceTest {
 
         given(reservationRepository.findByIdAndCustomerId(anyLong(), anyLong()))
                 .willReturn(Optional.ofNullable(reservation));
-        given(storeReservationInfoRepository.findById(anyLong()))
+        given(storeReservationInfoRepository.findByIdForUpdate(anyLong()))
                 .willReturn(Optional.ofNullable(info));
 
         ArgumentCaptor<Reservation> captor = ArgumentCaptor.forClass(Reservation.class);
@@ -777,10 +829,11 @@ class ReservationServiceTest {
 
         //then
         verify(reservationRepository, times(1)).delete(captor.capture());
-        assertEquals(Optional.of(20), info.getClosed().get(LocalDate.parse("2024-02-01")));
+        assertEquals(20, info.getClosed().get(LocalDate.parse("2024-02-01")));
     }
 
     @Test
+    @QueryBudget(3)
     void successCancelReservation_REJECTED() {
         //given
         StoreReservationInfo info = StoreReservationInfo.builder()
@@ -804,7 +857,7 @@ class ReservationServiceTest {
 
         given(reservationRepository.findByIdAndCustomerId(anyLong(), anyLong()))
                 .willReturn(Optional.ofNullable(reservation));
-        given(storeReservationInfoRepository.findById(anyLong()))
+        given(storeReservationInfoRepository.findByIdForUpdate(anyLong()))
                 .willReturn(Optional.ofNullable(info));
 
         ArgumentCaptor<Reservation> captor = ArgumentCaptor.forClass(Reservation.class);
@@ -858,7 +911,7 @@ class ReservationServiceTest {
 
         given(reservationRepository.findByIdAndCustomerId(anyLong(), anyLong()))
                 .willReturn(Optional.ofNullable(reservation));
-        given(storeReservationInfoRepository.findById(anyLong()))
+        given(storeReservationInfoRepository.findByIdForUpdate(anyLong()))
                 .willReturn(Optional.empty());
 
         //when
@@ -871,8 +924,10 @@ class ReservationServiceTest {
     }
 
     @Test
+    @QueryBudget(1)
     void successVisitReservation() {
         //given
+        now("2024-07-30T16:55");
         StoreReservationInfo info = StoreReservationInfo.builder()
                 .id(1L)
                 .store(Store.builder().name("매장").build())
@@ -998,6 +1053,7 @@ class ReservationServiceTest {
     @Test
     void failVisitReservation_NOT_TODAY_RESERVATION() {
         //given
+        now("2024-07-25T17:00");
         StoreReservationInfo info = StoreReservationInfo.builder()
                 .id(1L)
                 .store(Store.builder().name("매장").build())
@@ -1033,6 +1089,7 @@ class ReservationServiceTest {
     @Test
     void failVisitReservation_CANNOT_CHECK_YET() {
         //given
+        now("2024-07-25T17:00");
         StoreReservationInfo info = StoreReservationInfo.builder()
                 .id(1L)
                 .store(Store.builder().name("매장").build())
@@ -1061,12 +1118,13 @@ class ReservationServiceTest {
 
         //then
         assertEquals(ErrorCode.CANNOT_CHECK_YET, exception.getErrorCode());
-        assertEquals("예약 확인은 10분전부터 가능합니다.", exception.getErrorMessage());
+        assertEquals("[예약 시간 : 18:00 , 현재 시간 : 17:00] 방문 확인은 10분전부터 가능합니다.", exception.getErrorMessage());
     }
 
     @Test
     void failVisitReservation_OVER_RESERVATION_TIME() {
         //given
+        now("2024-07-25T17:30");
         StoreReservationInfo info = StoreReservationInfo.builder()
                 .id(1L)
                 .store(Store.builder().name("매장").build())
@@ -1095,7 +1153,13 @@ class ReservationServiceTest {
 
         //then
         assertEquals(ErrorCode.OVER_RESERVATION_TIME, exception.getErrorCode());
-        assertEquals("예약 시간이 지났습니다.", exception.getErrorMessage());
+        assertEquals("[예약 시간 : 17:00 , 현재 시간 : 17:30] 예약 시간이 지났습니다.", exception.getErrorMessage());
     }
 
-}
\ No newline at end of file
+
+    // 서비스가 확인하는 현재 시간 고정
+    private void now(String dateTime) {
+        given(clock.instant()).willReturn(LocalDateTime.parse(dateTime).atZone(ZoneId.systemDefault()).toInstant());
+        given(clock.getZone()).willReturn(ZoneId.systemDefault());
+    }
+}
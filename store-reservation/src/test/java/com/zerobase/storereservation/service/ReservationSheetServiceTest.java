@@ -0,0 +1,237 @@
+package com.zerobase.storereservation.service;
+
+import com.zerobase.storereservation.domain.reservation.dto.ReservationSheetDto;
+import com.zerobase.storereservation.domain.reservation.entity.Reservation;
+import com.zerobase.storereservation.domain.reservation.entity.ReservationSheetSlot;
+import com.zerobase.storereservation.domain.reservation.type.Status;
+import com.zerobase.storereservation.domain.store.entity.Store;
+import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
+import com.zerobase.storereservation.exception.ErrorCode;
+import com.zerobase.storereservation.exception.StoreException;
+import com.zerobase.storereservation.repository.ReservationSheetSlotRepository;
+import com.zerobase.storereservation.repository.StoreRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+import static com.zerobase.storereservation.domain.reservation.type.Status.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationSheetServiceTest {
+    @Mock
+    private ReservationSheetSlotRepository reservationSheetSlotRepository;
+    @Mock
+    private StoreRepository storeRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @InjectMocks
+    private ReservationSheetService reservationSheetService;
+
+    private StoreReservationInfo info(int remaining) {
+        Map<LocalDate, Integer> closed = new HashMap<>();
+        closed.put(LocalDate.parse("2024-02-01"), remaining);
+
+        return StoreReservationInfo.builder()
+                .id(1L)
+                .partnerId(1L)
+                .store(Store.builder().id(1L).name("매장").build())
+                .startAt(LocalTime.parse("12:00"))
+                .endAt(LocalTime.parse("13:00"))
+                .closed(closed)
+                .count(20)
+                .build();
+    }
+
+    private static Reservation reservation(StoreReservationInfo info, Status status) {
+        return Reservation.builder()
+                .storeReservationInfo(info)
+                .reservationDate(LocalDate.parse("2024-02-01"))
+                .headCount(3)
+                .status(status)
+                .build();
+    }
+
+    @Test
+    void successReserved() {
+        //given
+        Reservation reservation = reservation(info(20), PENDING);
+
+        given(reservationSheetSlotRepository.addCounts(anyLong(), any(), any()))
+                .willReturn(1);
+
+        ArgumentCaptor<ReservationSheetSlot.Counts> captor = ArgumentCaptor.forClass(ReservationSheetSlot.Counts.class);
+
+        //when
+        reservationSheetService.reserved(reservation);
+
+        //then
+        verify(reservationSheetSlotRepository).addCounts(eq(1L), eq(LocalDate.parse("2024-02-01")), captor.capture());
+        verify(reservationSheetSlotRepository, never()).saveAndFlush(any());
+        assertEquals(1, captor.getValue().getPending());
+        assertEquals(3, captor.getValue().getPendingHead());
+    }
+
+    @Test
+    void successReserved_NEW_SLOT() {
+        //given
+        Reservation reservation = reservation(info(20), PENDING);
+
+        given(reservationSheetSlotRepository.addCounts(anyLong(), any(), any()))
+                .willReturn(0, 1);
+        given(reservationSheetSlotRepository.saveAndFlush(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        ArgumentCaptor<ReservationSheetSlot> captor = ArgumentCaptor.forClass(ReservationSheetSlot.class);
+
+        //when
+        reservationSheetService.reserved(reservation);
+
+        //then
+        verify(reservationSheetSlotRepository).saveAndFlush(captor.capture());
+        verify(reservationSheetSlotRepository, times(2)).addCounts(eq(1L), any(), any());
+        assertEquals(1L, captor.getValue().getStoreId());
+        assertEquals(0, captor.getValue().getPendingCount());
+        assertEquals(20, captor.getValue().getRemaining());
+    }
+
+    @Test
+    void successReserved_SLOT_CREATED_CONCURRENTLY() {
+        //given
+        Reservation reservation = reservation(info(20), PENDING);
+
+        given(reservationSheetSlotRepository.addCounts(anyLong(), any(), any()))
+                .willReturn(0, 1);
+        given(reservationSheetSlotRepository.saveAndFlush(any()))
+                .willThrow(new DataIntegrityViolationException("duplicate slot"));
+
+        //when
+        reservationSheetService.reserved(reservation);
+
+        //then
+        verify(reservationSheetSlotRepository, times(2)).addCounts(eq(1L), any(), any());
+    }
+
+    @Test
+    void successStatusChanged_APPROVED() {
+        //given
+        StoreReservationInfo info = info(17);
+        Reservation reservation = reservation(info, APPROVED);
+
+        ArgumentCaptor<ReservationSheetSlot.Counts> captor = ArgumentCaptor.forClass(ReservationSheetSlot.Counts.class);
+
+        //when
+        reservationSheetService.statusChanged(reservation, PENDING, info);
+
+        //then
+        verify(reservationSheetSlotRepository).addCounts(eq(1L), any(), captor.capture());
+        verify(reservationSheetSlotRepository).updateRemaining(1L, LocalDate.parse("2024-02-01"), 17);
+        assertEquals(-1, captor.getValue().getPending());
+        assertEquals(-3, captor.getValue().getPendingHead());
+        assertEquals(1, captor.getValue().getApproved());
+        assertEquals(3, captor.getValue().getApprovedHead());
+    }
+
+    @Test
+    void successCanceled_APPROVED() {
+        //given
+        StoreReservationInfo info = info(20);
+        Reservation reservation = reservation(info, APPROVED);
+
+        ArgumentCaptor<ReservationSheetSlot.Counts> captor = ArgumentCaptor.forClass(ReservationSheetSlot.Counts.class);
+
+        //when
+        reservationSheetService.canceled(reservation, info);
+
+        //then
+        verify(reservationSheetSlotRepository).addCounts(eq(1L), any(), captor.capture());
+        verify(reservationSheetSlotRepository).updateRemaining(1L, LocalDate.parse("2024-02-01"), 20);
+        assertEquals(-1, captor.getValue().getApproved());
+        assertEquals(-3, captor.getValue().getApprovedHead());
+        assertEquals(0, captor.getValue().getPending());
+    }
+
+    @Test
+    void successInfoUpdated() {
+        //given
+        StoreReservationInfo info = info(5);
+
+        given(reservationSheetSlotRepository.updateInfo(anyLong(), any(), any(), anyInt()))
+                .willReturn(2);
+
+        //when
+        reservationSheetService.infoUpdated(info);
+
+        //then
+        verify(reservationSheetSlotRepository).updateInfo(1L, LocalTime.parse("12:00"), LocalTime.parse("13:00"), 20);
+        verify(reservationSheetSlotRepository).updateRemainingToCapacity(1L);
+    }
+
+    @Test
+    void successInfoUpdated_NO_SLOT() {
+        //given
+        given(reservationSheetSlotRepository.updateInfo(anyLong(), any(), any(), anyInt()))
+                .willReturn(0);
+
+        //when
+        reservationSheetService.infoUpdated(info(5));
+
+        //then
+        verify(reservationSheetSlotRepository, never()).updateRemainingToCapacity(anyLong());
+    }
+
+    @Test
+    void successGetSheet() {
+        //given
+        List<ReservationSheetSlot> slots = Arrays.asList(
+                ReservationSheetSlot.builder().storeReservationInfoId(1L).pendingCount(1).approvedCount(2).approvedHeadCount(5).version(3).build(),
+                ReservationSheetSlot.builder().storeReservationInfoId(2L).pendingCount(2).rejectedCount(1).version(4).build());
+
+        given(reservationSheetSlotRepository.findByStoreIdAndPartnerIdAndReservationDateOrderByStartAt(anyLong(), anyLong(), any()))
+                .willReturn(slots);
+
+        //when
+        ReservationSheetDto sheet = reservationSheetService.getSheet(1L, 1L, LocalDate.parse("2024-02-01"));
+
+        //then
+        assertEquals(2, sheet.getSlots().size());
+        assertEquals(3, sheet.getPendingCount());
+        assertEquals(2, sheet.getApprovedCount());
+        assertEquals(5, sheet.getApprovedHeadCount());
+        assertEquals("\"1-2024-02-01-2-7\"", sheet.getEtag());
+    }
+
+    @Test
+    void failGetSheet_UNMATCHED_PARTNER_STORE() {
+        //given
+        given(reservationSheetSlotRepository.findByStoreIdAndPartnerIdAndReservationDateOrderByStartAt(anyLong(), anyLong(), any()))
+                .willReturn(Collections.emptyList());
+        given(storeRepository.findByIdAndPartnerId(anyLong(), anyLong()))
+                .willReturn(Optional.empty());
+
+        //when
+        StoreException exception = assertThrows(StoreException.class,
+                () -> reservationSheetService.getSheet(1L, 1L, LocalDate.parse("2024-02-01")));
+
+        //then
+        assertEquals(ErrorCode.UNMATCHED_PARTNER_STORE, exception.getErrorCode());
+        assertEquals("매장 정보와 파트너 정보가 일치하지 않습니다.", exception.getErrorMessage());
+    }
+}
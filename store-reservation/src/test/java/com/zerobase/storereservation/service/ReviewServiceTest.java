@@ -1,5 +1,6 @@
 package com.zerobase.storereservation.service;
 
+import com.zerobase.storereservation.cache.StoreDetailCache;
 import com.zerobase.storereservation.domain.reservation.entity.Reservation;
 import com.zerobase.storereservation.domain.review.dto.ReviewDto;
 import com.zerobase.storereservation.domain.review.entity.Review;
@@ -13,6 +14,7 @@ import com.zerobase.storereservation.exception.ReviewException;
 import com.zerobase.storereservation.repository.ReservationRepository;
 import com.zerobase.storereservation.repository.ReviewRepository;
 import com.zerobase.storereservation.repository.StoreRepository;
+import com.zerobase.storereservation.support.QueryBudget;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -26,9 +28,14 @@ import java.time.LocalTime;
 import java.util.Optional;
 
 import static com.zerobase.storereservation.domain.reservation.type.Status.APPROVED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -43,10 +50,13 @@ class ReviewServiceTest {
     private ReservationRepository reservationRepository;
     @Mock
     private StoreRepository storeRepository;
+    @Mock
+    private StoreDetailCache storeDetailCache;
     @InjectMocks
     private ReviewService reviewService;
 
     @Test
+    @QueryBudget(4)
     void successCreateReview() {
         //given
         CreateReview form = CreateReview.builder()
@@ -67,6 +77,7 @@ class ReviewServiceTest {
 
         Reservation reservation = Reservation.builder()
                 .id(1L)
+                .storeId(1L)
                 .storeReservationInfo(info)
                 .customerId(1L)
                 .headCount(3)
@@ -80,23 +91,13 @@ class ReviewServiceTest {
         given(reviewRepository.existsByCustomerIdAndReservationId(anyLong(), anyLong()))
                 .willReturn(false);
 
-        float reviewSum = 99f;
-        long reviewCount = 30;
-        float rating = 3.3f;
-
-        Store store = Store.builder()
-                .id(1L)
-                .reviewSum(reviewSum)
-                .reviewCount(reviewCount)
-                .rating(rating)
-                .build();
-
-        given(storeRepository.findById(anyLong()))
-                .willReturn(Optional.ofNullable(store));
+        given(storeRepository.addRating(anyLong(), anyFloat(), anyInt(), anyDouble(), anyDouble()))
+                .willReturn(1);
 
 
         Review review = Review.builder()
                 .id(1L)
+                .storeId(1L)
                 .customerId(1L)
                 .partnerId(1L)
                 .reservation(reservation)
@@ -117,9 +118,7 @@ class ReviewServiceTest {
         verify(reviewRepository, times(1)).save(captor.capture());
         assertEquals(3.3f, captor.getValue().getRating());
         assertEquals("후기 작성", captor.getValue().getComment());
-        assertEquals(reviewCount + 1, store.getReviewCount());
-        assertEquals(reviewSum + rating, store.getReviewSum());
-        assertEquals((reviewSum + rating) / (reviewCount + 1), store.getRating());
+        verify(storeRepository, times(1)).addRating(eq(1L), eq(3.3f), eq(3), anyDouble(), anyDouble());
     }
 
     @Test
@@ -174,6 +173,7 @@ class ReviewServiceTest {
 
         Reservation reservation = Reservation.builder()
                 .id(1L)
+                .storeId(1L)
                 .storeReservationInfo(info)
                 .customerId(1L)
                 .headCount(3)
@@ -214,6 +214,7 @@ class ReviewServiceTest {
 
         Reservation reservation = Reservation.builder()
                 .id(1L)
+                .storeId(1L)
                 .storeReservationInfo(info)
                 .customerId(1L)
                 .headCount(3)
@@ -253,6 +254,7 @@ class ReviewServiceTest {
                 .build();
         Reservation reservation = Reservation.builder()
                 .id(1L)
+                .storeId(1L)
                 .storeReservationInfo(info)
                 .customerId(1L)
                 .headCount(3)
@@ -274,11 +276,10 @@ class ReviewServiceTest {
     }
 
     @Test
+    @QueryBudget(2)
     void successUpdateReview() {
         //given
         float newRating = 3.3f;
-        float reviewSum = 99f;
-        long reviewCount = 30;
         float storeRating = 4.3f;
 
         UpdateReview form = UpdateReview.builder()
@@ -299,6 +300,7 @@ class ReviewServiceTest {
 
         Reservation reservation = Reservation.builder()
                 .id(1L)
+                .storeId(1L)
                 .storeReservationInfo(info)
                 .customerId(1L)
                 .headCount(3)
@@ -308,6 +310,7 @@ class ReviewServiceTest {
 
         Review review = Review.builder()
                 .id(1L)
+                .storeId(1L)
                 .customerId(1L)
                 .partnerId(1L)
                 .reservation(reservation)
@@ -318,15 +321,8 @@ class ReviewServiceTest {
         given(reviewRepository.findByIdAndCustomerId(anyLong(), anyLong()))
                 .willReturn(Optional.ofNullable(review));
 
-        Store store = Store.builder()
-                .id(1L)
-                .reviewSum(reviewSum)
-                .reviewCount(reviewCount)
-                .rating(storeRating)
-                .build();
-
-        given(storeRepository.findById(anyLong()))
-                .willReturn(Optional.ofNullable(store));
+        given(storeRepository.changeRating(anyLong(), anyFloat(), anyFloat(), anyInt(), anyInt(), anyDouble()))
+                .willReturn(1);
 
         //when
         ReviewDto reviewDto = reviewService.updateReview(1L, form);
@@ -334,16 +330,13 @@ class ReviewServiceTest {
         //then
         assertEquals("후기 수정", reviewDto.getComment());
         assertEquals(newRating, reviewDto.getRating());
-        assertEquals(reviewCount, store.getReviewCount());
-        assertEquals((reviewSum-storeRating+newRating)/reviewCount, store.getRating());
-        assertEquals(reviewSum-storeRating+newRating, store.getReviewSum());
+        verify(storeRepository, times(1)).changeRating(eq(1L), eq(storeRating), eq(newRating), eq(4), eq(3), anyDouble());
     }
 
     @Test
+    @QueryBudget(3)
     void successDeleteReviewByPartner(){
         //given
-        float reviewSum = 99f;
-        long reviewCount = 30;
         float rating = 3.3f;
 
         StoreReservationInfo info = StoreReservationInfo.builder()
@@ -358,6 +351,7 @@ class ReviewServiceTest {
 
         Reservation reservation = Reservation.builder()
                 .id(1L)
+                .storeId(1L)
                 .storeReservationInfo(info)
                 .customerId(1L)
                 .headCount(3)
@@ -367,6 +361,7 @@ class ReviewServiceTest {
 
         Review review = Review.builder()
                 .id(1L)
+                .storeId(1L)
                 .customerId(1L)
                 .partnerId(2L)
                 .reservation(reservation)
@@ -377,23 +372,15 @@ class ReviewServiceTest {
         given(reviewRepository.findByIdAndPartnerId( anyLong(),anyLong()))
                 .willReturn(Optional.ofNullable(review));
 
-        Store store = Store.builder()
-                .id(1L)
-                .reviewSum(reviewSum)
-                .reviewCount(reviewCount)
-                .build();
-
-        given(storeRepository.findById(anyLong()))
-                .willReturn(Optional.ofNullable(store));
+        given(storeRepository.removeRating(anyLong(), anyFloat(), anyInt(), anyDouble(), anyDouble()))
+                .willReturn(1);
 
         //when
         String result = reviewService.deleteReviewByPartner(1L, 1L);
 
         //then
         verify(reviewRepository,times(1)).delete(any());
-        assertEquals(reviewSum-rating, store.getReviewSum());
-        assertEquals(reviewCount-1, store.getReviewCount());
-        assertEquals((reviewSum-rating)/ (reviewCount-1), store.getRating());
+        verify(storeRepository, times(1)).removeRating(eq(1L), eq(rating), eq(3), anyDouble(), anyDouble());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.zerobase.storereservation.service;
+
+import com.zerobase.storereservation.cache.StoreDetailCache;
+import com.zerobase.storereservation.domain.store.entity.Store;
+import com.zerobase.storereservation.domain.store.type.DateSet;
+import com.zerobase.storereservation.repository.StoreRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+class StoreDatesBackfillTest {
+    // 이전 store_dates 테이블(store_id, dates)을 직접 만들어 dates 컬럼으로 옮겨지는지 확인
+
+    @Configuration
+    @EnableJpaAuditing
+    @EntityScan(basePackages = "com.zerobase.storereservation.domain")
+    @EnableJpaRepositories(basePackageClasses = StoreRepository.class)
+    static class Config {
+    }
+
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private StoreRepository storeRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final StoreDetailCache storeDetailCache = mock(StoreDetailCache.class);
+    private StoreDatesBackfill storeDatesBackfill;
+
+    @BeforeEach
+    void setUp() {
+        storeDatesBackfill = new StoreDatesBackfill(storeRepository, jdbcTemplate, storeDetailCache, transactionManager);
+    }
+
+    // dates 컬럼이 생기기 전에 등록된 매장 (dates 가 null)
+    private Long legacyStore(String name, LocalDate... dates) {
+        Long storeId = em.persistAndFlush(Store.builder()
+                .partnerId(1L)
+                .name(name)
+                .dates(DateSet.empty())
+                .storeReservationInfos(new ArrayList<>())
+                .build()).getId();
+        jdbcTemplate.update("update store set dates = null where id = ?", storeId);
+        for (LocalDate date : dates) {
+            jdbcTemplate.update("insert into store_dates (store_id, dates) values (?, ?)", storeId, date);
+        }
+        em.clear();
+        return storeId;
+    }
+
+    private void createLegacyTable() {
+        jdbcTemplate.execute("create table if not exists store_dates (store_id bigint not null, dates date)");
+    }
+
+    @Test
+    void successBackfill() {
+        //given
+        createLegacyTable();
+        Long storeId = legacyStore("매장1", LocalDate.parse("2024-02-01"), LocalDate.parse("2024-02-03"));
+
+        //when
+        storeDatesBackfill.start();
+
+        //then
+        em.clear();
+        Store store = em.find(Store.class, storeId);
+        assertEquals(DateSet.of(LocalDate.parse("2024-02-01"), LocalDate.parse("2024-02-03")), store.getDates());
+        verify(storeDetailCache).evict(storeId);
+        assertTrue(storeDatesBackfill.isRunning());
+    }
+
+    @Test
+    void successBackfill_OTHER_COLUMN_UPDATED() {
+        //given
+        createLegacyTable();
+        Long storeId = legacyStore("매장1", LocalDate.parse("2024-02-01"));
+        // 채우기 전에 다른 컬럼만 수정한 매장 (dates 컬럼은 null 로 남아야 함)
+        Store legacy = em.find(Store.class, storeId);
+        assertTrue(legacy.getDates().isEmpty());
+        legacy.updateRules(List.of(), DateSet.empty());
+        em.flush();
+        em.clear();
+
+        //when
+        storeDatesBackfill.backfill();
+
+        //then
+        em.clear();
+        Store store = em.find(Store.class, storeId);
+        assertEquals(DateSet.of(LocalDate.parse("2024-02-01")), store.getDates());
+        verify(storeDetailCache).evict(storeId);
+    }
+
+    @Test
+    void successBackfill_ALREADY_UPDATED() {
+        //given
+        createLegacyTable();
+        Long storeId = legacyStore("매장1", LocalDate.parse("2024-02-01"));
+        // 서버를 새로 띄운 뒤 파트너가 날짜를 다시 지정한 매장
+        jdbcTemplate.update("update store set dates = ? where id = ?",
+                DateSet.of(LocalDate.parse("2024-03-01")).toBytes(), storeId);
+
+        //when
+        storeDatesBackfill.backfill();
+
+        //then
+        em.clear();
+        Store store = em.find(Store.class, storeId);
+        assertEquals(DateSet.of(LocalDate.parse("2024-03-01")), store.getDates());
+        verify(storeDetailCache, never()).evict(anyLong());
+    }
+
+    @Test
+    void successBackfill_NO_LEGACY_TABLE() {
+        //given
+        jdbcTemplate.execute("drop table if exists store_dates");
+
+        //when
+        storeDatesBackfill.backfill();
+
+        //then
+        verify(storeDetailCache, never()).evict(anyLong());
+    }
+}
@@ -0,0 +1,144 @@
+package com.zerobase.storereservation.service;
+
+import com.zerobase.storereservation.domain.reservation.entity.Reservation;
+import com.zerobase.storereservation.domain.store.dto.StoreDeletionDto;
+import com.zerobase.storereservation.domain.store.event.StoreDeletedReservations;
+import com.zerobase.storereservation.domain.store.type.DeletionStatus;
+import com.zerobase.storereservation.repository.ReservationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class StoreDeletionJobTest {
+    @Mock
+    private ReservationRepository reservationRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StoreDeletionJob storeDeletionJob;
+
+    @BeforeEach
+    void setUp() {
+        storeDeletionJob = new StoreDeletionJob(reservationRepository, eventPublisher, transactionManager, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        storeDeletionJob.shutdown();
+    }
+
+    @Test
+    void successRun() {
+        //given
+        given(reservationRepository.countByStoreIdAndReservationDateGreaterThanEqual(anyLong(), any()))
+                .willReturn(3L);
+        given(reservationRepository.findChunkByStoreId(eq(1L), any(), eq(0L), any()))
+                .willReturn(Arrays.asList(reservation(10L, 100L), reservation(11L, 101L)));
+        given(reservationRepository.findChunkByStoreId(eq(1L), any(), eq(11L), any()))
+                .willReturn(Collections.singletonList(reservation(12L, 102L)));
+
+        //when
+        storeDeletionJob.run(started());
+
+        //then
+        ArgumentCaptor<StoreDeletedReservations> captor = ArgumentCaptor.forClass(StoreDeletedReservations.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        List<StoreDeletedReservations> events = captor.getAllValues();
+        assertEquals(Arrays.asList(10L, 11L), events.get(0).getReservationIds());
+        assertEquals(Arrays.asList(100L, 101L), events.get(0).getCustomerIds());
+        assertEquals(Collections.singletonList(12L), events.get(1).getReservationIds());
+
+        StoreDeletionDto progress = storeDeletionJob.getProgress(1L).get();
+        assertEquals(DeletionStatus.DONE, progress.getStatus());
+        assertEquals(5, progress.getUpdated());
+        assertEquals(3, progress.getTotal());
+        assertEquals(3, progress.getProcessed());
+        assertNotNull(progress.getFinishedAt());
+    }
+
+    @Test
+    void successRun_NO_RESERVATION() {
+        //given
+        given(reservationRepository.countByStoreIdAndReservationDateGreaterThanEqual(anyLong(), any()))
+                .willReturn(0L);
+        given(reservationRepository.findChunkByStoreId(anyLong(), any(), anyLong(), any()))
+                .willReturn(Collections.emptyList());
+
+        //when
+        storeDeletionJob.run(started());
+
+        //then
+        verify(eventPublisher, never()).publishEvent(any());
+        assertEquals(DeletionStatus.DONE, storeDeletionJob.getProgress(1L).get().getStatus());
+    }
+
+    @Test
+    void failRun() {
+        //given
+        given(reservationRepository.countByStoreIdAndReservationDateGreaterThanEqual(anyLong(), any()))
+                .willReturn(4L);
+        given(reservationRepository.findChunkByStoreId(eq(1L), any(), eq(0L), any()))
+                .willReturn(Arrays.asList(reservation(10L, 100L), reservation(11L, 101L)));
+        given(reservationRepository.findChunkByStoreId(eq(1L), any(), eq(11L), any()))
+                .willThrow(new IllegalStateException("db"));
+
+        //when
+        storeDeletionJob.run(started());
+
+        //then
+        StoreDeletionDto progress = storeDeletionJob.getProgress(1L).get();
+        assertEquals(DeletionStatus.FAILED, progress.getStatus());
+        assertEquals(4, progress.getTotal());
+        assertEquals(2, progress.getProcessed());
+    }
+
+    @Test
+    void successGetProgress_NOT_SUBMITTED() {
+        //when
+        Optional<StoreDeletionDto> progress = storeDeletionJob.getProgress(1L);
+
+        //then
+        assertFalse(progress.isPresent());
+    }
+
+    private StoreDeletionDto started() {
+        return StoreDeletionDto.builder()
+                .storeId(1L)
+                .status(DeletionStatus.RUNNING)
+                .updated(5)
+                .startedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private Reservation reservation(Long id, Long customerId) {
+        return Reservation.builder()
+                .id(id)
+                .storeId(1L)
+                .customerId(customerId)
+                .reservationDate(LocalDate.now().plusDays(1))
+                .build();
+    }
+}
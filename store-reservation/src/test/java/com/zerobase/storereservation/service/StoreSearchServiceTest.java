@@ -1,8 +1,11 @@
 package com.zerobase.storereservation.service;
 
+import com.zerobase.storereservation.cache.SearchPageCache;
+import com.zerobase.storereservation.cache.StoreDetailCache;
 import com.zerobase.storereservation.domain.store.dto.StoreDto;
 import com.zerobase.storereservation.domain.store.entity.Store;
 import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
+import com.zerobase.storereservation.domain.store.type.RatingOrder;
 import com.zerobase.storereservation.repository.StoreRepository;
 import com.zerobase.storereservation.util.KaKakoApi;
 import org.json.simple.parser.ParseException;
@@ -23,6 +26,7 @@ import java.util.stream.Collectors;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class StoreSearchServiceTest {
@@ -31,6 +35,10 @@ class StoreSearchServiceTest {
     StoreRepository storeRepository;
     @Mock
     KaKakoApi kaKakoApi;
+    @Mock
+    StoreDetailCache storeDetailCache;
+    @Mock
+    SearchPageCache searchPageCache;
     @InjectMocks
     StoreSearchService storeSearchService;
 
@@ -93,6 +101,24 @@ class StoreSearchServiceTest {
         assertEquals("광화문양가", storeDtos.getContent().get(2).getName());
     }
 
+    @Test
+    void successSearchStoreRatingOrder_BAYESIAN() {
+        //given
+        List<Store> stores = getStores();
+        PageRequest pageable = PageRequest.of(0, 10);
+        given(storeRepository.findMeanRating())
+                .willReturn(4.0);
+        given(storeRepository.findOrderByBayesianRating(anyDouble(), anyDouble(), any()))
+                .willReturn(new PageImpl<>(stores));
+
+        //when
+        Page<StoreDto> storeDtos = storeSearchService.searchStoreRatingOrder(RatingOrder.BAYESIAN, pageable);
+
+        //then
+        verify(storeRepository).findOrderByBayesianRating(10.0, 40.0, pageable);
+        assertEquals(stores.size(), storeDtos.getContent().size());
+    }
+
     @Test
     void successSearchStoreDistanceOrder() throws IOException, ParseException {
         //given
@@ -1,12 +1,16 @@
 package com.zerobase.storereservation.service;
 
-import com.zerobase.storereservation.domain.reservation.entity.Reservation;
+import com.zerobase.storereservation.cache.SearchPageCache;
+import com.zerobase.storereservation.cache.StoreDetailCache;
 import com.zerobase.storereservation.domain.reservation.type.Status;
+import com.zerobase.storereservation.domain.store.dto.StoreDeletionDto;
 import com.zerobase.storereservation.domain.store.dto.StoreDto;
 import com.zerobase.storereservation.domain.store.dto.StoreReservationInfoDto;
 import com.zerobase.storereservation.domain.store.entity.Store;
 import com.zerobase.storereservation.domain.store.entity.StoreReservationInfo;
 import com.zerobase.storereservation.domain.store.form.*;
+import com.zerobase.storereservation.domain.store.type.DateSet;
+import com.zerobase.storereservation.domain.store.type.DeletionStatus;
 import com.zerobase.storereservation.exception.ErrorCode;
 import com.zerobase.storereservation.exception.StoreException;
 import com.zerobase.storereservation.repository.ReservationRepository;
@@ -20,15 +24,18 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.io.IOException;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.*;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -42,6 +49,16 @@ class StoreServiceTest {
     private StoreReservationInfoRepository storeReservationInfoRepository;
     @Mock
     private KaKakoApi kaKakoApi;
+    @Mock
+    private ReservationSheetService reservationSheetService;
+    @Mock
+    private UniquenessFilter uniquenessFilter;
+    @Mock
+    private StoreDetailCache storeDetailCache;
+    @Mock
+    private SearchPageCache searchPageCache;
+    @Mock
+    private StoreDeletionJob storeDeletionJob;
     @InjectMocks
     private StoreService storeService;
 
@@ -56,6 +73,8 @@ class StoreServiceTest {
                 .closeAt(LocalTime.parse("14:00"))
                 .build();
 
+        given(uniquenessFilter.mightContainStoreName(anyString()))
+                .willReturn(true);
         given(storeRepository.existsByName(anyString()))
                 .willReturn(false);
 
@@ -69,7 +88,7 @@ class StoreServiceTest {
         StoreDto storeDto = storeService.registerStore(1L, form);
 
         //then
-        verify(storeRepository, times(1)).save(captor.capture());
+        verify(storeRepository, times(1)).saveAndFlush(captor.capture());
         assertEquals("매장1", captor.getValue().getName());
         assertEquals("첫번째 매장", captor.getValue().getDescription());
         assertEquals("대구광역시 북구 대학로 80", captor.getValue().getAddress());
@@ -79,6 +98,32 @@ class StoreServiceTest {
         assertEquals(128.614f, captor.getValue().getLon());
     }
 
+    @Test
+    void failRegisterStore_DUPLICATE_STORE_NAME_UNIQUE_CONSTRAINT() throws IOException, ParseException {
+        //given
+        RegisterStore form = RegisterStore.builder()
+                .name("매장1")
+                .description("첫번째 매장")
+                .address("대구광역시 북구 대학로 80")
+                .openAt(LocalTime.parse("12:00"))
+                .closeAt(LocalTime.parse("14:00"))
+                .build();
+
+        given(uniquenessFilter.mightContainStoreName(anyString()))
+                .willReturn(false);
+        given(kaKakoApi.getCoordinateFromApi(anyString()))
+                .willReturn(Arrays.asList(128.614f, 35.8891f));
+        given(storeRepository.saveAndFlush(any()))
+                .willThrow(new DataIntegrityViolationException("duplicate name"));
+
+        //when
+        StoreException exception = assertThrows(StoreException.class, () -> storeService.registerStore(1L, form));
+
+        //then
+        assertEquals(ErrorCode.DUPLICATE_STORE_NAME, exception.getErrorCode());
+        verify(uniquenessFilter, never()).putStoreName(anyString());
+    }
+
     @Test
     void failRegisterStore_DUPLICATE_STORE_NAME() throws IOException, ParseException {
         //given
@@ -90,6 +135,8 @@ class StoreServiceTest {
                 .closeAt(LocalTime.parse("14:00"))
                 .build();
 
+        given(uniquenessFilter.mightContainStoreName(anyString()))
+                .willReturn(true);
         given(storeRepository.existsByName(anyString()))
                 .willReturn(true);
 
@@ -113,6 +160,8 @@ class StoreServiceTest {
                 .closeAt(LocalTime.parse("14:00"))
                 .build();
 
+        given(uniquenessFilter.mightContainStoreName(anyString()))
+                .willReturn(true);
         given(storeRepository.existsByName(anyString()))
                 .willReturn(false);
 
@@ -357,34 +406,71 @@ class StoreServiceTest {
                 .openAt(LocalTime.parse("13:00"))
                 .closeAt(LocalTime.parse("14:00"))
                 .build();
-        StoreReservationInfo info = StoreReservationInfo.builder()
+        given(storeRepository.findByIdAndPartnerId(anyLong(), anyLong()))
+                .willReturn(Optional.ofNullable(store));
+        given(reservationRepository.updateStatusByStoreId(anyLong(), any(), any()))
+                .willReturn(3);
+
+        //when
+        StoreDto storeDto = storeService.deleteStore(1L, 1L);
+
+        //then
+        assertEquals(true, storeDto.isDeleted());
+        assertTrue(store.isDeleted());
+        verify(reservationRepository, times(1))
+                .updateStatusByStoreId(eq(1L), eq(Status.STORE_DELETED), any());
+        verify(reservationSheetService, times(1)).storeDeleted(1L);
+        verify(storeDeletionJob, times(1)).submit(1L, 3);
+    }
+
+    @Test
+    void successGetStoreDeletion() {
+        //given
+        Store store = Store.builder()
                 .id(1L)
-                .store(Store.builder().name("매장").build())
-                .startAt(LocalTime.parse("12:00"))
-                .endAt(LocalTime.parse("13:00"))
-                .minCount(1)
-                .maxCount(4)
-                .count(20)
+                .partnerId(1L)
+                .name("매장1")
+                .deleted(true)
                 .build();
+        given(storeRepository.findByIdAndPartnerId(anyLong(), anyLong()))
+                .willReturn(Optional.ofNullable(store));
+        given(storeDeletionJob.getProgress(anyLong()))
+                .willReturn(Optional.of(StoreDeletionDto.builder()
+                        .storeId(1L)
+                        .status(DeletionStatus.RUNNING)
+                        .updated(3)
+                        .total(2)
+                        .processed(1)
+                        .build()));
+
+        //when
+        StoreDeletionDto storeDeletionDto = storeService.getStoreDeletion(1L, 1L);
 
-        Reservation reservation = Reservation.builder()
+        //then
+        assertEquals(DeletionStatus.RUNNING, storeDeletionDto.getStatus());
+        assertEquals(2, storeDeletionDto.getTotal());
+        assertEquals(1, storeDeletionDto.getProcessed());
+    }
+
+    @Test
+    void failGetStoreDeletion_NOT_FOUND_STORE_DELETION() {
+        //given
+        Store store = Store.builder()
                 .id(1L)
-                .storeReservationInfo(info)
-                .customerId(1L)
-                .headCount(3)
-                .status(Status.PENDING)
-                .visit(false)
+                .partnerId(1L)
+                .name("매장1")
                 .build();
         given(storeRepository.findByIdAndPartnerId(anyLong(), anyLong()))
                 .willReturn(Optional.ofNullable(store));
-        given(reservationRepository.findByStoreId(anyLong()))
-                .willReturn(Arrays.asList(reservation));
+        given(storeDeletionJob.getProgress(anyLong()))
+                .willReturn(Optional.empty());
 
         //when
-        StoreDto storeDto = storeService.deleteStore(1L, 1L);
+        StoreException exception = assertThrows(StoreException.class,
+                () -> storeService.getStoreDeletion(1L, 1L));
 
         //then
-        assertEquals(true, storeDto.isDeleted());
+        assertEquals(ErrorCode.NOT_FOUND_STORE_DELETION, exception.getErrorCode());
     }
 
     @Test
@@ -428,6 +514,143 @@ class StoreServiceTest {
         assertEquals("이미 삭제된 매장입니다.", exception.getErrorMessage());
     }
 
+    @Test
+    void successUpdateStoreReservationDate() {
+        //given
+        Map<LocalDate, Integer> closed = new HashMap<>();
+        closed.put(LocalDate.parse("2024-07-01"), -1);
+        closed.put(LocalDate.parse("2024-07-02"), 5);
+        StoreReservationInfo info = StoreReservationInfo.builder()
+                .id(1L)
+                .startAt(LocalTime.parse("10:00"))
+                .endAt(LocalTime.parse("11:00"))
+                .count(20)
+                .closed(closed)
+                .build();
+
+        Store store = Store.builder()
+                .id(1L)
+                .name("매장1")
+                .dates(DateSet.of(LocalDate.parse("2024-07-01"), LocalDate.parse("2024-07-02")))
+                .storeReservationInfos(new ArrayList<>(List.of(info)))
+                .build();
+
+        UpdateStoreDate form = UpdateStoreDate.builder()
+                .id(1L)
+                .dates(Arrays.asList(LocalDate.parse("2024-07-02"), LocalDate.parse("2024-07-03")))
+                .build();
+
+        given(storeRepository.findByIdAndPartnerId(anyLong(), anyLong()))
+                .willReturn(Optional.ofNullable(store));
+
+        given(storeReservationInfoRepository.findByStoreId(anyLong()))
+                .willReturn(List.of(info));
+
+        //when
+        StoreDto storeDto = storeService.updateStoreReservationDate(1L, form);
+
+        //then
+        // 빠진 날짜는 삭제, 추가된 날짜는 예약이 승인될 때까지 저장하지 않음
+        assertEquals(Arrays.asList(LocalDate.parse("2024-07-02"), LocalDate.parse("2024-07-03")), storeDto.getDates());
+        assertFalse(closed.containsKey(LocalDate.parse("2024-07-01")));
+        assertEquals(5, closed.get(LocalDate.parse("2024-07-02")));
+        assertFalse(closed.containsKey(LocalDate.parse("2024-07-03")));
+        assertEquals(20, info.remaining(LocalDate.parse("2024-07-03")));
+    }
+
+    @Test
+    void successUpdateStoreReservationRule() {
+        //given
+        Store store = Store.builder()
+                .id(1L)
+                .name("매장1")
+                .dates(DateSet.empty())
+                .storeReservationInfos(new ArrayList<>())
+                .build();
+
+        UpdateStoreRule form = UpdateStoreRule.builder()
+                .id(1L)
+                .rules(List.of(UpdateStoreRule.Rule.builder()
+                        .startDate(LocalDate.parse("2024-07-01"))
+                        .weekdays(List.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY))
+                        .build()))
+                .holidays(List.of(LocalDate.parse("2024-07-06")))
+                .build();
+
+        given(storeRepository.findByIdAndPartnerId(anyLong(), anyLong()))
+                .willReturn(Optional.ofNullable(store));
+
+        //when
+        StoreDto storeDto = storeService.updateStoreReservationRule(1L, form);
+
+        //then
+        // 2024-07-05 금요일, 2024-07-06 토요일(휴무일), 2024-07-07 일요일
+        assertTrue(store.isOpen(LocalDate.parse("2024-07-05")));
+        assertFalse(store.isOpen(LocalDate.parse("2024-07-06")));
+        assertFalse(store.isOpen(LocalDate.parse("2024-07-07")));
+        assertTrue(store.isOpen(LocalDate.parse("2030-07-05")));
+        assertEquals(1, storeDto.getRules().size());
+        assertEquals(List.of(LocalDate.parse("2024-07-06")), storeDto.getHolidays());
+        verify(storeReservationInfoRepository, never()).findByStoreId(anyLong());
+    }
+
+    @Test
+    void failUpdateStoreReservationRule_CHECK_RECURRENCE_RULE() {
+        //given
+        Store store = Store.builder()
+                .id(1L)
+                .name("매장1")
+                .dates(DateSet.empty())
+                .storeReservationInfos(new ArrayList<>())
+                .build();
+
+        UpdateStoreRule form = UpdateStoreRule.builder()
+                .id(1L)
+                .rules(List.of(UpdateStoreRule.Rule.builder()
+                        .startDate(LocalDate.parse("2024-07-31"))
+                        .endDate(LocalDate.parse("2024-07-01"))
+                        .weekdays(List.of(DayOfWeek.FRIDAY))
+                        .build()))
+                .build();
+
+        given(storeRepository.findByIdAndPartnerId(anyLong(), anyLong()))
+                .willReturn(Optional.ofNullable(store));
+
+        //when
+        StoreException exception = assertThrows(StoreException.class,
+                () -> storeService.updateStoreReservationRule(1L, form));
+
+        //then
+        assertEquals(ErrorCode.CHECK_RECURRENCE_RULE, exception.getErrorCode());
+        assertEquals("반복 규칙의 기간과 요일을 확인해주세요.", exception.getErrorMessage());
+    }
+
+    @Test
+    void failUpdateStoreReservationDate_TOO_LONG_RESERVATION_DATES() {
+        //given
+        Store store = Store.builder()
+                .id(1L)
+                .name("매장1")
+                .dates(DateSet.empty())
+                .storeReservationInfos(new ArrayList<>())
+                .build();
+
+        UpdateStoreDate form = UpdateStoreDate.builder()
+                .id(1L)
+                .dates(Arrays.asList(LocalDate.parse("2024-07-01"), LocalDate.parse("2040-07-01")))
+                .build();
+
+        given(storeRepository.findByIdAndPartnerId(anyLong(), anyLong()))
+                .willReturn(Optional.ofNullable(store));
+
+        //when
+        StoreException exception = assertThrows(StoreException.class,
+                () -> storeService.updateStoreReservationDate(1L, form));
+
+        //then
+        assertEquals(ErrorCode.TOO_LONG_RESERVATION_DATES, exception.getErrorCode());
+    }
+
     @Test
     void successUpdateStoreReservationInfo() {
         //given
@@ -437,7 +660,7 @@ class StoreServiceTest {
                 .storeReservationInfos(getInfos())
                 .description("첫번째 매장")
                 .address("대구광역시 북구 대학로 80")
-                .dates(Arrays.asList(LocalDate.parse("2024-07-01"), LocalDate.parse("2024-07-02")))
+                .dates(DateSet.of(LocalDate.parse("2024-07-01"), LocalDate.parse("2024-07-02")))
                 .openAt(LocalTime.parse("13:00"))
                 .closeAt(LocalTime.parse("14:00"))
                 .build();
@@ -478,6 +701,8 @@ class StoreServiceTest {
 
         //then
         assertEquals(4, storeDto.getStoreReservationInfos().size());
+        // 기존 정보만 현황표 슬롯에 반영
+        verify(reservationSheetService, times(1)).infoUpdated(any());
     }
 
     @Test
@@ -489,7 +714,7 @@ class StoreServiceTest {
                 .storeReservationInfos(getInfos())
                 .description("첫번째 매장")
                 .address("대구광역시 북구 대학로 80")
-                .dates(Arrays.asList(LocalDate.parse("2024-07-01"), LocalDate.parse("2024-07-02")))
+                .dates(DateSet.of(LocalDate.parse("2024-07-01"), LocalDate.parse("2024-07-02")))
                 .openAt(LocalTime.parse("13:00"))
                 .closeAt(LocalTime.parse("14:00"))
                 .build();
@@ -543,7 +768,7 @@ class StoreServiceTest {
                 .storeReservationInfos(getInfos())
                 .description("첫번째 매장")
                 .address("대구광역시 북구 대학로 80")
-                .dates(Arrays.asList(LocalDate.parse("2024-07-01"), LocalDate.parse("2024-07-02")))
+                .dates(DateSet.of(LocalDate.parse("2024-07-01"), LocalDate.parse("2024-07-02")))
                 .openAt(LocalTime.parse("13:00"))
                 .closeAt(LocalTime.parse("14:00"))
                 .build();
@@ -580,7 +805,7 @@ class StoreServiceTest {
                 .storeReservationInfos(getInfos())
                 .description("첫번째 매장")
                 .address("대구광역시 북구 대학로 80")
-                .dates(Arrays.asList(LocalDate.parse("2024-07-01"), LocalDate.parse("2024-07-02")))
+                .dates(DateSet.of(LocalDate.parse("2024-07-01"), LocalDate.parse("2024-07-02")))
                 .openAt(LocalTime.parse("13:00"))
                 .closeAt(LocalTime.parse("14:00"))
                 .build();
@@ -633,9 +858,14 @@ class StoreServiceTest {
                 .maxCount(4)
                 .closed(closed)
                 .count(20)
+                .store(Store.builder()
+                        .id(1L)
+                        .dates(DateSet.of(LocalDate.parse("2024-07-01"), LocalDate.parse("2024-07-02"),
+                                LocalDate.parse("2024-07-03")))
+                        .build())
                 .build();
 
-        given(storeReservationInfoRepository.findByIdAndPartnerId(anyLong(), anyLong()))
+        given(storeReservationInfoRepository.findByIdForUpdate(anyLong()))
                 .willReturn(Optional.ofNullable(info));
 
         //when
@@ -668,9 +898,14 @@ class StoreServiceTest {
                 .maxCount(4)
                 .closed(closed)
                 .count(20)
+                .store(Store.builder()
+                        .id(1L)
+                        .dates(DateSet.of(LocalDate.parse("2024-07-01"), LocalDate.parse("2024-07-02"),
+                                LocalDate.parse("2024-07-03")))
+                        .build())
                 .build();
 
-        given(storeReservationInfoRepository.findByIdAndPartnerId(anyLong(), anyLong()))
+        given(storeReservationInfoRepository.findByIdForUpdate(anyLong()))
                 .willReturn(Optional.ofNullable(info));
 
         //when
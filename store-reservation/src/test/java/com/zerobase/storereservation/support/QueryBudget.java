@@ -0,0 +1,19 @@
+package com.zerobase.storereservation.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 테스트에서 서비스 메소드가 호출한 repository 메소드 수가 value 를 넘으면 실패
+ * mock repository 호출 하나를 sql 하나로 보고 서비스 단위 테스트에서 쿼리 수 증가를 막음
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+    int value();
+}
@@ -0,0 +1,58 @@
+package com.zerobase.storereservation.support;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.mockito.Mock;
+import org.mockito.MockingDetails;
+import org.mockito.Mockito;
+import org.mockito.invocation.Invocation;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class QueryBudgetExtension implements AfterTestExecutionCallback {
+    // 테스트 클래스의 @Mock repository 들에 실제로 호출된 메소드를 세어 @QueryBudget 과 비교
+    // given(...) 으로 stub 할 때의 호출은 mockito 가 기록에서 지우므로 서비스가 호출한 것만 남음
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        // 테스트가 이미 실패한 경우 원래 실패 원인을 가리지 않도록 확인하지 않음
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+
+        QueryBudget budget = context.getRequiredTestMethod().getAnnotation(QueryBudget.class);
+        if (budget == null) {
+            return;
+        }
+
+        List<String> calls = repositoryCalls(context.getRequiredTestInstance());
+        if (calls.size() > budget.value()) {
+            fail(String.format("repository 호출 %d번 (허용 %d번)%n%s",
+                    calls.size(), budget.value(), String.join(System.lineSeparator(), calls)));
+        }
+    }
+
+    private List<String> repositoryCalls(Object testInstance) {
+        List<String> calls = new ArrayList<>();
+        ReflectionUtils.doWithFields(testInstance.getClass(), field -> {
+            ReflectionUtils.makeAccessible(field);
+            MockingDetails details = Mockito.mockingDetails(field.get(testInstance));
+            if (!details.isMock()) {
+                return;
+            }
+            for (Invocation invocation : details.getInvocations()) {
+                calls.add(field.getName() + "." + invocation.getMethod().getName());
+            }
+        }, QueryBudgetExtension::isRepositoryMock);
+        return calls;
+    }
+
+    private static boolean isRepositoryMock(Field field) {
+        return field.isAnnotationPresent(Mock.class) && field.getType().getSimpleName().endsWith("Repository");
+    }
+}
@@ -0,0 +1,48 @@
+package com.zerobase.storereservation.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class SqlStatementCounter implements StatementInspector {
+    // hibernate 가 실행하는 sql 을 스레드별로 모아두는 테스트용 inspector
+    // spring.jpa.properties.hibernate.session_factory.statement_inspector 에 등록해서 사용
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    public static List<String> statements() {
+        return new ArrayList<>(STATEMENTS.get());
+    }
+
+    /**
+     * action 실행 중 나간 sql 수가 budget 을 넘으면 실행된 sql 목록과 함께 테스트 실패
+     * @param budget : 허용하는 최대 sql 수
+     * @param action : 확인할 서비스 메소드 호출
+     * @return action 의 결과
+     */
+    public static <T> T assertSqlBudget(int budget, Supplier<T> action) {
+        reset();
+        T result = action.get();
+        List<String> executed = statements();
+
+        if (executed.size() > budget) {
+            fail(String.format("sql %d개 실행 (허용 %d개)%n%s",
+                    executed.size(), budget, String.join(System.lineSeparator(), executed)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,61 @@
+package com.zerobase.storereservation.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Aes256UtilTest {
+
+    @Test
+    void successEncrypt_SAME_AS_BEFORE() {
+        // 이미 발급된 토큰을 계속 읽을 수 있도록 이전 방식과 같은 값이 나와야 함
+        //when
+        //then
+        assertEquals("Kz/AJVaT9KpviCVbpf7r7Q==", Aes256Util.encrypt("user1@gmail.com"));
+        assertEquals("CmYDv5MK5YUyik8KGNDwow==", Aes256Util.encrypt("1"));
+        assertEquals("user1@gmail.com", Aes256Util.decrypt("Kz/AJVaT9KpviCVbpf7r7Q=="));
+    }
+
+    @Test
+    void failDecrypt_INVALID_TEXT() {
+        //when
+        //then
+        assertNull(Aes256Util.decrypt("garbage!"));
+        assertNull(Aes256Util.decrypt("Kz/AJVaT9KpviCVbpf7r7A=="));
+        // 실패 후에도 같은 스레드에서 정상 동작
+        assertEquals("1", Aes256Util.decrypt("CmYDv5MK5YUyik8KGNDwow=="));
+    }
+
+    @Test
+    void successEncryptDecrypt_MULTI_THREAD() throws Exception {
+        //given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < 8; i++) {
+            int thread = i;
+            results.add(executor.submit(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    String text = "user" + thread + "-" + j + "@gmail.com";
+                    if (!text.equals(Aes256Util.decrypt(Aes256Util.encrypt(text)))) {
+                        return false;
+                    }
+                }
+                return true;
+            }));
+        }
+
+        //then
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+        executor.shutdown();
+    }
+}
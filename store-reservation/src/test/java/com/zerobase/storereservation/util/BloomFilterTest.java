@@ -0,0 +1,33 @@
+package com.zerobase.storereservation.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void successMightContain() {
+        //given
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@gmail.com");
+        }
+
+        //when
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other" + i + "@gmail.com")) {
+                falsePositives++;
+            }
+        }
+
+        //then
+        // 추가한 값은 항상 있다고 나와야 함
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@gmail.com"));
+        }
+        // 오탐률 1% 설정 : 여유를 두고 2% 이하
+        assertTrue(falsePositives < 200, "false positives : " + falsePositives);
+    }
+}
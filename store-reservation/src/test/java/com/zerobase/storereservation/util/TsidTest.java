@@ -0,0 +1,117 @@
+package com.zerobase.storereservation.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TsidTest {
+
+    private static final long NOW = Instant.parse("2024-03-01T12:00:00Z").toEpochMilli();
+
+    @Test
+    void successNext() {
+        //given
+        Tsid tsid = new Tsid(7, () -> NOW);
+
+        //when
+        long first = tsid.next();
+        long second = tsid.next();
+
+        //then
+        assertTrue(first < second);
+        assertEquals(NOW, Tsid.millis(first));
+        assertEquals(7, Tsid.node(first));
+        assertEquals(7, Tsid.node(second));
+    }
+
+    @Test
+    void successNextCounterOverflow() {
+        //given
+        // 같은 ms 에 순번(4096개)을 모두 쓰면 다음 ms 로 넘어감
+        Tsid tsid = new Tsid(1, () -> NOW);
+
+        //when
+        long previous = tsid.next();
+        for (int i = 1; i < (1 << Tsid.COUNTER_BITS); i++) {
+            long id = tsid.next();
+            assertTrue(previous < id);
+            previous = id;
+        }
+        long overflow = tsid.next();
+
+        //then
+        assertTrue(previous < overflow);
+        assertEquals(NOW, Tsid.millis(previous));
+        assertEquals(NOW + 1, Tsid.millis(overflow));
+    }
+
+    @Test
+    void successNextClockBackwards() {
+        //given
+        AtomicLong clock = new AtomicLong(NOW);
+        Tsid tsid = new Tsid(1, clock::get);
+        long before = tsid.next();
+
+        //when
+        clock.set(NOW - 1000);
+        long after = tsid.next();
+
+        //then
+        // 시계가 뒤로 가도 마지막 시각 기준으로 계속 증가
+        assertTrue(before < after);
+        assertEquals(NOW, Tsid.millis(after));
+    }
+
+    @Test
+    void successNextConcurrent() throws Exception {
+        //given
+        Tsid tsid = new Tsid(3);
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        //when
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                long[] ids = new long[perThread];
+                for (int i = 0; i < perThread; i++) {
+                    ids[i] = tsid.next();
+                }
+                return ids;
+            }));
+        }
+        start.countDown();
+
+        //then
+        Set<Long> all = ConcurrentHashMap.newKeySet();
+        for (Future<long[]> future : futures) {
+            long[] ids = future.get(30, TimeUnit.SECONDS);
+            for (int i = 0; i < ids.length; i++) {
+                // 한 스레드 안에서는 항상 증가
+                if (i > 0) assertTrue(ids[i - 1] < ids[i]);
+                all.add(ids[i]);
+            }
+        }
+        executor.shutdown();
+        assertEquals(threads * perThread, all.size());
+    }
+
+    @Test
+    void failInvalidNode() {
+        //given
+        //when
+        //then
+        assertThrows(IllegalArgumentException.class, () -> new Tsid(Tsid.MAX_NODE + 1));
+        assertThrows(IllegalArgumentException.class, () -> new Tsid(-1));
+    }
+}